@@ -0,0 +1,115 @@
+import com.vanniktech.maven.publish.JavadocJar
+import com.vanniktech.maven.publish.KotlinJvm
+
+plugins {
+    id("java")
+    kotlin("jvm")
+    alias(libs.plugins.spring.boot)
+    alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.dokka)
+    alias(libs.plugins.vanniktech.mavenPublish)
+}
+
+group = "com.tecknobit.equinoxbackend"
+version = "1.1.9"
+
+repositories {
+    mavenCentral()
+    maven("https://jitpack.io")
+    maven("https://repo.clojars.org")
+}
+
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val loadTestImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+
+val loadTestRuntimeOnly by configurations.getting
+
+dependencies {
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.data.r2dbc)
+    implementation(libs.apimanager)
+    implementation(libs.json)
+    implementation(project(":equinox-core"))
+    // the servlet stack and the JPA stack of the backend are not used by the reactive users stack
+    implementation(project(":equinox-backend")) {
+        exclude(group = "org.springframework.boot", module = "spring-boot-starter-web")
+        exclude(group = "org.springframework.boot", module = "spring-boot-starter-data-jpa")
+    }
+    loadTestImplementation(project(":equinox-backend"))
+    loadTestImplementation(libs.boot.spring.boot.starter.web)
+    loadTestImplementation(libs.spring.boot.starter.data.jpa)
+    loadTestRuntimeOnly(libs.r2dbc.h2)
+    loadTestRuntimeOnly(libs.h2)
+}
+
+tasks.register<JavaExec>("usersLoadTest") {
+    group = "verification"
+    description = "Compares the throughput and the latencies of the servlet and of the reactive users stacks"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.tecknobit.equinoxbackend.reactive.loadtest.UsersLoadTest")
+    workingDir = layout.buildDirectory.dir("usersLoadTest").get().asFile
+    systemProperties(
+        System.getProperties()
+            .filterKeys { key -> key.toString().startsWith("equinox.loadtest.") }
+            .mapKeys { entry -> entry.key.toString() }
+    )
+    doFirst {
+        workingDir.mkdirs()
+    }
+}
+
+mavenPublishing {
+    configure(
+        platform = KotlinJvm(
+            javadocJar = JavadocJar.Dokka("dokkaGenerate")
+        )
+    )
+    coordinates(
+        groupId = "io.github.n7ghtm4r3",
+        artifactId = "equinox-backend-reactive",
+        version = "1.1.9"
+    )
+    pom {
+        name.set("Equinox")
+        description.set("Reactive variant of the users stack of the Equinox backends, based on Spring WebFlux and R2DBC")
+        inceptionYear.set("2026")
+        url.set("https://github.com/N7ghtm4r3/Equinox")
+
+        licenses {
+            license {
+                name.set("APACHE2")
+                url.set("https://opensource.org/license/apache-2-0")
+            }
+        }
+        developers {
+            developer {
+                id.set("N7ghtm4r3")
+                name.set("Manuel Maurizio")
+                email.set("maurizio.manuel2003@gmail.com")
+                url.set("https://github.com/N7ghtm4r3")
+            }
+        }
+        scm {
+            url.set("https://github.com/N7ghtm4r3/Equinox")
+        }
+    }
+    publishToMavenCentral()
+    signAllPublications()
+}
+
+kotlin {
+    jvmToolchain(18)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_18
+    targetCompatibility = JavaVersion.VERSION_18
+}
@@ -0,0 +1,27 @@
+package com.tecknobit.equinoxbackend.reactive.loadtest;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+/**
+ * The {@code ReactiveUsersApplication} class launches the reactive users stack, served by Spring WebFlux and backed by
+ * R2DBC, measured by the {@link UsersLoadTest}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(
+        exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+                DataJpaRepositoriesAutoConfiguration.class}
+)
+@EnableR2dbcRepositories("com.tecknobit.equinoxbackend.reactive.services")
+@ComponentScan({"com.tecknobit.equinoxbackend.reactive.configuration", "com.tecknobit.equinoxbackend.reactive.services"})
+public class ReactiveUsersApplication {
+}
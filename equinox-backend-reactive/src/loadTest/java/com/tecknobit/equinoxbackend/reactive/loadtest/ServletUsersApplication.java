@@ -0,0 +1,32 @@
+package com.tecknobit.equinoxbackend.reactive.loadtest;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.data.r2dbc.autoconfigure.DataR2dbcAutoConfiguration;
+import org.springframework.boot.data.r2dbc.autoconfigure.DataR2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcAutoConfiguration;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcInitializationAutoConfiguration;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The {@code ServletUsersApplication} class launches the servlet users stack, served by Spring MVC and backed by JPA,
+ * measured by the {@link UsersLoadTest}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(
+        exclude = {R2dbcAutoConfiguration.class, R2dbcInitializationAutoConfiguration.class,
+                R2dbcTransactionManagerAutoConfiguration.class, DataR2dbcAutoConfiguration.class,
+                DataR2dbcRepositoriesAutoConfiguration.class}
+)
+@EnableJpaRepositories("com.tecknobit.equinoxbackend.environment")
+@EntityScan("com.tecknobit.equinoxbackend.environment")
+@ComponentScan({"com.tecknobit.equinoxbackend.environment", "com.tecknobit.equinoxbackend.apis"})
+public class ServletUsersApplication {
+}
@@ -0,0 +1,291 @@
+package com.tecknobit.equinoxbackend.reactive.loadtest;
+
+import com.tecknobit.equinoxbackend.environment.EquinoxEnvironment;
+import org.json.JSONObject;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.*;
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_DATA_KEY;
+
+/**
+ * The {@code UsersLoadTest} class compares the servlet and the reactive users stacks under the same load. Each stack is
+ * launched on an embedded {@code H2} database, a set of users is signed up, then the {@code signIn} endpoint, bound by
+ * the hashing of the passwords, and the {@code dynamicAccountData} endpoint, bound by the database, are requested by a
+ * fixed number of concurrent clients, printing the throughput and the latencies of each endpoint
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @apiNote the load can be tuned with the {@code equinox.loadtest.users}, {@code equinox.loadtest.concurrency},
+ * {@code equinox.loadtest.requests} and {@code equinox.loadtest.signInRequests} system properties, e.g.
+ * {@code ./gradlew :equinox-backend-reactive:usersLoadTest -Dequinox.loadtest.concurrency=256}
+ *
+ * @since 1.2.0
+ */
+public final class UsersLoadTest {
+
+    /**
+     * {@code USERS} the number of the users signed up before the load
+     */
+    private static final int USERS = Integer.getInteger("equinox.loadtest.users", 32);
+
+    /**
+     * {@code CONCURRENCY} the number of the concurrent clients
+     */
+    private static final int CONCURRENCY = Integer.getInteger("equinox.loadtest.concurrency", 64);
+
+    /**
+     * {@code REQUESTS} the number of the requests sent to the {@code dynamicAccountData} endpoint
+     */
+    private static final int REQUESTS = Integer.getInteger("equinox.loadtest.requests", 20000);
+
+    /**
+     * {@code SIGN_IN_REQUESTS} the number of the requests sent to the {@code signIn} endpoint
+     */
+    private static final int SIGN_IN_REQUESTS = Integer.getInteger("equinox.loadtest.signInRequests", 1000);
+
+    /**
+     * {@code PASSWORD} the password of the users signed up
+     */
+    private static final String PASSWORD = "Equinox1!";
+
+    /**
+     * {@code client} the client used to send the requests
+     */
+    private static final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    /**
+     * Constructor to avoid the instantiation of the class
+     */
+    private UsersLoadTest() {
+    }
+
+    /**
+     * Method used to launch the load test
+     *
+     * @param args The arguments of the load test, shared with the {@link EquinoxEnvironment}
+     *
+     * @throws Exception when the load test cannot be executed
+     */
+    public static void main(String[] args) throws Exception {
+        EquinoxEnvironment.init(null, args);
+        List<String> report = new ArrayList<>();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ServletUsersApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:servlet;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "logging.level.root=WARN"
+                )
+                .run(args)) {
+            report.addAll(load("servlet", context));
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveUsersApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(
+                        "server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:equinox-reactive-users.sql",
+                        "logging.level.root=WARN"
+                )
+                .run(args)) {
+            report.addAll(load("reactive", context));
+        }
+        System.out.printf("%nusers: %d, concurrency: %d, available processors: %d%n", USERS, CONCURRENCY,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-10s %-20s %10s %10s %10s %10s %10s %8s%n", "stack", "endpoint", "requests", "req/s",
+                "p50 (ms)", "p99 (ms)", "rejected", "errors");
+        report.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    /**
+     * Method used to load a stack
+     *
+     * @param stack The name of the stack
+     * @param context The context of the application which serves the stack
+     *
+     * @return the rows of the report of the stack as {@link List} of {@link String}
+     *
+     * @throws Exception when the stack cannot be loaded
+     */
+    private static List<String> load(String stack, ConfigurableApplicationContext context) throws Exception {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") +
+                BASE_EQUINOX_ENDPOINT;
+        List<JSONObject> users = new ArrayList<>();
+        for (int j = 0; j < USERS; j++) {
+            JSONObject user = new JSONObject()
+                    .put(NAME_KEY, "Load")
+                    .put(SURNAME_KEY, "Test")
+                    .put(EMAIL_KEY, stack + j + "@equinox.test")
+                    .put(PASSWORD_KEY, PASSWORD)
+                    .put(LANGUAGE_KEY, "en");
+            JSONObject response = new JSONObject(send(post(baseUrl + SIGN_UP_ENDPOINT, user)).body());
+            users.add(user.put(USER_IDENTIFIER_KEY, response.getJSONObject(RESPONSE_DATA_KEY)
+                            .getString(USER_IDENTIFIER_KEY))
+                    .put(TOKEN_KEY, response.getJSONObject(RESPONSE_DATA_KEY).getString(TOKEN_KEY)));
+        }
+        IntFunction<HttpRequest> signIn = j -> {
+            JSONObject user = users.get(j % users.size());
+            return post(baseUrl + SIGN_IN_ENDPOINT, new JSONObject()
+                    .put(EMAIL_KEY, user.getString(EMAIL_KEY))
+                    .put(PASSWORD_KEY, PASSWORD)
+                    .put(LANGUAGE_KEY, "en"));
+        };
+        IntFunction<HttpRequest> dynamicAccountData = j -> {
+            JSONObject user = users.get(j % users.size());
+            return HttpRequest.newBuilder(URI.create(baseUrl + USERS_KEY + "/" + user.getString(USER_IDENTIFIER_KEY) +
+                            DYNAMIC_ACCOUNT_DATA_ENDPOINT))
+                    .header(TOKEN_KEY, user.getString(TOKEN_KEY))
+                    .GET()
+                    .build();
+        };
+        // warms up both the endpoints before measuring them
+        run(signIn, SIGN_IN_REQUESTS / 10);
+        run(dynamicAccountData, REQUESTS / 10);
+        return List.of(
+                run(signIn, SIGN_IN_REQUESTS).format(stack, SIGN_IN_ENDPOINT),
+                run(dynamicAccountData, REQUESTS).format(stack, DYNAMIC_ACCOUNT_DATA_ENDPOINT)
+        );
+    }
+
+    /**
+     * Method used to send a number of requests with the {@link #CONCURRENCY} concurrent clients
+     *
+     * @param request The function which creates the j-th request
+     * @param requests The number of the requests to send
+     *
+     * @return the result of the run as {@link Result}
+     *
+     * @throws Exception when the run has been interrupted
+     */
+    private static Result run(IntFunction<HttpRequest> request, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int j = 0; j < CONCURRENCY; j++) {
+                runs.add(clients.submit(() -> {
+                    int current;
+                    while ((current = next.getAndIncrement()) < requests) {
+                        long sent = System.nanoTime();
+                        try {
+                            int statusCode = send(request.apply(current)).statusCode();
+                            if (statusCode == 429 || statusCode == 503)
+                                rejected.incrementAndGet();
+                            else if (statusCode != 200)
+                                errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[current] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> run : runs)
+                run.get();
+        } finally {
+            clients.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(requests, requests / (elapsed / 1e9), percentile(latencies, 0.50),
+                percentile(latencies, 0.99), rejected.get(), errors.get());
+    }
+
+    /**
+     * Method used to get a percentile of the latencies
+     *
+     * @param latencies The sorted latencies in nanoseconds
+     * @param percentile The percentile to get
+     *
+     * @return the percentile in milliseconds as {@code double}
+     */
+    private static double percentile(long[] latencies, double percentile) {
+        if (latencies.length == 0)
+            return 0;
+        return latencies[(int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1)] / 1e6;
+    }
+
+    /**
+     * Method used to create a {@code POST} request with a JSON payload
+     *
+     * @param url The url of the request
+     * @param payload The payload of the request
+     *
+     * @return the request as {@link HttpRequest}
+     */
+    private static HttpRequest post(String url, JSONObject payload) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(payload.toString()))
+                .build();
+    }
+
+    /**
+     * Method used to send a request
+     *
+     * @param request The request to send
+     *
+     * @return the response as {@link HttpResponse} of {@link String}
+     *
+     * @throws Exception when the request cannot be sent
+     */
+    private static HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * The {@code Result} record holds the measures of a run
+     *
+     * @param requests The number of the requests sent
+     * @param throughput The number of the requests served each second
+     * @param p50 The median latency in milliseconds
+     * @param p99 The 99th percentile of the latencies in milliseconds
+     * @param rejected The number of the requests rejected with the {@code 429} or the {@code 503} status, e.g. when
+     *                 the pool of the password hasher is saturated
+     * @param errors The number of the requests not successfully served
+     */
+    private record Result(int requests, double throughput, double p50, double p99, int rejected, int errors) {
+
+        /**
+         * Method used to format the result as a row of the report
+         *
+         * @param stack The name of the stack
+         * @param endpoint The endpoint requested
+         *
+         * @return the row as {@link String}
+         */
+        String format(String stack, String endpoint) {
+            return String.format("%-10s %-20s %10d %10.1f %10.2f %10.2f %10d %8d", stack, endpoint, requests,
+                    throughput, p50, p99, rejected, errors);
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.tecknobit.equinoxbackend.reactive.configuration;
+
+import com.tecknobit.equinoxcore.annotations.Assembler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Locale.ENGLISH;
+
+/**
+ * The {@code ReactiveMessageSourceConfig} class configures the message resources bundle used by the reactive users
+ * stack, the same bundles of the servlet stack are loaded, while the locale of each response is resolved by the
+ * handlers from the language of the request or of the user
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class ReactiveMessageSourceConfig {
+
+    /**
+     * {@code MESSAGES_KEY} default path where are placed the resources bundle
+     */
+    private static final String MESSAGES_KEY = "lang/messages";
+
+    /**
+     * {@code CUSTOM_MESSAGES_KEY} path where the user can place the custom resources bundle
+     */
+    private static final String CUSTOM_MESSAGES_KEY = "lang/custom_messages";
+
+    /**
+     * Method used to load and assemble the bundle resources of the international messages resources
+     *
+     * @return the bundle as {@link ResourceBundleMessageSource}
+     */
+    @Bean
+    @Assembler
+    public ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(MESSAGES_KEY, CUSTOM_MESSAGES_KEY);
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setDefaultLocale(ENGLISH);
+        messageSource.setUseCodeAsDefaultMessage(true);
+        return messageSource;
+    }
+
+}
@@ -0,0 +1,461 @@
+package com.tecknobit.equinoxbackend.reactive.services.builtin;
+
+import com.tecknobit.apimanager.apis.ServerProtector;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHasher;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
+import com.tecknobit.equinoxbackend.apis.ratelimit.RateLimiter;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.environment.EquinoxEnvironment;
+import com.tecknobit.equinoxcore.annotations.Assembler;
+import com.tecknobit.equinoxcore.annotations.Returner;
+import com.tecknobit.equinoxcore.annotations.Structure;
+import com.tecknobit.equinoxcore.annotations.Wrapper;
+import com.tecknobit.equinoxcore.network.ResponseStatus;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_DATA_KEY;
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_STATUS_KEY;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.FAILED;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.SUCCESSFUL;
+
+/**
+ * The {@code ReactiveEquinoxHandler} class provides to the handlers of the reactive users stack the same features of
+ * the {@code EquinoxControllerCore}, that is the {@code i18n}, the default response messages, the rate limits and the
+ * conditional responses, assembling the responses with the same format of the servlet stack
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Structure
+public abstract class ReactiveEquinoxHandler {
+
+    /**
+     * {@code WRONG_PROCEDURE_MESSAGE} message to use when the procedure is wrong
+     */
+    public static final String WRONG_PROCEDURE_MESSAGE = "wrong_procedure";
+
+    /**
+     * {@code NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE} message to use when the request is by a not authorized user or
+     * tried to fetch wrong details
+     */
+    public static final String NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE = "not_authorized";
+
+    /**
+     * {@code RESPONSE_SUCCESSFUL_MESSAGE} message to use when the request has been successful
+     */
+    public static final String RESPONSE_SUCCESSFUL_MESSAGE = "operation_executed_successfully";
+
+    /**
+     * {@code WRONG_NAME_MESSAGE} error message used when the name inserted is not valid
+     */
+    public static final String WRONG_NAME_MESSAGE = "wrong_name";
+
+    /**
+     * {@code WRONG_SURNAME_MESSAGE} error message used when the surname inserted is not valid
+     */
+    public static final String WRONG_SURNAME_MESSAGE = "wrong_surname";
+
+    /**
+     * {@code WRONG_EMAIL_MESSAGE} error message used when the email inserted is not valid
+     */
+    public static final String WRONG_EMAIL_MESSAGE = "wrong_email";
+
+    /**
+     * {@code WRONG_PASSWORD_MESSAGE} error message used when the password inserted is not valid
+     */
+    public static final String WRONG_PASSWORD_MESSAGE = "wrong_password";
+
+    /**
+     * {@code WRONG_LANGUAGE_MESSAGE} error message used when the language inserted is not valid
+     */
+    public static final String WRONG_LANGUAGE_MESSAGE = "wrong_language";
+
+    /**
+     * {@code TOO_MANY_REQUESTS_MESSAGE} message to use when the request has been rejected by a rate limit
+     */
+    public static final String TOO_MANY_REQUESTS_MESSAGE = "too_many_requests";
+
+    /**
+     * {@code CACHE_CONTROL_VALUE} the value of the {@code Cache-Control} header of the conditional responses
+     */
+    private static final String CACHE_CONTROL_VALUE = "private, no-cache";
+
+    /**
+     * {@code configuration} the current configuration of the Equinox's backend instance
+     */
+    protected final EquinoxBackendConfiguration configuration;
+
+    /**
+     * {@code messageSource} the message source used to manage the resources messages bundle
+     */
+    @Autowired(required = false)
+    protected MessageSource messageSource;
+
+    /**
+     * Constructor to instantiate the {@link ReactiveEquinoxHandler}
+     *
+     * @apiNote will be instantiated also the {@link #configuration}
+     */
+    public ReactiveEquinoxHandler() {
+        configuration = EquinoxBackendConfiguration.getInstance();
+    }
+
+    /**
+     * Method used to read the JSON payload of a request
+     *
+     * @param request The request sent by the client
+     *
+     * @return the payload as {@link Mono} of {@link JSONObject}, an empty payload when the request has no body, failed
+     * when the body is not a JSON object
+     */
+    protected Mono<JSONObject> readPayload(ServerRequest request) {
+        return request.bodyToMono(String.class)
+                .map(JSONObject::new)
+                .defaultIfEmpty(new JSONObject());
+    }
+
+    /**
+     * Method used to get the address of the client which sent a request, read from the {@code client_header} of the
+     * rate limits configuration when set, that is the header where a trusted proxy places the address of the client,
+     * otherwise from the connection
+     *
+     * @param request The request sent by the client
+     *
+     * @return the address of the client as {@link String}, {@code null} if not available
+     * @apiNote when the header holds a list of addresses, as the {@code X-Forwarded-For} one, the last address is used,
+     * that is the one appended by the nearest proxy, because the previous ones are sent by the client
+     */
+    @Returner
+    protected String getClientAddress(ServerRequest request) {
+        String clientHeader = configuration.getRateLimitsConfig().getClientHeader();
+        if (clientHeader != null) {
+            String addresses = request.headers().firstHeader(clientHeader);
+            if (addresses != null) {
+                String address = addresses.substring(addresses.lastIndexOf(',') + 1).trim();
+                if (!address.isEmpty())
+                    return address;
+            }
+        }
+        return request.remoteAddress()
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse(null);
+    }
+
+    /**
+     * Method used to handle a request only when it is admitted by a rate limit of the {@link RateLimiter}, otherwise
+     * the request is answered with the {@link #tooManyRequestsResponse(Locale, long)}
+     *
+     * @param limit The name of the limit to apply
+     * @param client The identifier of the client, e.g. its address, its token or the identifier of the user
+     * @param locale The locale of the response
+     * @param handler The handler of the request, invoked only when the request is admitted
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    protected Mono<ServerResponse> whenAdmitted(String limit, String client, Locale locale,
+                                                Supplier<Mono<ServerResponse>> handler) {
+        long wait = RateLimiter.getInstance().tryAcquire(limit, client);
+        if (wait == 0)
+            return handler.get();
+        return tooManyRequestsResponse(locale, wait);
+    }
+
+    /**
+     * Method used to check whether a server secret matches the one of the server protector
+     *
+     * @param serverSecret The server secret to check
+     *
+     * @return whether the server secret matches as {@code boolean}, always {@code true} when the server protector is not
+     * enabled
+     */
+    protected boolean serverSecretMatches(String serverSecret) {
+        return EquinoxEnvironment.serverSecretMatches(serverSecret);
+    }
+
+    /**
+     * Method used to get the response for a successful request
+     *
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Wrapper
+    @Assembler
+    protected Mono<ServerResponse> successResponse(Locale locale) {
+        return localizedResponse(HttpStatus.OK, SUCCESSFUL, RESPONSE_SUCCESSFUL_MESSAGE, locale);
+    }
+
+    /**
+     * Method used to get the response for a successful request
+     *
+     * @param message The message to send as response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Assembler
+    protected Mono<ServerResponse> successResponse(JSONObject message) {
+        return jsonResponse(HttpStatus.OK, successPayload(message));
+    }
+
+    /**
+     * Method used to get the payload for a successful response
+     *
+     * @param message The message to send as response
+     *
+     * @return the payload for a successful response as {@link String}
+     */
+    @Assembler
+    protected String successPayload(JSONObject message) {
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, SUCCESSFUL)
+                .put(RESPONSE_DATA_KEY, message).toString();
+    }
+
+    /**
+     * Wrapper method used to assemble a {@link #failedResponse(String, Locale)} with the
+     * {@link #NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE} message
+     *
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Wrapper
+    @Assembler
+    protected Mono<ServerResponse> notAuthorizedOrWrongDetailsResponse(Locale locale) {
+        return failedResponse(NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE, locale);
+    }
+
+    /**
+     * Method used to assemble a failed response with the {@link #TOO_MANY_REQUESTS_MESSAGE} message for a request
+     * rejected by a rate limit. The response is marked with the {@code 429 Too Many Requests} status and the
+     * {@code Retry-After} header
+     *
+     * @param locale The locale of the response
+     * @param wait The time in nanoseconds to wait before the request can be admitted
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Assembler
+    protected Mono<ServerResponse> tooManyRequestsResponse(Locale locale, long wait) {
+        return retryLaterResponse(HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1),
+                locale);
+    }
+
+    /**
+     * Method used to assemble a failed response with the {@link #TOO_MANY_REQUESTS_MESSAGE} message for a request
+     * rejected because the pool of the {@link PasswordHasher} is saturated. The response is marked with the
+     * {@code 503 Service Unavailable} status and the {@code Retry-After} header
+     *
+     * @param exception The exception thrown by the {@link PasswordHasher}
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Assembler
+    protected Mono<ServerResponse> passwordHashingRejectedResponse(PasswordHashingRejectedException exception,
+                                                                   Locale locale) {
+        return retryLaterResponse(HttpStatus.SERVICE_UNAVAILABLE, Math.max(1,
+                TimeUnit.MILLISECONDS.toSeconds(exception.getRetryAfter()) + 1), locale);
+    }
+
+    /**
+     * Method used to assemble a failed response with the {@link #TOO_MANY_REQUESTS_MESSAGE} message marked with the
+     * {@code Retry-After} header
+     *
+     * @param status The status of the response
+     * @param retryAfter The seconds to wait before retrying the request
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    private Mono<ServerResponse> retryLaterResponse(HttpStatus status, long retryAfter, Locale locale) {
+        return ServerResponse.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(plainResponse(FAILED, getInternationalizedMessage(TOO_MANY_REQUESTS_MESSAGE, locale)));
+    }
+
+    /**
+     * Wrapper method used to assemble a {@link #failedResponse(String, Locale)} with the
+     * {@link #WRONG_PROCEDURE_MESSAGE} message
+     *
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Wrapper
+    @Assembler
+    protected Mono<ServerResponse> wrongProcedureResponse(Locale locale) {
+        return failedResponse(WRONG_PROCEDURE_MESSAGE, locale);
+    }
+
+    /**
+     * Method used to get the response for a failed request
+     *
+     * @param errorKey The key of the error
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    @Wrapper
+    @Assembler
+    protected Mono<ServerResponse> failedResponse(String errorKey, Locale locale) {
+        return localizedResponse(HttpStatus.OK, FAILED, errorKey, locale);
+    }
+
+    /**
+     * Method used to get a response with an internationalized message
+     *
+     * @param httpStatus The status of the response
+     * @param status The response code value
+     * @param messageKey The key of the internationalized message
+     * @param locale The locale of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    private Mono<ServerResponse> localizedResponse(HttpStatus httpStatus, ResponseStatus status, String messageKey,
+                                                   Locale locale) {
+        return jsonResponse(httpStatus, plainResponse(status, getInternationalizedMessage(messageKey, locale)));
+    }
+
+    /**
+     * Method used to get a response with a JSON payload
+     *
+     * @param httpStatus The status of the response
+     * @param payload The payload of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    private Mono<ServerResponse> jsonResponse(HttpStatus httpStatus, String payload) {
+        return ServerResponse.status(httpStatus)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload);
+    }
+
+    /**
+     * Method used to assemble the payload for a response
+     *
+     * @param status The response code value
+     * @param message The message to send as response
+     *
+     * @return the payload for a response as {@link String}
+     */
+    protected String plainResponse(ResponseStatus status, String message) {
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, status)
+                .put(RESPONSE_DATA_KEY, message).toString();
+    }
+
+    /**
+     * Method used to answer a conditional {@code GET} request, tagging the response with a weak {@code ETag} derived
+     * from its payload. When the client sent the same tag with the {@code If-None-Match} header the request is
+     * answered with {@code 304 Not Modified} without the payload
+     *
+     * @param request The request sent by the client
+     * @param payload The payload of the response
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    protected Mono<ServerResponse> conditionalResponse(ServerRequest request, String payload) {
+        String eTag = "W/\"" + hashVersion(payload) + "\"";
+        return request.checkNotModified(eTag)
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                        .eTag(eTag)
+                        .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(payload)));
+    }
+
+    /**
+     * Method used to hash the version of the data of a response
+     *
+     * @param version The version to hash
+     *
+     * @return the hexadecimal hash of the version as {@link String}
+     */
+    private String hashVersion(String version) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(version.hashCode());
+        }
+    }
+
+    /**
+     * Method used to get the international message
+     *
+     * @param messageKey The message of the international message
+     * @param locale The locale of the message
+     *
+     * @return the internationalized message as {@link String}
+     */
+    @Returner
+    protected String getInternationalizedMessage(String messageKey, Locale locale) {
+        if (messageSource == null)
+            return messageKey;
+        return messageSource.getMessage(messageKey, null, locale);
+    }
+
+    /**
+     * Method used to generate an identifier of an item
+     *
+     * @return the identifier as {@link String}
+     */
+    public static String generateIdentifier() {
+        return UUID.randomUUID().toString().replaceAll("-", "");
+    }
+
+    /**
+     * Method used to init the server protector and create the resources directories correctly
+     *
+     * @param context The launcher {@link Class} where this method has been invoked
+     * @param args Custom arguments to share with {@link SpringApplication} and with the server protector
+     *
+     * @apiNote the arguments scheme is the same of the {@code EquinoxControllerCore#initEquinoxEnvironment} method
+     */
+    @Wrapper
+    public static void initEquinoxEnvironment(Class<?> context, String[] args) {
+        initEquinoxEnvironment(context, null, args);
+    }
+
+    /**
+     * Method used to init the server protector and create the resources directories correctly
+     *
+     * @param context The launcher {@link Class} where this method has been invoked
+     * @param saveMessageExtra Extra arguments used to format the save message displayed by the {@link ServerProtector}
+     * @param args Custom arguments to share with {@link SpringApplication} and with the server protector
+     *
+     * @apiNote the arguments scheme is the same of the {@code EquinoxControllerCore#initEquinoxEnvironment} method
+     */
+    public static void initEquinoxEnvironment(Class<?> context, Object[] saveMessageExtra, String[] args) {
+        try {
+            EquinoxEnvironment.init(saveMessageExtra, args);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
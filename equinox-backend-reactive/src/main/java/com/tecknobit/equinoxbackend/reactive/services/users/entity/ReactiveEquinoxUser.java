@@ -0,0 +1,168 @@
+package com.tecknobit.equinoxbackend.reactive.services.users.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+
+/**
+ * The {@code ReactiveEquinoxUser} class represents a base Equinox's system user read by the reactive users stack. It
+ * is mapped on the same {@code users} table of the {@code EquinoxUser}, so the servlet and the reactive stacks can
+ * share the same database
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Table(USERS_KEY)
+public class ReactiveEquinoxUser {
+
+    /**
+     * {@code id} identifier of the user
+     */
+    @Id
+    @Column(IDENTIFIER_KEY)
+    protected final String id;
+
+    /**
+     * {@code token} the token which the user is allowed to operate on server
+     */
+    @Column(TOKEN_KEY)
+    protected final String token;
+
+    /**
+     * {@code name} the name of the user
+     */
+    @Column(NAME_KEY)
+    protected final String name;
+
+    /**
+     * {@code surname} the surname of the user
+     */
+    @Column(SURNAME_KEY)
+    protected final String surname;
+
+    /**
+     * {@code email} the email of the user
+     */
+    @Column(EMAIL_KEY)
+    protected final String email;
+
+    /**
+     * {@code password} the password of the user
+     */
+    @Column(PASSWORD_KEY)
+    protected final String password;
+
+    /**
+     * {@code profilePic} the profile pic of the user
+     */
+    @Column(PROFILE_PIC_KEY)
+    protected final String profilePic;
+
+    /**
+     * {@code language} the language of the user
+     */
+    @Column(LANGUAGE_KEY)
+    protected final String language;
+
+    /**
+     * Constructor to init the {@link ReactiveEquinoxUser} class
+     *
+     * @param id Identifier of the user
+     * @param token The token which the user is allowed to operate on server
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param profilePic The profile pic of the user
+     * @param language The language of the user
+     */
+    @PersistenceCreator
+    public ReactiveEquinoxUser(String id, String token, String name, String surname, String email, String password,
+                               String profilePic, String language) {
+        this.id = id;
+        this.token = token;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+        this.password = password;
+        this.profilePic = profilePic;
+        this.language = language;
+    }
+
+    /**
+     * Method used to get {@link #id} instance
+     *
+     * @return {@link #id} instance as {@link String}
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Method used to get {@link #token} instance
+     *
+     * @return {@link #token} instance as {@link String}
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Method used to get {@link #name} instance
+     *
+     * @return {@link #name} instance as {@link String}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Method used to get {@link #surname} instance
+     *
+     * @return {@link #surname} instance as {@link String}
+     */
+    public String getSurname() {
+        return surname;
+    }
+
+    /**
+     * Method used to get {@link #email} instance
+     *
+     * @return {@link #email} instance as {@link String}
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Method used to get {@link #password} instance
+     *
+     * @return {@link #password} instance as {@link String}
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Method used to get {@link #profilePic} instance
+     *
+     * @return {@link #profilePic} instance as {@link String}
+     */
+    public String getProfilePic() {
+        return profilePic;
+    }
+
+    /**
+     * Method used to get {@link #language} instance
+     *
+     * @return {@link #language} instance as {@link String}
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+}
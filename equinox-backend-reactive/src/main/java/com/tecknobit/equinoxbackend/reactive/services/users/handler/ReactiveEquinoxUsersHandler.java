@@ -0,0 +1,349 @@
+package com.tecknobit.equinoxbackend.reactive.services.users.handler;
+
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
+import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersValidator;
+import com.tecknobit.equinoxbackend.reactive.services.builtin.ReactiveEquinoxHandler;
+import com.tecknobit.equinoxbackend.reactive.services.users.entity.ReactiveEquinoxUser;
+import com.tecknobit.equinoxbackend.reactive.services.users.repository.ReactiveEquinoxUsersRepository;
+import com.tecknobit.equinoxbackend.reactive.services.users.service.ReactiveEquinoxUsersService;
+import com.tecknobit.equinoxcore.helpers.InputsValidator;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+import static com.tecknobit.apimanager.apis.ServerProtector.SERVER_SECRET_KEY;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.CHANGE_ACCOUNT_LIMIT;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.SIGN_IN_LIMIT;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.SIGN_UP_LIMIT;
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.helpers.InputsValidator.DEFAULT_LANGUAGE;
+
+/**
+ * The {@code ReactiveEquinoxUsersHandler} handles the user-related operations of the reactive users stack, providing
+ * the same endpoints of the {@code EquinoxUsersController}, with the same payloads and the same responses, that are
+ * routed by the {@link ReactiveEquinoxUsersRouter}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @param <T> The type of the {@link ReactiveEquinoxUser} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <R> The type of the {@link ReactiveEquinoxUsersRepository} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <H> The type of the {@link ReactiveEquinoxUsersService} used in the system, is generic to avoid manual casts if it has been customized
+ *
+ * @see ReactiveEquinoxHandler
+ *
+ * @since 1.2.0
+ */
+@Component
+public class ReactiveEquinoxUsersHandler<T extends ReactiveEquinoxUser, R extends ReactiveEquinoxUsersRepository<T>,
+        H extends ReactiveEquinoxUsersService<T, R>> extends ReactiveEquinoxHandler {
+
+    /**
+     * {@code DEFAULT_LOCALE} the locale of the responses to the requests without a language
+     */
+    protected static final Locale DEFAULT_LOCALE = Locale.forLanguageTag(DEFAULT_LANGUAGE);
+
+    /**
+     * {@code usersService} helper to manage the users database operations
+     */
+    protected final H usersService;
+
+    /**
+     * Constructor to init the handler
+     *
+     * @param usersService The helper to manage the users database operations
+     */
+    @Autowired
+    public ReactiveEquinoxUsersHandler(H usersService) {
+        super();
+        this.usersService = usersService;
+    }
+
+    /**
+     * Method used to sign up in the <b>Equinox's system</b>
+     *
+     * @param request The request sent by the client, its payload is the same of the
+     *                {@code EquinoxUsersController#signUp} endpoint
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> signUp(ServerRequest request) {
+        return readPayload(request).flatMap(payload -> {
+            String language = payload.optString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
+            Locale locale = Locale.forLanguageTag(language);
+            return whenAdmitted(SIGN_UP_LIMIT, getClientAddress(request), locale, () -> {
+                if (!serverSecretMatches(payload.optString(SERVER_SECRET_KEY, null)))
+                    return notAuthorizedOrWrongDetailsResponse(locale);
+                String name = payload.optString(NAME_KEY, null);
+                String surname = payload.optString(SURNAME_KEY, null);
+                String email = payload.optString(EMAIL_KEY, null);
+                String password = payload.optString(PASSWORD_KEY, null);
+                Object[] custom = getSignUpCustomParams(payload);
+                String signUpValidation = validateSignUp(name, surname, email, password, language, custom);
+                if (signUpValidation != null)
+                    return failedResponse(signUpValidation, locale);
+                String userId = generateIdentifier();
+                String token = generateIdentifier();
+                return usersService.signUpUser(userId, token, name, surname, email, password, language, custom)
+                        .then(Mono.defer(() -> successResponse(new JSONObject()
+                                .put(USER_IDENTIFIER_KEY, userId)
+                                .put(TOKEN_KEY, token)
+                                .put(PROFILE_PIC_KEY, DEFAULT_PROFILE_PIC)
+                        )))
+                        .onErrorResume(PasswordHashingRejectedException.class,
+                                e -> passwordHashingRejectedResponse(e, locale))
+                        .onErrorResume(e -> wrongProcedureResponse(locale));
+            });
+        }).onErrorResume(e -> wrongProcedureResponse(DEFAULT_LOCALE));
+    }
+
+    /**
+     * Method used to get the list of the custom parameters of a custom {@link ReactiveEquinoxUser} from the payload of
+     * the {@link #signUp(ServerRequest)} method
+     *
+     * @param payload The payload of the request
+     *
+     * @return the custom parameters as array of {@link Object}
+     *
+     * @implNote as default will be returned an empty array, so that means no customized user has being used
+     */
+    protected Object[] getSignUpCustomParams(JSONObject payload) {
+        return new Object[0];
+    }
+
+    /**
+     * Method used to validate the inputs of the {@link #signUp(ServerRequest)} method to correctly execute a sign-up
+     * operation
+     *
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser} to execute a
+     *               customized sign up validation
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     *
+     * @implNote as default the inputs are validated by the {@link ReactiveEquinoxUsersService#validateSignUp} method,
+     * the same validation of the servlet stack, so the custom parameters should be validated overriding the
+     * {@code validateSignUpCustomParams} method of the service
+     */
+    protected String validateSignUp(String name, String surname, String email, String password, String language,
+                                    Object... custom) {
+        return usersService.validateSignUp(name, surname, email, password, language, custom);
+    }
+
+    /**
+     * Method used to sign in the <b>Equinox's system</b>
+     *
+     * @param request The request sent by the client, its payload is the same of the
+     *                {@code EquinoxUsersController#signIn} endpoint
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> signIn(ServerRequest request) {
+        return readPayload(request).flatMap(payload -> {
+            String email = payload.optString(EMAIL_KEY, null);
+            String password = payload.optString(PASSWORD_KEY, null);
+            String language = payload.optString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
+            Locale locale = Locale.forLanguageTag(language);
+            return whenAdmitted(SIGN_IN_LIMIT, getClientAddress(request), locale, () -> {
+                Object[] custom = getSignInCustomParams(payload);
+                String signInValidation = validateSignIn(email, password, language, custom);
+                if (signInValidation != null)
+                    return failedResponse(signInValidation, locale);
+                return usersService.signInUser(email, password, custom)
+                        .flatMap(user -> successResponse(assembleSignInSuccessResponse(user)))
+                        .switchIfEmpty(Mono.defer(() -> notAuthorizedOrWrongDetailsResponse(locale)))
+                        .onErrorResume(PasswordHashingRejectedException.class,
+                                e -> passwordHashingRejectedResponse(e, locale))
+                        .onErrorResume(e -> wrongProcedureResponse(locale));
+            });
+        }).onErrorResume(e -> wrongProcedureResponse(DEFAULT_LOCALE));
+    }
+
+    /**
+     * Method used to get the list of the custom parameters of a custom {@link ReactiveEquinoxUser} from the payload of
+     * the {@link #signIn(ServerRequest)} method
+     *
+     * @param payload The payload of the request
+     *
+     * @return the custom parameters as array of {@link Object}
+     *
+     * @implNote as default will be returned an empty array, so that means no customized user has being used
+     */
+    protected Object[] getSignInCustomParams(JSONObject payload) {
+        return new Object[0];
+    }
+
+    /**
+     * Method used to validate the inputs of the {@link #signIn(ServerRequest)} method to correctly execute a sign-in
+     * operation
+     *
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser} to execute a
+     *               customized sign-in validation
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     */
+    protected String validateSignIn(String email, String password, String language, Object... custom) {
+        return EquinoxUsersValidator.validateSignIn(email, password, language);
+    }
+
+    /**
+     * Method used to assemble the sign-in response with the user details
+     *
+     * @param user The user authenticated in that operation
+     *
+     * @return the response as {@link JSONObject}
+     */
+    protected JSONObject assembleSignInSuccessResponse(T user) {
+        JSONObject response = new JSONObject();
+        response.put(USER_IDENTIFIER_KEY, user.getId());
+        response.put(TOKEN_KEY, user.getToken());
+        response.put(PROFILE_PIC_KEY, user.getProfilePic());
+        response.put(NAME_KEY, user.getName());
+        response.put(SURNAME_KEY, user.getSurname());
+        response.put(LANGUAGE_KEY, user.getLanguage());
+        return response;
+    }
+
+    /**
+     * Method used to handle a request only when it has been sent by the user identified in its path, that is when the
+     * {@code token} header belongs to that user, otherwise the request is answered with the
+     * {@link #notAuthorizedOrWrongDetailsResponse(Locale)}
+     *
+     * @param request The request sent by the client
+     * @param handler The handler of the request, invoked with the authenticated user and its locale
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    protected Mono<ServerResponse> asMe(ServerRequest request, BiFunction<T, Locale, Mono<ServerResponse>> handler) {
+        return usersService.authenticate(request.pathVariable(USER_IDENTIFIER_KEY),
+                        request.headers().firstHeader(TOKEN_KEY))
+                .flatMap(me -> handler.apply(me, Locale.forLanguageTag(me.getLanguage() != null ? me.getLanguage() :
+                        DEFAULT_LANGUAGE)))
+                .switchIfEmpty(Mono.defer(() -> notAuthorizedOrWrongDetailsResponse(DEFAULT_LOCALE)));
+    }
+
+    /**
+     * Method used to get the dynamic data of the user to correctly update in all the devices where the user is connected.
+     * The response is conditional, so when the data are not changed the request is answered with
+     * {@code 304 Not Modified}
+     *
+     * @param request The request sent by the client
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> getDynamicAccountData(ServerRequest request) {
+        return asMe(request, (me, locale) -> usersService.getDynamicAccountData(me.getId())
+                .flatMap(dynamicData -> conditionalResponse(request, successPayload(dynamicData)))
+                .switchIfEmpty(Mono.defer(() -> notAuthorizedOrWrongDetailsResponse(locale))));
+    }
+
+    /**
+     * Method used to change the profile pic of the user
+     *
+     * @param request The request sent by the client, its multipart body holds the new profile pic in the
+     *                {@code profile_pic} part
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> changeProfilePic(ServerRequest request) {
+        return asMe(request, (me, locale) -> whenAdmitted(CHANGE_ACCOUNT_LIMIT, me.getId(), locale,
+                () -> request.multipartData()
+                        .flatMap(parts -> {
+                            Part profilePic = parts.getFirst(PROFILE_PIC_KEY);
+                            if (!(profilePic instanceof FilePart filePart) || filePart.filename().isEmpty())
+                                return wrongProcedureResponse(locale);
+                            return usersService.changeProfilePic(filePart, me.getId())
+                                    .flatMap(profilePicUrl -> successResponse(new JSONObject()
+                                            .put(PROFILE_PIC_KEY, profilePicUrl)));
+                        })
+                        .onErrorResume(e -> wrongProcedureResponse(locale))));
+    }
+
+    /**
+     * Method used to change the email of the user
+     *
+     * @param request The request sent by the client, its payload is the same of the
+     *                {@code EquinoxUsersController#changeEmail} endpoint
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> changeEmail(ServerRequest request) {
+        return asMe(request, (me, locale) -> whenAdmitted(CHANGE_ACCOUNT_LIMIT, me.getId(), locale,
+                () -> readPayload(request).flatMap(payload -> {
+                    String email = payload.optString(EMAIL_KEY, null);
+                    if (!InputsValidator.isEmailValid(email))
+                        return failedResponse(WRONG_EMAIL_MESSAGE, locale);
+                    return usersService.changeEmail(email, me.getId())
+                            .then(Mono.defer(() -> successResponse(locale)));
+                }).onErrorResume(e -> wrongProcedureResponse(locale))));
+    }
+
+    /**
+     * Method used to change the password of the user
+     *
+     * @param request The request sent by the client, its payload is the same of the
+     *                {@code EquinoxUsersController#changePassword} endpoint
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> changePassword(ServerRequest request) {
+        return asMe(request, (me, locale) -> whenAdmitted(CHANGE_ACCOUNT_LIMIT, me.getId(), locale,
+                () -> readPayload(request).flatMap(payload -> {
+                    String password = payload.optString(PASSWORD_KEY, null);
+                    if (!InputsValidator.isPasswordValid(password))
+                        return failedResponse(WRONG_PASSWORD_MESSAGE, locale);
+                    return usersService.changePassword(password, me.getId())
+                            .then(Mono.defer(() -> successResponse(locale)));
+                })
+                        .onErrorResume(PasswordHashingRejectedException.class,
+                                e -> passwordHashingRejectedResponse(e, locale))
+                        .onErrorResume(e -> wrongProcedureResponse(locale))));
+    }
+
+    /**
+     * Method used to change the language of the user
+     *
+     * @param request The request sent by the client, its payload is the same of the
+     *                {@code EquinoxUsersController#changeLanguage} endpoint
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> changeLanguage(ServerRequest request) {
+        return asMe(request, (me, locale) -> whenAdmitted(CHANGE_ACCOUNT_LIMIT, me.getId(), locale,
+                () -> readPayload(request).flatMap(payload -> {
+                    String language = payload.optString(LANGUAGE_KEY, null);
+                    if (!InputsValidator.isLanguageValid(language))
+                        return failedResponse(WRONG_LANGUAGE_MESSAGE, locale);
+                    return usersService.changeLanguage(language, me.getId())
+                            .then(Mono.defer(() -> successResponse(locale)));
+                }).onErrorResume(e -> wrongProcedureResponse(locale))));
+    }
+
+    /**
+     * Method used to delete the account of the user
+     *
+     * @param request The request sent by the client
+     *
+     * @return the response as {@link Mono} of {@link ServerResponse}
+     */
+    public Mono<ServerResponse> deleteAccount(ServerRequest request) {
+        return asMe(request, (me, locale) -> usersService.deleteUser(me.getId())
+                .then(Mono.defer(() -> successResponse(locale)))
+                .onErrorResume(e -> wrongProcedureResponse(locale)));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.tecknobit.equinoxbackend.reactive.services.users.handler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.headers;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * The {@code ReactiveEquinoxUsersRouter} class routes the requests of the reactive users stack to the
+ * {@link ReactiveEquinoxUsersHandler}, on the same paths and with the same methods of the {@code EquinoxUsersController}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class ReactiveEquinoxUsersRouter {
+
+    /**
+     * {@code USER_ENDPOINT} the path of the endpoints of a single user
+     */
+    private static final String USER_ENDPOINT = BASE_EQUINOX_ENDPOINT + USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}";
+
+    /**
+     * {@code WITH_TOKEN} the predicate of the requests which send the {@code token} header, required by all the
+     * endpoints of a single user
+     */
+    private static final RequestPredicate WITH_TOKEN = headers(headers -> headers.firstHeader(TOKEN_KEY) != null);
+
+    /**
+     * Method used to assemble the routes of the users endpoints
+     *
+     * @param usersHandler The handler of the users requests
+     *
+     * @return the routes as {@link RouterFunction} of {@link ServerResponse}
+     */
+    @Bean
+    public RouterFunction<ServerResponse> equinoxUsersRoutes(ReactiveEquinoxUsersHandler<?, ?, ?> usersHandler) {
+        return route()
+                .POST(BASE_EQUINOX_ENDPOINT + SIGN_UP_ENDPOINT, usersHandler::signUp)
+                .POST(BASE_EQUINOX_ENDPOINT + SIGN_IN_ENDPOINT, usersHandler::signIn)
+                .GET(USER_ENDPOINT + DYNAMIC_ACCOUNT_DATA_ENDPOINT, WITH_TOKEN, usersHandler::getDynamicAccountData)
+                .POST(USER_ENDPOINT + CHANGE_PROFILE_PIC_ENDPOINT, WITH_TOKEN, usersHandler::changeProfilePic)
+                .PATCH(USER_ENDPOINT + CHANGE_EMAIL_ENDPOINT, WITH_TOKEN, usersHandler::changeEmail)
+                .PATCH(USER_ENDPOINT + CHANGE_PASSWORD_ENDPOINT, WITH_TOKEN, usersHandler::changePassword)
+                .PATCH(USER_ENDPOINT + CHANGE_LANGUAGE_ENDPOINT, WITH_TOKEN, usersHandler::changeLanguage)
+                .DELETE(USER_ENDPOINT, WITH_TOKEN, usersHandler::deleteAccount)
+                .build();
+    }
+
+}
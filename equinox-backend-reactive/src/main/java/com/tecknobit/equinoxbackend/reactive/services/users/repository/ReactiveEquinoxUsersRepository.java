@@ -0,0 +1,116 @@
+package com.tecknobit.equinoxbackend.reactive.services.users.repository;
+
+import com.tecknobit.equinoxbackend.reactive.services.users.entity.ReactiveEquinoxUser;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import static com.tecknobit.equinoxbackend.apis.database.SQLConstants._WHERE_;
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+
+/**
+ * The {@code ReactiveEquinoxUsersRepository} interface is useful to manage the queries for the users operations of the
+ * reactive users stack, the queries are executed by {@code R2DBC} without blocking the threads which serve the requests
+ *
+ * @param <T> generic type to allow the use of custom users inherited from {@link ReactiveEquinoxUser}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see R2dbcRepository
+ * @see ReactiveEquinoxUser
+ *
+ * @since 1.2.0
+ */
+@Repository
+public interface ReactiveEquinoxUsersRepository<T extends ReactiveEquinoxUser> extends R2dbcRepository<T, String> {
+
+    /**
+     * Method used to execute the query to find a {@link ReactiveEquinoxUser} by email field
+     *
+     * @param email The email to find the user
+     *
+     * @return the user, if exists, as {@link Mono} of {@link ReactiveEquinoxUser}
+     */
+    @Query(
+            "SELECT * FROM " + USERS_KEY + _WHERE_ + EMAIL_KEY + "=:" + EMAIL_KEY
+    )
+    Mono<T> findUserByEmail(
+            @Param(EMAIL_KEY) String email
+    );
+
+    /**
+     * Method used to execute the query to change the profile pic of the {@link ReactiveEquinoxUser}
+     *
+     * @param profilePicUrl The profile pic formatted as url
+     * @param id The identifier of the user
+     *
+     * @return the number of the users changed as {@link Mono} of {@link Integer}
+     */
+    @Modifying
+    @Query(
+            "UPDATE " + USERS_KEY + " SET " + PROFILE_PIC_KEY + "=:" + PROFILE_PIC_KEY + _WHERE_ + IDENTIFIER_KEY +
+                    "=:" + IDENTIFIER_KEY
+    )
+    Mono<Integer> changeProfilePic(
+            @Param(PROFILE_PIC_KEY) String profilePicUrl,
+            @Param(IDENTIFIER_KEY) String id
+    );
+
+    /**
+     * Method used to execute the query to change the email of the {@link ReactiveEquinoxUser}
+     *
+     * @param newEmail The new email of the user
+     * @param id The identifier of the user
+     *
+     * @return the number of the users changed as {@link Mono} of {@link Integer}
+     */
+    @Modifying
+    @Query(
+            "UPDATE " + USERS_KEY + " SET " + EMAIL_KEY + "=:" + EMAIL_KEY + _WHERE_ + IDENTIFIER_KEY + "=:" +
+                    IDENTIFIER_KEY
+    )
+    Mono<Integer> changeEmail(
+            @Param(EMAIL_KEY) String newEmail,
+            @Param(IDENTIFIER_KEY) String id
+    );
+
+    /**
+     * Method used to execute the query to change the password of the {@link ReactiveEquinoxUser}
+     *
+     * @param newPassword The new password of the user
+     * @param id The identifier of the user
+     *
+     * @return the number of the users changed as {@link Mono} of {@link Integer}
+     */
+    @Modifying
+    @Query(
+            "UPDATE " + USERS_KEY + " SET " + PASSWORD_KEY + "=:" + PASSWORD_KEY + _WHERE_ + IDENTIFIER_KEY + "=:" +
+                    IDENTIFIER_KEY
+    )
+    Mono<Integer> changePassword(
+            @Param(PASSWORD_KEY) String newPassword,
+            @Param(IDENTIFIER_KEY) String id
+    );
+
+    /**
+     * Method used to execute the query to change the language of the {@link ReactiveEquinoxUser}
+     *
+     * @param newLanguage The new language of the user
+     * @param id The identifier of the user
+     *
+     * @return the number of the users changed as {@link Mono} of {@link Integer}
+     */
+    @Modifying
+    @Query(
+            "UPDATE " + USERS_KEY + " SET " + LANGUAGE_KEY + "=:" + LANGUAGE_KEY + _WHERE_ + IDENTIFIER_KEY + "=:" +
+                    IDENTIFIER_KEY
+    )
+    Mono<Integer> changeLanguage(
+            @Param(LANGUAGE_KEY) String newLanguage,
+            @Param(IDENTIFIER_KEY) String id
+    );
+
+}
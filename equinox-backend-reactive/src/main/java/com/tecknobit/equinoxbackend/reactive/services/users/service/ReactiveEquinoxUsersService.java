@@ -0,0 +1,540 @@
+package com.tecknobit.equinoxbackend.reactive.services.users.service;
+
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHasher;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
+import com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore;
+import com.tecknobit.equinoxbackend.apis.resources.ImageVariants;
+import com.tecknobit.equinoxbackend.apis.resources.ResourceSizeExceededException;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesLayout;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesManager;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.environment.services.users.cache.AuthenticatedUsersCache;
+import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersValidator;
+import com.tecknobit.equinoxbackend.reactive.services.users.entity.ReactiveEquinoxUser;
+import com.tecknobit.equinoxbackend.reactive.services.users.repository.ReactiveEquinoxUsersRepository;
+import com.tecknobit.equinoxcore.helpers.InputsValidator;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tecknobit.equinoxbackend.apis.database.SQLConstants._WHERE_;
+import static com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore.BLOBS_DIRECTORY;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig.UNLIMITED_RESOURCE_SIZE;
+import static com.tecknobit.equinoxbackend.environment.services.builtin.entities.EquinoxItem.DISCRIMINATOR_VALUE_KEY;
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * The {@code ReactiveEquinoxUsersService} class is useful to manage all the user database operations of the reactive
+ * users stack. The queries are executed by {@code R2DBC}, the passwords are hashed and verified by the pool of the
+ * {@link PasswordHasher} without waiting for it, and the files of the profile pics are written on the
+ * {@link Schedulers#boundedElastic()} scheduler, so none of the operations blocks the threads which serve the requests
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @param <T> The type of the {@link ReactiveEquinoxUser} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <R> The type of the {@link ReactiveEquinoxUsersRepository} used in the system, is generic to avoid manual casts if it has been customized
+ *
+ * @see ResourcesManager
+ *
+ * @since 1.2.0
+ */
+@Service
+public class ReactiveEquinoxUsersService<T extends ReactiveEquinoxUser, R extends ReactiveEquinoxUsersRepository<T>>
+        implements ResourcesManager {
+
+    /**
+     * {@code DEFAULT_USER_SIGN_UP_KEYS} the default keys of the values inserted by the sign-up
+     */
+    protected static final List<String> DEFAULT_USER_SIGN_UP_KEYS = List.of(DISCRIMINATOR_VALUE_KEY, IDENTIFIER_KEY,
+            TOKEN_KEY, NAME_KEY, SURNAME_KEY, EMAIL_KEY, PASSWORD_KEY, LANGUAGE_KEY);
+
+    /**
+     * {@code DEFAULT_DYNAMIC_ACCOUNT_DATA_KEYS} the default keys of the values to retrieve with the
+     * {@link #getDynamicAccountData(String)} method
+     */
+    protected static final List<String> DEFAULT_DYNAMIC_ACCOUNT_DATA_KEYS = List.of(EMAIL_KEY, PROFILE_PIC_KEY, LANGUAGE_KEY);
+
+    /**
+     * {@code REACTIVE_PREFIX} the prefix of the reactive users classes removed from the {@link #discriminatorValue}
+     */
+    private static final String REACTIVE_PREFIX = "Reactive";
+
+    /**
+     * {@code usersRepository} instance for the users repository
+     */
+    protected final R usersRepository;
+
+    /**
+     * {@code databaseClient} the client used to execute the queries built for the custom keys
+     */
+    protected final DatabaseClient databaseClient;
+
+    /**
+     * {@code authenticatedUsersCache} the cache of the users recently authenticated, invalidated when the details of a
+     * user change, so the servlet nodes sharing the users are notified as well
+     */
+    @Autowired(required = false)
+    protected AuthenticatedUsersCache authenticatedUsersCache;
+
+    /**
+     * {@code discriminatorValue} value of the discriminator to use to save the users in the related table, that is the
+     * name of the user class without the {@code Reactive} prefix, so it matches the one of the servlet entity sharing the
+     * same table
+     */
+    protected String discriminatorValue;
+
+    /**
+     * Constructor to init the {@link ReactiveEquinoxUsersService} service
+     *
+     * @param usersRepository The instance for the users repository
+     * @param databaseClient The client used to execute the queries built for the custom keys
+     */
+    public ReactiveEquinoxUsersService(R usersRepository, DatabaseClient databaseClient) {
+        this.usersRepository = usersRepository;
+        this.databaseClient = databaseClient;
+        try {
+            String userClass = ((Class<?>) ((ParameterizedType) getClass().getGenericSuperclass())
+                    .getActualTypeArguments()[0]).getSimpleName();
+            discriminatorValue = userClass.startsWith(REACTIVE_PREFIX) ? userClass.substring(REACTIVE_PREFIX.length())
+                    : userClass;
+        } catch (ClassCastException e) {
+            discriminatorValue = "EquinoxUser";
+        }
+    }
+
+    /**
+     * Method used to sign up a new user in the system, the password is hashed by the pool of the
+     * {@link PasswordHasher} without waiting for it
+     *
+     * @param id The identifier of the user
+     * @param token The token of the user
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     * @param custom The custom parameters to add in the default query
+     *
+     * @return the completion of the sign-up as {@link Mono}, failed with a {@link PasswordHashingRejectedException}
+     * when the hashing pool is saturated
+     *
+     * @apiNote the order of the custom parameters must be the same of that specified in the {@link #getSignUpKeys()},
+     * the email is stored as normalized by the {@link EquinoxUsersValidator#normalizeEmail(String)} method
+     */
+    public Mono<Void> signUpUser(String id, String token, String name, String surname, String email, String password,
+                                 String language, Object... custom) {
+        return Mono.fromFuture(() -> PasswordHasher.getInstance().hashAsync(password))
+                .flatMap(passwordHash -> {
+                    List<Object> values = new ArrayList<>(List.of(discriminatorValue, id, token, name, surname,
+                            EquinoxUsersValidator.normalizeEmail(email), passwordHash, language));
+                    values.addAll(Arrays.asList(custom));
+                    return insertUser(getSignUpKeys(), values);
+                });
+    }
+
+    /**
+     * Method used to validate the inputs of a sign-up, the same validation of the {@code EquinoxUsersService}
+     *
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser}, in the same
+     *               order of that specified in the {@link #getSignUpKeys()}
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     *
+     * @see #validateSignUpCustomParams(Object...)
+     */
+    public String validateSignUp(String name, String surname, String email, String password, String language,
+                                 Object... custom) {
+        String validation = EquinoxUsersValidator.validateSignUp(name, surname, email,
+                InputsValidator.isPasswordValid(password), language);
+        if (validation != null)
+            return validation;
+        return validateSignUpCustomParams(custom);
+    }
+
+    /**
+     * Method used to validate the custom parameters of a sign-up
+     *
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser}, in the same
+     *               order of that specified in the {@link #getSignUpKeys()}
+     *
+     * @return the key of the error if any custom parameters is wrong, null otherwise as {@link String}
+     *
+     * @apiNote workflow example:
+     * <pre>
+     *     {@code
+     *          @Override
+     *          protected String validateSignUpCustomParams(Object... custom) {
+     *              if(custom[0] == null)
+     *                  return "error_key";
+     *              return null;
+     *          }
+     *     }
+     * </pre>
+     */
+    protected String validateSignUpCustomParams(Object... custom) {
+        return null;
+    }
+
+    /**
+     * Method used to insert the row of a new user
+     *
+     * @param keys The keys of the values to insert
+     * @param values The values to insert, in the same order of the keys
+     *
+     * @return the completion of the insertion as {@link Mono}
+     */
+    private Mono<Void> insertUser(List<String> keys, List<Object> values) {
+        String sql = "INSERT INTO " + USERS_KEY + "(" + String.join(",", keys) + ") VALUES (:" +
+                String.join(",:", keys) + ")";
+        GenericExecuteSpec insert = databaseClient.sql(sql);
+        for (int j = 0; j < keys.size(); j++) {
+            Object value = values.get(j);
+            insert = value == null ? insert.bindNull(keys.get(j), String.class) : insert.bind(keys.get(j), value);
+        }
+        return insert.then();
+    }
+
+    /**
+     * Method used to get the list of keys of the values inserted by the sign-up
+     *
+     * @return a list of keys as {@link List} of {@link String}
+     * @apiNote This method allows a customizable sign-up with custom parameters added in a customization of the {@link ReactiveEquinoxUser}
+     */
+    protected List<String> getSignUpKeys() {
+        return DEFAULT_USER_SIGN_UP_KEYS;
+    }
+
+    /**
+     * Method used to sign in an existing user, when the password of the user has been hashed with outdated parameters
+     * it is transparently rehashed with the current ones
+     *
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser}
+     *
+     * @return the authenticated user as {@link Mono} of {@link ReactiveEquinoxUser}, empty if the credentials
+     * inserted were not correct
+     *
+     * @apiNote the user is searched by the email normalized by the {@link EquinoxUsersValidator#normalizeEmail(String)}
+     * method
+     */
+    public Mono<T> signInUser(String email, String password, Object... custom) {
+        return usersRepository.findUserByEmail(EquinoxUsersValidator.normalizeEmail(email))
+                .flatMap(user -> validateSignIn(user, password, custom)
+                        .filter(Boolean::booleanValue)
+                        .flatMap(valid -> rehashPasswordIfNeeded(user, password).thenReturn(user)));
+    }
+
+    /**
+     * Method used to rehash the password of a user when its hash has been derived with an algorithm or parameters
+     * different from the configured ones. When the hashing pool is saturated the rehash is skipped, it will be
+     * executed at the next sign in
+     *
+     * @param user The user authenticated
+     * @param password The password of the user
+     *
+     * @return the completion of the rehash as {@link Mono}
+     */
+    protected Mono<Void> rehashPasswordIfNeeded(T user, String password) {
+        PasswordHasher passwordHasher = PasswordHasher.getInstance();
+        if (!passwordHasher.needsRehash(user.getPassword()))
+            return Mono.empty();
+        return Mono.fromFuture(() -> passwordHasher.hashAsync(password))
+                .flatMap(passwordHash -> usersRepository.changePassword(passwordHash, user.getId()))
+                .onErrorResume(PasswordHashingRejectedException.class, e -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Method used to validate the sign in request
+     *
+     * @param user The user to validate
+     * @param password The password of the user
+     * @param custom The custom parameters added in a customization of the {@link ReactiveEquinoxUser} to execute a
+     *               customized sign in validation
+     *
+     * @return whether the credentials inserted were correct as {@link Mono} of {@link Boolean}
+     */
+    protected Mono<Boolean> validateSignIn(T user, String password, Object... custom) {
+        return Mono.fromFuture(() -> PasswordHasher.getInstance().verifyAsync(password, user.getPassword()));
+    }
+
+    /**
+     * Method used to check whether a token belongs to a user
+     *
+     * @param userId The identifier of the user
+     * @param token The token to check
+     *
+     * @return the user as {@link Mono} of {@link ReactiveEquinoxUser}, empty if the token does not belong to the user
+     */
+    public Mono<T> authenticate(String userId, String token) {
+        if (userId == null || token == null)
+            return Mono.empty();
+        return usersRepository.findById(userId)
+                .filter(user -> token.equals(user.getToken()));
+    }
+
+    /**
+     * Method used to get the dynamic data of the user to correctly update in all the devices where the user is connected
+     *
+     * @param userId The identifier of the user
+     *
+     * @return the dynamic data as {@link Mono} of {@link JSONObject}
+     */
+    public Mono<JSONObject> getDynamicAccountData(String userId) {
+        List<String> dynamicAccountDataKeys = getDynamicAccountDataKeys();
+        return databaseClient.sql("SELECT " + String.join(",", dynamicAccountDataKeys) + " FROM " + USERS_KEY +
+                        _WHERE_ + IDENTIFIER_KEY + "=:" + IDENTIFIER_KEY)
+                .bind(IDENTIFIER_KEY, userId)
+                .map(row -> {
+                    JSONObject dynamicData = new JSONObject();
+                    for (String key : dynamicAccountDataKeys)
+                        dynamicData.put(key, row.get(key) == null ? JSONObject.NULL : row.get(key));
+                    return dynamicData;
+                })
+                .one();
+    }
+
+    /**
+     * Method used to get the list of keys to use in the {@link #getDynamicAccountData(String)} method
+     *
+     * @return a list of keys as {@link List} of {@link String}
+     * @apiNote This method allows a customizable retrieving of custom parameters added in a customization of the {@link ReactiveEquinoxUser}
+     */
+    protected List<String> getDynamicAccountDataKeys() {
+        return DEFAULT_DYNAMIC_ACCOUNT_DATA_KEYS;
+    }
+
+    /**
+     * Method used to change the profile pic of the {@link ReactiveEquinoxUser}. The content of the profile pic is
+     * streamed in a temporary file, stopping as soon as it exceeds the max size of the resources, then the new profile
+     * pic is saved before updating the user, and the current one is deleted only after, so a rejected upload leaves
+     * the user unchanged
+     *
+     * @param profilePic The profile pic resource
+     * @param userId The identifier of the user
+     *
+     * @return the pathname of the new profile pic as {@link Mono} of {@link String}
+     *
+     * @apiNote the profile pics are always stored in the layout of the resources, also when the resources are content
+     * addressed, the blobs of the profile pics previously stored by the {@link ContentAddressedStore} are still released
+     * when the user is deleted
+     */
+    public Mono<String> changeProfilePic(FilePart profilePic, String userId) {
+        String profilePicPath = ResourcesLayout.getInstance().createResourcePath(PROFILES_DIRECTORY,
+                userId + currentTimeMillis(), getSuffixResource(profilePic));
+        return getCurrentProfilePic(userId)
+                .flatMap(currentProfilePic -> Mono.usingWhen(
+                        Mono.fromCallable(() -> Files.createTempFile(PROFILES_DIRECTORY, null))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        uploadedFile -> DataBufferUtils.write(limitContent(profilePic.content()), uploadedFile)
+                                .then(Mono.fromCallable(() -> saveProfilePic(uploadedFile, profilePicPath))
+                                        .subscribeOn(Schedulers.boundedElastic())),
+                        uploadedFile -> Mono.fromCallable(() -> Files.deleteIfExists(uploadedFile))
+                                .subscribeOn(Schedulers.boundedElastic())
+                )
+                        .then(usersRepository.changeProfilePic(profilePicPath, userId))
+                        .onErrorResume(e -> deleteResource(profilePicPath).then(Mono.error(e)))
+                        .then(deleteCurrentProfilePic(currentProfilePic)))
+                .doOnSuccess(ignored -> ImageVariants.getInstance().generateVariantsAsync(profilePicPath))
+                .thenReturn(profilePicPath);
+    }
+
+    /**
+     * Method used to save the uploaded profile pic in the layout of the resources
+     *
+     * @param uploadedFile The temporary file where the profile pic has been uploaded
+     * @param profilePicPath The pathname where save the profile pic
+     *
+     * @return the pathname of the profile pic as {@link String}
+     *
+     * @throws IOException when the profile pic is empty or cannot be saved
+     */
+    private String saveProfilePic(Path uploadedFile, String profilePicPath) throws IOException {
+        if (Files.size(uploadedFile) == 0)
+            throw new IOException("The profile pic is empty");
+        saveUploadedResource(uploadedFile, profilePicPath);
+        return profilePicPath;
+    }
+
+    /**
+     * Method used to limit the content of an uploaded resource to the max size of the resources
+     *
+     * @param content The content of the resource
+     *
+     * @return the content limited as {@link Flux} of {@link DataBuffer}, failed with a
+     * {@link ResourceSizeExceededException} as soon as it exceeds the max size
+     */
+    private Flux<DataBuffer> limitContent(Flux<DataBuffer> content) {
+        long maxSize = EquinoxBackendConfiguration.getInstance().getResourcesConfig().getMaxResourceSize();
+        if (maxSize == UNLIMITED_RESOURCE_SIZE)
+            return content;
+        AtomicLong size = new AtomicLong();
+        return content.handle((buffer, sink) -> {
+            if (size.addAndGet(buffer.readableByteCount()) > maxSize) {
+                DataBufferUtils.release(buffer);
+                sink.error(new ResourceSizeExceededException(maxSize));
+            } else
+                sink.next(buffer);
+        });
+    }
+
+    /**
+     * Method used to get the suffix of an uploaded resource file
+     *
+     * @param resource The resource file from get its suffix
+     *
+     * @return the suffix of the resource file as {@link String}, empty if the file has no suffix
+     */
+    protected String getSuffixResource(FilePart resource) {
+        String resourceName = resource.filename();
+        int suffixIndex = resourceName.lastIndexOf('.');
+        if (suffixIndex <= 0 || resourceName.indexOf('/', suffixIndex) != -1)
+            return "";
+        return resourceName.substring(suffixIndex);
+    }
+
+    /**
+     * Method used to change the email of the {@link ReactiveEquinoxUser}
+     *
+     * @param newEmail The new email of the user
+     * @param userId The identifier of the user
+     *
+     * @return the completion of the change as {@link Mono}
+     *
+     * @apiNote the email is stored as normalized by the {@link EquinoxUsersValidator#normalizeEmail(String)} method
+     */
+    public Mono<Void> changeEmail(String newEmail, String userId) {
+        return usersRepository.changeEmail(EquinoxUsersValidator.normalizeEmail(newEmail), userId)
+                .then(invalidateAuthenticatedUser(userId));
+    }
+
+    /**
+     * Method used to change the password of the {@link ReactiveEquinoxUser}, the password is hashed by the pool of the
+     * {@link PasswordHasher} without waiting for it
+     *
+     * @param newPassword The new password of the user
+     * @param userId The identifier of the user
+     *
+     * @return the completion of the change as {@link Mono}, failed with a {@link PasswordHashingRejectedException}
+     * when the hashing pool is saturated
+     */
+    public Mono<Void> changePassword(String newPassword, String userId) {
+        return Mono.fromFuture(() -> PasswordHasher.getInstance().hashAsync(newPassword))
+                .flatMap(passwordHash -> usersRepository.changePassword(passwordHash, userId))
+                .then(invalidateAuthenticatedUser(userId));
+    }
+
+    /**
+     * Method used to change the language of the {@link ReactiveEquinoxUser}
+     *
+     * @param newLanguage The new language of the user
+     * @param userId The identifier of the user
+     *
+     * @return the completion of the change as {@link Mono}
+     */
+    public Mono<Void> changeLanguage(String newLanguage, String userId) {
+        return usersRepository.changeLanguage(newLanguage, userId)
+                .then(invalidateAuthenticatedUser(userId));
+    }
+
+    /**
+     * Method used to delete a user
+     *
+     * @param id The identifier of the user to delete
+     *
+     * @return the completion of the deletion as {@link Mono}
+     */
+    public Mono<Void> deleteUser(String id) {
+        return getCurrentProfilePic(id)
+                .flatMap(currentProfilePic -> usersRepository.deleteById(id)
+                        .then(invalidateAuthenticatedUser(id))
+                        .then(deleteCurrentProfilePic(currentProfilePic)))
+                .then(Mono.fromCallable(() -> {
+                    if (EquinoxBackendConfiguration.getInstance().getResourcesConfig().isContentAddressed())
+                        ContentAddressedStore.getInstance().release(id);
+                    return id;
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .then();
+    }
+
+    /**
+     * Method used to invalidate the cached details of a user, emitting the invalidation event of the
+     * {@link AuthenticatedUsersCache}, must be invoked when the token of the user is rotated or any detail used to
+     * authorize the requests changes
+     *
+     * @param userId The identifier of the user to invalidate
+     *
+     * @return the completion of the invalidation as {@link Mono}
+     */
+    protected Mono<Void> invalidateAuthenticatedUser(String userId) {
+        return Mono.fromRunnable(() -> {
+            if (authenticatedUsersCache != null)
+                authenticatedUsersCache.invalidate(userId);
+        });
+    }
+
+    /**
+     * Method used to get the current profile pic of a user
+     *
+     * @param userId The identifier of the user
+     *
+     * @return the pathname of the current profile pic as {@link Mono} of {@link String}, the
+     * {@link #DEFAULT_PROFILE_PIC} if the user has no profile pic, empty if the user does not exist
+     */
+    protected Mono<String> getCurrentProfilePic(String userId) {
+        return usersRepository.findById(userId)
+                .map(user -> user.getProfilePic() != null ? user.getProfilePic() : DEFAULT_PROFILE_PIC);
+    }
+
+    /**
+     * Method used to delete the current profile pic of a user, the {@link #DEFAULT_PROFILE_PIC} and the blobs of the
+     * {@link ContentAddressedStore}, which are released by the store itself, are never deleted
+     *
+     * @param currentProfilePic The pathname of the current profile pic
+     *
+     * @return the completion of the deletion as {@link Mono}
+     */
+    protected Mono<Void> deleteCurrentProfilePic(String currentProfilePic) {
+        if (currentProfilePic.equals(DEFAULT_PROFILE_PIC) || currentProfilePic.startsWith(BLOBS_DIRECTORY + "/"))
+            return Mono.empty();
+        return deleteResource(currentProfilePic);
+    }
+
+    /**
+     * Method used to delete a resource on the {@link Schedulers#boundedElastic()} scheduler
+     *
+     * @param resourcePath The path of the resource to delete
+     *
+     * @return the completion of the deletion as {@link Mono}
+     */
+    private Mono<Void> deleteResource(String resourcePath) {
+        return Mono.fromCallable(() -> deleteResourceByPath(resourcePath))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+}
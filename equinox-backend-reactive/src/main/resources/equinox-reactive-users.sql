@@ -0,0 +1,13 @@
+-- schema of the users table used by the reactive users stack, the same one generated by Hibernate for the
+-- EquinoxUser entity, so the servlet and the reactive stacks can share the same database
+CREATE TABLE IF NOT EXISTS users (
+    dtype VARCHAR(31) NOT NULL,
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    token VARCHAR(32) NOT NULL UNIQUE,
+    name VARCHAR(20) NOT NULL,
+    surname VARCHAR(30) NOT NULL,
+    email VARCHAR(75) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    profile_pic TEXT DEFAULT 'profiles/defProfilePic.png',
+    language VARCHAR(2) NOT NULL
+);
@@ -20,6 +20,17 @@ repositories {
     maven("https://repo.clojars.org")
 }
 
+sourceSets {
+    create("benchmark") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val benchmarkImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+
 dependencies {
     implementation(libs.kotlinx.coroutines.core)
     implementation(libs.spring.boot.starter.data.jpa)
@@ -27,7 +38,21 @@ dependencies {
     implementation(libs.jackson.databind)
     implementation(libs.apimanager)
     implementation(libs.json)
+    implementation(libs.micrometer.core)
     implementation(project(":equinox-core"))
+    benchmarkImplementation(libs.kotlinx.serialization.json)
+}
+
+tasks.register<JavaExec>("cborBenchmark") {
+    group = "verification"
+    description = "Compares the sizes and the decoding times of the CBOR and of the JSON responses"
+    classpath = sourceSets["benchmark"].runtimeClasspath
+    mainClass.set("com.tecknobit.equinoxbackend.benchmark.CborBenchmark")
+    systemProperties(
+        System.getProperties()
+            .filterKeys { key -> key.toString().startsWith("equinox.benchmark.") }
+            .mapKeys { entry -> entry.key.toString() }
+    )
 }
 
 mavenPublishing {
@@ -0,0 +1,202 @@
+package com.tecknobit.equinoxbackend.benchmark;
+
+import com.tecknobit.equinoxbackend.apis.cbor.CborWriter;
+import com.tecknobit.equinoxcore.json.CborJsonDecoderKt;
+import kotlinx.serialization.json.Json;
+import kotlinx.serialization.json.JsonObject;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_DATA_KEY;
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_STATUS_KEY;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.FAILED;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.SUCCESSFUL;
+import static com.tecknobit.equinoxcore.pagination.PaginatedResponse.DATA_SIZE_KEY;
+import static com.tecknobit.equinoxcore.pagination.PaginatedResponse.DEFAULT_PAGE;
+import static com.tecknobit.equinoxcore.pagination.PaginatedResponse.IS_LAST_PAGE_KEY;
+import static com.tecknobit.equinoxcore.pagination.PaginatedResponse.PAGE_KEY;
+import static com.tecknobit.equinoxcore.pagination.PaginatedResponse.PAGE_SIZE_KEY;
+
+/**
+ * The {@code CborBenchmark} class compares the {@code CBOR} and the {@code JSON} formats of the responses sent by the
+ * backends. For each sample payload, from the envelope of a failed response to a {@code PaginatedResponse} of one
+ * hundred items, it prints the size of both the encodings and the time taken by the clients to decode them, that is the
+ * time of the {@code decodeCborAsJson} decoder used by the {@code Requester} against the time of the
+ * {@code Json.decodeFromString} of the {@code JSON} payloads
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @apiNote the measures can be tuned with the {@code equinox.benchmark.iterations} and
+ * {@code equinox.benchmark.rounds} system properties, e.g.
+ * {@code ./gradlew :equinox-backend:cborBenchmark -Dequinox.benchmark.iterations=50000}
+ *
+ * @since 1.2.0
+ */
+public final class CborBenchmark {
+
+    /**
+     * {@code ITERATIONS} the number of the decodings of each payload measured in a round
+     */
+    private static final int ITERATIONS = Integer.getInteger("equinox.benchmark.iterations", 20000);
+
+    /**
+     * {@code ROUNDS} the number of the rounds measured for each payload, the median one is reported
+     */
+    private static final int ROUNDS = Integer.getInteger("equinox.benchmark.rounds", 7);
+
+    /**
+     * {@code sink} the sink of the decoded payloads, avoids the decodings to be optimized away
+     */
+    private static int sink;
+
+    /**
+     * Constructor to avoid the instantiation of the class
+     */
+    private CborBenchmark() {
+    }
+
+    /**
+     * Method used to launch the benchmark
+     *
+     * @param args The arguments of the benchmark, not used
+     */
+    public static void main(String[] args) {
+        List<String> report = new ArrayList<>();
+        report.add(measure("failed envelope", failedResponse()));
+        report.add(measure("sign-in envelope", signInResponse()));
+        report.add(measure("paginated (10)", paginatedResponse(10)));
+        report.add(measure("paginated (100)", paginatedResponse(100)));
+        System.out.printf("%nrounds: %d, iterations: %d, sink: %d%n", ROUNDS, ITERATIONS, sink);
+        System.out.printf("%-18s %10s %10s %8s %14s %14s %8s%n", "payload", "JSON (B)", "CBOR (B)", "size", "JSON (us/op)",
+                "CBOR (us/op)", "time");
+        report.forEach(System.out::println);
+    }
+
+    /**
+     * Method used to measure a payload in both the formats
+     *
+     * @param name The name of the payload
+     * @param payload The payload to measure
+     *
+     * @return the row of the report of the payload as {@link String}
+     */
+    private static String measure(String name, JSONObject payload) {
+        byte[] json = payload.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] cbor = CborWriter.encode(payload);
+        if (!decodeJson(json).equals(decodeCbor(cbor)))
+            throw new IllegalStateException("The decoded payloads of " + name + " do not match");
+        double jsonTime = time(() -> decodeJson(json));
+        double cborTime = time(() -> decodeCbor(cbor));
+        return String.format("%-18s %10d %10d %7.0f%% %14.2f %14.2f %7.0f%%", name, json.length, cbor.length,
+                100.0 * cbor.length / json.length, jsonTime, cborTime, 100.0 * cborTime / jsonTime);
+    }
+
+    /**
+     * Method used to decode a {@code JSON} payload as the {@code Requester} does
+     *
+     * @param payload The payload to decode
+     *
+     * @return the decoded payload as {@link Object}
+     */
+    private static Object decodeJson(byte[] payload) {
+        return Json.Default.decodeFromString(JsonObject.Companion.serializer(),
+                new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method used to decode a {@code CBOR} payload as the {@code Requester} does
+     *
+     * @param payload The payload to decode
+     *
+     * @return the decoded payload as {@link Object}
+     */
+    private static Object decodeCbor(byte[] payload) {
+        return CborJsonDecoderKt.decodeCborAsJson(payload);
+    }
+
+    /**
+     * Method used to measure the time of a decoding, after a warm up of the same length of a round
+     *
+     * @param decoding The decoding to measure
+     *
+     * @return the median time of a decoding in microseconds as {@code double}
+     */
+    private static double time(Supplier<Object> decoding) {
+        for (int j = 0; j < ITERATIONS; j++)
+            sink += decoding.get().hashCode();
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < ITERATIONS; j++)
+                sink += decoding.get().hashCode();
+            rounds[round] = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    /**
+     * Method used to assemble the envelope of a failed response
+     *
+     * @return the envelope as {@link JSONObject}
+     */
+    private static JSONObject failedResponse() {
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, FAILED)
+                .put(RESPONSE_DATA_KEY, "Not authorized or wrong details");
+    }
+
+    /**
+     * Method used to assemble the envelope of a successful sign-in
+     *
+     * @return the envelope as {@link JSONObject}
+     */
+    private static JSONObject signInResponse() {
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, SUCCESSFUL)
+                .put(RESPONSE_DATA_KEY, new JSONObject()
+                        .put(USER_IDENTIFIER_KEY, "8a6c2f0e91b44d7e9a3f5c1b2d4e6f70")
+                        .put(TOKEN_KEY, "f3b1c9d27e6a4b08a5d1e2c3b4a59687")
+                        .put(PROFILE_PIC_KEY, "profiles/8a/6c/8a6c2f0e91b44d7e9a3f5c1b2d4e6f70.png")
+                        .put(NAME_KEY, "John")
+                        .put(SURNAME_KEY, "Doe")
+                        .put(LANGUAGE_KEY, "en"));
+    }
+
+    /**
+     * Method used to assemble the envelope of a {@code PaginatedResponse}
+     *
+     * @param items The number of the items of the page
+     *
+     * @return the envelope as {@link JSONObject}
+     */
+    private static JSONObject paginatedResponse(int items) {
+        JSONArray data = new JSONArray();
+        for (int j = 0; j < items; j++) {
+            data.put(new JSONObject()
+                    .put(IDENTIFIER_KEY, String.format("%032x", 0x5eed0000L + j))
+                    .put(NAME_KEY, "Item " + j)
+                    .put("creation_date", 1760832000000L + j * 60_000L)
+                    .put("amount", j * 12.5)
+                    .put("quantity", j % 7)
+                    .put("archived", j % 3 == 0)
+                    .put("tags", new JSONArray().put("equinox").put("tag-" + (j % 5))));
+        }
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, SUCCESSFUL)
+                .put(RESPONSE_DATA_KEY, new JSONObject()
+                        .put(DATA_KEY, data)
+                        .put(PAGE_KEY, DEFAULT_PAGE)
+                        .put(PAGE_SIZE_KEY, items)
+                        .put(IS_LAST_PAGE_KEY, false)
+                        .put(DATA_SIZE_KEY, items));
+    }
+
+}
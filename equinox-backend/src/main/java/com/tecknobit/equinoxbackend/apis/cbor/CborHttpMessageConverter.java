@@ -0,0 +1,137 @@
+package com.tecknobit.equinoxbackend.apis.cbor;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+
+/**
+ * The {@code CborHttpMessageConverter} class writes the responses of the controllers, the {@code JSON} payloads
+ * assembled as {@link String}, {@link JSONObject} or {@link JSONArray}, in the {@code CBOR} format encoded by the
+ * {@link CborWriter}. The converter takes part in the content negotiation only when the request explicitly accepts the
+ * {@code application/cbor} media type, so the clients which accept any media type keep receiving the {@code JSON}
+ * payloads, both the formats are marked with the {@code Vary: Accept} header by the {@link CborVaryAdvice}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see CborWriter
+ *
+ * @since 1.2.0
+ */
+public class CborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Constructor to init the converter
+     */
+    public CborHttpMessageConverter() {
+        super(APPLICATION_CBOR);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return String.class == clazz || JSONObject.class.isAssignableFrom(clazz)
+                || JSONArray.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        if (!acceptsCbor())
+            return List.of();
+        return super.getSupportedMediaTypes(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return acceptsCbor() && super.canWrite(clazz, mediaType);
+    }
+
+    /**
+     * Method used to check whether the current request explicitly accepts the {@code application/cbor} media type
+     *
+     * @return whether the current request accepts the {@code CBOR} format as {@code boolean}
+     */
+    private boolean acceptsCbor() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes))
+            return false;
+        String accept = requestAttributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(APPLICATION_CBOR.getSubtype()))
+            return false;
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept))
+                if (mediaType.equalsTypeAndSubtype(APPLICATION_CBOR) && mediaType.getQualityValue() > 0)
+                    return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The CBOR payloads are not supported by the requests",
+                inputMessage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeInternal(Object payload, HttpOutputMessage outputMessage) throws IOException {
+        byte[] content = CborWriter.encode(payload instanceof String response ? parseResponse(response) : payload);
+        outputMessage.getHeaders().setContentLength(content.length);
+        outputMessage.getBody().write(content);
+    }
+
+    /**
+     * Method used to parse a response assembled as {@link String}
+     *
+     * @param response The response to parse
+     *
+     * @return the response as {@link JSONObject} or {@link JSONArray} when it is a {@code JSON} payload, as
+     * {@link String} otherwise
+     */
+    private Object parseResponse(String response) {
+        String trimmedResponse = response.strip();
+        if (!trimmedResponse.startsWith("{") && !trimmedResponse.startsWith("["))
+            return response;
+        try {
+            return new JSONTokener(trimmedResponse).nextValue();
+        } catch (JSONException e) {
+            return response;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.tecknobit.equinoxbackend.apis.cbor;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code CborVaryAdvice} class marks with the {@code Vary: Accept} header the responses which can be written
+ * either in the {@code JSON} or in the {@code CBOR} format by the {@link CborHttpMessageConverter}, so the caches
+ * between the clients and the backend never serve a {@code CBOR} response to a client which accepts the {@code JSON}
+ * format only, nor the opposite
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see CborHttpMessageConverter
+ *
+ * @since 1.2.0
+ */
+@ControllerAdvice
+public class CborVaryAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Class<?> bodyType = returnType.getParameterType();
+        return String.class == bodyType || JSONObject.class.isAssignableFrom(bodyType)
+                || JSONArray.class.isAssignableFrom(bodyType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        List<String> vary = headers.getVary();
+        if (vary.stream().noneMatch(header -> header.equalsIgnoreCase(HttpHeaders.ACCEPT) || header.equals("*"))) {
+            List<String> varyHeaders = new ArrayList<>(vary);
+            varyHeaders.add(HttpHeaders.ACCEPT);
+            headers.setVary(varyHeaders);
+        }
+        return body;
+    }
+
+}
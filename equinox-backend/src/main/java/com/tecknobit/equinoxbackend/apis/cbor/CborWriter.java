@@ -0,0 +1,247 @@
+package com.tecknobit.equinoxbackend.apis.cbor;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code CborWriter} class encodes the {@code JSON} values, as built with the {@code org.json} library, in the
+ * compact binary {@code CBOR} format (RFC 8949). The integral numbers are encoded with the smallest width fitting them,
+ * the decimal numbers as single precision floats when they are represented without loss, as double precision floats
+ * otherwise, so the values decoded are the same ones of the {@code JSON} payload
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see CborHttpMessageConverter
+ *
+ * @since 1.2.0
+ */
+public class CborWriter {
+
+    /**
+     * {@code UNSIGNED_INTEGER} the major type of the unsigned integers
+     */
+    private static final int UNSIGNED_INTEGER = 0;
+
+    /**
+     * {@code NEGATIVE_INTEGER} the major type of the negative integers
+     */
+    private static final int NEGATIVE_INTEGER = 1;
+
+    /**
+     * {@code TEXT_STRING} the major type of the text strings
+     */
+    private static final int TEXT_STRING = 3;
+
+    /**
+     * {@code ARRAY} the major type of the arrays
+     */
+    private static final int ARRAY = 4;
+
+    /**
+     * {@code MAP} the major type of the maps
+     */
+    private static final int MAP = 5;
+
+    /**
+     * {@code FALSE} the encoded {@code false} value
+     */
+    private static final int FALSE = 0xF4;
+
+    /**
+     * {@code TRUE} the encoded {@code true} value
+     */
+    private static final int TRUE = 0xF5;
+
+    /**
+     * {@code NULL} the encoded {@code null} value
+     */
+    private static final int NULL = 0xF6;
+
+    /**
+     * {@code SINGLE_PRECISION_FLOAT} the header of the single precision floats
+     */
+    private static final int SINGLE_PRECISION_FLOAT = 0xFA;
+
+    /**
+     * {@code DOUBLE_PRECISION_FLOAT} the header of the double precision floats
+     */
+    private static final int DOUBLE_PRECISION_FLOAT = 0xFB;
+
+    /**
+     * {@code MAX_PLAIN_DECIMAL} the magnitude from which the decimal numbers are written in the {@code JSON} payloads
+     * with the exponent notation
+     */
+    private static final double MAX_PLAIN_DECIMAL = 1e7;
+
+    /**
+     * {@code NEGATIVE_ZERO} the bits of the negative zero, written as {@code -0} in the {@code JSON} payloads
+     */
+    private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+
+    /**
+     * {@code output} the stream where the encoded values are written
+     */
+    private final ByteArrayOutputStream output;
+
+    /**
+     * Constructor to init the writer
+     */
+    private CborWriter() {
+        output = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Method used to encode a value in the {@code CBOR} format
+     *
+     * @param value The value to encode, the values which are not {@code JSON} values are encoded as their string
+     *              representation
+     *
+     * @return the encoded value as {@code byte} array
+     */
+    public static byte[] encode(Object value) {
+        CborWriter writer = new CborWriter();
+        writer.write(value);
+        return writer.output.toByteArray();
+    }
+
+    /**
+     * Method used to write a value
+     *
+     * @param value The value to write
+     */
+    private void write(Object value) {
+        if (value == null || JSONObject.NULL.equals(value))
+            output.write(NULL);
+        else if (value instanceof String text)
+            writeText(text);
+        else if (value instanceof Boolean bool)
+            output.write(bool ? TRUE : FALSE);
+        else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            writeInteger(((Number) value).longValue());
+        else if (value instanceof BigInteger integer) {
+            if (integer.bitLength() < Long.SIZE)
+                writeInteger(integer.longValue());
+            else
+                writeFloat(integer.doubleValue());
+        } else if (value instanceof BigDecimal decimal)
+            writeFloat(decimal.doubleValue());
+        else if (value instanceof Number number)
+            writeFloat(number.doubleValue());
+        else if (value instanceof JSONObject jObject) {
+            writeHeader(MAP, jObject.length());
+            for (String key : jObject.keySet()) {
+                writeText(key);
+                write(jObject.opt(key));
+            }
+        } else if (value instanceof JSONArray jArray) {
+            writeHeader(ARRAY, jArray.length());
+            for (Object item : jArray)
+                write(item);
+        } else if (value instanceof Map<?, ?> map) {
+            writeHeader(MAP, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeText(String.valueOf(entry.getKey()));
+                write(entry.getValue());
+            }
+        } else if (value instanceof Collection<?> collection) {
+            writeHeader(ARRAY, collection.size());
+            for (Object item : collection)
+                write(item);
+        } else if (value instanceof Enum<?> constant)
+            writeText(constant.name());
+        else
+            writeText(value.toString());
+    }
+
+    /**
+     * Method used to write an integer
+     *
+     * @param value The integer to write
+     */
+    private void writeInteger(long value) {
+        if (value >= 0)
+            writeHeader(UNSIGNED_INTEGER, value);
+        else
+            writeHeader(NEGATIVE_INTEGER, -1 - value);
+    }
+
+    /**
+     * Method used to write a decimal number, as single precision float when it is represented without loss. The whole
+     * numbers written by the {@code JSON} payloads without the decimal part, e.g. {@code 25} for {@code 25.0}, are
+     * written as integers, so both the formats are decoded as the same value
+     *
+     * @param value The decimal number to write
+     */
+    private void writeFloat(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < MAX_PLAIN_DECIMAL
+                && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO) {
+            writeInteger((long) value);
+            return;
+        }
+        float singlePrecision = (float) value;
+        if (singlePrecision == value || Double.isNaN(value)) {
+            output.write(SINGLE_PRECISION_FLOAT);
+            writeBytes(Float.floatToIntBits(singlePrecision), Integer.BYTES);
+        } else {
+            output.write(DOUBLE_PRECISION_FLOAT);
+            writeBytes(Double.doubleToLongBits(value), Long.BYTES);
+        }
+    }
+
+    /**
+     * Method used to write a text string
+     *
+     * @param text The text to write
+     */
+    private void writeText(String text) {
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        writeHeader(TEXT_STRING, content.length);
+        output.writeBytes(content);
+    }
+
+    /**
+     * Method used to write the header of an item, that is its major type and its argument encoded with the smallest
+     * width fitting it
+     *
+     * @param majorType The major type of the item
+     * @param argument The argument of the item, e.g. the value of an integer or the length of a string, treated as
+     *                 unsigned
+     */
+    private void writeHeader(int majorType, long argument) {
+        int type = majorType << 5;
+        if (argument >= 0 && argument < 24)
+            output.write(type | (int) argument);
+        else if (argument >= 0 && argument <= 0xFF) {
+            output.write(type | 24);
+            output.write((int) argument);
+        } else if (argument >= 0 && argument <= 0xFFFF) {
+            output.write(type | 25);
+            writeBytes(argument, Short.BYTES);
+        } else if (argument >= 0 && argument <= 0xFFFFFFFFL) {
+            output.write(type | 26);
+            writeBytes(argument, Integer.BYTES);
+        } else {
+            output.write(type | 27);
+            writeBytes(argument, Long.BYTES);
+        }
+    }
+
+    /**
+     * Method used to write a value in big-endian order
+     *
+     * @param value The value to write
+     * @param length The number of bytes to write
+     */
+    private void writeBytes(long value, int length) {
+        for (int shift = (length - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE)
+            output.write((int) (value >>> shift));
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.tecknobit.equinoxbackend.apis.database;
+
+import com.tecknobit.equinoxcore.annotations.Wrapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static com.tecknobit.equinoxbackend.apis.database.SQLConstants.*;
+
+/**
+ * The {@code NativeStatement} class is a native {@code SQL} statement compiled from a list of columns, whose values are
+ * bound as positional parameters instead of being concatenated in the statement. The statements are compiled once for
+ * each shape, that is the kind of statement, the table and the columns, and then cached, so the same {@code SQL} is
+ * sent for each execution and the prepared statement can be reused by the driver and by the database. The names of the
+ * tables and of the columns are validated when compiled, so they cannot inject {@code SQL} fragments
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public final class NativeStatement {
+
+    /**
+     * {@code IDENTIFIER_PATTERN} the pattern of the names of the tables and of the columns allowed
+     */
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * {@code STATEMENTS} the statements compiled, indexed by their shape
+     */
+    private static final Map<Shape, NativeStatement> STATEMENTS = new ConcurrentHashMap<>();
+
+    /**
+     * {@code sql} the statement with the placeholders of the parameters
+     */
+    private final String sql;
+
+    /**
+     * {@code columns} the columns of the statement, inserted or selected
+     */
+    private final List<String> columns;
+
+    /**
+     * {@code parametersCount} the number of parameters to bind to execute the statement
+     */
+    private final int parametersCount;
+
+    /**
+     * Constructor to init the statement
+     *
+     * @param sql The statement with the placeholders of the parameters
+     * @param columns The columns of the statement, inserted or selected
+     * @param parametersCount The number of parameters to bind to execute the statement
+     */
+    private NativeStatement(String sql, List<String> columns, int parametersCount) {
+        this.sql = sql;
+        this.columns = columns;
+        this.parametersCount = parametersCount;
+    }
+
+    /**
+     * Method used to get the statement which inserts a row in a table, e.g.
+     * {@code INSERT INTO table (col1,col2) VALUES (?,?)}
+     *
+     * @param table The table where insert the row
+     * @param columns The columns of the row, the parameters are bound in the same order
+     *
+     * @return the statement as {@link NativeStatement}
+     */
+    public static NativeStatement insertInto(String table, List<String> columns) {
+        return STATEMENTS.computeIfAbsent(new Shape(Kind.INSERT, table, columns, List.of()), shape -> {
+            StringBuilder sql = new StringBuilder(INSERT_INTO_).append(validate(table)).append(" ")
+                    .append(OPENED_ROUND_BRACKET);
+            appendColumns(sql, shape.columns());
+            sql.append(CLOSED_ROUND_BRACKET).append(_VALUES_).append(OPENED_ROUND_BRACKET);
+            for (int j = 0; j < shape.columns().size(); j++) {
+                if (j > 0)
+                    sql.append(COMMA);
+                sql.append(QUESTION_MARK);
+            }
+            sql.append(CLOSED_ROUND_BRACKET);
+            return new NativeStatement(sql.toString(), shape.columns(), shape.columns().size());
+        });
+    }
+
+    /**
+     * Method used to get the statement which selects the columns of the rows of a table matching the conditions, e.g.
+     * {@code SELECT col1,col2 FROM table WHERE id=?}
+     *
+     * @param table The table where select the rows
+     * @param columns The columns to select, the values of the rows are returned in the same order
+     * @param conditionColumns The columns which must be equal to the parameters, the parameters are bound in the same
+     *                         order
+     *
+     * @return the statement as {@link NativeStatement}
+     */
+    public static NativeStatement selectFrom(String table, List<String> columns, String... conditionColumns) {
+        return STATEMENTS.computeIfAbsent(new Shape(Kind.SELECT, table, columns, Arrays.asList(conditionColumns)),
+                shape -> {
+                    StringBuilder sql = new StringBuilder(SELECT_);
+                    appendColumns(sql, shape.columns());
+                    sql.append(_FROM_).append(validate(table));
+                    List<String> conditions = shape.conditionColumns();
+                    for (int j = 0; j < conditions.size(); j++) {
+                        sql.append(j == 0 ? _WHERE_ : _AND_);
+                        sql.append(validate(conditions.get(j))).append(EQUALS_PLACEHOLDER);
+                    }
+                    return new NativeStatement(sql.toString(), shape.columns(), conditions.size());
+                });
+    }
+
+    /**
+     * Method used to append a list of columns separated by commas
+     *
+     * @param sql The builder of the statement
+     * @param columns The columns to append
+     */
+    private static void appendColumns(StringBuilder sql, List<String> columns) {
+        if (columns.isEmpty())
+            throw new IllegalArgumentException("The statement must have at least a column");
+        for (int j = 0; j < columns.size(); j++) {
+            if (j > 0)
+                sql.append(COMMA);
+            sql.append(validate(columns.get(j)));
+        }
+    }
+
+    /**
+     * Method used to validate the name of a table or of a column
+     *
+     * @param identifier The name to validate
+     *
+     * @return the name validated as {@link String}
+     *
+     * @throws IllegalArgumentException when the name is not a plain identifier
+     */
+    private static String validate(String identifier) {
+        if (identifier == null || !IDENTIFIER_PATTERN.matcher(identifier).matches())
+            throw new IllegalArgumentException("Invalid SQL identifier: " + identifier);
+        return identifier;
+    }
+
+    /**
+     * Method used to create the query which executes the statement
+     *
+     * @param entityManager The manager of the entities used to create the query
+     * @param parameters The parameters to bind, in the same order of the placeholders
+     *
+     * @return the query ready to be executed as {@link Query}
+     */
+    @Wrapper
+    public Query createQuery(EntityManager entityManager, Object... parameters) {
+        return createQuery(entityManager, Arrays.asList(parameters));
+    }
+
+    /**
+     * Method used to create the query which executes the statement
+     *
+     * @param entityManager The manager of the entities used to create the query
+     * @param parameters The parameters to bind, in the same order of the placeholders
+     *
+     * @return the query ready to be executed as {@link Query}
+     *
+     * @throws IllegalArgumentException when the number of the parameters does not match the placeholders
+     */
+    public Query createQuery(EntityManager entityManager, List<?> parameters) {
+        checkParametersCount(parameters);
+        Query query = entityManager.createNativeQuery(sql);
+        for (int j = 0; j < parametersCount; j++)
+            query.setParameter(j + 1, toParameter(parameters.get(j)));
+        return query;
+    }
+
+    /**
+     * Method used to bind the parameters to a statement prepared with the {@link #sql}, e.g. to add the rows of a
+     * {@code JDBC} batch
+     *
+     * @param statement The statement prepared with the {@link #sql}
+     * @param parameters The parameters to bind, in the same order of the placeholders
+     *
+     * @throws SQLException when the parameters cannot be bound
+     * @throws IllegalArgumentException when the number of the parameters does not match the placeholders
+     */
+    public void bind(PreparedStatement statement, List<?> parameters) throws SQLException {
+        checkParametersCount(parameters);
+        for (int j = 0; j < parametersCount; j++)
+            statement.setObject(j + 1, toParameter(parameters.get(j)));
+    }
+
+    /**
+     * Method used to check whether the number of the parameters matches the placeholders
+     *
+     * @param parameters The parameters to bind
+     *
+     * @throws IllegalArgumentException when the number of the parameters does not match the placeholders
+     */
+    private void checkParametersCount(List<?> parameters) {
+        if (parameters.size() != parametersCount) {
+            throw new IllegalArgumentException("The statement requires " + parametersCount + " parameters, " +
+                    parameters.size() + " given: " + sql);
+        }
+    }
+
+    /**
+     * Method used to convert a value in a parameter which can be bound, the values which are not basic types are bound
+     * as their string representation, as they were when concatenated in the statements
+     *
+     * @param value The value to convert
+     *
+     * @return the parameter as {@link Object}
+     */
+    private Object toParameter(Object value) {
+        if (value == null || value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Date || value instanceof Temporal || value instanceof byte[])
+            return value instanceof CharSequence text ? text.toString() : value;
+        if (value instanceof Enum<?> constant)
+            return constant.name();
+        return value.toString();
+    }
+
+    /**
+     * Method used to get the {@link #sql} instance
+     *
+     * @return the {@link #sql} instance as {@link String}
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Method used to get the {@link #columns} instance
+     *
+     * @return the {@link #columns} instance as {@link List} of {@link String}
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Method used to get the {@link #parametersCount} instance
+     *
+     * @return the {@link #parametersCount} instance as {@code int}
+     */
+    public int getParametersCount() {
+        return parametersCount;
+    }
+
+    /**
+     * {@code Kind} the kinds of the statements
+     */
+    private enum Kind {
+
+        /**
+         * {@code INSERT} the statements which insert a row
+         */
+        INSERT,
+
+        /**
+         * {@code SELECT} the statements which select rows
+         */
+        SELECT
+
+    }
+
+    /**
+     * The {@code Shape} record is the key of a compiled statement
+     *
+     * @param kind The kind of the statement
+     * @param table The table of the statement
+     * @param columns The columns of the statement
+     * @param conditionColumns The columns of the conditions of the statement
+     */
+    private record Shape(Kind kind, String table, List<String> columns, List<String> conditionColumns) {
+
+        /**
+         * Constructor to init the shape, the lists are copied so the shape cannot change once cached
+         */
+        private Shape {
+            columns = List.copyOf(columns);
+            conditionColumns = List.copyOf(conditionColumns);
+        }
+
+    }
+
+}
@@ -41,6 +41,31 @@ public class SQLConstants {
      */
     public static final String _VALUES_ = " VALUES ";
 
+    /**
+     * {@code INSERT_INTO_} insert into query command
+     */
+    public static final String INSERT_INTO_ = "INSERT INTO ";
+
+    /**
+     * {@code SELECT_} select query command
+     */
+    public static final String SELECT_ = "SELECT ";
+
+    /**
+     * {@code _FROM_} from query part
+     */
+    public static final String _FROM_ = " FROM ";
+
+    /**
+     * {@code _AND_} and query part
+     */
+    public static final String _AND_ = " AND ";
+
+    /**
+     * {@code EQUALS_PLACEHOLDER} comparison with a placeholder query part
+     */
+    public static final String EQUALS_PLACEHOLDER = "=?";
+
     /**
      * {@code DELETE_FROM_} delete from query command
      */
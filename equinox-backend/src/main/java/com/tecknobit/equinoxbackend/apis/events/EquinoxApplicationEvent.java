@@ -4,6 +4,12 @@ import com.tecknobit.equinoxcore.annotations.Wrapper;
 import org.springframework.context.ApplicationEvent;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 import static com.tecknobit.equinoxbackend.apis.events.EquinoxEventsCollector.OnEventConsumed;
 
@@ -33,6 +39,17 @@ public abstract class EquinoxApplicationEvent<T extends Enum<?>> extends Applica
      */
     private OnEventConsumed onEventConsumed;
 
+    /**
+     * {@code onEventConsumedExecutor} the executor where the {@link #onEventConsumed} callback is performed, if
+     * {@code null} the callback is performed synchronously by the collector
+     */
+    private transient Executor onEventConsumedExecutor;
+
+    /**
+     * {@code pendingCallbacks} the callbacks submitted to the {@link #onEventConsumedExecutor}
+     */
+    private final transient Queue<CompletableFuture<Void>> pendingCallbacks = new ConcurrentLinkedQueue<>();
+
     /**
      * Constructor used to create the event to emit
      *
@@ -136,7 +153,31 @@ public abstract class EquinoxApplicationEvent<T extends Enum<?>> extends Applica
     }
 
     /**
-     * Method used to perform the {@link #onEventConsumed} callback
+     * Method used to get {@link #onEventConsumedExecutor} instance
+     *
+     * @return the {@link #onEventConsumedExecutor} instance as {@link Executor}
+     *
+     * @since 1.2.0
+     */
+    public Executor getOnEventConsumedExecutor() {
+        return onEventConsumedExecutor;
+    }
+
+    /**
+     * Method used to set the {@link #onEventConsumedExecutor} instance
+     *
+     * @param onEventConsumedExecutor The executor where the {@link #onEventConsumed} callback will be performed,
+     *                                {@code null} to perform it synchronously
+     *
+     * @since 1.2.0
+     */
+    public void setOnEventConsumedExecutor(Executor onEventConsumedExecutor) {
+        this.onEventConsumedExecutor = onEventConsumedExecutor;
+    }
+
+    /**
+     * Method used to perform the {@link #onEventConsumed} callback. If an {@link #onEventConsumedExecutor} has been
+     * set the callback is submitted to it and the collector does not wait for its completion
      *
      * @throws IllegalStateException when the {@link #onEventConsumed} is {@code null}
      */
@@ -144,7 +185,37 @@ public abstract class EquinoxApplicationEvent<T extends Enum<?>> extends Applica
         if (onEventConsumed == null)
             throw new IllegalStateException("No any OnEventConsumed set");
 
-        onEventConsumed.perform(extra);
+        if (onEventConsumedExecutor == null) {
+            onEventConsumed.perform(extra);
+            return;
+        }
+
+        OnEventConsumed callback = onEventConsumed;
+        Object[] callbackExtra = extra;
+        // the callbacks already performed are discarded, so an event emitted without waiting for its completion
+        // keeps only the callbacks still running
+        pendingCallbacks.removeIf(CompletableFuture::isDone);
+        pendingCallbacks.add(CompletableFuture.runAsync(() -> callback.perform(callbackExtra), onEventConsumedExecutor));
+    }
+
+    /**
+     * Method used to get the completion of the {@link #onEventConsumed} callbacks submitted to the
+     * {@link #onEventConsumedExecutor}. The callbacks are drained from the pending ones, so an event emitted more times
+     * does not accumulate the callbacks of its previous emissions
+     *
+     * @return the completion of the pending callbacks as {@link CompletableFuture}, already completed if no callbacks
+     * have been submitted
+     *
+     * @since 1.2.0
+     */
+    public CompletableFuture<Void> getOnEventConsumedCompletion() {
+        List<CompletableFuture<Void>> callbacks = new ArrayList<>();
+        CompletableFuture<Void> callback;
+        while ((callback = pendingCallbacks.poll()) != null)
+            callbacks.add(callback);
+        if (callbacks.isEmpty())
+            return CompletableFuture.completedFuture(null);
+        return CompletableFuture.allOf(callbacks.toArray(new CompletableFuture[0]));
     }
 
 }
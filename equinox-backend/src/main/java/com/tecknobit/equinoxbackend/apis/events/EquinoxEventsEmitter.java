@@ -1,10 +1,18 @@
 package com.tecknobit.equinoxbackend.apis.events;
 
 import com.tecknobit.equinoxbackend.annotations.EventsNotifier;
+import com.tecknobit.equinoxbackend.apis.events.metrics.EquinoxEventsMetrics;
+import com.tecknobit.equinoxcore.annotations.Wrapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * The {@code EquinoxEventsEmitter} class is useful to share events between
  * services in a strict and controlled way by leveraging the {@code enums}.
@@ -23,19 +31,92 @@ import org.springframework.stereotype.Component;
 @EventsNotifier
 public abstract class EquinoxEventsEmitter<T extends Enum<?>> {
 
+    /**
+     * {@code DEFAULT_EXECUTOR_QUEUE_CAPACITY} the max number of events waiting to be emitted by the default executor,
+     * when reached the events are emitted by the thread which emits them
+     */
+    private static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 1024;
+
+    /**
+     * {@code defaultExecutor} the executor shared by the emitters created without a dedicated executor, created at its
+     * first usage
+     */
+    private static volatile ThreadPoolExecutor defaultExecutor;
+
     /**
      * {@code ApplicationEventPublisher} the publisher used to emit the events
      */
     private final ApplicationEventPublisher publisher;
 
+    /**
+     * {@code executor} the executor used to emit the events asynchronously
+     */
+    protected final Executor executor;
+
+    /**
+     * {@code eventsMetrics} the metrics where record the depth of the queue and the wait time of the events emitted
+     * asynchronously
+     */
+    @Autowired(required = false)
+    protected EquinoxEventsMetrics eventsMetrics;
+
     /**
      * Constructor to init the emitter
      *
      * @param publisher The publisher used to emit the events
+     *
+     * @apiNote the events emitted asynchronously will be published on the executor returned by the
+     * {@link #getDefaultExecutor()} method, use the {@link #EquinoxEventsEmitter(ApplicationEventPublisher, Executor)}
+     * constructor to isolate the emitters whose collectors perform long blocking operations
      */
     @Autowired
     protected EquinoxEventsEmitter(ApplicationEventPublisher publisher) {
+        this(publisher, getDefaultExecutor());
+    }
+
+    /**
+     * Constructor to init the emitter
+     *
+     * @param publisher The publisher used to emit the events
+     * @param executor The executor used to emit the events asynchronously
+     *
+     * @since 1.2.0
+     */
+    protected EquinoxEventsEmitter(ApplicationEventPublisher publisher, Executor executor) {
         this.publisher = publisher;
+        this.executor = executor;
+    }
+
+    /**
+     * Method used to get the executor shared by the emitters created without a dedicated executor. It is a bounded pool
+     * dedicated to the events, so the collectors which block do not starve the {@link ForkJoinPool#commonPool()}, and
+     * when its queue is full the events are emitted by the thread which emits them, slowing down the emissions instead
+     * of accumulating them
+     *
+     * @return the default executor as {@link Executor}
+     *
+     * @since 1.2.0
+     */
+    protected static Executor getDefaultExecutor() {
+        ThreadPoolExecutor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (EquinoxEventsEmitter.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+                    AtomicInteger threadsCount = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(DEFAULT_EXECUTOR_QUEUE_CAPACITY), runnable -> {
+                                Thread thread = new Thread(runnable, "equinox-events-" + threadsCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }, new ThreadPoolExecutor.CallerRunsPolicy());
+                    executor.allowCoreThreadTimeOut(true);
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
     }
 
     /**
@@ -47,4 +128,81 @@ public abstract class EquinoxEventsEmitter<T extends Enum<?>> {
         publisher.publishEvent(event);
     }
 
+    /**
+     * Method used to emit the event asynchronously on the {@link #executor}
+     *
+     * @param event The event to emit
+     * @param <E> The type of the application event to emit
+     *
+     * @return the emission of the event as {@link CompletableFuture}, completed with the same event when all the
+     * collectors handled it and all the {@link EquinoxEventsCollector.OnEventConsumed} callbacks submitted to the
+     * {@link EquinoxApplicationEvent#getOnEventConsumedExecutor()} have been performed
+     *
+     * @since 1.2.0
+     */
+    public <E extends EquinoxApplicationEvent<T>> CompletableFuture<E> emitEventAsync(E event) {
+        EquinoxEventsMetrics metrics = eventsMetrics;
+        long enqueuedAt = System.nanoTime();
+        if (metrics != null)
+            metrics.recordEnqueued();
+        CompletableFuture<Void> emission;
+        try {
+            emission = CompletableFuture.runAsync(() -> {
+                if (metrics != null)
+                    metrics.recordDequeued(System.nanoTime() - enqueuedAt);
+                emitEvent(event);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (metrics != null)
+                metrics.recordRejected();
+            throw e;
+        }
+        return emission.thenCompose(ignored -> event.getOnEventConsumedCompletion())
+                .thenApply(ignored -> event);
+    }
+
+    /**
+     * Method used to emit a group of events asynchronously on the {@link #executor}
+     *
+     * @param events The events to emit
+     * @param <E> The type of the application events to emit
+     *
+     * @return the emission of the events as {@link CompletableFuture}, completed with the list of the events when all
+     * of them have been handled
+     *
+     * @since 1.2.0
+     */
+    @Wrapper
+    public <E extends EquinoxApplicationEvent<T>> CompletableFuture<List<E>> emitEventsAsync(Collection<E> events) {
+        List<CompletableFuture<E>> emissions = new ArrayList<>(events.size());
+        for (E event : events)
+            emissions.add(emitEventAsync(event));
+        return awaitEvents(emissions);
+    }
+
+    /**
+     * Method used to wait the completion of a group of emissions
+     *
+     * @param emissions The emissions to wait, obtained for example by the {@link #emitEventAsync(EquinoxApplicationEvent)}
+     *                  method
+     * @param <E> The type of the application events emitted
+     *
+     * @return the completion of all the emissions as {@link CompletableFuture}, completed with the list of the events
+     * in the same order of the emissions
+     *
+     * @apiNote the emissions of the {@link #emitEventAsync(EquinoxApplicationEvent)} method drain the pending callbacks
+     * of their events, so the events can be emitted again without accumulating the callbacks already awaited
+     *
+     * @since 1.2.0
+     */
+    public static <E> CompletableFuture<List<E>> awaitEvents(Collection<CompletableFuture<E>> emissions) {
+        return CompletableFuture.allOf(emissions.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<E> events = new ArrayList<>(emissions.size());
+                    for (CompletableFuture<E> emission : emissions)
+                        events.add(emission.join());
+                    return events;
+                });
+    }
+
 }
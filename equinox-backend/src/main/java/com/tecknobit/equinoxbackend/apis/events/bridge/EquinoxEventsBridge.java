@@ -0,0 +1,304 @@
+package com.tecknobit.equinoxbackend.apis.events.bridge;
+
+import com.tecknobit.equinoxbackend.annotations.EventsHandler;
+import com.tecknobit.equinoxbackend.annotations.EventsNotifier;
+import com.tecknobit.equinoxbackend.apis.events.EquinoxApplicationEvent;
+import com.tecknobit.equinoxbackend.apis.events.EquinoxEventsCollector;
+import com.tecknobit.equinoxbackend.apis.events.bridge.EquinoxEventsCodec.DecodedEvent;
+import com.tecknobit.equinoxbackend.apis.events.bridge.EquinoxEventsCodec.DecodedFrame;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code EquinoxEventsBridge} class is useful to forward the events emitted on a node of the backend to the
+ * collectors of the other nodes (replicas) of the same backend. The selected events collected locally are encoded with
+ * the {@link EquinoxEventsCodec}, grouped in batches and sent through an {@link EquinoxEventsTransport}. The events
+ * received from the peers are deduplicated and emitted again on the local node, so the local collectors handle them as
+ * any other event
+ *
+ * <pre>
+ * {@code
+ * @Component
+ * public class TestEventsBridge extends EquinoxEventsBridge<TestEvent, TestApplicationEvent> {
+ *
+ *     @Autowired
+ *     public TestEventsBridge(ApplicationEventPublisher publisher) {
+ *         super(publisher, new TcpEventsTransport(new InetSocketAddress("10.0.0.1", 9090), peers, sharedSecret),
+ *                 TestEvent.class, EnumSet.of(EVENT_ONE));
+ *     }
+ *
+ *     @Override
+ *     protected TestApplicationEvent createEvent(Object source, Clock clock, TestEvent eventType, Object... extra) {
+ *         return new TestApplicationEvent(source, clock, eventType, extra);
+ *     }
+ *
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the event to forward
+ * @param <E> The type of the custom application event to forward
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @apiNote only the events without {@link EquinoxEventsCollector.OnEventConsumed} callback should be forwarded, because the
+ * callbacks cannot be shared between the nodes
+ *
+ * @see EquinoxEventsTransport
+ * @see EquinoxEventsCodec
+ *
+ * @since 1.2.0
+ */
+@EventsHandler
+@EventsNotifier
+public abstract class EquinoxEventsBridge<T extends Enum<T>, E extends EquinoxApplicationEvent<T>>
+        implements EquinoxEventsCollector<T, E> {
+
+    /**
+     * {@code DEFAULT_MAX_BATCH_SIZE} the default max number of events sent in a single frame
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /**
+     * {@code DEFAULT_FLUSH_INTERVAL} the default interval in milliseconds between two sendings of the pending events
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 10;
+
+    /**
+     * {@code DEFAULT_DEDUPLICATION_WINDOW} the default number of the last received events remembered to discard the
+     * duplicates
+     */
+    public static final int DEFAULT_DEDUPLICATION_WINDOW = 10_000;
+
+    /**
+     * {@code nodeId} the identifier of the current node
+     */
+    protected final String nodeId;
+
+    /**
+     * {@code publisher} the publisher used to emit locally the events received from the peers
+     */
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * {@code transport} the transport used to exchange the events with the peers
+     */
+    private final EquinoxEventsTransport transport;
+
+    /**
+     * {@code eventTypes} the types of the events indexed by name
+     */
+    private final Map<String, T> eventTypes;
+
+    /**
+     * {@code forwardedEvents} the types of the events to forward to the peers
+     */
+    private final Set<T> forwardedEvents;
+
+    /**
+     * {@code codec} the codec used to serialize the events
+     */
+    private final EquinoxEventsCodec codec;
+
+    /**
+     * {@code maxBatchSize} the max number of events sent in a single frame
+     */
+    private final int maxBatchSize;
+
+    /**
+     * {@code flushInterval} the interval in milliseconds between two sendings of the pending events
+     */
+    private final long flushInterval;
+
+    /**
+     * {@code pendingEvents} the encoded events waiting to be sent
+     */
+    private final Queue<byte[]> pendingEvents;
+
+    /**
+     * {@code pendingCount} the number of the {@link #pendingEvents}
+     */
+    private final AtomicInteger pendingCount;
+
+    /**
+     * {@code receivedEvents} the identifiers of the last events received, used to discard the duplicates
+     */
+    private final Set<UUID> receivedEvents;
+
+    /**
+     * {@code flusher} the scheduler which periodically sends the pending events
+     */
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Constructor to init the bridge
+     *
+     * @param publisher The publisher used to emit locally the events received from the peers
+     * @param transport The transport used to exchange the events with the peers
+     * @param eventTypeClass The class of the type of the events
+     * @param forwardedEvents The types of the events to forward to the peers
+     */
+    protected EquinoxEventsBridge(ApplicationEventPublisher publisher, EquinoxEventsTransport transport,
+                                  Class<T> eventTypeClass, Set<T> forwardedEvents) {
+        this(publisher, transport, eventTypeClass, forwardedEvents, new EquinoxEventsCodec(), DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_FLUSH_INTERVAL, DEFAULT_DEDUPLICATION_WINDOW);
+    }
+
+    /**
+     * Constructor to init the bridge
+     *
+     * @param publisher The publisher used to emit locally the events received from the peers
+     * @param transport The transport used to exchange the events with the peers
+     * @param eventTypeClass The class of the type of the events
+     * @param forwardedEvents The types of the events to forward to the peers
+     * @param codec The codec used to serialize the events
+     * @param maxBatchSize The max number of events sent in a single frame
+     * @param flushInterval The interval in milliseconds between two sendings of the pending events
+     * @param deduplicationWindow The number of the last received events remembered to discard the duplicates
+     */
+    protected EquinoxEventsBridge(ApplicationEventPublisher publisher, EquinoxEventsTransport transport,
+                                  Class<T> eventTypeClass, Set<T> forwardedEvents, EquinoxEventsCodec codec,
+                                  int maxBatchSize, long flushInterval, int deduplicationWindow) {
+        this.publisher = publisher;
+        this.transport = transport;
+        this.forwardedEvents = Set.copyOf(forwardedEvents);
+        this.codec = codec;
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        nodeId = UUID.randomUUID().toString();
+        eventTypes = new HashMap<>();
+        for (T eventType : eventTypeClass.getEnumConstants())
+            eventTypes.put(eventType.name(), eventType);
+        pendingEvents = new ConcurrentLinkedQueue<>();
+        pendingCount = new AtomicInteger();
+        receivedEvents = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > deduplicationWindow;
+            }
+        }));
+    }
+
+    /**
+     * Method used to start the bridge, starting the {@link #transport} and the periodic sending of the pending events
+     *
+     * @throws IOException when the transport could not be started
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        transport.start(this::onFrameReceived);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equinox-events-bridge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method used to stop the bridge sending the events still pending
+     *
+     * @throws IOException when the transport could not be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (flusher != null)
+            flusher.shutdown();
+        flush();
+        transport.close();
+    }
+
+    /**
+     * Method used to collect the local events and to enqueue those to forward to the peers. The events whose extra
+     * arguments are not supported by the {@link #codec} are logged and not forwarded, so the local emission is never
+     * affected by the forwarding
+     *
+     * @param event The emitted event to handle
+     */
+    @Override
+    public void onEventCollected(E event) {
+        if (event.getSource() == this || !forwardedEvents.contains(event.getEventType()))
+            return;
+        byte[] encodedEvent;
+        try {
+            encodedEvent = codec.encodeEvent(UUID.randomUUID(), event.getTimestamp(), event.getEventType(),
+                    event.getExtra());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Event " + event.getEventType() + " not forwarded: " + e.getMessage());
+            return;
+        }
+        pendingEvents.add(encodedEvent);
+        if (pendingCount.incrementAndGet() >= maxBatchSize && flusher != null)
+            flusher.execute(this::flush);
+    }
+
+    /**
+     * Method used to send the pending events to the peers in batches of {@link #maxBatchSize} events
+     */
+    protected synchronized void flush() {
+        while (pendingCount.get() > 0) {
+            List<byte[]> batch = new ArrayList<>(Math.min(pendingCount.get(), maxBatchSize));
+            byte[] event;
+            while (batch.size() < maxBatchSize && (event = pendingEvents.poll()) != null)
+                batch.add(event);
+            if (batch.isEmpty())
+                return;
+            pendingCount.addAndGet(-batch.size());
+            try {
+                transport.send(codec.encodeFrame(nodeId, batch));
+            } catch (IOException e) {
+                System.err.println("Error during the forwarding of " + batch.size() + " events: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method used to handle a frame received from a peer, emitting locally the events not already received
+     *
+     * @param frame The frame received
+     */
+    private void onFrameReceived(byte[] frame) {
+        DecodedFrame decodedFrame;
+        try {
+            decodedFrame = codec.decodeFrame(frame);
+        } catch (IOException e) {
+            System.err.println("Error during the decoding of a received frame: " + e.getMessage());
+            return;
+        }
+        if (nodeId.equals(decodedFrame.nodeId()))
+            return;
+        for (DecodedEvent decodedEvent : decodedFrame.events()) {
+            T eventType = eventTypes.get(decodedEvent.eventType());
+            if (eventType == null || !receivedEvents.add(decodedEvent.id()))
+                continue;
+            Clock clock = Clock.fixed(Instant.ofEpochMilli(decodedEvent.timestamp()), ZoneId.systemDefault());
+            publisher.publishEvent(createEvent(this, clock, eventType, decodedEvent.extra()));
+        }
+    }
+
+    /**
+     * Method used to create the local event from an event received from a peer
+     *
+     * @param source The source of the event, that is the bridge itself
+     * @param clock The clock which provides the timestamp when the event has been emitted by the peer, to pass to the
+     *              {@link EquinoxApplicationEvent#EquinoxApplicationEvent(Object, Clock, Enum, Object...)} constructor
+     * @param eventType The type of the event received
+     * @param extra The extra arguments shared with the event
+     *
+     * @return the event to emit locally as {@link E}
+     */
+    protected abstract E createEvent(Object source, Clock clock, T eventType, Object... extra);
+
+}
@@ -0,0 +1,459 @@
+package com.tecknobit.equinoxbackend.apis.events.bridge;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code EquinoxEventsCodec} class is the compact binary codec used by the {@link EquinoxEventsBridge} to serialize
+ * the events exchanged between the nodes. The events are grouped in frames with the following layout:
+ *
+ * <pre>
+ *     {@code
+ *          version [byte] | flags [byte] | body
+ *
+ *          body (deflated when the FLAG_DEFLATED flag is set):
+ *          nodeId [UTF] | eventsCount [varint] | events
+ *
+ *          event:
+ *          id [2 x long] | timestamp [long] | eventType [UTF] | extraCount [varint] | extra
+ *     }
+ * </pre>
+ *
+ * The extra arguments supported are {@code null}, {@link String}, {@link Integer}, {@link Long}, {@link Double},
+ * {@link Float}, {@link Boolean} and {@code byte[]}. The frames received are not trusted: the body is never inflated
+ * over the max size allowed and each length read is checked against the bytes left in the body before allocating
+ * anything
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class EquinoxEventsCodec {
+
+    /**
+     * {@code VERSION} the version of the frames layout
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * {@code FLAG_DEFLATED} the flag set when the body of the frame has been deflated
+     */
+    public static final byte FLAG_DEFLATED = 1;
+
+    /**
+     * {@code DEFAULT_COMPRESSION_THRESHOLD} the default size of the body over which it is deflated
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 512;
+
+    /**
+     * {@code DEFAULT_MAX_BODY_SIZE} the default max size of the body of a frame, once inflated
+     */
+    public static final int DEFAULT_MAX_BODY_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * {@code MIN_EVENT_SIZE} the min size of an encoded event, that is its identifier, its timestamp, its empty type
+     * and the count of its extra arguments
+     */
+    private static final int MIN_EVENT_SIZE = 2 * Long.BYTES + Long.BYTES + Short.BYTES + 1;
+
+    /**
+     * {@code INFLATE_BUFFER_SIZE} the size of the buffer used to inflate the bodies
+     */
+    private static final int INFLATE_BUFFER_SIZE = 8192;
+
+    /**
+     * {@code NULL_TAG} tag of the {@code null} extra values
+     */
+    private static final byte NULL_TAG = 0;
+
+    /**
+     * {@code STRING_TAG} tag of the {@link String} extra values
+     */
+    private static final byte STRING_TAG = 1;
+
+    /**
+     * {@code INT_TAG} tag of the {@link Integer} extra values
+     */
+    private static final byte INT_TAG = 2;
+
+    /**
+     * {@code LONG_TAG} tag of the {@link Long} extra values
+     */
+    private static final byte LONG_TAG = 3;
+
+    /**
+     * {@code DOUBLE_TAG} tag of the {@link Double} extra values
+     */
+    private static final byte DOUBLE_TAG = 4;
+
+    /**
+     * {@code FLOAT_TAG} tag of the {@link Float} extra values
+     */
+    private static final byte FLOAT_TAG = 5;
+
+    /**
+     * {@code BOOLEAN_TAG} tag of the {@link Boolean} extra values
+     */
+    private static final byte BOOLEAN_TAG = 6;
+
+    /**
+     * {@code BYTES_TAG} tag of the {@code byte[]} extra values
+     */
+    private static final byte BYTES_TAG = 7;
+
+    /**
+     * {@code compressionThreshold} the size of the body over which it is deflated
+     */
+    private final int compressionThreshold;
+
+    /**
+     * {@code maxBodySize} the max size of the body of a frame, once inflated
+     */
+    private final int maxBodySize;
+
+    /**
+     * Constructor to init the codec with the {@link #DEFAULT_COMPRESSION_THRESHOLD} and the
+     * {@link #DEFAULT_MAX_BODY_SIZE}
+     */
+    public EquinoxEventsCodec() {
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * Constructor to init the codec with the {@link #DEFAULT_MAX_BODY_SIZE}
+     *
+     * @param compressionThreshold The size of the body over which it is deflated
+     */
+    public EquinoxEventsCodec(int compressionThreshold) {
+        this(compressionThreshold, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * Constructor to init the codec
+     *
+     * @param compressionThreshold The size of the body over which it is deflated
+     * @param maxBodySize The max size of the body of a frame, once inflated
+     */
+    public EquinoxEventsCodec(int compressionThreshold, int maxBodySize) {
+        this.compressionThreshold = compressionThreshold;
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Method used to encode a single event
+     *
+     * @param id The identifier of the event
+     * @param timestamp The timestamp when the event has been emitted
+     * @param eventType The type of the event
+     * @param extra The extra arguments shared with the event
+     *
+     * @return the encoded event as {@code byte[]}
+     *
+     * @throws IllegalArgumentException when an extra argument is not supported by the codec
+     */
+    public byte[] encodeEvent(UUID id, long timestamp, Enum<?> eventType, Object... extra) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(buffer)) {
+            output.writeLong(id.getMostSignificantBits());
+            output.writeLong(id.getLeastSignificantBits());
+            output.writeLong(timestamp);
+            output.writeUTF(eventType.name());
+            if (extra == null)
+                extra = new Object[0];
+            writeVarInt(output, extra.length);
+            for (Object value : extra)
+                writeExtra(output, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Method used to write an extra argument
+     *
+     * @param output The stream where write the value
+     * @param value The extra argument to write
+     *
+     * @throws IOException when an error occurred during the writing
+     */
+    private void writeExtra(DataOutputStream output, Object value) throws IOException {
+        if (value == null)
+            output.writeByte(NULL_TAG);
+        else if (value instanceof String string) {
+            output.writeByte(STRING_TAG);
+            byte[] bytes = string.getBytes(UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        } else if (value instanceof Integer integer) {
+            output.writeByte(INT_TAG);
+            output.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            output.writeByte(LONG_TAG);
+            output.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            output.writeByte(DOUBLE_TAG);
+            output.writeDouble(doubleValue);
+        } else if (value instanceof Float floatValue) {
+            output.writeByte(FLOAT_TAG);
+            output.writeFloat(floatValue);
+        } else if (value instanceof Boolean booleanValue) {
+            output.writeByte(BOOLEAN_TAG);
+            output.writeBoolean(booleanValue);
+        } else if (value instanceof byte[] bytes) {
+            output.writeByte(BYTES_TAG);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        } else
+            throw new IllegalArgumentException("Extra argument not supported by the codec: " + value.getClass().getName());
+    }
+
+    /**
+     * Method used to encode a frame of events
+     *
+     * @param nodeId The identifier of the node which sends the frame
+     * @param events The events encoded with the {@link #encodeEvent(UUID, long, Enum, Object...)} method
+     *
+     * @return the encoded frame as {@code byte[]}
+     */
+    public byte[] encodeFrame(String nodeId, List<byte[]> events) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(body)) {
+                output.writeUTF(nodeId);
+                writeVarInt(output, events.size());
+                for (byte[] event : events)
+                    output.write(event);
+            }
+            byte[] rawBody = body.toByteArray();
+            boolean deflate = rawBody.length > compressionThreshold;
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(rawBody.length + 2);
+            frame.write(VERSION);
+            frame.write(deflate ? FLAG_DEFLATED : 0);
+            if (deflate) {
+                try (DeflaterOutputStream deflater = new DeflaterOutputStream(frame)) {
+                    deflater.write(rawBody);
+                }
+            } else
+                frame.write(rawBody);
+            return frame.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method used to decode a frame of events
+     *
+     * @param frame The frame to decode
+     *
+     * @return the decoded frame as {@link DecodedFrame}
+     *
+     * @throws IOException when the frame is malformed or its body exceeds the max size allowed
+     */
+    public DecodedFrame decodeFrame(byte[] frame) throws IOException {
+        if (frame.length < 2 || frame[0] != VERSION)
+            throw new IOException("Unsupported frame");
+        byte[] body;
+        if ((frame[1] & FLAG_DEFLATED) != 0)
+            body = inflate(frame, 2, frame.length - 2);
+        else {
+            if (frame.length - 2 > maxBodySize)
+                throw new IOException("The body of the frame exceeds " + maxBodySize + " bytes");
+            body = frame;
+        }
+        int offset = body == frame ? 2 : 0;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(body, offset, body.length - offset))) {
+            String nodeId = input.readUTF();
+            int eventsCount = readLength(input, MIN_EVENT_SIZE);
+            List<DecodedEvent> events = new ArrayList<>(eventsCount);
+            for (int j = 0; j < eventsCount; j++)
+                events.add(readEvent(input));
+            return new DecodedFrame(nodeId, events);
+        }
+    }
+
+    /**
+     * Method used to inflate the body of a frame, stopping as soon as it exceeds the {@link #maxBodySize}
+     *
+     * @param frame The frame which contains the body
+     * @param offset The offset of the body in the frame
+     * @param length The length of the deflated body
+     *
+     * @return the body inflated as {@code byte[]}
+     *
+     * @throws IOException when the body is malformed or exceeds the max size allowed
+     */
+    private byte[] inflate(byte[] frame, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(frame, offset, length);
+            ByteArrayOutputStream body = new ByteArrayOutputStream(Math.min(maxBodySize, length * 4));
+            byte[] buffer = new byte[INFLATE_BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IOException("Truncated deflated body");
+                if (body.size() + inflated > maxBodySize)
+                    throw new IOException("The inflated body of the frame exceeds " + maxBodySize + " bytes");
+                body.write(buffer, 0, inflated);
+            }
+            return body.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Malformed deflated body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Method used to read a single event
+     *
+     * @param input The stream where read the event
+     *
+     * @return the event as {@link DecodedEvent}
+     *
+     * @throws IOException when the event is malformed
+     */
+    private DecodedEvent readEvent(DataInputStream input) throws IOException {
+        UUID id = new UUID(input.readLong(), input.readLong());
+        long timestamp = input.readLong();
+        String eventType = input.readUTF();
+        Object[] extra = new Object[readLength(input, 1)];
+        for (int j = 0; j < extra.length; j++)
+            extra[j] = readExtra(input);
+        return new DecodedEvent(id, timestamp, eventType, extra);
+    }
+
+    /**
+     * Method used to read an extra argument
+     *
+     * @param input The stream where read the value
+     *
+     * @return the extra argument as {@link Object}
+     *
+     * @throws IOException when the value is malformed
+     */
+    private Object readExtra(DataInputStream input) throws IOException {
+        byte tag = input.readByte();
+        return switch (tag) {
+            case NULL_TAG -> null;
+            case STRING_TAG -> new String(readBytes(input), UTF_8);
+            case INT_TAG -> input.readInt();
+            case LONG_TAG -> input.readLong();
+            case DOUBLE_TAG -> input.readDouble();
+            case FLOAT_TAG -> input.readFloat();
+            case BOOLEAN_TAG -> input.readBoolean();
+            case BYTES_TAG -> readBytes(input);
+            default -> throw new IOException("Unknown extra tag: " + tag);
+        };
+    }
+
+    /**
+     * Method used to read an array of bytes prefixed by its length
+     *
+     * @param input The stream where read the bytes
+     *
+     * @return the bytes read as {@code byte[]}
+     *
+     * @throws IOException when the bytes are malformed
+     */
+    private byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[readLength(input, 1)];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Method used to write an unsigned variable length integer
+     *
+     * @param output The stream where write the value
+     * @param value The value to write
+     *
+     * @throws IOException when an error occurred during the writing
+     */
+    private void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Method used to read the length of a group of items, checking that the items can fit in the bytes left, so a
+     * forged length cannot allocate more than the body itself
+     *
+     * @param input The stream where read the length, backed by the body of the frame
+     * @param minItemSize The min size in bytes of each item
+     *
+     * @return the length read as {@code int}
+     *
+     * @throws IOException when the length is malformed or exceeds the bytes left
+     */
+    private int readLength(DataInputStream input, int minItemSize) throws IOException {
+        int length = readVarInt(input);
+        if (length > input.available() / minItemSize)
+            throw new IOException("Length " + length + " exceeds the bytes left in the frame");
+        return length;
+    }
+
+    /**
+     * Method used to read an unsigned variable length integer
+     *
+     * @param input The stream where read the value
+     *
+     * @return the value read as {@code int}
+     *
+     * @throws IOException when the value is malformed
+     */
+    private int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte current = input.readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                if (value < 0)
+                    throw new IOException("Malformed varint");
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * The {@code DecodedFrame} class represents a frame decoded by the {@link #decodeFrame(byte[])} method
+     *
+     * @param nodeId The identifier of the node which sent the frame
+     * @param events The events contained in the frame
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public record DecodedFrame(String nodeId, List<DecodedEvent> events) {
+    }
+
+    /**
+     * The {@code DecodedEvent} class represents an event decoded from a {@link DecodedFrame}
+     *
+     * @param id The identifier of the event
+     * @param timestamp The timestamp when the event has been emitted
+     * @param eventType The name of the type of the event
+     * @param extra The extra arguments shared with the event
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public record DecodedEvent(UUID id, long timestamp, String eventType, Object[] extra) {
+    }
+
+}
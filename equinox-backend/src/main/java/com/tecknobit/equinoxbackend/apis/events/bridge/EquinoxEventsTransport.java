@@ -0,0 +1,58 @@
+package com.tecknobit.equinoxbackend.apis.events.bridge;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The {@code EquinoxEventsTransport} interface is the contract used by the {@link EquinoxEventsBridge} to exchange the
+ * frames of the events with the peer nodes of the backend
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxEventsBridge
+ * @see TcpEventsTransport
+ * @see LoopbackEventsTransport
+ *
+ * @since 1.2.0
+ */
+public interface EquinoxEventsTransport extends Closeable {
+
+    /**
+     * Method used to start the transport, from this moment the frames received from the peers are dispatched to the
+     * receiver
+     *
+     * @param receiver The receiver of the frames sent by the peers
+     *
+     * @throws IOException when an error occurred during the start of the transport
+     */
+    void start(FrameReceiver receiver) throws IOException;
+
+    /**
+     * Method used to send a frame to all the peers
+     *
+     * @param frame The frame to send
+     *
+     * @throws IOException when the frame could not be sent to any peer
+     */
+    void send(byte[] frame) throws IOException;
+
+    /**
+     * The {@code FrameReceiver} interface used to receive the frames sent by the peers
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    @FunctionalInterface
+    interface FrameReceiver {
+
+        /**
+         * Method invoked when a frame has been received
+         *
+         * @param frame The frame received
+         */
+        void onFrameReceived(byte[] frame);
+
+    }
+
+}
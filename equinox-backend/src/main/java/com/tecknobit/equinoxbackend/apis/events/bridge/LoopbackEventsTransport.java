@@ -0,0 +1,78 @@
+package com.tecknobit.equinoxbackend.apis.events.bridge;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * The {@code LoopbackEventsTransport} class is an in-JVM {@link EquinoxEventsTransport} where the frames sent by a
+ * transport are delivered to all the other transports attached to the same channel. It is useful to test the
+ * {@link EquinoxEventsBridge} without any network
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class LoopbackEventsTransport implements EquinoxEventsTransport {
+
+    /**
+     * {@code CHANNELS} the transports attached to each channel
+     */
+    private static final Map<String, Set<LoopbackEventsTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    /**
+     * {@code channel} the channel where the transport is attached
+     */
+    private final String channel;
+
+    /**
+     * {@code receiver} the receiver of the frames sent by the other transports
+     */
+    private volatile FrameReceiver receiver;
+
+    /**
+     * Constructor to init the transport
+     *
+     * @param channel The channel where the transport will be attached
+     */
+    public LoopbackEventsTransport(String channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start(FrameReceiver receiver) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>()).add(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(byte[] frame) {
+        Set<LoopbackEventsTransport> transports = CHANNELS.get(channel);
+        if (transports == null)
+            return;
+        for (LoopbackEventsTransport transport : transports) {
+            FrameReceiver peerReceiver = transport.receiver;
+            if (transport != this && peerReceiver != null)
+                peerReceiver.onFrameReceived(frame.clone());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        Set<LoopbackEventsTransport> transports = CHANNELS.get(channel);
+        if (transports != null)
+            transports.remove(this);
+        receiver = null;
+    }
+
+}
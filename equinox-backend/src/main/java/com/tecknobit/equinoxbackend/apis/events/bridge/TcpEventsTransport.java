@@ -0,0 +1,446 @@
+package com.tecknobit.equinoxbackend.apis.events.bridge;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code TcpEventsTransport} class is the {@link EquinoxEventsTransport} which exchanges the frames with the peer
+ * nodes through {@code TCP} connections. Each frame is written prefixed by its length and a connection is kept open
+ * for each peer, reopening it when a sending fails.
+ * <p>
+ * The transport listens only on the address configured and the peers are authenticated by a secret shared between
+ * the nodes: when a peer connects it receives a random challenge and has to answer with its {@code HMAC-SHA256} keyed
+ * with the secret, then each frame is followed by its {@code HMAC-SHA256} computed on the challenge and on the sequence
+ * number of the frame, so the frames cannot be forged, altered or replayed by who does not know the secret. The
+ * connections which fail the authentication are closed and the number of the connections accepted at the same time is
+ * capped
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class TcpEventsTransport implements EquinoxEventsTransport {
+
+    /**
+     * {@code MAX_FRAME_SIZE} the max size allowed for a received frame
+     */
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * {@code DEFAULT_MAX_CONNECTIONS} the default max number of the peer connections accepted at the same time
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 32;
+
+    /**
+     * {@code MIN_SECRET_LENGTH} the min length in bytes of the shared secret
+     */
+    public static final int MIN_SECRET_LENGTH = 16;
+
+    /**
+     * {@code HANDSHAKE_TIMEOUT} the time in milliseconds a peer has to authenticate after the connection
+     */
+    private static final int HANDSHAKE_TIMEOUT = 5000;
+
+    /**
+     * {@code CHALLENGE_LENGTH} the length in bytes of the challenge sent to the peers
+     */
+    private static final int CHALLENGE_LENGTH = 16;
+
+    /**
+     * {@code MAC_ALGORITHM} the algorithm used to authenticate the peers and the frames
+     */
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * {@code MAC_LENGTH} the length in bytes of the {@link #MAC_ALGORITHM} codes
+     */
+    private static final int MAC_LENGTH = 32;
+
+    /**
+     * {@code HANDSHAKE_LABEL} the label which separates the codes of the handshakes from those of the frames
+     */
+    private static final byte[] HANDSHAKE_LABEL = "equinox-events-handshake".getBytes(UTF_8);
+
+    /**
+     * {@code SECURE_RANDOM} the generator of the challenges
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * {@code bindAddress} the address where the transport listens for the frames sent by the peers
+     */
+    private final InetSocketAddress bindAddress;
+
+    /**
+     * {@code peers} the addresses of the peers where the frames are sent
+     */
+    private final List<InetSocketAddress> peers;
+
+    /**
+     * {@code secretKey} the secret shared between the nodes used to authenticate the peers and the frames
+     */
+    private final SecretKeySpec secretKey;
+
+    /**
+     * {@code connectionsSlots} the slots of the peer connections accepted at the same time
+     */
+    private final Semaphore connectionsSlots;
+
+    /**
+     * {@code connections} the currently opened connections with the peers
+     */
+    private final Map<InetSocketAddress, PeerConnection> connections;
+
+    /**
+     * {@code readersCount} the number of the readers started, used to name their threads
+     */
+    private final AtomicInteger readersCount;
+
+    /**
+     * {@code serverSocket} the socket where the peers connect to
+     */
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Constructor to init the transport with the {@link #DEFAULT_MAX_CONNECTIONS}
+     *
+     * @param bindAddress The address where the transport listens for the frames sent by the peers, e.g. the address of
+     *                    the private network of the nodes
+     * @param peers The addresses of the peers where the frames are sent
+     * @param sharedSecret The secret shared between the nodes, at least {@link #MIN_SECRET_LENGTH} bytes long
+     */
+    public TcpEventsTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers, String sharedSecret) {
+        this(bindAddress, peers, sharedSecret, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Constructor to init the transport
+     *
+     * @param bindAddress The address where the transport listens for the frames sent by the peers, e.g. the address of
+     *                    the private network of the nodes
+     * @param peers The addresses of the peers where the frames are sent
+     * @param sharedSecret The secret shared between the nodes, at least {@link #MIN_SECRET_LENGTH} bytes long
+     * @param maxConnections The max number of the peer connections accepted at the same time, the connections beyond
+     *                       it are closed
+     *
+     * @throws IllegalArgumentException when the shared secret is too short or the max connections is not positive
+     */
+    public TcpEventsTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers, String sharedSecret,
+                              int maxConnections) {
+        if (sharedSecret == null || sharedSecret.getBytes(UTF_8).length < MIN_SECRET_LENGTH)
+            throw new IllegalArgumentException("The shared secret must be at least " + MIN_SECRET_LENGTH + " bytes long");
+        if (maxConnections < 1)
+            throw new IllegalArgumentException("The max connections must be positive");
+        this.bindAddress = bindAddress;
+        this.peers = List.copyOf(peers);
+        secretKey = new SecretKeySpec(sharedSecret.getBytes(UTF_8), MAC_ALGORITHM);
+        connectionsSlots = new Semaphore(maxConnections);
+        connections = new ConcurrentHashMap<>();
+        readersCount = new AtomicInteger();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start(FrameReceiver receiver) throws IOException {
+        ServerSocket socket = new ServerSocket();
+        try {
+            socket.bind(bindAddress);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        serverSocket = socket;
+        Thread acceptor = new Thread(() -> acceptConnections(receiver), "equinox-events-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Method used to accept the connections of the peers, when all the slots are taken the new connections are closed
+     *
+     * @param receiver The receiver of the frames sent by the peers
+     */
+    private void acceptConnections(FrameReceiver receiver) {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (!connectionsSlots.tryAcquire()) {
+                    System.err.println("Peer connection from " + socket.getRemoteSocketAddress() + " refused: too " +
+                            "many connections");
+                    closeQuietly(socket);
+                    continue;
+                }
+                Thread reader = new Thread(() -> {
+                    try {
+                        readFrames(socket, receiver);
+                    } finally {
+                        connectionsSlots.release();
+                    }
+                }, "equinox-events-reader-" + readersCount.incrementAndGet());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Error during the acceptance of a peer connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method used to authenticate a peer and then to read the frames it sends, the connection is closed as soon as
+     * the peer or a frame fails the authentication
+     *
+     * @param socket The socket of the peer connection
+     * @param receiver The receiver of the frames sent by the peers
+     */
+    private void readFrames(Socket socket, FrameReceiver receiver) {
+        try (socket; DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+            byte[] challenge = new byte[CHALLENGE_LENGTH];
+            SECURE_RANDOM.nextBytes(challenge);
+            OutputStream output = socket.getOutputStream();
+            output.write(challenge);
+            output.flush();
+            byte[] proof = new byte[MAC_LENGTH];
+            input.readFully(proof);
+            Mac mac = createMac();
+            if (!MessageDigest.isEqual(proof, computeHandshakeProof(mac, challenge))) {
+                System.err.println("Peer connection from " + socket.getRemoteSocketAddress() + " refused: " +
+                        "authentication failed");
+                return;
+            }
+            socket.setSoTimeout(0);
+            long sequence = 0;
+            byte[] frameMac = new byte[MAC_LENGTH];
+            while (true) {
+                int frameSize = input.readInt();
+                if (frameSize < 0 || frameSize > MAX_FRAME_SIZE)
+                    throw new IOException("Invalid frame size: " + frameSize);
+                byte[] frame = new byte[frameSize];
+                input.readFully(frame);
+                input.readFully(frameMac);
+                if (!MessageDigest.isEqual(frameMac, computeFrameMac(mac, challenge, sequence++, frame)))
+                    throw new IOException("Frame authentication failed");
+                receiver.onFrameReceived(frame);
+            }
+        } catch (EOFException | SocketException ignored) {
+            // the peer closed the connection
+        } catch (IOException e) {
+            System.err.println("Error during the reading of a peer frame: " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @apiNote the frame is sent to all the reachable peers, the peers currently not reachable are skipped and the
+     * {@link IOException} is thrown only when no one peer received the frame
+     */
+    @Override
+    public void send(byte[] frame) throws IOException {
+        IOException lastError = null;
+        int delivered = 0;
+        for (InetSocketAddress peer : peers) {
+            PeerConnection connection = connections.computeIfAbsent(peer, PeerConnection::new);
+            try {
+                connection.write(frame);
+                delivered++;
+            } catch (IOException e) {
+                lastError = e;
+            }
+        }
+        if (delivered == 0 && lastError != null)
+            throw lastError;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        for (PeerConnection connection : connections.values())
+            connection.close();
+        connections.clear();
+        if (serverSocket != null)
+            serverSocket.close();
+    }
+
+    /**
+     * Method used to create the {@link Mac} keyed with the shared secret
+     *
+     * @return the mac as {@link Mac}
+     */
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to compute the proof which answers to a challenge
+     *
+     * @param mac The mac keyed with the shared secret
+     * @param challenge The challenge sent to the peer
+     *
+     * @return the proof as {@code byte[]}
+     */
+    private static byte[] computeHandshakeProof(Mac mac, byte[] challenge) {
+        mac.update(HANDSHAKE_LABEL);
+        return mac.doFinal(challenge);
+    }
+
+    /**
+     * Method used to compute the code which authenticates a frame
+     *
+     * @param mac The mac keyed with the shared secret
+     * @param challenge The challenge of the connection
+     * @param sequence The sequence number of the frame in the connection
+     * @param frame The frame to authenticate
+     *
+     * @return the code of the frame as {@code byte[]}
+     */
+    private static byte[] computeFrameMac(Mac mac, byte[] challenge, long sequence, byte[] frame) {
+        mac.update(challenge);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            mac.update((byte) (sequence >>> shift));
+        return mac.doFinal(frame);
+    }
+
+    /**
+     * Method used to close a socket ignoring the errors
+     *
+     * @param socket The socket to close
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // the socket is discarded anyway
+        }
+    }
+
+    /**
+     * The {@code PeerConnection} class represents the outgoing connection with a peer
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private final class PeerConnection {
+
+        /**
+         * {@code address} the address of the peer
+         */
+        private final InetSocketAddress address;
+
+        /**
+         * {@code socket} the socket of the connection, {@code null} if not connected
+         */
+        private Socket socket;
+
+        /**
+         * {@code output} the stream where the frames are written
+         */
+        private DataOutputStream output;
+
+        /**
+         * {@code mac} the mac used to authenticate the frames of the connection
+         */
+        private Mac mac;
+
+        /**
+         * {@code challenge} the challenge received from the peer when the connection has been opened
+         */
+        private byte[] challenge;
+
+        /**
+         * {@code sequence} the sequence number of the next frame
+         */
+        private long sequence;
+
+        /**
+         * Constructor to init the connection
+         *
+         * @param address The address of the peer
+         */
+        private PeerConnection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        /**
+         * Method used to write a frame to the peer, opening and authenticating the connection if needed
+         *
+         * @param frame The frame to write
+         *
+         * @throws IOException when the frame could not be written
+         */
+        private synchronized void write(byte[] frame) throws IOException {
+            try {
+                if (socket == null)
+                    open();
+                output.writeInt(frame.length);
+                output.write(frame);
+                output.write(computeFrameMac(mac, challenge, sequence++, frame));
+                output.flush();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Method used to open the connection answering to the challenge of the peer
+         *
+         * @throws IOException when the connection could not be opened
+         */
+        private void open() throws IOException {
+            socket = new Socket();
+            socket.connect(address, HANDSHAKE_TIMEOUT);
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+            challenge = new byte[CHALLENGE_LENGTH];
+            new DataInputStream(socket.getInputStream()).readFully(challenge);
+            socket.setSoTimeout(0);
+            mac = createMac();
+            sequence = 0;
+            output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            output.write(computeHandshakeProof(mac, challenge));
+        }
+
+        /**
+         * Method used to close the connection
+         */
+        private synchronized void close() {
+            if (socket != null)
+                closeQuietly(socket);
+            socket = null;
+            output = null;
+            mac = null;
+            challenge = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.tecknobit.equinoxbackend.apis.events.metrics;
+
+import com.tecknobit.equinoxbackend.apis.events.EquinoxApplicationEvent;
+import com.tecknobit.equinoxbackend.apis.metrics.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code EquinoxEventsMetrics} class collects the metrics of the events pipeline: how many times each type of
+ * {@link EquinoxApplicationEvent} is emitted, how long the whole dispatching and each single collector take and, for the
+ * events emitted asynchronously, the depth of the queue and the time the events wait before being dispatched. <br>
+ * The metrics are exposed as {@code Micrometer} meters when a {@link MeterRegistry} is available and as {@code JSON}
+ * snapshot with the {@link #toJson()} method
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxEventsMulticaster
+ *
+ * @since 1.2.0
+ */
+@Component
+public class EquinoxEventsMetrics implements MeterBinder {
+
+    /**
+     * {@code METRICS_PREFIX} the prefix of the names of the meters
+     */
+    private static final String METRICS_PREFIX = "equinox.events.";
+
+    /**
+     * {@code EVENT_TYPE_TAG} the tag of the meters with the type of the event
+     */
+    private static final String EVENT_TYPE_TAG = "type";
+
+    /**
+     * {@code LISTENER_TAG} the tag of the meters with the identifier of the collector
+     */
+    private static final String LISTENER_TAG = "listener";
+
+    /**
+     * {@code eventsMetrics} the metrics of each type of event
+     */
+    private final Map<String, EventMetrics> eventsMetrics;
+
+    /**
+     * {@code queueDepth} the number of the events emitted asynchronously waiting to be dispatched
+     */
+    private final AtomicInteger queueDepth;
+
+    /**
+     * {@code queueWait} the time the events emitted asynchronously waited before being dispatched
+     */
+    private final LatencyHistogram queueWait;
+
+    /**
+     * {@code registry} the registry where the meters are registered, {@code null} if not bound
+     */
+    private volatile MeterRegistry registry;
+
+    /**
+     * Constructor to init the metrics
+     */
+    public EquinoxEventsMetrics() {
+        eventsMetrics = new ConcurrentHashMap<>();
+        queueDepth = new AtomicInteger();
+        queueWait = new LatencyHistogram();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(METRICS_PREFIX + "queue.depth", queueDepth, AtomicInteger::get)
+                .description("Events emitted asynchronously waiting to be dispatched")
+                .register(registry);
+        queueWait.register(registry, METRICS_PREFIX + "queue.wait");
+        for (EventMetrics metrics : eventsMetrics.values())
+            metrics.register(registry);
+    }
+
+    /**
+     * Method used to record the dispatching of an event to all its collectors
+     *
+     * @param event The event dispatched
+     * @param nanos The time taken by the dispatching in nanoseconds
+     */
+    public void recordEmission(EquinoxApplicationEvent<?> event, long nanos) {
+        EventMetrics metrics = getEventMetrics(event);
+        metrics.emitted.increment();
+        metrics.dispatching.record(nanos);
+    }
+
+    /**
+     * Method used to record the handling of an event by a single collector
+     *
+     * @param event The event handled
+     * @param listenerId The identifier of the collector which handled the event
+     * @param nanos The time taken by the collector in nanoseconds
+     */
+    public void recordHandling(EquinoxApplicationEvent<?> event, String listenerId, long nanos) {
+        getEventMetrics(event).getHandlerLatency(listenerId).record(nanos);
+    }
+
+    /**
+     * Method used to record an event enqueued to be emitted asynchronously
+     */
+    public void recordEnqueued() {
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Method used to record an event enqueued whose emission has been rejected by the executor, so it will never be
+     * dequeued
+     */
+    public void recordRejected() {
+        queueDepth.decrementAndGet();
+    }
+
+    /**
+     * Method used to record an event dequeued to be dispatched
+     *
+     * @param waitNanos The time the event waited in the queue in nanoseconds
+     */
+    public void recordDequeued(long waitNanos) {
+        queueDepth.decrementAndGet();
+        queueWait.record(waitNanos);
+    }
+
+    /**
+     * Method used to get the metrics of the type of an event, creating them if not exist yet
+     *
+     * @param event The event from get the metrics
+     *
+     * @return the metrics as {@link EventMetrics}
+     */
+    private EventMetrics getEventMetrics(EquinoxApplicationEvent<?> event) {
+        Enum<?> eventType = event.getEventType();
+        String type = eventType.getDeclaringClass().getSimpleName() + "." + eventType.name();
+        EventMetrics metrics = eventsMetrics.get(type);
+        if (metrics != null)
+            return metrics;
+        return eventsMetrics.computeIfAbsent(type, key -> {
+            EventMetrics created = new EventMetrics(key);
+            MeterRegistry currentRegistry = registry;
+            if (currentRegistry != null)
+                created.register(currentRegistry);
+            return created;
+        });
+    }
+
+    /**
+     * Method used to get a snapshot of the collected metrics
+     *
+     * @return the snapshot as {@link JSONObject}
+     */
+    public JSONObject toJson() {
+        JSONObject events = new JSONObject();
+        eventsMetrics.forEach((type, metrics) -> events.put(type, metrics.toJson()));
+        return new JSONObject()
+                .put("events", events)
+                .put("queue", queueWait.toJson().put("depth", queueDepth.get()));
+    }
+
+    /**
+     * The {@code EventMetrics} class contains the metrics of a single type of event
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private final class EventMetrics {
+
+        /**
+         * {@code type} the type of the event
+         */
+        private final String type;
+
+        /**
+         * {@code emitted} how many times the event has been emitted
+         */
+        private final LongAdder emitted;
+
+        /**
+         * {@code dispatching} the time taken to dispatch the event to all its collectors
+         */
+        private final LatencyHistogram dispatching;
+
+        /**
+         * {@code handlers} the time taken by each collector to handle the event
+         */
+        private final Map<String, LatencyHistogram> handlers;
+
+        /**
+         * Constructor to init the metrics
+         *
+         * @param type The type of the event
+         */
+        private EventMetrics(String type) {
+            this.type = type;
+            emitted = new LongAdder();
+            dispatching = new LatencyHistogram();
+            handlers = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Method used to get the latency histogram of a collector, creating it if not exists yet
+         *
+         * @param listenerId The identifier of the collector
+         *
+         * @return the latency histogram as {@link LatencyHistogram}
+         */
+        private LatencyHistogram getHandlerLatency(String listenerId) {
+            LatencyHistogram histogram = handlers.get(listenerId);
+            if (histogram != null)
+                return histogram;
+            return handlers.computeIfAbsent(listenerId, key -> {
+                LatencyHistogram created = new LatencyHistogram();
+                MeterRegistry currentRegistry = registry;
+                if (currentRegistry != null)
+                    created.register(currentRegistry, METRICS_PREFIX + "handling", EVENT_TYPE_TAG, type,
+                            LISTENER_TAG, key);
+                return created;
+            });
+        }
+
+        /**
+         * Method used to register the meters of the event
+         *
+         * @param registry The registry where register the meters
+         */
+        private void register(MeterRegistry registry) {
+            FunctionCounter.builder(METRICS_PREFIX + "emitted", emitted, LongAdder::sum)
+                    .tags(EVENT_TYPE_TAG, type)
+                    .register(registry);
+            dispatching.register(registry, METRICS_PREFIX + "dispatching", EVENT_TYPE_TAG, type);
+            handlers.forEach((listenerId, histogram) -> histogram.register(registry, METRICS_PREFIX + "handling",
+                    EVENT_TYPE_TAG, type, LISTENER_TAG, listenerId));
+        }
+
+        /**
+         * Method used to get a snapshot of the metrics
+         *
+         * @return the snapshot as {@link JSONObject}
+         */
+        private JSONObject toJson() {
+            JSONObject jHandlers = new JSONObject();
+            handlers.forEach((listenerId, histogram) -> jHandlers.put(listenerId, histogram.toJson()));
+            return new JSONObject()
+                    .put("emitted", emitted.sum())
+                    .put("dispatching", dispatching.toJson())
+                    .put("handlers", jHandlers);
+        }
+
+    }
+
+}
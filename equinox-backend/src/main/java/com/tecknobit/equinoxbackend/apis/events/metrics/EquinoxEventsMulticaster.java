@@ -0,0 +1,275 @@
+package com.tecknobit.equinoxbackend.apis.events.metrics;
+
+import com.tecknobit.equinoxbackend.apis.events.EquinoxApplicationEvent;
+import com.tecknobit.equinoxbackend.apis.events.EquinoxEventsCollector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.core.ResolvableType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The {@code EquinoxEventsMulticaster} class wraps the {@link ApplicationEventMulticaster} of the application, the
+ * default one or that defined by the application, to record in the {@link EquinoxEventsMetrics} the dispatching of the
+ * {@link EquinoxApplicationEvent} and the time taken by each {@link EquinoxEventsCollector} to handle them. The
+ * collectors, that are {@code @EventListener} methods, are wrapped when registered, while the other application events
+ * and listeners are dispatched by the wrapped multicaster as usual without any overhead
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxEventsMetrics
+ *
+ * @since 1.2.0
+ */
+public class EquinoxEventsMulticaster implements ApplicationEventMulticaster {
+
+    /**
+     * {@code multicaster} the multicaster wrapped which dispatches the events
+     */
+    private final ApplicationEventMulticaster multicaster;
+
+    /**
+     * {@code eventsMetricsProvider} the provider of the metrics where record the events dispatching, resolved at the
+     * first event dispatched
+     */
+    private final ObjectProvider<EquinoxEventsMetrics> eventsMetricsProvider;
+
+    /**
+     * {@code instrumentedListeners} the listeners wrapped to measure them, indexed by the original listeners
+     */
+    private final Map<ApplicationListener<?>, InstrumentedListener> instrumentedListeners;
+
+    /**
+     * {@code eventsMetrics} the metrics where record the events dispatching, {@code null} until resolved
+     */
+    private volatile EquinoxEventsMetrics eventsMetrics;
+
+    /**
+     * Constructor to init the multicaster
+     *
+     * @param multicaster The multicaster wrapped which dispatches the events
+     * @param eventsMetricsProvider The provider of the metrics where record the events dispatching
+     */
+    public EquinoxEventsMulticaster(ApplicationEventMulticaster multicaster,
+                                    ObjectProvider<EquinoxEventsMetrics> eventsMetricsProvider) {
+        this.multicaster = multicaster;
+        this.eventsMetricsProvider = eventsMetricsProvider;
+        instrumentedListeners = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        if (listener instanceof ApplicationListenerMethodAdapter methodListener) {
+            InstrumentedListener instrumentedListener = new InstrumentedListener(methodListener);
+            instrumentedListeners.put(listener, instrumentedListener);
+            multicaster.addApplicationListener(instrumentedListener);
+        } else
+            multicaster.addApplicationListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addApplicationListenerBean(String listenerBeanName) {
+        multicaster.addApplicationListenerBean(listenerBeanName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        InstrumentedListener instrumentedListener = instrumentedListeners.remove(listener);
+        multicaster.removeApplicationListener(instrumentedListener != null ? instrumentedListener : listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListenerBean(String listenerBeanName) {
+        multicaster.removeApplicationListenerBean(listenerBeanName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
+        multicaster.removeApplicationListeners(listener -> predicate.test(unwrap(listener)));
+        instrumentedListeners.keySet().removeIf(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeApplicationListenerBeans(Predicate<String> predicate) {
+        multicaster.removeApplicationListenerBeans(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAllListeners() {
+        multicaster.removeAllListeners();
+        instrumentedListeners.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        multicastEvent(event, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multicastEvent(ApplicationEvent event, ResolvableType eventType) {
+        EquinoxEventsMetrics metrics;
+        if (!(event instanceof EquinoxApplicationEvent<?> equinoxEvent) || (metrics = getEventsMetrics()) == null) {
+            multicaster.multicastEvent(event, eventType);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            multicaster.multicastEvent(event, eventType);
+        } finally {
+            metrics.recordEmission(equinoxEvent, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Method used to get the {@link #eventsMetrics} instance, resolving it at the first usage
+     *
+     * @return the {@link #eventsMetrics} instance as {@link EquinoxEventsMetrics}, {@code null} if not available
+     */
+    private EquinoxEventsMetrics getEventsMetrics() {
+        EquinoxEventsMetrics metrics = eventsMetrics;
+        if (metrics == null) {
+            metrics = eventsMetricsProvider.getIfAvailable();
+            eventsMetrics = metrics;
+        }
+        return metrics;
+    }
+
+    /**
+     * Method used to get the original listener of a listener registered in the wrapped multicaster
+     *
+     * @param listener The listener registered
+     *
+     * @return the original listener as {@link ApplicationListener}
+     */
+    private static ApplicationListener<?> unwrap(ApplicationListener<?> listener) {
+        if (listener instanceof InstrumentedListener instrumentedListener)
+            return instrumentedListener.listener;
+        return listener;
+    }
+
+    /**
+     * The {@code InstrumentedListener} class wraps a collector to measure the time it takes to handle the
+     * {@link EquinoxApplicationEvent}, the other properties of the listener are delegated to it so the wrapped
+     * multicaster selects and orders it as the original one
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private final class InstrumentedListener implements GenericApplicationListener {
+
+        /**
+         * {@code listener} the listener wrapped
+         */
+        private final ApplicationListenerMethodAdapter listener;
+
+        /**
+         * {@code listenerId} the identifier of the listener used in the metrics
+         */
+        private final String listenerId;
+
+        /**
+         * Constructor to init the listener
+         *
+         * @param listener The listener wrapped
+         */
+        private InstrumentedListener(ApplicationListenerMethodAdapter listener) {
+            this.listener = listener;
+            String id = listener.getListenerId();
+            listenerId = id.isEmpty() ? listener.getClass().getName() : id;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            EquinoxEventsMetrics metrics;
+            if (!(event instanceof EquinoxApplicationEvent<?> equinoxEvent) || (metrics = getEventsMetrics()) == null) {
+                listener.onApplicationEvent(event);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                listener.onApplicationEvent(event);
+            } finally {
+                metrics.recordHandling(equinoxEvent, listenerId, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean supportsEventType(ResolvableType eventType) {
+            return listener.supportsEventType(eventType);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean supportsSourceType(Class<?> sourceType) {
+            return listener.supportsSourceType(sourceType);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean supportsAsyncExecution() {
+            return listener.supportsAsyncExecution();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getOrder() {
+            return listener.getOrder();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getListenerId() {
+            return listener.getListenerId();
+        }
+
+    }
+
+}
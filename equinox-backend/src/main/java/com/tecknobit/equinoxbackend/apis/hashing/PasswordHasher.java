@@ -0,0 +1,519 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+import com.tecknobit.apimanager.apis.APIRequest;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.PasswordHashingConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tecknobit.apimanager.apis.APIRequest.SHA256_ALGORITHM;
+
+/**
+ * The {@code PasswordHasher} class hashes and verifies the passwords of the users on a dedicated and bounded pool of
+ * threads, so the costly hashes cannot starve the threads which execute the requests. The hashes are rejected with a
+ * {@link PasswordHashingRejectedException} when the pool is saturated, that is when the queue is full or when the time
+ * a new hash is expected to wait in the queue, estimated from the queue depth and the average time taken by the recent
+ * hashes, exceeds the max wait configured.
+ * <p>
+ * The hashes are stored in the {@code $identifier$parameters$salt$hash} format, so each hash carries the algorithm
+ * and the parameters used to derive it, while the hashes without that format are the legacy {@code SHA-256} digests.
+ * The hashes derived with another algorithm or with a cost lower than the configured one are reported by the
+ * {@link #needsRehash(String)} method, to be transparently replaced when the user signs in, while the stronger hashes
+ * are kept, so the nodes which calibrated slightly different costs do not keep rehashing the same passwords. The non-blocking callers,
+ * e.g. the reactive handlers, can use the {@link #hashAsync(String)} and {@link #verifyAsync(String, String)} methods,
+ * which are completed by the pool without waiting for it. It is based on a singleton design pattern to share the pool
+ * between the services, the instance is created, and its cost calibrated, by the {@link #init()} method at startup
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHashingConfig
+ * @see PasswordHashingAlgorithm
+ * @see PasswordHashingCalibrator
+ *
+ * @since 1.2.0
+ */
+public class PasswordHasher {
+
+    /**
+     * {@code SEPARATOR} the separator between the parts of a stored hash
+     */
+    private static final char SEPARATOR = '$';
+
+    /**
+     * {@code HASH_PARTS} the number of parts of a stored hash, including the empty part before the first separator
+     */
+    private static final int HASH_PARTS = 5;
+
+    /**
+     * {@code LEGACY_HASH_LENGTH} the length of the legacy {@code SHA-256} digests encoded in base64
+     */
+    private static final int LEGACY_HASH_LENGTH = 44;
+
+    /**
+     * {@code SALT_LENGTH} the length in bytes of the random salts
+     */
+    private static final int SALT_LENGTH = 16;
+
+    /**
+     * {@code LATENCY_SMOOTHING} the weight, as power of two, of the previous average when a new time is recorded
+     */
+    private static final int LATENCY_SMOOTHING = 3;
+
+    /**
+     * {@code ALGORITHMS} the algorithms available, indexed by their identifiers
+     */
+    private static final Map<String, PasswordHashingAlgorithm> ALGORITHMS = new ConcurrentHashMap<>();
+
+    /**
+     * {@code SECURE_RANDOM} the generator of the random salts
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * {@code ENCODER} the encoder of the salts and of the hashes
+     */
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    /**
+     * {@code DECODER} the decoder of the salts and of the hashes
+     */
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    static {
+        registerAlgorithm(new Pbkdf2PasswordHashingAlgorithm());
+        registerAlgorithm(new ScryptPasswordHashingAlgorithm());
+    }
+
+    /**
+     * {@code passwordHasher} the password hasher of the current backend instance, created at startup so the custom
+     * algorithms can be registered before
+     */
+    private static volatile PasswordHasher passwordHasher;
+
+    /**
+     * {@code algorithm} the algorithm used to hash the passwords
+     */
+    private final PasswordHashingAlgorithm algorithm;
+
+    /**
+     * {@code cost} the cost of the {@link #algorithm}
+     */
+    private final int cost;
+
+    /**
+     * {@code parameters} the parameters of the {@link #algorithm} stored together with the new hashes
+     */
+    private final String parameters;
+
+    /**
+     * {@code threads} the number of threads of the pool
+     */
+    private final int threads;
+
+    /**
+     * {@code maxQueueWait} the max time in nanoseconds a hash is expected to wait in the queue before being rejected
+     */
+    private final long maxQueueWait;
+
+    /**
+     * {@code executor} the bounded pool where the hashes are derived
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * {@code averageLatency} the moving average of the time in nanoseconds taken by the recent hashes
+     */
+    private final AtomicLong averageLatency;
+
+    /**
+     * Constructor to init the password hasher
+     *
+     * @param passwordHashingConfig The configuration of the hashing of the passwords
+     * @param cost The cost of the algorithm, e.g. the one calibrated by the {@link PasswordHashingCalibrator}
+     */
+    public PasswordHasher(PasswordHashingConfig passwordHashingConfig, int cost) {
+        algorithm = requireAlgorithm(passwordHashingConfig.getAlgorithm());
+        this.cost = Math.max(algorithm.getMinCost(), cost);
+        parameters = algorithm.formatParameters(cost);
+        threads = passwordHashingConfig.getThreads();
+        maxQueueWait = TimeUnit.MILLISECONDS.toNanos(passwordHashingConfig.getMaxQueueWait());
+        AtomicInteger threadsCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(passwordHashingConfig.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "equinox-password-hashing-" + threadsCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        averageLatency = new AtomicLong();
+    }
+
+    /**
+     * Method used to hash a password with the configured algorithm and parameters
+     *
+     * @param password The password to hash
+     *
+     * @return the hash in the {@code $identifier$parameters$salt$hash} format as {@link String}
+     *
+     * @throws PasswordHashingRejectedException when the pool is saturated
+     */
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    /**
+     * Method used to hash a password with the configured algorithm and parameters without waiting for the pool
+     *
+     * @param password The password to hash
+     *
+     * @return the future completed with the hash in the {@code $identifier$parameters$salt$hash} format as
+     * {@link CompletableFuture} of {@link String}, completed exceptionally with a
+     * {@link PasswordHashingRejectedException} when the pool is saturated
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        byte[] salt = generateSalt();
+        return submit(() -> algorithm.derive(password, salt, parameters))
+                .thenApply(hash -> formatHash(salt, hash));
+    }
+
+    /**
+     * Method used to hash a password with the configured algorithm and parameters on the current thread, bypassing
+     * the pool, e.g. by the bulk processes which hash the passwords on their own bounded pools
+     *
+     * @param password The password to hash
+     *
+     * @return the hash in the {@code $identifier$parameters$salt$hash} format as {@link String}
+     */
+    public String hashDirectly(String password) {
+        byte[] salt = generateSalt();
+        try {
+            return formatHash(salt, algorithm.derive(password, salt, parameters));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("The password hash could not be derived", e);
+        }
+    }
+
+    /**
+     * Method used to generate a random salt
+     *
+     * @return the salt as {@code byte} array
+     */
+    private byte[] generateSalt() {
+        byte[] salt = new byte[SALT_LENGTH];
+        SECURE_RANDOM.nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * Method used to format a hash derived with the configured algorithm and parameters
+     *
+     * @param salt The salt of the hash
+     * @param hash The hash derived
+     *
+     * @return the hash in the {@code $identifier$parameters$salt$hash} format as {@link String}
+     */
+    private String formatHash(byte[] salt, byte[] hash) {
+        return SEPARATOR + algorithm.getIdentifier() + SEPARATOR + parameters + SEPARATOR +
+                ENCODER.encodeToString(salt) + SEPARATOR + ENCODER.encodeToString(hash);
+    }
+
+    /**
+     * Method used to verify a password against a stored hash, derived with any of the registered algorithms or
+     * with the legacy {@code SHA-256} digest
+     *
+     * @param password The password to verify
+     * @param storedHash The hash stored for the user
+     *
+     * @return whether the password matches the stored hash as {@code boolean}
+     *
+     * @throws PasswordHashingRejectedException when the pool is saturated
+     */
+    public boolean verify(String password, String storedHash) {
+        return await(verifyAsync(password, storedHash));
+    }
+
+    /**
+     * Method used to verify a password against a stored hash without waiting for the pool, the hash can be derived
+     * with any of the registered algorithms or with the legacy {@code SHA-256} digest
+     *
+     * @param password The password to verify
+     * @param storedHash The hash stored for the user
+     *
+     * @return the future completed with whether the password matches the stored hash as {@link CompletableFuture} of
+     * {@link Boolean}, completed exceptionally with a {@link PasswordHashingRejectedException} when the pool is
+     * saturated
+     */
+    public CompletableFuture<Boolean> verifyAsync(String password, String storedHash) {
+        if (password == null || storedHash == null || storedHash.isEmpty())
+            return CompletableFuture.completedFuture(false);
+        if (isLegacyHash(storedHash))
+            return CompletableFuture.completedFuture(verifyLegacyHash(password, storedHash));
+        String[] parts = storedHash.split("\\" + SEPARATOR);
+        if (parts.length != HASH_PARTS)
+            return CompletableFuture.completedFuture(false);
+        PasswordHashingAlgorithm hashAlgorithm = getAlgorithm(parts[1]);
+        if (hashAlgorithm == null)
+            return CompletableFuture.completedFuture(false);
+        byte[] salt;
+        byte[] expectedHash;
+        try {
+            salt = DECODER.decode(parts[3]);
+            expectedHash = DECODER.decode(parts[4]);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return submit(() -> hashAlgorithm.derive(password, salt, parts[2]))
+                .thenApply(hash -> MessageDigest.isEqual(expectedHash, hash));
+    }
+
+    /**
+     * Method used to check whether a stored hash has to be replaced because derived with another algorithm or with a
+     * cost lower than the configured one
+     *
+     * @param storedHash The hash stored for the user
+     *
+     * @return whether the stored hash has to be replaced as {@code boolean}
+     */
+    public boolean needsRehash(String storedHash) {
+        if (storedHash == null || storedHash.isEmpty() || isLegacyHash(storedHash))
+            return true;
+        String[] parts = storedHash.split("\\" + SEPARATOR);
+        if (parts.length != HASH_PARTS || !parts[1].equals(algorithm.getIdentifier()))
+            return true;
+        if (parts[2].equals(parameters))
+            return false;
+        int storedCost = algorithm.parseCost(parts[2]);
+        return storedCost == -1 || storedCost < cost;
+    }
+
+    /**
+     * Method used to check whether a hash can be verified, that is whether it has been derived with a registered
+     * algorithm or it is a legacy {@code SHA-256} digest, e.g. to import the hashes of another system
+     *
+     * @param storedHash The hash to check
+     *
+     * @return whether the hash can be verified as {@code boolean}
+     */
+    public boolean isSupportedHash(String storedHash) {
+        if (storedHash == null || storedHash.isEmpty())
+            return false;
+        if (isLegacyHash(storedHash))
+            return storedHash.length() == LEGACY_HASH_LENGTH;
+        String[] parts = storedHash.split("\\" + SEPARATOR);
+        return parts.length == HASH_PARTS && getAlgorithm(parts[1]) != null;
+    }
+
+    /**
+     * Method used to check whether a stored hash is a legacy {@code SHA-256} digest
+     *
+     * @param storedHash The hash stored for the user
+     *
+     * @return whether the stored hash is a legacy digest as {@code boolean}
+     */
+    private boolean isLegacyHash(String storedHash) {
+        return storedHash.charAt(0) != SEPARATOR;
+    }
+
+    /**
+     * Method used to verify a password against a legacy {@code SHA-256} digest, which is cheap enough to be computed
+     * by the current thread
+     *
+     * @param password The password to verify
+     * @param storedHash The digest stored for the user
+     *
+     * @return whether the password matches the stored digest as {@code boolean}
+     */
+    private boolean verifyLegacyHash(String password, String storedHash) {
+        try {
+            String digest = APIRequest.base64Digest(password, SHA256_ALGORITHM);
+            return MessageDigest.isEqual(digest.getBytes(StandardCharsets.UTF_8),
+                    storedHash.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to derive a hash on the pool without waiting for it
+     *
+     * @param task The task which derives the hash
+     *
+     * @return the future completed with the hash as {@link CompletableFuture} of {@code byte} array, completed
+     * exceptionally with a {@link PasswordHashingRejectedException} when the pool is saturated
+     */
+    private CompletableFuture<byte[]> submit(Callable<byte[]> task) {
+        long expectedWait = getExpectedQueueWait();
+        if (expectedWait > maxQueueWait)
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException(TimeUnit.NANOSECONDS
+                    .toMillis(expectedWait)));
+        CompletableFuture<byte[]> hash = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (hash.isDone())
+                    return;
+                long start = System.nanoTime();
+                try {
+                    hash.complete(task.call());
+                } catch (Exception e) {
+                    hash.completeExceptionally(e);
+                } finally {
+                    recordLatency(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException(TimeUnit.NANOSECONDS
+                    .toMillis(getExpectedQueueWait())));
+        }
+        return hash;
+    }
+
+    /**
+     * Method used to wait for the result of a hash derived on the pool
+     *
+     * @param result The future of the result
+     * @param <V> The type of the result
+     *
+     * @return the result as {@link V}
+     *
+     * @throws PasswordHashingRejectedException when the pool is saturated
+     */
+    private <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException("The password hash could not be derived", e.getCause());
+        }
+    }
+
+    /**
+     * Method used to estimate the time a new hash would wait in the queue before being derived
+     *
+     * @return the time in nanoseconds as {@code long}
+     */
+    private long getExpectedQueueWait() {
+        return executor.getQueue().size() * averageLatency.get() / threads;
+    }
+
+    /**
+     * Method used to record the time taken by a hash in the {@link #averageLatency}
+     *
+     * @param latency The time in nanoseconds taken by the hash
+     */
+    private void recordLatency(long latency) {
+        averageLatency.accumulateAndGet(latency, (average, sample) -> average == 0 ? sample :
+                average + ((sample - average) >> LATENCY_SMOOTHING));
+    }
+
+    /**
+     * Method used to get the {@link #algorithm} instance
+     *
+     * @return the {@link #algorithm} instance as {@link PasswordHashingAlgorithm}
+     */
+    public PasswordHashingAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Method used to get the {@link #cost} instance
+     *
+     * @return the {@link #cost} instance as {@code int}
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Method used to register an algorithm, e.g. an {@code Argon2} implementation provided by an external library. To
+     * hash the new passwords with it the algorithm must be registered before the {@link #init()} method, that is
+     * before invoking the {@code EquinoxControllerCore.initEquinoxEnvironment} method
+     *
+     * @param algorithm The algorithm to register
+     */
+    public static void registerAlgorithm(PasswordHashingAlgorithm algorithm) {
+        String identifier = algorithm.getIdentifier();
+        if (identifier == null || identifier.isEmpty() || identifier.indexOf(SEPARATOR) != -1)
+            throw new IllegalArgumentException("Invalid password hashing algorithm identifier: " + identifier);
+        ALGORITHMS.put(identifier, algorithm);
+    }
+
+    /**
+     * Method used to get a registered algorithm
+     *
+     * @param identifier The identifier of the algorithm
+     *
+     * @return the algorithm as {@link PasswordHashingAlgorithm}, {@code null} if not registered
+     */
+    public static PasswordHashingAlgorithm getAlgorithm(String identifier) {
+        return ALGORITHMS.get(identifier);
+    }
+
+    /**
+     * Method used to get a registered algorithm failing when it is not registered
+     *
+     * @param identifier The identifier of the algorithm
+     *
+     * @return the algorithm as {@link PasswordHashingAlgorithm}
+     *
+     * @throws IllegalArgumentException when the algorithm is not registered
+     */
+    private static PasswordHashingAlgorithm requireAlgorithm(String identifier) {
+        PasswordHashingAlgorithm algorithm = getAlgorithm(identifier);
+        if (algorithm == null)
+            throw new IllegalArgumentException("Unknown password hashing algorithm: " + identifier);
+        return algorithm;
+    }
+
+    /**
+     * Method used to create the {@link #passwordHasher} instance at startup, before serving the requests. When the
+     * target latency is configured, as it is by default when no cost is configured, the cost of the algorithm is
+     * calibrated by the {@link PasswordHashingCalibrator} so that a hash takes about that time on the current hardware
+     *
+     * @return the {@link #passwordHasher} instance as {@link PasswordHasher}
+     */
+    public static synchronized PasswordHasher init() {
+        if (passwordHasher == null) {
+            PasswordHashingConfig passwordHashingConfig = EquinoxBackendConfiguration.getInstance()
+                    .getPasswordHashingConfig();
+            PasswordHashingAlgorithm algorithm = requireAlgorithm(passwordHashingConfig.getAlgorithm());
+            int cost;
+            if (passwordHashingConfig.getTargetLatency() > 0)
+                cost = PasswordHashingCalibrator.calibrate(algorithm, passwordHashingConfig.getTargetLatency());
+            else if (passwordHashingConfig.getCost() > 0)
+                cost = passwordHashingConfig.getCost();
+            else
+                cost = algorithm.getDefaultCost();
+            passwordHasher = new PasswordHasher(passwordHashingConfig, cost);
+        }
+        return passwordHasher;
+    }
+
+    /**
+     * Method used to get the current {@link #passwordHasher} instance
+     *
+     * @return the current {@link #passwordHasher} instance as {@link PasswordHasher}
+     *
+     * @throws IllegalStateException when the instance has not been created by the {@link #init()} method
+     */
+    public static PasswordHasher getInstance() {
+        PasswordHasher instance = passwordHasher;
+        if (instance == null)
+            throw new IllegalStateException("The password hasher must be initialized at startup with the init method");
+        return instance;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * The {@code PasswordHashingAlgorithm} interface is the contract used by the {@link PasswordHasher} to derive the hashes
+ * of the passwords. The parameters used to derive a hash are stored together with the hash itself, so the hashes
+ * derived with outdated parameters can still be verified and are transparently rehashed when the user signs in.
+ * Further algorithms, e.g. an {@code Argon2} implementation provided by an external library, can be plugged with the
+ * {@link PasswordHasher#registerAlgorithm(PasswordHashingAlgorithm)} method
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHasher
+ * @see Pbkdf2PasswordHashingAlgorithm
+ * @see ScryptPasswordHashingAlgorithm
+ *
+ * @since 1.2.0
+ */
+public interface PasswordHashingAlgorithm {
+
+    /**
+     * Method used to get the identifier of the algorithm, stored together with the hashes
+     *
+     * @return the identifier of the algorithm as {@link String}, must not contain the {@code $} character
+     */
+    String getIdentifier();
+
+    /**
+     * Method used to get the cost used when no cost has been configured
+     *
+     * @return the default cost as {@code int}
+     */
+    int getDefaultCost();
+
+    /**
+     * Method used to get the min cost allowed, used as starting point by the {@link PasswordHashingCalibrator}
+     *
+     * @return the min cost as {@code int}
+     */
+    int getMinCost();
+
+    /**
+     * Method used to scale a cost so that the time taken to derive a hash is multiplied by a factor. By default the
+     * time is considered proportional to the cost
+     *
+     * @param cost The cost to scale
+     * @param factor The factor to apply to the time taken to derive a hash
+     *
+     * @return the scaled cost as {@code int}
+     */
+    default int scaleCost(int cost, double factor) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(cost * factor));
+    }
+
+    /**
+     * Method used to format the parameters stored together with the hashes derived with a cost
+     *
+     * @param cost The cost of the algorithm
+     *
+     * @return the parameters as {@link String}, must not contain the {@code $} character
+     */
+    String formatParameters(int cost);
+
+    /**
+     * Method used to get the cost from the parameters stored together with a hash, used to keep the hashes derived with
+     * a cost higher than the configured one. By default the cost is unknown, so these hashes are rehashed
+     *
+     * @param parameters The parameters of the algorithm as formatted by the {@link #formatParameters(int)} method
+     *
+     * @return the cost as {@code int}, {@code -1} when it cannot be retrieved from the parameters
+     */
+    default int parseCost(String parameters) {
+        return -1;
+    }
+
+    /**
+     * Method used to derive the hash of a password
+     *
+     * @param password The password to hash
+     * @param salt The random salt of the hash
+     * @param parameters The parameters of the algorithm as formatted by the {@link #formatParameters(int)} method
+     *
+     * @return the hash as {@code byte} array
+     *
+     * @throws GeneralSecurityException when the hash could not be derived
+     * @throws IllegalArgumentException when the parameters are not valid
+     */
+    byte[] derive(String password, byte[] salt, String parameters) throws GeneralSecurityException;
+
+}
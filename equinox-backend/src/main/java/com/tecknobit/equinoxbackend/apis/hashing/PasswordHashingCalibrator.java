@@ -0,0 +1,156 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.PasswordHashingConfig;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.equinoxbackend.apis.hashing.Pbkdf2PasswordHashingAlgorithm.PBKDF2_IDENTIFIER;
+
+/**
+ * The {@code PasswordHashingCalibrator} class picks the cost of a {@link PasswordHashingAlgorithm} which makes a hash
+ * take about a target time on the current hardware. The cost is calibrated at startup by the
+ * {@link PasswordHasher#init()} method when no {@code cost} of the {@code password_hashing} configuration is set, or
+ * can be computed in advance running this class and configured as {@code cost}:
+ *
+ * <pre>
+ *     {@code
+ *         java -cp your_backend.jar com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingCalibrator scrypt 250
+ *     }
+ * </pre>
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHasher
+ *
+ * @since 1.2.0
+ */
+public class PasswordHashingCalibrator {
+
+    /**
+     * {@code DEFAULT_TARGET_LATENCY} the default target time in milliseconds used by the {@link #main(String[])} method
+     */
+    public static final long DEFAULT_TARGET_LATENCY = PasswordHashingConfig.DEFAULT_TARGET_LATENCY;
+
+    /**
+     * {@code CALIBRATION_PASSWORD} the password hashed during the calibration
+     */
+    private static final String CALIBRATION_PASSWORD = "equinox-calibration-password";
+
+    /**
+     * {@code MEASUREMENTS} the number of hashes measured for each cost, the median time is used
+     */
+    private static final int MEASUREMENTS = 3;
+
+    /**
+     * {@code MAX_ROUNDS} the max number of costs measured during a calibration
+     */
+    private static final int MAX_ROUNDS = 10;
+
+    /**
+     * {@code TOLERANCE} the ratio between the target time and the time measured under which the cost is accepted
+     */
+    private static final double TOLERANCE = 1.1;
+
+    /**
+     * {@code WARM_UP_MEASUREMENTS} the number of consecutive measurements of the min cost without a faster time after
+     * which the algorithm is considered compiled by the JIT, so the cost is not underestimated at startup
+     */
+    private static final int WARM_UP_MEASUREMENTS = 5;
+
+    /**
+     * {@code MAX_WARM_UP_TIME} the max time in milliseconds spent warming up the algorithm
+     */
+    private static final long MAX_WARM_UP_TIME = 10_000;
+
+    /**
+     * {@code SALT_LENGTH} the length in bytes of the salts used during the calibration
+     */
+    private static final int SALT_LENGTH = 16;
+
+    /**
+     * Constructor to avoid the instantiation of the calibrator
+     */
+    private PasswordHashingCalibrator() {
+    }
+
+    /**
+     * Method used to calibrate the cost of an algorithm, after warming up the algorithm, starting from its min cost the
+     * cost is scaled by the ratio between the target time and the time measured until the ratio is within the tolerance
+     *
+     * @param algorithm The algorithm to calibrate
+     * @param targetLatency The time in milliseconds a hash should take
+     *
+     * @return the cost calibrated as {@code int}, never lower than the min cost of the algorithm
+     */
+    public static int calibrate(PasswordHashingAlgorithm algorithm, long targetLatency) {
+        long target = TimeUnit.MILLISECONDS.toNanos(targetLatency);
+        int cost = algorithm.getMinCost();
+        long warmUpEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WARM_UP_TIME);
+        long fastestLatency = measure(algorithm, cost);
+        int stableMeasurements = 0;
+        while (stableMeasurements < WARM_UP_MEASUREMENTS && System.nanoTime() < warmUpEnd) {
+            long latency = measure(algorithm, cost);
+            if (latency * TOLERANCE < fastestLatency) {
+                fastestLatency = latency;
+                stableMeasurements = 0;
+            } else
+                stableMeasurements++;
+        }
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            double factor = (double) target / Math.max(1, measure(algorithm, cost));
+            int scaledCost = Math.max(algorithm.getMinCost(), algorithm.scaleCost(cost, factor));
+            if (factor < TOLERANCE || scaledCost == cost)
+                return scaledCost;
+            cost = scaledCost;
+        }
+        return cost;
+    }
+
+    /**
+     * Method used to measure the time taken by the hashes derived with a cost
+     *
+     * @param algorithm The algorithm to measure
+     * @param cost The cost of the algorithm
+     *
+     * @return the median time in nanoseconds as {@code long}
+     */
+    public static long measure(PasswordHashingAlgorithm algorithm, int cost) {
+        String parameters = algorithm.formatParameters(cost);
+        SecureRandom secureRandom = new SecureRandom();
+        long[] latencies = new long[MEASUREMENTS];
+        for (int j = 0; j < MEASUREMENTS; j++) {
+            byte[] salt = new byte[SALT_LENGTH];
+            secureRandom.nextBytes(salt);
+            long start = System.nanoTime();
+            try {
+                algorithm.derive(CALIBRATION_PASSWORD, salt, parameters);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            latencies[j] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[MEASUREMENTS / 2];
+    }
+
+    /**
+     * Method used to print the cost calibrated for an algorithm on the current hardware
+     *
+     * @param args The identifier of the algorithm, {@code pbkdf2-sha256} by default, and the target time in
+     *             milliseconds, {@code 100} by default
+     */
+    public static void main(String[] args) {
+        String identifier = args.length > 0 ? args[0] : PBKDF2_IDENTIFIER;
+        long targetLatency = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TARGET_LATENCY;
+        PasswordHashingAlgorithm algorithm = PasswordHasher.getAlgorithm(identifier);
+        if (algorithm == null)
+            throw new IllegalArgumentException("Unknown password hashing algorithm: " + identifier);
+        int cost = calibrate(algorithm, targetLatency);
+        System.out.println(identifier + " cost: " + cost + " (" +
+                TimeUnit.NANOSECONDS.toMillis(measure(algorithm, cost)) + " ms per hash)");
+    }
+
+}
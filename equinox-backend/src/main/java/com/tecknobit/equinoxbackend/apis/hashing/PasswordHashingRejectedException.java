@@ -0,0 +1,39 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+/**
+ * The {@code PasswordHashingRejectedException} is thrown when a password hash is rejected by the {@link PasswordHasher}
+ * because its pool is saturated, so the request has to be retried later
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHasher
+ *
+ * @since 1.2.0
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    /**
+     * {@code retryAfter} the time in milliseconds after which the hash is expected to be accepted
+     */
+    private final long retryAfter;
+
+    /**
+     * Constructor to init the exception
+     *
+     * @param retryAfter The time in milliseconds after which the hash is expected to be accepted
+     */
+    public PasswordHashingRejectedException(long retryAfter) {
+        super("The password hashing pool is saturated, retry after " + retryAfter + " ms");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Method used to get the {@link #retryAfter} instance
+     *
+     * @return the {@link #retryAfter} instance as {@code long}
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+}
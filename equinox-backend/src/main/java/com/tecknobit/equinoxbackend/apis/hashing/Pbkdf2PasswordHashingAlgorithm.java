@@ -0,0 +1,112 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+
+/**
+ * The {@code Pbkdf2PasswordHashingAlgorithm} class derives the hashes of the passwords with the {@code PBKDF2} function
+ * keyed with {@code HMAC-SHA256}, the cost is the number of iterations of the function
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHashingAlgorithm
+ *
+ * @since 1.2.0
+ */
+public class Pbkdf2PasswordHashingAlgorithm implements PasswordHashingAlgorithm {
+
+    /**
+     * {@code PBKDF2_IDENTIFIER} the identifier of the algorithm
+     */
+    public static final String PBKDF2_IDENTIFIER = "pbkdf2-sha256";
+
+    /**
+     * {@code DEFAULT_ITERATIONS} the number of iterations used when the calibration is disabled and no cost is
+     * configured, about the default target latency on a commodity core
+     */
+    public static final int DEFAULT_ITERATIONS = 200_000;
+
+    /**
+     * {@code MIN_ITERATIONS} the min number of iterations allowed
+     */
+    public static final int MIN_ITERATIONS = 10_000;
+
+    /**
+     * {@code PBKDF2_ALGORITHM} the name of the algorithm provided by the Java runtime
+     */
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    /**
+     * {@code ITERATIONS_PARAMETER} the prefix of the parameter of the iterations
+     */
+    private static final String ITERATIONS_PARAMETER = "i=";
+
+    /**
+     * {@code HASH_LENGTH} the length in bits of the hashes derived
+     */
+    private static final int HASH_LENGTH = 256;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getIdentifier() {
+        return PBKDF2_IDENTIFIER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDefaultCost() {
+        return DEFAULT_ITERATIONS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMinCost() {
+        return MIN_ITERATIONS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String formatParameters(int cost) {
+        return ITERATIONS_PARAMETER + cost;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int parseCost(String parameters) {
+        if (!parameters.startsWith(ITERATIONS_PARAMETER))
+            return -1;
+        try {
+            return Integer.parseInt(parameters.substring(ITERATIONS_PARAMETER.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] derive(String password, byte[] salt, String parameters) throws GeneralSecurityException {
+        if (!parameters.startsWith(ITERATIONS_PARAMETER))
+            throw new IllegalArgumentException("Invalid PBKDF2 parameters: " + parameters);
+        int iterations = Integer.parseInt(parameters.substring(ITERATIONS_PARAMETER.length()));
+        PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(keySpec).getEncoded();
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+package com.tecknobit.equinoxbackend.apis.hashing;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+
+/**
+ * The {@code ScryptPasswordHashingAlgorithm} class derives the hashes of the passwords with the memory-hard
+ * {@code scrypt} function (RFC 7914), the cost is the base 2 logarithm of its {@code N} parameter, so each hash requires
+ * {@code 128 * r * 2^cost} bytes of memory, e.g. 32 MiB with the default parameters
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see PasswordHashingAlgorithm
+ *
+ * @since 1.2.0
+ */
+public class ScryptPasswordHashingAlgorithm implements PasswordHashingAlgorithm {
+
+    /**
+     * {@code SCRYPT_IDENTIFIER} the identifier of the algorithm
+     */
+    public static final String SCRYPT_IDENTIFIER = "scrypt";
+
+    /**
+     * {@code DEFAULT_LOG_N} the default base 2 logarithm of the {@code N} parameter
+     */
+    public static final int DEFAULT_LOG_N = 15;
+
+    /**
+     * {@code MIN_LOG_N} the min base 2 logarithm of the {@code N} parameter allowed
+     */
+    public static final int MIN_LOG_N = 10;
+
+    /**
+     * {@code DEFAULT_BLOCK_SIZE} the default {@code r} parameter, the block size
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 8;
+
+    /**
+     * {@code DEFAULT_PARALLELISM} the default {@code p} parameter, the parallelization
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * {@code PBKDF2_ALGORITHM} the name of the algorithm provided by the Java runtime used to expand and compress the
+     * blocks
+     */
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    /**
+     * {@code HASH_LENGTH} the length in bytes of the hashes derived
+     */
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * {@code BLOCK_WORDS} the number of words of a {@code Salsa20} block
+     */
+    private static final int BLOCK_WORDS = 16;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getIdentifier() {
+        return SCRYPT_IDENTIFIER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDefaultCost() {
+        return DEFAULT_LOG_N;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMinCost() {
+        return MIN_LOG_N;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The time taken is proportional to {@code 2^cost}, so the cost is scaled logarithmically
+     */
+    @Override
+    public int scaleCost(int cost, double factor) {
+        return cost + (int) Math.round(Math.log(factor) / Math.log(2));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String formatParameters(int cost) {
+        return "ln=" + cost + ",r=" + DEFAULT_BLOCK_SIZE + ",p=" + DEFAULT_PARALLELISM;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int parseCost(String parameters) {
+        String prefix = "ln=";
+        String suffix = ",r=" + DEFAULT_BLOCK_SIZE + ",p=" + DEFAULT_PARALLELISM;
+        if (!parameters.startsWith(prefix) || !parameters.endsWith(suffix))
+            return -1;
+        try {
+            return Integer.parseInt(parameters.substring(prefix.length(), parameters.length() - suffix.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] derive(String password, byte[] salt, String parameters) throws GeneralSecurityException {
+        int logN = -1;
+        int blockSize = -1;
+        int parallelism = -1;
+        for (String parameter : parameters.split(",")) {
+            int separator = parameter.indexOf('=');
+            if (separator == -1)
+                throw new IllegalArgumentException("Invalid scrypt parameters: " + parameters);
+            int value = Integer.parseInt(parameter.substring(separator + 1));
+            switch (parameter.substring(0, separator)) {
+                case "ln" -> logN = value;
+                case "r" -> blockSize = value;
+                case "p" -> parallelism = value;
+                default -> throw new IllegalArgumentException("Invalid scrypt parameters: " + parameters);
+            }
+        }
+        if (logN < 1 || logN > 30 || blockSize < 1 || parallelism < 1 || (long) BLOCK_WORDS * 2 * blockSize << logN
+                > Integer.MAX_VALUE - 8 || 128L * blockSize * parallelism * Byte.SIZE > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid scrypt parameters: " + parameters);
+        return scrypt(password, salt, 1 << logN, blockSize, parallelism);
+    }
+
+    /**
+     * Method used to execute the {@code scrypt} function
+     *
+     * @param password The password to hash
+     * @param salt The random salt of the hash
+     * @param n The {@code N} parameter, the cost of the function
+     * @param blockSize The {@code r} parameter, the block size
+     * @param parallelism The {@code p} parameter, the parallelization
+     *
+     * @return the hash as {@code byte} array
+     *
+     * @throws GeneralSecurityException when the hash could not be derived
+     */
+    private byte[] scrypt(String password, byte[] salt, int n, int blockSize,
+                          int parallelism) throws GeneralSecurityException {
+        int blockLength = 128 * blockSize;
+        byte[] blocks = pbkdf2(password, salt, parallelism * blockLength);
+        int[] block = new int[blockLength / Integer.BYTES];
+        int[] scratch = new int[block.length];
+        int[] memory = new int[block.length * n];
+        for (int j = 0; j < parallelism; j++) {
+            int offset = j * blockLength;
+            for (int k = 0; k < block.length; k++)
+                block[k] = readWord(blocks, offset + k * Integer.BYTES);
+            roMix(block, scratch, memory, n, blockSize);
+            for (int k = 0; k < block.length; k++)
+                writeWord(blocks, offset + k * Integer.BYTES, block[k]);
+        }
+        return pbkdf2(password, blocks, HASH_LENGTH);
+    }
+
+    /**
+     * Method used to execute the {@code PBKDF2-HMAC-SHA256} function with a single iteration
+     *
+     * @param password The password to hash
+     * @param salt The salt of the function
+     * @param length The length in bytes of the result
+     *
+     * @return the result as {@code byte} array
+     *
+     * @throws GeneralSecurityException when the function could not be executed
+     */
+    private byte[] pbkdf2(String password, byte[] salt, int length) throws GeneralSecurityException {
+        PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, 1, length * Byte.SIZE);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(keySpec).getEncoded();
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+    /**
+     * Method used to execute the {@code ROMix} function, which fills the memory with the sequence of the mixed blocks
+     * and then mixes the block with the memory read at pseudo-random positions
+     *
+     * @param block The block to mix
+     * @param scratch The scratch block used by the {@link #blockMix(int[], int[], int[], int)} method
+     * @param memory The memory filled by the function
+     * @param n The {@code N} parameter, the cost of the function
+     * @param blockSize The {@code r} parameter, the block size
+     */
+    private void roMix(int[] block, int[] scratch, int[] memory, int n, int blockSize) {
+        int length = block.length;
+        int[] subBlock = new int[BLOCK_WORDS];
+        for (int j = 0; j < n; j++) {
+            System.arraycopy(block, 0, memory, j * length, length);
+            blockMix(block, scratch, subBlock, blockSize);
+        }
+        int lastWord = (2 * blockSize - 1) * BLOCK_WORDS;
+        for (int j = 0; j < n; j++) {
+            int offset = (block[lastWord] & (n - 1)) * length;
+            for (int k = 0; k < length; k++)
+                block[k] ^= memory[offset + k];
+            blockMix(block, scratch, subBlock, blockSize);
+        }
+    }
+
+    /**
+     * Method used to execute the {@code BlockMix} function, which mixes the sub-blocks of a block with the
+     * {@code Salsa20/8} core
+     *
+     * @param block The block to mix
+     * @param scratch The scratch block where the mixed sub-blocks are stored
+     * @param x The sub-block being mixed
+     * @param blockSize The {@code r} parameter, the block size
+     */
+    private void blockMix(int[] block, int[] scratch, int[] x, int blockSize) {
+        System.arraycopy(block, (2 * blockSize - 1) * BLOCK_WORDS, x, 0, BLOCK_WORDS);
+        for (int j = 0; j < 2 * blockSize; j++) {
+            for (int k = 0; k < BLOCK_WORDS; k++)
+                x[k] ^= block[j * BLOCK_WORDS + k];
+            salsa20(x);
+            int offset = ((j & 1) * blockSize + (j >> 1)) * BLOCK_WORDS;
+            System.arraycopy(x, 0, scratch, offset, BLOCK_WORDS);
+        }
+        System.arraycopy(scratch, 0, block, 0, block.length);
+    }
+
+    /**
+     * Method used to execute the {@code Salsa20/8} core on a sub-block
+     *
+     * @param block The sub-block to transform
+     */
+    private void salsa20(int[] block) {
+        int x0 = block[0], x1 = block[1], x2 = block[2], x3 = block[3], x4 = block[4], x5 = block[5],
+                x6 = block[6], x7 = block[7], x8 = block[8], x9 = block[9], x10 = block[10], x11 = block[11],
+                x12 = block[12], x13 = block[13], x14 = block[14], x15 = block[15];
+        for (int round = 0; round < 8; round += 2) {
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);
+            x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);
+            x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);
+            x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);
+            x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);
+            x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);
+            x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);
+            x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);
+            x15 ^= Integer.rotateLeft(x11 + x7, 18);
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);
+            x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);
+            x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);
+            x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);
+            x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);
+            x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);
+            x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7);
+            x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13);
+            x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+        block[0] += x0;
+        block[1] += x1;
+        block[2] += x2;
+        block[3] += x3;
+        block[4] += x4;
+        block[5] += x5;
+        block[6] += x6;
+        block[7] += x7;
+        block[8] += x8;
+        block[9] += x9;
+        block[10] += x10;
+        block[11] += x11;
+        block[12] += x12;
+        block[13] += x13;
+        block[14] += x14;
+        block[15] += x15;
+    }
+
+    /**
+     * Method used to read a little-endian word
+     *
+     * @param source The source of the word
+     * @param offset The offset of the word
+     *
+     * @return the word as {@code int}
+     */
+    private int readWord(byte[] source, int offset) {
+        return (source[offset] & 0xFF) | (source[offset + 1] & 0xFF) << 8 | (source[offset + 2] & 0xFF) << 16
+                | (source[offset + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Method used to write a little-endian word
+     *
+     * @param target The target of the word
+     * @param offset The offset of the word
+     * @param word The word to write
+     */
+    private void writeWord(byte[] target, int offset, int word) {
+        target[offset] = (byte) word;
+        target[offset + 1] = (byte) (word >>> 8);
+        target[offset + 2] = (byte) (word >>> 16);
+        target[offset + 3] = (byte) (word >>> 24);
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.tecknobit.equinoxbackend.apis.metrics;
+
+import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxcore.network.ResponseStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.json.JSONObject;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code EndpointsMetrics} class collects the metrics of the endpoints annotated with the {@link RequestPath}
+ * annotation: the latency of the requests, the number of the requests in flight and the outcome of the completed
+ * requests split by the {@link ResponseStatus} of their responses. The endpoints are discovered from the
+ * {@link RequestMappingHandlerMapping} when the application context is refreshed, so the lookup of the metrics of a
+ * request is a read of an immutable map and the recording costs a few atomic increments. <br>
+ * The metrics are exposed as {@code Micrometer} meters when a {@link MeterRegistry} is available and as {@code JSON}
+ * snapshot with the {@link #toJson()} method
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EndpointsMetricsInterceptor
+ *
+ * @since 1.2.0
+ */
+@Component
+public class EndpointsMetrics implements MeterBinder, ApplicationListener<ContextRefreshedEvent> {
+
+    /**
+     * {@code METRICS_PREFIX} the prefix of the names of the meters
+     */
+    private static final String METRICS_PREFIX = "equinox.endpoints.";
+
+    /**
+     * {@code PATH_TAG} the tag of the meters with the path of the endpoint
+     */
+    private static final String PATH_TAG = "path";
+
+    /**
+     * {@code METHOD_TAG} the tag of the meters with the method of the endpoint
+     */
+    private static final String METHOD_TAG = "method";
+
+    /**
+     * {@code OUTCOME_TAG} the tag of the meters with the outcome of the requests
+     */
+    private static final String OUTCOME_TAG = "outcome";
+
+    /**
+     * {@code RESPONSE_STATUSES} the statuses which can be the outcome of a request
+     */
+    private static final ResponseStatus[] RESPONSE_STATUSES = ResponseStatus.values();
+
+    /**
+     * {@code handlersMetrics} the metrics of the endpoints indexed by their handler methods
+     */
+    private volatile Map<Method, EndpointMetrics> handlersMetrics;
+
+    /**
+     * {@code endpointsMetrics} the metrics of the endpoints indexed by their method and path
+     */
+    private volatile Map<String, EndpointMetrics> endpointsMetrics;
+
+    /**
+     * {@code registry} the registry where the meters are registered, {@code null} if not bound
+     */
+    private MeterRegistry registry;
+
+    /**
+     * Constructor to init the metrics
+     */
+    public EndpointsMetrics() {
+        handlersMetrics = Map.of();
+        endpointsMetrics = Map.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        for (EndpointMetrics metrics : endpointsMetrics.values())
+            metrics.register(registry);
+    }
+
+    /**
+     * Method used to discover the endpoints annotated with the {@link RequestPath} annotation when the application
+     * context is refreshed
+     *
+     * @param event The event of the refreshed context
+     */
+    @Override
+    public synchronized void onApplicationEvent(ContextRefreshedEvent event) {
+        Map<Method, EndpointMetrics> discoveredHandlers = new HashMap<>(handlersMetrics);
+        Map<String, EndpointMetrics> discoveredEndpoints = new TreeMap<>(endpointsMetrics);
+        Map<String, RequestMappingHandlerMapping> handlerMappings = event.getApplicationContext()
+                .getBeansOfType(RequestMappingHandlerMapping.class);
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings.values()) {
+            handlerMapping.getHandlerMethods().forEach((mappingInfo, handlerMethod) -> {
+                RequestPath requestPath = handlerMethod.getMethodAnnotation(RequestPath.class);
+                if (requestPath == null || discoveredHandlers.containsKey(handlerMethod.getMethod()))
+                    return;
+                String method = requestPath.method().name();
+                String path = resolvePath(requestPath, mappingInfo);
+                EndpointMetrics metrics = discoveredEndpoints.computeIfAbsent(method + " " + path, key -> {
+                    EndpointMetrics created = new EndpointMetrics(method, path);
+                    if (registry != null)
+                        created.register(registry);
+                    return created;
+                });
+                discoveredHandlers.put(handlerMethod.getMethod(), metrics);
+            });
+        }
+        handlersMetrics = Map.copyOf(discoveredHandlers);
+        endpointsMetrics = discoveredEndpoints;
+    }
+
+    /**
+     * Method used to resolve the path of an endpoint
+     *
+     * @param requestPath The annotation of the endpoint
+     * @param mappingInfo The mapping of the handler of the endpoint
+     *
+     * @return the path of the endpoint as {@link String}, the one of the mapping when not specified by the annotation
+     */
+    private String resolvePath(RequestPath requestPath, RequestMappingInfo mappingInfo) {
+        String path = requestPath.path();
+        if (!path.isEmpty())
+            return path;
+        Set<String> patterns = mappingInfo.getPatternValues();
+        return patterns.isEmpty() ? mappingInfo.toString() : patterns.iterator().next();
+    }
+
+    /**
+     * Method used to get the metrics of the endpoint handled by a handler method
+     *
+     * @param handlerMethod The handler method of the endpoint
+     *
+     * @return the metrics as {@link EndpointMetrics}, {@code null} if the handler is not annotated with the
+     * {@link RequestPath} annotation
+     */
+    public EndpointMetrics getEndpointMetrics(HandlerMethod handlerMethod) {
+        return handlersMetrics.get(handlerMethod.getMethod());
+    }
+
+    /**
+     * Method used to get a snapshot of the collected metrics, the endpoints never requested are omitted
+     *
+     * @return the snapshot as {@link JSONObject}
+     */
+    public JSONObject toJson() {
+        JSONObject endpoints = new JSONObject();
+        endpointsMetrics.forEach((endpoint, metrics) -> {
+            if (metrics.latency.getCount() > 0 || metrics.inFlight.sum() > 0)
+                endpoints.put(endpoint, metrics.toJson());
+        });
+        return new JSONObject()
+                .put("endpoints", endpoints);
+    }
+
+    /**
+     * The {@code EndpointMetrics} class contains the metrics of a single endpoint
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public static final class EndpointMetrics {
+
+        /**
+         * {@code method} the method of the endpoint
+         */
+        private final String method;
+
+        /**
+         * {@code path} the path of the endpoint
+         */
+        private final String path;
+
+        /**
+         * {@code latency} the time taken to handle the requests
+         */
+        private final LatencyHistogram latency;
+
+        /**
+         * {@code inFlight} the number of the requests currently handled
+         */
+        private final LongAdder inFlight;
+
+        /**
+         * {@code outcomes} the number of the completed requests for each {@link ResponseStatus}, indexed by its ordinal
+         */
+        private final LongAdder[] outcomes;
+
+        /**
+         * Constructor to init the metrics
+         *
+         * @param method The method of the endpoint
+         * @param path The path of the endpoint
+         */
+        private EndpointMetrics(String method, String path) {
+            this.method = method;
+            this.path = path;
+            latency = new LatencyHistogram();
+            inFlight = new LongAdder();
+            outcomes = new LongAdder[RESPONSE_STATUSES.length];
+            for (int j = 0; j < outcomes.length; j++)
+                outcomes[j] = new LongAdder();
+        }
+
+        /**
+         * Method used to record the start of a request
+         */
+        public void recordStarted() {
+            inFlight.increment();
+        }
+
+        /**
+         * Method used to record the completion of a request
+         *
+         * @param nanos The time taken to handle the request in nanoseconds
+         * @param outcome The status of the response of the request
+         */
+        public void recordCompleted(long nanos, ResponseStatus outcome) {
+            inFlight.decrement();
+            latency.record(nanos);
+            outcomes[outcome.ordinal()].increment();
+        }
+
+        /**
+         * Method used to register the meters of the endpoint
+         *
+         * @param registry The registry where register the meters
+         */
+        private void register(MeterRegistry registry) {
+            latency.register(registry, METRICS_PREFIX + "latency", PATH_TAG, path, METHOD_TAG, method);
+            Gauge.builder(METRICS_PREFIX + "in.flight", inFlight, LongAdder::sum)
+                    .tags(PATH_TAG, path, METHOD_TAG, method)
+                    .register(registry);
+            for (ResponseStatus status : RESPONSE_STATUSES) {
+                FunctionCounter.builder(METRICS_PREFIX + "requests", outcomes[status.ordinal()], LongAdder::sum)
+                        .tags(PATH_TAG, path, METHOD_TAG, method, OUTCOME_TAG, status.name())
+                        .register(registry);
+            }
+        }
+
+        /**
+         * Method used to get a snapshot of the metrics
+         *
+         * @return the snapshot as {@link JSONObject}
+         */
+        private JSONObject toJson() {
+            JSONObject jOutcomes = new JSONObject();
+            for (ResponseStatus status : RESPONSE_STATUSES) {
+                long completed = outcomes[status.ordinal()].sum();
+                if (completed > 0)
+                    jOutcomes.put(status.name(), completed);
+            }
+            return new JSONObject()
+                    .put("in_flight", inFlight.sum())
+                    .put("outcomes", jOutcomes)
+                    .put("latency", latency.toJson());
+        }
+
+    }
+
+}
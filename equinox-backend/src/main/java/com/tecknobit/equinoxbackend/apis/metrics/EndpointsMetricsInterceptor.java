@@ -0,0 +1,253 @@
+package com.tecknobit.equinoxbackend.apis.metrics;
+
+import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxbackend.apis.metrics.EndpointsMetrics.EndpointMetrics;
+import com.tecknobit.equinoxcore.network.ResponseStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.json.JSONObject;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+
+import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_STATUS_KEY;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.FAILED;
+import static com.tecknobit.equinoxcore.network.ResponseStatus.SUCCESSFUL;
+
+/**
+ * The {@code EndpointsMetricsInterceptor} class records the requests of the endpoints discovered by the
+ * {@link EndpointsMetrics}: the request is timed from its dispatching to the handler to its completion, while its
+ * outcome is the {@link ResponseStatus} read from the response body before being written, or the one derived from the
+ * status code of the response when the body has no status, e.g. for the {@code 304 Not Modified} responses
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EndpointsMetrics
+ *
+ * @since 1.2.0
+ */
+@ControllerAdvice
+public class EndpointsMetricsInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    /**
+     * {@code START_ATTRIBUTE} the attribute where the instant in nanoseconds when the request started is stored
+     */
+    private static final String START_ATTRIBUTE = EndpointsMetricsInterceptor.class.getName() + ".start";
+
+    /**
+     * {@code OUTCOME_ATTRIBUTE} the attribute where the status read from the response body is stored
+     */
+    private static final String OUTCOME_ATTRIBUTE = EndpointsMetricsInterceptor.class.getName() + ".outcome";
+
+    /**
+     * {@code STATUS_FIELD} the field of the status as serialized in the response bodies
+     */
+    private static final String STATUS_FIELD = "\"" + RESPONSE_STATUS_KEY + "\"";
+
+    /**
+     * {@code RESPONSE_STATUSES} the statuses which can be the outcome of a request
+     */
+    private static final ResponseStatus[] RESPONSE_STATUSES = ResponseStatus.values();
+
+    /**
+     * {@code endpointsMetrics} the metrics where record the requests
+     */
+    private final EndpointsMetrics endpointsMetrics;
+
+    /**
+     * Constructor to init the interceptor
+     *
+     * @param endpointsMetrics The metrics where record the requests
+     */
+    public EndpointsMetricsInterceptor(EndpointsMetrics endpointsMetrics) {
+        this.endpointsMetrics = endpointsMetrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointMetrics metrics = getEndpointMetrics(handler);
+        if (metrics != null) {
+            metrics.recordStarted();
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        EndpointMetrics metrics = getEndpointMetrics(handler);
+        if (metrics == null || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start))
+            return;
+        request.removeAttribute(START_ATTRIBUTE);
+        ResponseStatus outcome;
+        if (ex != null)
+            outcome = FAILED;
+        else if (request.getAttribute(OUTCOME_ATTRIBUTE) instanceof ResponseStatus status)
+            outcome = status;
+        else
+            outcome = response.getStatus() < HttpServletResponse.SC_BAD_REQUEST ? SUCCESSFUL : FAILED;
+        metrics.recordCompleted(System.nanoTime() - start, outcome);
+    }
+
+    /**
+     * Method used to get the metrics of the endpoint of a handler
+     *
+     * @param handler The handler of the request
+     *
+     * @return the metrics as {@link EndpointMetrics}, {@code null} if the handler is not instrumented
+     */
+    private EndpointMetrics getEndpointMetrics(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod)
+            return endpointsMetrics.getEndpointMetrics(handlerMethod);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(RequestPath.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            ResponseStatus outcome = resolveOutcome(body);
+            if (outcome != null)
+                servletRequest.getServletRequest().setAttribute(OUTCOME_ATTRIBUTE, outcome);
+        }
+        return body;
+    }
+
+    /**
+     * Method used to read the status from a response body
+     *
+     * @param body The body of the response
+     *
+     * @return the status as {@link ResponseStatus}, {@code null} if the body has no status
+     */
+    private ResponseStatus resolveOutcome(Object body) {
+        if (body instanceof String payload)
+            return findStatus(payload);
+        Object status = null;
+        if (body instanceof Map<?, ?> payload)
+            status = payload.get(RESPONSE_STATUS_KEY);
+        else if (body instanceof JSONObject payload)
+            status = payload.opt(RESPONSE_STATUS_KEY);
+        if (status == null || status instanceof ResponseStatus)
+            return (ResponseStatus) status;
+        String value = status.toString();
+        return toResponseStatus(value, 0, value.length());
+    }
+
+    /**
+     * Method used to find the status of a {@code JSON} response body. The body is scanned once without being parsed,
+     * looking for the status field at its top level only, so the statuses of the nested objects are ignored
+     *
+     * @param payload The {@code JSON} response body
+     *
+     * @return the status as {@link ResponseStatus}, {@code null} if the body has no status
+     */
+    private ResponseStatus findStatus(String payload) {
+        int depth = 0;
+        int length = payload.length();
+        for (int j = 0; j < length; j++) {
+            char character = payload.charAt(j);
+            if (character == '"') {
+                if (depth == 1 && payload.startsWith(STATUS_FIELD, j)) {
+                    int valueStart = skipToValue(payload, j + STATUS_FIELD.length());
+                    if (valueStart != -1) {
+                        int valueEnd = payload.indexOf('"', valueStart);
+                        return valueEnd == -1 ? null : toResponseStatus(payload, valueStart, valueEnd);
+                    }
+                }
+                j = skipString(payload, j);
+            } else if (character == '{' || character == '[')
+                depth++;
+            else if (character == '}' || character == ']')
+                depth--;
+        }
+        return null;
+    }
+
+    /**
+     * Method used to skip the separator between a field and its value
+     *
+     * @param payload The {@code JSON} response body
+     * @param index The index after the field
+     *
+     * @return the index after the opening quote of the value as {@code int}, {@code -1} if the field is not followed
+     * by a string value
+     */
+    private int skipToValue(String payload, int index) {
+        while (index < payload.length() && Character.isWhitespace(payload.charAt(index)))
+            index++;
+        if (index >= payload.length() || payload.charAt(index) != ':')
+            return -1;
+        index++;
+        while (index < payload.length() && Character.isWhitespace(payload.charAt(index)))
+            index++;
+        return index < payload.length() && payload.charAt(index) == '"' ? index + 1 : -1;
+    }
+
+    /**
+     * Method used to skip a string of a {@code JSON} response body
+     *
+     * @param payload The {@code JSON} response body
+     * @param start The index of the opening quote of the string
+     *
+     * @return the index of the closing quote of the string as {@code int}
+     */
+    private int skipString(String payload, int start) {
+        int length = payload.length();
+        for (int j = start + 1; j < length; j++) {
+            char character = payload.charAt(j);
+            if (character == '\\')
+                j++;
+            else if (character == '"')
+                return j;
+        }
+        return length;
+    }
+
+    /**
+     * Method used to convert a portion of a string in a {@link ResponseStatus}
+     *
+     * @param value The string containing the status
+     * @param start The index where the status starts
+     * @param end The index where the status ends
+     *
+     * @return the status as {@link ResponseStatus}, {@code null} if the portion is not a status
+     */
+    private ResponseStatus toResponseStatus(String value, int start, int end) {
+        for (ResponseStatus status : RESPONSE_STATUSES) {
+            String name = status.name();
+            if (name.length() == end - start && value.startsWith(name, start))
+                return status;
+        }
+        return null;
+    }
+
+}
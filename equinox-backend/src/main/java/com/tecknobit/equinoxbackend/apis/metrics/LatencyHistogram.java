@@ -0,0 +1,354 @@
+package com.tecknobit.equinoxbackend.apis.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code LatencyHistogram} class is a lock-free histogram of latencies with a log-linear buckets layout similar to
+ * the {@code HdrHistogram} one: each power of two range is split in {@link #SUB_BUCKETS} linear buckets, so the
+ * percentiles are computed with a relative error lower than the 6.25%. Recording a value costs a few atomic
+ * increments, so it can be used on the hot paths.
+ * <p>
+ * The count and the total of the recorded values are cumulative, while the percentiles and the max are computed over a
+ * sliding window: the values are recorded in a ring of {@link #DEFAULT_WINDOWS} windows, the oldest one is read and is
+ * reset every {@link #DEFAULT_EXPIRY} / {@link #DEFAULT_WINDOWS}, so a latency spike stops to affect them after at most
+ * the expiry time
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * {@code SUB_BUCKETS_BITS} the number of bits used to index the linear buckets of a power of two range
+     */
+    private static final int SUB_BUCKETS_BITS = 4;
+
+    /**
+     * {@code SUB_BUCKETS} the number of linear buckets of a power of two range
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKETS_BITS;
+
+    /**
+     * {@code BUCKETS} the total number of buckets
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKETS_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * {@code NANOS_PER_MILLIS} the number of nanoseconds in a millisecond
+     */
+    private static final double NANOS_PER_MILLIS = 1_000_000d;
+
+    /**
+     * {@code DEFAULT_EXPIRY} the default time in milliseconds after which a recorded value stops to affect the
+     * percentiles and the max
+     */
+    public static final long DEFAULT_EXPIRY = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * {@code DEFAULT_WINDOWS} the default number of windows of the ring
+     */
+    public static final int DEFAULT_WINDOWS = 3;
+
+    /**
+     * {@code windows} the ring of the windows where the values are recorded
+     */
+    private final Window[] windows;
+
+    /**
+     * {@code rotationInterval} the time in nanoseconds after which the oldest window is reset
+     */
+    private final long rotationInterval;
+
+    /**
+     * {@code nextRotation} the time in nanoseconds when the oldest window will be reset
+     */
+    private volatile long nextRotation;
+
+    /**
+     * {@code currentWindow} the index of the oldest window, that is the one read
+     */
+    private volatile int currentWindow;
+
+    /**
+     * {@code count} the number of the recorded values
+     */
+    private final LongAdder count;
+
+    /**
+     * {@code total} the sum of the recorded values
+     */
+    private final LongAdder total;
+
+    /**
+     * Constructor to init the histogram with the {@link #DEFAULT_EXPIRY} and the {@link #DEFAULT_WINDOWS}
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_EXPIRY, DEFAULT_WINDOWS);
+    }
+
+    /**
+     * Constructor to init the histogram
+     *
+     * @param expiry The time in milliseconds after which a recorded value stops to affect the percentiles and the max
+     * @param windows The number of windows of the ring, more windows make the decay smoother
+     */
+    public LatencyHistogram(long expiry, int windows) {
+        if (expiry <= 0 || windows <= 0)
+            throw new IllegalArgumentException("The expiry and the windows must be positive");
+        this.windows = new Window[windows];
+        for (int j = 0; j < windows; j++)
+            this.windows[j] = new Window();
+        rotationInterval = Math.max(1, TimeUnit.MILLISECONDS.toNanos(expiry) / windows);
+        nextRotation = System.nanoTime() + rotationInterval;
+        count = new LongAdder();
+        total = new LongAdder();
+    }
+
+    /**
+     * Method used to record a latency
+     *
+     * @param nanos The latency to record in nanoseconds, negative values are ignored
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            return;
+        rotate();
+        int index = bucketIndex(nanos);
+        for (Window window : windows)
+            window.record(index, nanos);
+        count.increment();
+        total.add(nanos);
+    }
+
+    /**
+     * Method used to reset the oldest window, and to move the reading on the next one, for each rotation interval
+     * elapsed
+     */
+    private void rotate() {
+        if (System.nanoTime() - nextRotation < 0)
+            return;
+        synchronized (windows) {
+            long now = System.nanoTime();
+            int rotations = 0;
+            while (now - nextRotation >= 0 && rotations < windows.length) {
+                windows[currentWindow].reset();
+                currentWindow = (currentWindow + 1) % windows.length;
+                nextRotation += rotationInterval;
+                rotations++;
+            }
+            if (now - nextRotation >= 0)
+                nextRotation = now + rotationInterval;
+        }
+    }
+
+    /**
+     * Method used to get the index of the bucket of a value
+     *
+     * @param value The value to index
+     *
+     * @return the index of the bucket as {@code int}
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKETS_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Method used to get the highest value stored in a bucket
+     *
+     * @param index The index of the bucket
+     *
+     * @return the highest value of the bucket as {@code long}
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Method used to get the number of the recorded values
+     *
+     * @return the number of the recorded values as {@code long}
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Method used to get the sum of the recorded values
+     *
+     * @return the sum of the recorded values in nanoseconds as {@code long}
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Method used to get the max value recorded in the sliding window
+     *
+     * @return the max recorded value in nanoseconds as {@code long}
+     */
+    public long getMax() {
+        rotate();
+        return windows[currentWindow].max.get();
+    }
+
+    /**
+     * Method used to get the mean of the recorded values
+     *
+     * @return the mean of the recorded values in nanoseconds as {@code double}
+     */
+    public double getMean() {
+        long recorded = getCount();
+        if (recorded == 0)
+            return 0;
+        return (double) getTotal() / recorded;
+    }
+
+    /**
+     * Method used to get the value at a percentile of the values recorded in the sliding window
+     *
+     * @param percentile The percentile to compute, between {@code 0} and {@code 100}
+     *
+     * @return the value at the percentile in nanoseconds as {@code long}
+     */
+    public long getValueAtPercentile(double percentile) {
+        rotate();
+        Window window = windows[currentWindow];
+        long recorded = 0;
+        long[] counts = new long[BUCKETS];
+        for (int j = 0; j < BUCKETS; j++) {
+            counts[j] = window.buckets.get(j);
+            recorded += counts[j];
+        }
+        if (recorded == 0)
+            return 0;
+        long windowMax = window.max.get();
+        long target = Math.max(1, (long) Math.ceil(recorded * (percentile / 100)));
+        long cumulated = 0;
+        for (int j = 0; j < BUCKETS; j++) {
+            cumulated += counts[j];
+            if (cumulated >= target)
+                return Math.min(bucketUpperBound(j), windowMax);
+        }
+        return windowMax;
+    }
+
+    /**
+     * Method used to register the meters of the histogram, that are the count and the total of the recorded values and
+     * the p99 and the max of the sliding window
+     *
+     * @param registry The registry where register the meters
+     * @param name The name of the meters
+     * @param tags The tags of the meters
+     */
+    public void register(MeterRegistry registry, String name, String... tags) {
+        FunctionCounter.builder(name + ".count", this, LatencyHistogram::getCount)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(name + ".total", this, histogram -> toSeconds(histogram.getTotal()))
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder(name + ".p99", this, histogram -> toSeconds(histogram.getValueAtPercentile(99)))
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder(name + ".max", this, histogram -> toSeconds(histogram.getMax()))
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Method used to convert nanoseconds in seconds
+     *
+     * @param nanos The nanoseconds to convert
+     *
+     * @return the seconds as {@code double}
+     */
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Method used to get a snapshot of the histogram with the values expressed in milliseconds
+     *
+     * @return the snapshot as {@link JSONObject}
+     */
+    public JSONObject toJson() {
+        return new JSONObject()
+                .put("count", getCount())
+                .put("mean_ms", getMean() / NANOS_PER_MILLIS)
+                .put("p50_ms", getValueAtPercentile(50) / NANOS_PER_MILLIS)
+                .put("p90_ms", getValueAtPercentile(90) / NANOS_PER_MILLIS)
+                .put("p99_ms", getValueAtPercentile(99) / NANOS_PER_MILLIS)
+                .put("max_ms", getMax() / NANOS_PER_MILLIS);
+    }
+
+    /**
+     * The {@code Window} class is a window of the ring where the values are recorded
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private static final class Window {
+
+        /**
+         * {@code buckets} the counts of the recorded values for each bucket
+         */
+        private final AtomicLongArray buckets;
+
+        /**
+         * {@code max} the max recorded value
+         */
+        private final AtomicLong max;
+
+        /**
+         * Constructor to init the window
+         */
+        private Window() {
+            buckets = new AtomicLongArray(BUCKETS);
+            max = new AtomicLong();
+        }
+
+        /**
+         * Method used to record a value
+         *
+         * @param index The index of the bucket of the value
+         * @param nanos The value to record in nanoseconds
+         */
+        private void record(int index, long nanos) {
+            buckets.incrementAndGet(index);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Method used to reset the window, a value recorded concurrently can be lost, which is acceptable for
+         * latencies sampling
+         */
+        private void reset() {
+            for (int j = 0; j < BUCKETS; j++)
+                buckets.set(j, 0);
+            max.set(0);
+        }
+
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.tecknobit.equinoxbackend.apis.ratelimit;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.RateLimitConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code RateLimiter} class admits the requests of the clients according to the rate limits of the
+ * {@code equinox.config} file. Each client has a token bucket for each limit, kept as the instant when the bucket will
+ * be full again and updated without locks with a compare-and-set, so the admission check is cheap also under heavy
+ * load. The buckets are distributed over independent stripes, each one bounded: the full buckets carry no state, so
+ * they are evicted when a stripe is full, and when all the buckets of a stripe are in use the requests of the new
+ * clients are rejected until a bucket can be evicted, so the memory is bounded also when the requests come from many
+ * different clients and the clients already tracked are never limited by the other ones. It is based on a singleton
+ * design pattern to share the buckets between the controllers
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see RateLimitsConfig
+ *
+ * @since 1.2.0
+ */
+public class RateLimiter {
+
+    /**
+     * {@code STRIPES} the number of the stripes where the buckets are distributed
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * {@code SWEEP_INTERVAL} the min time in nanoseconds between two evictions of the full buckets of a stripe
+     */
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * {@code KEY_SEPARATOR} the separator between the name of a limit and the client in the key of a bucket
+     */
+    private static final char KEY_SEPARATOR = '|';
+
+    /**
+     * {@code EVICTED} the value of an evicted bucket, the requests which find it retrieve the bucket again
+     */
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    /**
+     * {@code rateLimiter} the rate limiter of the current backend instance
+     */
+    private static final RateLimiter rateLimiter = new RateLimiter(
+            EquinoxBackendConfiguration.getInstance().getRateLimitsConfig());
+
+    /**
+     * {@code rateLimitsConfig} the configuration of the rate limits
+     */
+    private final RateLimitsConfig rateLimitsConfig;
+
+    /**
+     * {@code maxKeysPerStripe} the max number of buckets of each stripe
+     */
+    private final int maxKeysPerStripe;
+
+    /**
+     * {@code stripes} the stripes of the buckets
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Constructor to init the rate limiter
+     *
+     * @param rateLimitsConfig The configuration of the rate limits
+     */
+    public RateLimiter(RateLimitsConfig rateLimitsConfig) {
+        this.rateLimitsConfig = rateLimitsConfig;
+        maxKeysPerStripe = Math.max(1, (rateLimitsConfig.getMaxKeys() + STRIPES - 1) / STRIPES);
+        stripes = new Stripe[STRIPES];
+        for (int j = 0; j < STRIPES; j++)
+            stripes[j] = new Stripe();
+    }
+
+    /**
+     * Method used to admit a request of a client
+     *
+     * @param limit The name of the limit to apply
+     * @param client The identifier of the client, e.g. its address or the identifier of the user
+     *
+     * @return the time in nanoseconds to wait before the request can be admitted as {@code long}, {@code 0} when the
+     * request has been admitted
+     * @apiNote the requests of a client not tracked yet are rejected while all the buckets of its stripe are in use
+     */
+    public long tryAcquire(String limit, String client) {
+        if (!rateLimitsConfig.isEnabled() || client == null)
+            return 0;
+        RateLimitConfig rateLimitConfig = rateLimitsConfig.getLimit(limit);
+        if (rateLimitConfig == null || !rateLimitConfig.isApplied())
+            return 0;
+        long interval = Math.max(1, TimeUnit.SECONDS.toNanos(rateLimitConfig.refillPeriod())
+                / rateLimitConfig.capacity());
+        long tolerance = interval * rateLimitConfig.capacity();
+        long now = System.nanoTime();
+        String key = limit + KEY_SEPARATOR + client;
+        AtomicLong bucket = getBucket(key, now);
+        while (true) {
+            if (bucket == null)
+                return Math.max(interval, SWEEP_INTERVAL);
+            long fullAt = bucket.get();
+            if (fullAt == EVICTED) {
+                bucket = getBucket(key, now);
+                continue;
+            }
+            long nextFullAt = (fullAt - now > 0 ? fullAt : now) + interval;
+            long wait = nextFullAt - now - tolerance;
+            if (wait > 0)
+                return wait;
+            if (bucket.compareAndSet(fullAt, nextFullAt))
+                return 0;
+        }
+    }
+
+    /**
+     * Method used to get the bucket of a client, creating it when the client has no bucket yet
+     *
+     * @param key The key of the bucket
+     * @param now The current instant in nanoseconds
+     *
+     * @return the bucket as {@link AtomicLong}, the instant in nanoseconds when the bucket will be full again,
+     * {@code null} when the stripe of the bucket is full
+     */
+    private AtomicLong getBucket(String key, long now) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket != null)
+            return bucket;
+        if (stripe.buckets.size() >= maxKeysPerStripe) {
+            stripe.evictFullBuckets(now);
+            if (stripe.buckets.size() >= maxKeysPerStripe)
+                return null;
+        }
+        return stripe.buckets.computeIfAbsent(key, newKey -> new AtomicLong(now));
+    }
+
+    /**
+     * Method used to spread the hash of a key over the stripes
+     *
+     * @param hash The hash of the key
+     *
+     * @return the spread hash as {@code int}
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Method used to get the current {@link #rateLimiter} instance
+     *
+     * @return the current {@link #rateLimiter} instance as {@link RateLimiter}
+     */
+    public static RateLimiter getInstance() {
+        return rateLimiter;
+    }
+
+    /**
+     * The {@code Stripe} class contains a bounded portion of the buckets of the clients
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private static final class Stripe {
+
+        /**
+         * {@code buckets} the buckets of the clients of the stripe
+         */
+        private final ConcurrentHashMap<String, AtomicLong> buckets;
+
+        /**
+         * {@code lastSweep} the instant in nanoseconds of the last eviction of the full buckets
+         */
+        private final AtomicLong lastSweep;
+
+        /**
+         * Constructor to init the stripe
+         */
+        private Stripe() {
+            buckets = new ConcurrentHashMap<>();
+            lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL);
+        }
+
+        /**
+         * Method used to evict the full buckets, which are equivalent to the new ones, of the idle clients. Each bucket
+         * is marked as {@link #EVICTED} with a compare-and-set before removing it, so a request updating it meanwhile
+         * either keeps it or retrieves the bucket again instead of updating a removed one. The evictions are performed
+         * at most once every {@link #SWEEP_INTERVAL}
+         *
+         * @param now The current instant in nanoseconds
+         */
+        private void evictFullBuckets(long now) {
+            long sweptAt = lastSweep.get();
+            if (now - sweptAt < SWEEP_INTERVAL || !lastSweep.compareAndSet(sweptAt, now))
+                return;
+            for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                AtomicLong bucket = entry.getValue();
+                long fullAt = bucket.get();
+                if (fullAt != EVICTED && fullAt - now <= 0 && bucket.compareAndSet(fullAt, EVICTED))
+                    buckets.remove(entry.getKey(), bucket);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,443 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig.UNLIMITED_RESOURCE_SIZE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The {@code ContentAddressedStore} class stores the resources deduplicated by their content: each upload is hashed
+ * while it is streamed and stored once as a blob named with its digest under the {@link #BLOBS_DIRECTORY}, e.g.
+ * {@code blobs/3f/a2/digest.png}, so the same image uploaded by many users occupies the disk and the page cache just
+ * once. The logical resources, e.g. the profile pic of a user, reference the blobs and the blobs not referenced anymore
+ * are deleted in batches by a periodic garbage collection. The references are kept in memory and persisted in an
+ * append-only journal compacted at the startup. Since the content of a blob never changes, the blobs can be cached by
+ * the clients as immutable. It is based on a singleton design pattern to share the references
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager
+ *
+ * @since 1.2.0
+ */
+public class ContentAddressedStore {
+
+    /**
+     * {@code BLOBS_DIRECTORY} the folder where the blobs are stored
+     */
+    public static final String BLOBS_DIRECTORY = "blobs";
+
+    /**
+     * {@code BLOBS_CACHE_CONTROL} the {@code Cache-Control} used to serve the blobs, which are immutable
+     */
+    public static final String BLOBS_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * {@code DIGEST_ALGORITHM} the algorithm used to compute the digest of the blobs
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * {@code REFERENCES_JOURNAL} the name of the journal where the references are persisted
+     */
+    private static final String REFERENCES_JOURNAL = ".references";
+
+    /**
+     * {@code ADD_REFERENCE} the prefix of the journal entries which add a reference
+     */
+    private static final char ADD_REFERENCE = '+';
+
+    /**
+     * {@code REMOVE_REFERENCE} the prefix of the journal entries which remove a reference
+     */
+    private static final char REMOVE_REFERENCE = '-';
+
+    /**
+     * {@code REFERENCE_SEPARATOR} the separator between the identifier of the resource and the blob in the journal
+     */
+    private static final char REFERENCE_SEPARATOR = '\t';
+
+    /**
+     * {@code GARBAGE_COLLECTION_INTERVAL} the interval in seconds between two garbage collections
+     */
+    private static final long GARBAGE_COLLECTION_INTERVAL = 60;
+
+    /**
+     * {@code GARBAGE_COLLECTION_BATCH_SIZE} the max number of blobs deleted by a single garbage collection
+     */
+    private static final int GARBAGE_COLLECTION_BATCH_SIZE = 512;
+
+    /**
+     * {@code store} the content addressed store of the current backend instance
+     */
+    private static ContentAddressedStore store;
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code blobsFolder} the folder where the blobs are stored
+     */
+    private final Path blobsFolder;
+
+    /**
+     * {@code journal} the file where the references are persisted
+     */
+    private final Path journal;
+
+    /**
+     * {@code references} the blobs referenced by each resource
+     */
+    private final Map<String, String> references;
+
+    /**
+     * {@code referencesCount} the number of the resources which reference each blob
+     */
+    private final Map<String, Integer> referencesCount;
+
+    /**
+     * {@code unreferencedBlobs} the blobs not referenced anymore waiting to be deleted
+     */
+    private final Set<String> unreferencedBlobs;
+
+    /**
+     * {@code journalWriter} the writer of the {@link #journal}
+     */
+    private BufferedWriter journalWriter;
+
+    /**
+     * {@code collector} the scheduler of the garbage collection
+     */
+    private ScheduledExecutorService collector;
+
+    /**
+     * Constructor to init the store
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     *
+     * @throws IOException when the references cannot be loaded
+     */
+    public ContentAddressedStore(Path resourcesFolder) throws IOException {
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        blobsFolder = this.resourcesFolder.resolve(BLOBS_DIRECTORY);
+        journal = blobsFolder.resolve(REFERENCES_JOURNAL);
+        references = new HashMap<>();
+        referencesCount = new HashMap<>();
+        unreferencedBlobs = new LinkedHashSet<>();
+        Files.createDirectories(blobsFolder);
+        loadReferences();
+    }
+
+    /**
+     * Method used to load the references replaying the {@link #journal}, then the journal is compacted and the blobs
+     * not referenced are scheduled for the garbage collection
+     *
+     * @throws IOException when the journal cannot be read or compacted
+     */
+    private void loadReferences() throws IOException {
+        if (Files.exists(journal)) {
+            for (String entry : Files.readAllLines(journal, UTF_8)) {
+                if (entry.isEmpty())
+                    continue;
+                String reference = entry.substring(1);
+                int separatorIndex = reference.indexOf(REFERENCE_SEPARATOR);
+                if (entry.charAt(0) == ADD_REFERENCE && separatorIndex != -1)
+                    references.put(reference.substring(0, separatorIndex), reference.substring(separatorIndex + 1));
+                else if (entry.charAt(0) == REMOVE_REFERENCE)
+                    references.remove(reference);
+            }
+        }
+        for (String blob : references.values())
+            referencesCount.merge(blob, 1, Integer::sum);
+        Path compactedJournal = journal.resolveSibling(REFERENCES_JOURNAL + TEMP_RESOURCE_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(compactedJournal, UTF_8)) {
+            for (Map.Entry<String, String> reference : references.entrySet())
+                writeEntry(writer, ADD_REFERENCE, reference.getKey() + REFERENCE_SEPARATOR + reference.getValue());
+        }
+        moveAtomically(compactedJournal, journal);
+        journalWriter = Files.newBufferedWriter(journal, UTF_8, CREATE, WRITE, APPEND);
+        try (Stream<Path> blobs = Files.walk(blobsFolder)) {
+            blobs.filter(Files::isRegularFile)
+                    .map(blob -> resourcesFolder.relativize(blob).toString().replace('\\', '/'))
+                    .filter(blob -> !blob.substring(blob.lastIndexOf('/') + 1).startsWith("."))
+                    .filter(blob -> !ImageVariants.isVariant(blob.substring(blob.lastIndexOf('/') + 1)))
+                    .filter(blob -> !referencesCount.containsKey(blob))
+                    .forEach(unreferencedBlobs::add);
+        }
+    }
+
+    /**
+     * Method used to store a resource, the resource is hashed while streamed and stored as new blob only if a blob
+     * with the same content does not exist yet
+     *
+     * @param resource The resource to store
+     * @param resourceId The identifier of the logical resource, e.g. the identifier of the user for a profile pic. If
+     *                   the resource already referenced a blob, the old blob is released
+     *
+     * @return the details of the stored resource, with the path of the blob to use to serve it, as {@link SavedResource}
+     *
+     * @throws IOException when an error occurred during the resource storing
+     */
+    public SavedResource store(MultipartFile resource, String resourceId) throws IOException {
+        long maxSize = EquinoxBackendConfiguration.getInstance().getResourcesConfig().getMaxResourceSize();
+        boolean sizeLimited = maxSize != UNLIMITED_RESOURCE_SIZE;
+        if (sizeLimited && resource.getSize() > maxSize)
+            throw new ResourceSizeExceededException(maxSize);
+        Path tempBlob = blobsFolder.resolve("." + UUID.randomUUID() + TEMP_RESOURCE_SUFFIX);
+        try {
+            MessageDigest digest = getMessageDigest();
+            long size;
+            try (InputStream inputStream = new DigestInputStream(resource.getInputStream(), digest)) {
+                size = Files.copy(inputStream, tempBlob);
+            }
+            if (sizeLimited && size > maxSize)
+                throw new ResourceSizeExceededException(maxSize);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String blob = BLOBS_DIRECTORY + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash
+                    + getSuffix(resource);
+            Path blobFile = resourcesFolder.resolve(blob);
+            synchronized (this) {
+                if (!Files.exists(blobFile)) {
+                    Files.createDirectories(blobFile.getParent());
+                    moveAtomically(tempBlob, blobFile);
+                }
+                reference(resourceId, blob);
+            }
+            return new SavedResource(blob, size, hash);
+        } finally {
+            Files.deleteIfExists(tempBlob);
+        }
+    }
+
+    /**
+     * Method used to make a resource reference a blob, releasing the blob it previously referenced
+     *
+     * @param resourceId The identifier of the logical resource
+     * @param blob The path of the blob to reference
+     *
+     * @throws IOException when the reference cannot be persisted
+     */
+    private void reference(String resourceId, String blob) throws IOException {
+        unreferencedBlobs.remove(blob);
+        String previousBlob = references.put(resourceId, blob);
+        if (!blob.equals(previousBlob)) {
+            referencesCount.merge(blob, 1, Integer::sum);
+            if (previousBlob != null)
+                decrementReferences(previousBlob);
+            writeEntry(journalWriter, ADD_REFERENCE, resourceId + REFERENCE_SEPARATOR + blob);
+            journalWriter.flush();
+        }
+    }
+
+    /**
+     * Method used to restore the blob referenced by a resource before a {@link #store(MultipartFile, String)} whose
+     * usage failed, e.g. when the new path of the resource cannot be saved, so the blob just stored is released and
+     * the previous one is kept
+     *
+     * @param resourceId The identifier of the logical resource
+     * @param previousBlob The blob previously referenced by the resource, {@code null} if it did not reference any
+     *                     blob
+     *
+     * @throws IOException when the restore cannot be persisted
+     */
+    public synchronized void restore(String resourceId, String previousBlob) throws IOException {
+        if (previousBlob == null)
+            release(resourceId);
+        else
+            reference(resourceId, previousBlob);
+    }
+
+    /**
+     * Method used to get the blob referenced by a resource
+     *
+     * @param resourceId The identifier of the logical resource
+     *
+     * @return the path of the blob as {@link String}, {@code null} if the resource does not reference any blob
+     */
+    public synchronized String getBlob(String resourceId) {
+        return references.get(resourceId);
+    }
+
+    /**
+     * Method used to release the blob referenced by a resource, when the blob is not referenced anymore it will be
+     * deleted by the next garbage collection
+     *
+     * @param resourceId The identifier of the logical resource
+     *
+     * @return whether the resource referenced a blob as {@code boolean}
+     *
+     * @throws IOException when the release cannot be persisted
+     */
+    public synchronized boolean release(String resourceId) throws IOException {
+        String blob = references.remove(resourceId);
+        if (blob == null)
+            return false;
+        decrementReferences(blob);
+        writeEntry(journalWriter, REMOVE_REFERENCE, resourceId);
+        journalWriter.flush();
+        return true;
+    }
+
+    /**
+     * Method used to decrement the references of a blob, scheduling it for the garbage collection when not referenced
+     * anymore
+     *
+     * @param blob The blob to decrement
+     */
+    private void decrementReferences(String blob) {
+        Integer count = referencesCount.computeIfPresent(blob, (key, current) -> current > 1 ? current - 1 : null);
+        if (count == null)
+            unreferencedBlobs.add(blob);
+    }
+
+    /**
+     * Method used to delete a batch of the blobs not referenced anymore with their image variants
+     *
+     * @return the number of the blobs deleted as {@code int}
+     */
+    public int collectGarbage() {
+        List<String> batch = new ArrayList<>();
+        synchronized (this) {
+            Iterator<String> iterator = unreferencedBlobs.iterator();
+            while (iterator.hasNext() && batch.size() < GARBAGE_COLLECTION_BATCH_SIZE) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        int deleted = 0;
+        for (String blob : batch) {
+            Path blobFile = resourcesFolder.resolve(blob);
+            synchronized (this) {
+                if (referencesCount.containsKey(blob))
+                    continue;
+                try {
+                    if (Files.deleteIfExists(blobFile))
+                        deleted++;
+                    ImageVariants.deleteVariants(blobFile);
+                } catch (IOException e) {
+                    unreferencedBlobs.add(blob);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Method used to start the periodic garbage collection
+     */
+    public synchronized void startGarbageCollection() {
+        if (collector != null)
+            return;
+        collector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equinox-blobs-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        collector.scheduleWithFixedDelay(this::collectGarbage, GARBAGE_COLLECTION_INTERVAL,
+                GARBAGE_COLLECTION_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Method used to get the suffix of a resource
+     *
+     * @param resource The resource from get the suffix
+     *
+     * @return the suffix of the resource as {@link String}, empty if the resource has no suffix
+     */
+    private String getSuffix(MultipartFile resource) {
+        String resourceName = resource.getOriginalFilename();
+        if (resourceName == null)
+            return "";
+        int suffixIndex = resourceName.lastIndexOf('.');
+        if (suffixIndex == -1 || resourceName.indexOf('/', suffixIndex) != -1)
+            return "";
+        String suffix = resourceName.substring(suffixIndex);
+        return suffix.matches("\\.[A-Za-z0-9]{1,10}") ? suffix.toLowerCase() : "";
+    }
+
+    /**
+     * Method used to write an entry in the journal
+     *
+     * @param writer The writer of the journal
+     * @param operation The operation of the entry
+     * @param reference The reference of the entry
+     *
+     * @throws IOException when the entry cannot be written
+     */
+    private static void writeEntry(BufferedWriter writer, char operation, String reference) throws IOException {
+        writer.write(operation);
+        writer.write(reference);
+        writer.newLine();
+    }
+
+    /**
+     * Method used to move atomically a file when supported by the filesystem
+     *
+     * @param source The file to move
+     * @param target The destination of the file
+     *
+     * @throws IOException when the file cannot be moved
+     */
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Method used to get the digest used to hash the blobs
+     *
+     * @return the digest as {@link MessageDigest}
+     */
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to get the current {@link #store} instance, loading it if not loaded yet
+     *
+     * @return the current {@link #store} instance as {@link ContentAddressedStore}
+     */
+    public static synchronized ContentAddressedStore getInstance() {
+        if (store == null) {
+            try {
+                store = new ContentAddressedStore(Path.of(RESOURCES_PATH));
+                store.startGarbageCollection();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return store;
+    }
+
+}
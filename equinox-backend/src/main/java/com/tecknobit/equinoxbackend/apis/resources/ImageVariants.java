@@ -0,0 +1,383 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The {@code ImageVariants} class generates the resized variants of the images stored as resources, e.g. the profile
+ * pics, so the clients can download an image with the size they need instead of the original one. The variants are
+ * stored next to the original image, named {@code resourceId@size.format}, and are generated on a bounded executor
+ * after the image has been saved or on demand when a missing variant is requested, in this case the request waits for
+ * the generation at most the configured timeout. The dimensions of the images are read from their header before
+ * decoding them, so the images with more pixels than the configured limit are never decoded. The images are resized
+ * with the standard {@link ImageIO} and {@link Graphics2D} APIs, so no native libraries are required. It is based on a
+ * singleton design pattern to share the executor and the generations in progress
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager
+ * @see ResourcesServer
+ *
+ * @since 1.2.0
+ */
+public class ImageVariants {
+
+    /**
+     * {@code VARIANT_SEPARATOR} the separator between the identifier of the resource and the size of the variant
+     */
+    public static final String VARIANT_SEPARATOR = "@";
+
+    /**
+     * {@code MAX_PENDING_GENERATIONS} the max number of generations waiting to be executed, the exceeding ones are
+     * discarded and the variants will be generated on a next request
+     */
+    private static final int MAX_PENDING_GENERATIONS = 256;
+
+    /**
+     * {@code imageVariants} the image variants generator of the current backend instance
+     */
+    private static final ImageVariants imageVariants;
+
+    static {
+        ResourcesConfig resourcesConfig = EquinoxBackendConfiguration.getInstance().getResourcesConfig();
+        imageVariants = new ImageVariants(Path.of(RESOURCES_PATH), resourcesConfig.getImageVariantsSizes(),
+                resourcesConfig.getImageVariantsFormat(), resourcesConfig.getImageVariantsMaxPixels(),
+                resourcesConfig.getImageVariantsGenerationTimeout());
+    }
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code sizes} the sizes in pixels of the variants to generate
+     */
+    private final TreeSet<Integer> sizes;
+
+    /**
+     * {@code format} the format of the variants to generate
+     */
+    private final String format;
+
+    /**
+     * {@code maxPixels} the max number of pixels of the images whose variants are generated
+     */
+    private final long maxPixels;
+
+    /**
+     * {@code generationTimeout} the time in milliseconds a request waits for the generation of a missing variant
+     */
+    private final long generationTimeout;
+
+    /**
+     * {@code executor} the bounded executor where the variants are generated
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code generations} the generations of the variants currently in progress
+     */
+    private final Map<Path, CompletableFuture<Path>> generations;
+
+    /**
+     * Constructor to init the generator with the default limits
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param sizes The sizes in pixels of the variants to generate
+     * @param format The format of the variants to generate, e.g. {@code jpg} or {@code png}
+     */
+    public ImageVariants(Path resourcesFolder, List<Integer> sizes, String format) {
+        this(resourcesFolder, sizes, format, ResourcesConfig.DEFAULT_IMAGE_VARIANTS_MAX_PIXELS,
+                ResourcesConfig.DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT);
+    }
+
+    /**
+     * Constructor to init the generator
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param sizes The sizes in pixels of the variants to generate
+     * @param format The format of the variants to generate, e.g. {@code jpg} or {@code png}
+     * @param maxPixels The max number of pixels of the images whose variants are generated
+     * @param generationTimeout The time in milliseconds a request waits for the generation of a missing variant
+     */
+    public ImageVariants(Path resourcesFolder, List<Integer> sizes, String format, long maxPixels,
+                         long generationTimeout) {
+        if (!ImageIO.getImageWritersByFormatName(format).hasNext())
+            throw new IllegalArgumentException("Image format not supported: " + format);
+        if (maxPixels <= 0 || generationTimeout <= 0)
+            throw new IllegalArgumentException("The max pixels and the generation timeout must be positive");
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        this.sizes = new TreeSet<>(sizes);
+        this.format = format;
+        this.maxPixels = maxPixels;
+        this.generationTimeout = generationTimeout;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_GENERATIONS), runnable -> {
+                    Thread thread = new Thread(runnable, "equinox-image-variants");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        generations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method used to generate in background all the variants of an image
+     *
+     * @param resourcePath The path of the image relative to the resources folder
+     */
+    public void generateVariantsAsync(String resourcePath) {
+        Path original = resourcesFolder.resolve(resourcePath).normalize();
+        if (!original.startsWith(resourcesFolder))
+            return;
+        for (int size : sizes)
+            generateVariant(original, size);
+    }
+
+    /**
+     * Method used to get the variant of an image which best fits a requested size, that is the smallest variant not
+     * smaller than the requested size or the biggest one. When the variant does not exist yet it is generated on the
+     * {@link #executor}, waiting for it at most the {@link #generationTimeout}
+     *
+     * @param original The original image
+     * @param requestedSize The requested size in pixels
+     *
+     * @return the variant as {@link Path}, {@code null} if the original resource is not an image supported by
+     * {@link ImageIO}, exceeds the {@link #maxPixels}, is not generated in time or no variants are configured
+     */
+    public Path getVariant(Path original, int requestedSize) {
+        if (sizes.isEmpty() || isVariant(original.getFileName().toString()))
+            return null;
+        Integer size = sizes.ceiling(requestedSize);
+        if (size == null)
+            size = sizes.last();
+        Path variant = getVariantPath(original, size);
+        if (Files.isRegularFile(variant))
+            return variant;
+        try {
+            return generateVariant(original, size).get(generationTimeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Method used to generate a variant of an image on the {@link #executor}, the concurrent requests of the same
+     * variant share the same generation
+     *
+     * @param original The original image
+     * @param size The size in pixels of the variant
+     *
+     * @return the generation of the variant as {@link CompletableFuture}
+     */
+    private CompletableFuture<Path> generateVariant(Path original, int size) {
+        Path variant = getVariantPath(original, size);
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CompletableFuture<Path> currentGeneration = generations.putIfAbsent(variant, generation);
+        if (currentGeneration != null)
+            return currentGeneration;
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!Files.isRegularFile(variant))
+                        writeVariant(original, variant, size);
+                    generation.complete(variant);
+                } catch (Exception e) {
+                    generation.completeExceptionally(e);
+                } finally {
+                    generations.remove(variant, generation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            generations.remove(variant, generation);
+            generation.completeExceptionally(e);
+        }
+        return generation;
+    }
+
+    /**
+     * Method used to resize an image and write the variant
+     *
+     * @param original The original image
+     * @param variant The path where write the variant
+     * @param size The max width and height in pixels of the variant
+     *
+     * @throws IOException when the original image cannot be read, exceeds the {@link #maxPixels} or the variant cannot
+     * be written
+     */
+    private void writeVariant(Path original, Path variant, int size) throws IOException {
+        BufferedImage resized = resize(readImage(original, size), size);
+        Path tempVariant = variant.resolveSibling("." + variant.getFileName() + "." + UUID.randomUUID()
+                + TEMP_RESOURCE_SUFFIX);
+        try {
+            if (!ImageIO.write(resized, format, tempVariant.toFile()))
+                throw new IOException("No image writer available for " + format);
+            try {
+                Files.move(tempVariant, variant, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempVariant, variant, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempVariant);
+        }
+    }
+
+    /**
+     * Method used to read an image checking its dimensions before decoding it. The images much bigger than the size of
+     * the variant are subsampled while decoded, so only the pixels needed by the resizing are loaded in memory
+     *
+     * @param original The original image
+     * @param size The max width and height in pixels of the variant
+     *
+     * @return the image read as {@link BufferedImage}
+     *
+     * @throws IOException when the original image cannot be read or exceeds the {@link #maxPixels}
+     */
+    private BufferedImage readImage(Path original, int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext())
+                throw new IOException("The resource is not a supported image: " + original.getFileName());
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels)
+                    throw new IOException("The image exceeds the max pixels allowed: " + original.getFileName());
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (size * 2));
+                readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, readParam);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Method used to resize an image to fit a square keeping its aspect ratio, the images smaller than the square are
+     * not upscaled. The image is halved step by step until it is close to the target size to keep the quality of the
+     * bilinear interpolation
+     *
+     * @param image The image to resize
+     * @param size The side in pixels of the square
+     *
+     * @return the resized image as {@link BufferedImage}
+     */
+    private BufferedImage resize(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        boolean opaque = !"png".equalsIgnoreCase(format);
+        int imageType = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, imageType);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                if (opaque) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * Method used to get the path of a variant of an image
+     *
+     * @param original The original image
+     * @param size The size in pixels of the variant
+     *
+     * @return the path of the variant as {@link Path}
+     */
+    public Path getVariantPath(Path original, int size) {
+        String fileName = original.getFileName().toString();
+        int suffixIndex = fileName.lastIndexOf('.');
+        String resourceId = suffixIndex <= 0 ? fileName : fileName.substring(0, suffixIndex);
+        return original.resolveSibling(resourceId + VARIANT_SEPARATOR + size + "." + format);
+    }
+
+    /**
+     * Method used to delete all the variants of an image
+     *
+     * @param original The original image
+     *
+     * @throws IOException when a variant cannot be deleted
+     */
+    public static void deleteVariants(Path original) throws IOException {
+        String fileName = original.getFileName().toString();
+        int suffixIndex = fileName.lastIndexOf('.');
+        String resourceId = suffixIndex <= 0 ? fileName : fileName.substring(0, suffixIndex);
+        Path folder = original.getParent();
+        if (folder == null || !Files.isDirectory(folder))
+            return;
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(folder, resourceId + VARIANT_SEPARATOR + "*")) {
+            for (Path variant : variants)
+                Files.deleteIfExists(variant);
+        }
+    }
+
+    /**
+     * Method used to check whether a file is a variant of an image
+     *
+     * @param fileName The name of the file to check
+     *
+     * @return whether the file is a variant of an image as {@code boolean}
+     */
+    public static boolean isVariant(String fileName) {
+        return fileName.contains(VARIANT_SEPARATOR);
+    }
+
+    /**
+     * Method used to get the current {@link #imageVariants} instance
+     *
+     * @return the current {@link #imageVariants} instance as {@link ImageVariants}
+     */
+    public static ImageVariants getInstance() {
+        return imageVariants;
+    }
+
+}
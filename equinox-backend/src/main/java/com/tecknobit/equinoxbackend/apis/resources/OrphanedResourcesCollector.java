@@ -0,0 +1,440 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorages;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.OrphansCollectorConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+
+/**
+ * The {@code OrphanedResourcesCollector} class periodically deletes the resources no longer referenced, e.g. the profile
+ * pics left behind by failed requests or crashes. The collector streams the resources directories covered by the
+ * {@link ResourceReferencesProvider} registered, checks the references of the files in batches, so each provider
+ * performs a single query for each batch, and deletes the unreferenced files older than a grace period, together with
+ * their image variants. The temporary files of the interrupted uploads older than the grace period are deleted as well.
+ * The sweeps are rate-limited to not compete with the requests for the disk and the database. The collector is disabled
+ * by default and can run in dry run, reporting the orphaned resources found without deleting them, so the references
+ * reported by the providers can be verified before letting it delete anything
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourceReferencesProvider
+ *
+ * @since 1.2.0
+ */
+@Component
+public class OrphanedResourcesCollector {
+
+    /**
+     * {@code MAX_REPORTED_ORPHANS} the max number of orphaned resources whose path is detailed in the report of a sweep
+     */
+    public static final int MAX_REPORTED_ORPHANS = 100;
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code layout} the layout used to delete the orphaned resources
+     */
+    private final ResourcesLayout layout;
+
+    /**
+     * {@code collectorConfig} the configuration of the collector
+     */
+    private final OrphansCollectorConfig collectorConfig;
+
+    /**
+     * {@code providers} the providers of the references of the resources
+     */
+    private final List<ResourceReferencesProvider> providers;
+
+    /**
+     * {@code lastReport} the report of the last sweep, {@code null} if no sweep has been performed yet
+     */
+    private volatile SweepReport lastReport;
+
+    /**
+     * {@code reclaimedFiles} the total number of files reclaimed since the startup
+     */
+    private long reclaimedFiles;
+
+    /**
+     * {@code reclaimedBytes} the total number of bytes reclaimed since the startup
+     */
+    private long reclaimedBytes;
+
+    /**
+     * {@code sweeper} the scheduler which periodically performs the sweeps
+     */
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * Constructor to init the collector
+     *
+     * @param providers The providers of the references of the resources registered as beans
+     */
+    @Autowired
+    public OrphanedResourcesCollector(ObjectProvider<ResourceReferencesProvider> providers) {
+        this(Path.of(RESOURCES_PATH), ResourcesLayout.getInstance(),
+                EquinoxBackendConfiguration.getInstance().getResourcesConfig().getOrphansCollectorConfig(),
+                providers.orderedStream().toList());
+    }
+
+    /**
+     * Constructor to init the collector
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param layout The layout used to delete the orphaned resources
+     * @param collectorConfig The configuration of the collector
+     * @param providers The providers of the references of the resources
+     */
+    public OrphanedResourcesCollector(Path resourcesFolder, ResourcesLayout layout,
+                                      OrphansCollectorConfig collectorConfig,
+                                      List<ResourceReferencesProvider> providers) {
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        this.layout = layout;
+        this.collectorConfig = collectorConfig;
+        this.providers = List.copyOf(providers);
+    }
+
+    /**
+     * Method used to start the periodic sweeps, when the collector is enabled and the resources are stored in the
+     * local filesystem
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!collectorConfig.isEnabled() || sweeper != null || providers.isEmpty())
+            return;
+        if (ResourceStorages.getInstance().getLocalPath("") == null)
+            return;
+        long interval = Math.max(1, collectorConfig.getInterval());
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equinox-orphans-collector");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (IOException | RuntimeException ignored) {
+                // the next sweep will retry
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Method used to stop the periodic sweeps
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Method used to sweep the resources directories deleting the orphaned resources, or only reporting them when the
+     * collector runs in dry run
+     *
+     * @return the report of the sweep as {@link SweepReport}
+     *
+     * @throws IOException when an error occurred during the walk of the resources directories
+     */
+    public synchronized SweepReport sweep() throws IOException {
+        Map<String, List<ResourceReferencesProvider>> directories = new LinkedHashMap<>();
+        for (ResourceReferencesProvider provider : providers)
+            for (String directory : provider.getReferencedDirectories())
+                directories.computeIfAbsent(directory, key -> new ArrayList<>()).add(provider);
+        Sweep sweep = new Sweep(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(collectorConfig.getGracePeriod()),
+                collectorConfig.isDryRun());
+        for (Map.Entry<String, List<ResourceReferencesProvider>> directory : directories.entrySet()) {
+            Path root = resourcesFolder.resolve(directory.getKey()).normalize();
+            if (root.startsWith(resourcesFolder) && Files.isDirectory(root))
+                sweepDirectory(root, directory.getValue(), sweep);
+        }
+        SweepReport report = new SweepReport(sweep.dryRun, sweep.scannedFiles, sweep.orphanedFiles,
+                sweep.orphanedBytes, List.copyOf(sweep.orphans), sweep.reclaimedFiles, sweep.reclaimedBytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sweep.startNanos));
+        reclaimedFiles += report.reclaimedFiles();
+        reclaimedBytes += report.reclaimedBytes();
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * Method used to sweep a resources directory
+     *
+     * @param root The root of the resources directory
+     * @param directoryProviders The providers which cover the resources directory
+     * @param sweep The state of the current sweep
+     *
+     * @throws IOException when an error occurred during the walk of the resources directory
+     */
+    private void sweepDirectory(Path root, List<ResourceReferencesProvider> directoryProviders,
+                                Sweep sweep) throws IOException {
+        int batchSize = Math.max(1, collectorConfig.getBatchSize());
+        Map<String, Long> batch = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String fileName = file.getFileName().toString();
+                if (ImageVariants.isVariant(fileName))
+                    continue;
+                if (++sweep.scannedFiles % batchSize == 0)
+                    throttle(sweep);
+                BasicFileAttributes attributes = readAttributes(file);
+                if (attributes == null || attributes.lastModifiedTime().toMillis() >= sweep.threshold)
+                    continue;
+                if (fileName.endsWith(TEMP_RESOURCE_SUFFIX)) {
+                    sweep.orphanFound(resourcesFolder.relativize(file).toString().replace('\\', '/'),
+                            attributes.size());
+                    if (!sweep.dryRun && Files.deleteIfExists(file))
+                        sweep.reclaim(attributes.size());
+                } else if (!fileName.startsWith(".")) {
+                    batch.put(resourcesFolder.relativize(file).toString().replace('\\', '/'), attributes.size());
+                    if (batch.size() >= batchSize)
+                        collectBatch(batch, directoryProviders, sweep);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        collectBatch(batch, directoryProviders, sweep);
+    }
+
+    /**
+     * Method used to delete the resources of a batch not referenced by any provider, or only to report them when the
+     * collector runs in dry run
+     *
+     * @param batch The paths of the resources of the batch with their size
+     * @param directoryProviders The providers which cover the resources of the batch
+     * @param sweep The state of the current sweep
+     */
+    private void collectBatch(Map<String, Long> batch, List<ResourceReferencesProvider> directoryProviders,
+                              Sweep sweep) {
+        if (batch.isEmpty())
+            return;
+        Set<String> candidates = new HashSet<>(batch.keySet());
+        for (ResourceReferencesProvider provider : directoryProviders) {
+            candidates.removeAll(provider.getReferencedResources(batch.keySet()));
+            if (candidates.isEmpty())
+                break;
+        }
+        for (String orphan : candidates) {
+            long size = batch.get(orphan);
+            sweep.orphanFound(orphan, size);
+            if (!sweep.dryRun && layout.deleteResourceByPath(orphan))
+                sweep.reclaim(size);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Method used to wait the time required to respect the max number of files checked each second
+     *
+     * @param sweep The state of the current sweep
+     */
+    private void throttle(Sweep sweep) {
+        int maxFilesPerSecond = collectorConfig.getMaxFilesPerSecond();
+        if (maxFilesPerSecond <= 0)
+            return;
+        long expectedMillis = sweep.scannedFiles * 1000 / maxFilesPerSecond;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sweep.startNanos);
+        if (expectedMillis > elapsedMillis) {
+            try {
+                Thread.sleep(expectedMillis - elapsedMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Method used to read the attributes of a file
+     *
+     * @param file The file from read the attributes
+     *
+     * @return the attributes of the file as {@link BasicFileAttributes}, {@code null} if the file not exists anymore
+     *
+     * @throws IOException when the attributes cannot be read
+     */
+    private BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method used to get the {@link #lastReport} instance
+     *
+     * @return the {@link #lastReport} instance as {@link SweepReport}
+     */
+    public SweepReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Method used to get a snapshot of the reports of the collector
+     *
+     * @return the snapshot as {@link JSONObject}
+     */
+    public synchronized JSONObject toJson() {
+        JSONObject jCollector = new JSONObject()
+                .put("enabled", sweeper != null)
+                .put("dry_run", collectorConfig.isDryRun())
+                .put("reclaimed_files", reclaimedFiles)
+                .put("reclaimed_bytes", reclaimedBytes);
+        SweepReport report = lastReport;
+        if (report != null) {
+            jCollector.put("last_sweep", new JSONObject()
+                    .put("dry_run", report.dryRun())
+                    .put("scanned_files", report.scannedFiles())
+                    .put("orphaned_files", report.orphanedFiles())
+                    .put("orphaned_bytes", report.orphanedBytes())
+                    .put("orphans", report.orphans())
+                    .put("reclaimed_files", report.reclaimedFiles())
+                    .put("reclaimed_bytes", report.reclaimedBytes())
+                    .put("duration", report.duration()));
+        }
+        return jCollector;
+    }
+
+    /**
+     * The {@code SweepReport} record contains the report of a sweep
+     *
+     * @param dryRun Whether the sweep only reported the orphaned resources without deleting them
+     * @param scannedFiles The number of files scanned
+     * @param orphanedFiles The number of orphaned files found
+     * @param orphanedBytes The number of bytes of the orphaned files found
+     * @param orphans The paths of the orphaned files found, at most {@link #MAX_REPORTED_ORPHANS}
+     * @param reclaimedFiles The number of files deleted
+     * @param reclaimedBytes The number of bytes reclaimed
+     * @param duration The duration of the sweep in milliseconds
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public record SweepReport(boolean dryRun, long scannedFiles, long orphanedFiles, long orphanedBytes,
+                              List<String> orphans, long reclaimedFiles, long reclaimedBytes, long duration) {
+    }
+
+    /**
+     * The {@code Sweep} class contains the state of a sweep in progress
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private static final class Sweep {
+
+        /**
+         * {@code threshold} the last modification in milliseconds after which the files are not collected
+         */
+        private final long threshold;
+
+        /**
+         * {@code dryRun} whether the orphaned resources are only reported without deleting them
+         */
+        private final boolean dryRun;
+
+        /**
+         * {@code orphans} the paths of the orphaned files found, at most {@link #MAX_REPORTED_ORPHANS}
+         */
+        private final List<String> orphans;
+
+        /**
+         * {@code startNanos} when the sweep started in nanoseconds
+         */
+        private final long startNanos;
+
+        /**
+         * {@code scannedFiles} the number of files scanned
+         */
+        private long scannedFiles;
+
+        /**
+         * {@code orphanedFiles} the number of orphaned files found
+         */
+        private long orphanedFiles;
+
+        /**
+         * {@code orphanedBytes} the number of bytes of the orphaned files found
+         */
+        private long orphanedBytes;
+
+        /**
+         * {@code reclaimedFiles} the number of files deleted
+         */
+        private long reclaimedFiles;
+
+        /**
+         * {@code reclaimedBytes} the number of bytes reclaimed
+         */
+        private long reclaimedBytes;
+
+        /**
+         * Constructor to init the sweep
+         *
+         * @param threshold The last modification in milliseconds after which the files are not collected
+         * @param dryRun Whether the orphaned resources are only reported without deleting them
+         */
+        private Sweep(long threshold, boolean dryRun) {
+            this.threshold = threshold;
+            this.dryRun = dryRun;
+            orphans = new ArrayList<>();
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Method used to record an orphaned file found
+         *
+         * @param path The path of the file relative to the resources folder
+         * @param size The size in bytes of the file
+         */
+        private void orphanFound(String path, long size) {
+            orphanedFiles++;
+            orphanedBytes += size;
+            if (orphans.size() < MAX_REPORTED_ORPHANS)
+                orphans.add(path);
+        }
+
+        /**
+         * Method used to record a deleted file
+         *
+         * @param size The size in bytes of the file
+         */
+        private void reclaim(long size) {
+            reclaimedFiles++;
+            reclaimedBytes += size;
+        }
+
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.PrecompressionConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ImageVariants.VARIANT_SEPARATOR;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.STREAMING_BUFFER_SIZE;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The {@code PrecompressedResources} class generates the precompressed siblings of the compressible resources, e.g.
+ * the {@code JSON} exports or the {@code SVG} images, so the {@link ResourcesServer} can serve the compressed content to
+ * the clients which accept it without compressing it on each request. The siblings are stored next to the original
+ * resource, named {@code resourceId@encoding.suffix} as the image variants, so they are deleted together with the
+ * original resource, and are generated in background on a bounded executor after the resource has been saved. The
+ * {@link #GZIP_ENCODING} siblings are generated with the standard {@link GZIPOutputStream}, while the
+ * {@link #BROTLI_ENCODING} siblings, which cannot be produced without native libraries, are served when provided by an
+ * external tool. It is based on a singleton design pattern to share the executor
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager
+ * @see ResourcesServer
+ *
+ * @since 1.2.0
+ */
+public class PrecompressedResources {
+
+    /**
+     * {@code BROTLI_ENCODING} the content coding of the brotli compressed siblings
+     */
+    public static final String BROTLI_ENCODING = "br";
+
+    /**
+     * {@code GZIP_ENCODING} the content coding of the gzip compressed siblings
+     */
+    public static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * {@code ENCODINGS} the content codings of the siblings in order of preference
+     */
+    public static final List<String> ENCODINGS = List.of(BROTLI_ENCODING, GZIP_ENCODING);
+
+    /**
+     * {@code MAX_PENDING_COMPRESSIONS} the max number of background compressions waiting to be executed, the exceeding
+     * ones are discarded and the resources will be served uncompressed
+     */
+    private static final int MAX_PENDING_COMPRESSIONS = 256;
+
+    /**
+     * {@code precompressedResources} the precompressed siblings generator of the current backend instance
+     */
+    private static final PrecompressedResources precompressedResources = new PrecompressedResources(
+            Path.of(RESOURCES_PATH),
+            EquinoxBackendConfiguration.getInstance().getResourcesConfig().getPrecompressionConfig());
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code enabled} whether the precompressed siblings are generated and served
+     */
+    private final boolean enabled;
+
+    /**
+     * {@code minSize} the min size in bytes of the resources to precompress
+     */
+    private final long minSize;
+
+    /**
+     * {@code extensions} the extensions of the compressible resources
+     */
+    private final Set<String> extensions;
+
+    /**
+     * {@code executor} the bounded executor where the siblings are generated in background
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructor to init the generator
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param precompressionConfig The configuration of the precompressed siblings
+     */
+    public PrecompressedResources(Path resourcesFolder, PrecompressionConfig precompressionConfig) {
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        enabled = precompressionConfig.isEnabled();
+        minSize = precompressionConfig.getMinSize();
+        extensions = new HashSet<>();
+        for (String extension : precompressionConfig.getExtensions())
+            extensions.add(extension.toLowerCase(Locale.ROOT));
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_COMPRESSIONS), runnable -> {
+                    Thread thread = new Thread(runnable, "equinox-precompression");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Method used to generate in background the precompressed siblings of a resource, the stale siblings of the
+     * previous content of the resource are immediately deleted
+     *
+     * @param resource The file of the resource
+     */
+    public void compressAsync(Path resource) {
+        Path original = resource.toAbsolutePath().normalize();
+        if (!isCompressible(original) || !original.startsWith(resourcesFolder))
+            return;
+        try {
+            for (String encoding : ENCODINGS)
+                Files.deleteIfExists(getSiblingPath(original, encoding));
+        } catch (IOException e) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                compress(original);
+            } catch (IOException ignored) {
+                // the resource will be served uncompressed
+            }
+        });
+    }
+
+    /**
+     * Method used to write the {@link #GZIP_ENCODING} sibling of a resource, the sibling is kept only when smaller than
+     * the original resource
+     *
+     * @param original The original resource
+     *
+     * @throws IOException when the original resource cannot be read or the sibling cannot be written
+     */
+    private void compress(Path original) throws IOException {
+        if (!Files.isRegularFile(original))
+            return;
+        long size = Files.size(original);
+        if (size < minSize)
+            return;
+        Path sibling = getSiblingPath(original, GZIP_ENCODING);
+        Path tempSibling = sibling.resolveSibling("." + sibling.getFileName() + "." + UUID.randomUUID()
+                + TEMP_RESOURCE_SUFFIX);
+        try {
+            try (InputStream content = Files.newInputStream(original);
+                 OutputStream target = new GZIPOutputStream(Files.newOutputStream(tempSibling),
+                         STREAMING_BUFFER_SIZE) {{
+                     def.setLevel(Deflater.BEST_COMPRESSION);
+                 }}) {
+                content.transferTo(target);
+            }
+            if (Files.size(tempSibling) >= size)
+                return;
+            try {
+                Files.move(tempSibling, sibling, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempSibling, sibling, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempSibling);
+        }
+    }
+
+    /**
+     * Method used to check whether a resource is compressible, that is when its extension is one of the configured
+     * {@link #extensions} and it is not a variant of another resource
+     *
+     * @param resource The file of the resource
+     *
+     * @return whether the resource is compressible as {@code boolean}
+     */
+    public boolean isCompressible(Path resource) {
+        if (!enabled)
+            return false;
+        String fileName = resource.getFileName().toString();
+        int suffixIndex = fileName.lastIndexOf('.');
+        if (suffixIndex <= 0 || ImageVariants.isVariant(fileName))
+            return false;
+        return extensions.contains(fileName.substring(suffixIndex + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Method used to get the path of a precompressed sibling of a resource
+     *
+     * @param original The original resource
+     * @param encoding The content coding of the sibling, one of the {@link #ENCODINGS}
+     *
+     * @return the path of the sibling as {@link Path}
+     */
+    public Path getSiblingPath(Path original, String encoding) {
+        String fileName = original.getFileName().toString();
+        int suffixIndex = fileName.lastIndexOf('.');
+        String resourceId = suffixIndex <= 0 ? fileName : fileName.substring(0, suffixIndex);
+        String suffix = suffixIndex <= 0 ? "" : fileName.substring(suffixIndex);
+        return original.resolveSibling(resourceId + VARIANT_SEPARATOR + encoding + suffix);
+    }
+
+    /**
+     * Method used to get the current {@link #precompressedResources} instance
+     *
+     * @return the current {@link #precompressedResources} instance as {@link PrecompressedResources}
+     */
+    public static PrecompressedResources getInstance() {
+        return precompressedResources;
+    }
+
+}
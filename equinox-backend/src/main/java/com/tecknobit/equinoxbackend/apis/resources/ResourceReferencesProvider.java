@@ -0,0 +1,38 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The {@code ResourceReferencesProvider} interface is used by the {@link OrphanedResourcesCollector} to know which
+ * resources are still referenced, e.g. by a column of a table. Each provider covers a set of resources directories: the
+ * collector sweeps only the directories covered by at least one provider, and a resource is collected only when none of
+ * the providers covering its directory reports it as referenced. The providers registered as beans are automatically
+ * used by the collector
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see OrphanedResourcesCollector
+ *
+ * @since 1.2.0
+ */
+public interface ResourceReferencesProvider {
+
+    /**
+     * Method used to get the resources directories whose references are known by the provider
+     *
+     * @return the resources directories as {@link Set} of {@link String}, e.g. {@code profiles}
+     */
+    Set<String> getReferencedDirectories();
+
+    /**
+     * Method used to get which resources of a batch are still referenced
+     *
+     * @param resourcePaths The paths of the resources to check, relative to the resources folder, e.g.
+     *                      {@code profiles/3f/a2/resourceId.png}
+     *
+     * @return the paths of the resources still referenced as {@link Set} of {@link String}
+     */
+    Set<String> getReferencedResources(Collection<String> resourcePaths);
+
+}
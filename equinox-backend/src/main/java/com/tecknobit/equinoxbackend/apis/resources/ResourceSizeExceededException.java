@@ -0,0 +1,40 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import java.io.IOException;
+
+/**
+ * The {@code ResourceSizeExceededException} is thrown when a resource file to save exceeds the max size allowed
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager
+ *
+ * @since 1.2.0
+ */
+public class ResourceSizeExceededException extends IOException {
+
+    /**
+     * {@code maxSize} the max size in bytes allowed for the resource
+     */
+    private final long maxSize;
+
+    /**
+     * Constructor to init the exception
+     *
+     * @param maxSize The max size in bytes allowed for the resource
+     */
+    public ResourceSizeExceededException(long maxSize) {
+        super("The resource exceeds the max size allowed of " + maxSize + " bytes");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Method used to get the {@link #maxSize} instance
+     *
+     * @return the {@link #maxSize} instance as {@code long}
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+}
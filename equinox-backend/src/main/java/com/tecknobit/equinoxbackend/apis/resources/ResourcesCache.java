@@ -0,0 +1,373 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ReadCacheConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * The {@code ResourcesCache} class keeps in memory the content of the resources most recently read, so the hot
+ * resources, e.g. the profile pics of the most active users, are served without reading the disk. The cache is bounded
+ * by a budget of bytes and evicts the least recently used resources when the budget is exceeded; the content is kept in
+ * heap buffers or, if configured, in direct buffers outside the heap. Each cached entry is validated with the size and
+ * the last modification of its file, and it is invalidated when the resource is saved or deleted by the
+ * {@link ResourcesManager}. The hits, the misses and the bytes cached are exposed as {@code Micrometer} meters and as
+ * {@code JSON} snapshot with the {@link #toJson()} method
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesServer
+ *
+ * @since 1.2.0
+ */
+public class ResourcesCache implements MeterBinder {
+
+    /**
+     * {@code METRICS_PREFIX} the prefix of the names of the meters
+     */
+    private static final String METRICS_PREFIX = "equinox.resources.cache.";
+
+    /**
+     * {@code cache} the cache of the resources of the current backend instance
+     */
+    private static final ResourcesCache cache = new ResourcesCache(
+            EquinoxBackendConfiguration.getInstance().getResourcesConfig().getReadCacheConfig());
+
+    /**
+     * {@code budget} the max number of bytes kept in the cache
+     */
+    private final long budget;
+
+    /**
+     * {@code maxEntrySize} the max size in bytes of a resource kept in the cache
+     */
+    private final int maxEntrySize;
+
+    /**
+     * {@code offHeap} whether the content of the resources is kept in direct buffers outside the heap
+     */
+    private final boolean offHeap;
+
+    /**
+     * {@code entries} the cached resources ordered from the least to the most recently used
+     */
+    private final LinkedHashMap<Path, CachedResource> entries;
+
+    /**
+     * {@code lock} the lock which guards the {@link #entries}
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * {@code usedBytes} the number of bytes currently cached
+     */
+    private long usedBytes;
+
+    /**
+     * {@code hits} the number of the reads served by the cache
+     */
+    private final LongAdder hits;
+
+    /**
+     * {@code misses} the number of the reads not served by the cache
+     */
+    private final LongAdder misses;
+
+    /**
+     * {@code hitBytes} the number of bytes served by the cache
+     */
+    private final LongAdder hitBytes;
+
+    /**
+     * {@code loadedBytes} the number of bytes loaded in the cache from the disk
+     */
+    private final LongAdder loadedBytes;
+
+    /**
+     * {@code evictions} the number of the resources evicted to respect the {@link #budget}
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Constructor to init the cache
+     *
+     * @param readCacheConfig The configuration of the cache
+     */
+    public ResourcesCache(ReadCacheConfig readCacheConfig) {
+        this(readCacheConfig.getBudget(), readCacheConfig.getMaxEntrySize(), readCacheConfig.isOffHeap());
+    }
+
+    /**
+     * Constructor to init the cache
+     *
+     * @param budget The max number of bytes kept in the cache, {@code 0} to disable the cache
+     * @param maxEntrySize The max size in bytes of a resource kept in the cache
+     * @param offHeap Whether the content of the resources is kept in direct buffers outside the heap
+     */
+    public ResourcesCache(long budget, int maxEntrySize, boolean offHeap) {
+        this.budget = Math.max(0, budget);
+        this.maxEntrySize = (int) Math.min(Math.max(0, maxEntrySize), this.budget);
+        this.offHeap = offHeap;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        lock = new ReentrantLock();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        hitBytes = new LongAdder();
+        loadedBytes = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Method used to check whether a resource can be kept in the cache
+     *
+     * @param size The size in bytes of the resource
+     *
+     * @return whether the resource can be kept in the cache as {@code boolean}
+     */
+    public boolean isCacheable(long size) {
+        return size > 0 && size <= maxEntrySize;
+    }
+
+    /**
+     * Method used to get the content of a resource, loading it from the disk when not cached or when the cached content
+     * is stale
+     *
+     * @param resource The file of the resource
+     * @param size The current size in bytes of the file
+     * @param lastModified The current last modification of the file in milliseconds
+     *
+     * @return the content of the resource as read-only {@link ByteBuffer}, {@code null} if the resource cannot be kept
+     * in the cache
+     *
+     * @throws IOException when an error occurred during the reading of the resource
+     */
+    public ByteBuffer get(Path resource, long size, long lastModified) throws IOException {
+        if (!isCacheable(size))
+            return null;
+        CachedResource cachedResource;
+        lock.lock();
+        try {
+            cachedResource = entries.get(resource);
+        } finally {
+            lock.unlock();
+        }
+        if (cachedResource != null && cachedResource.size == size && cachedResource.lastModified == lastModified) {
+            hits.increment();
+            hitBytes.add(size);
+            return cachedResource.content.duplicate();
+        }
+        misses.increment();
+        ByteBuffer content = load(resource, (int) size);
+        if (content == null)
+            return null;
+        put(resource, new CachedResource(content.asReadOnlyBuffer(), size, lastModified));
+        return content.asReadOnlyBuffer();
+    }
+
+    /**
+     * Method used to load the content of a resource from the disk
+     *
+     * @param resource The file of the resource
+     * @param size The expected size in bytes of the file
+     *
+     * @return the content of the resource as {@link ByteBuffer}, {@code null} if the file changed during the reading
+     *
+     * @throws IOException when an error occurred during the reading of the resource
+     */
+    private ByteBuffer load(Path resource, int size) throws IOException {
+        ByteBuffer content = offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        try (FileChannel channel = FileChannel.open(resource, READ)) {
+            if (channel.size() != size)
+                return null;
+            while (content.hasRemaining())
+                if (channel.read(content) == -1)
+                    return null;
+        }
+        loadedBytes.add(size);
+        return content.flip();
+    }
+
+    /**
+     * Method used to put a resource in the cache, evicting the least recently used resources to respect the
+     * {@link #budget}
+     *
+     * @param resource The file of the resource
+     * @param cachedResource The content of the resource to cache
+     */
+    private void put(Path resource, CachedResource cachedResource) {
+        lock.lock();
+        try {
+            CachedResource previous = entries.put(resource, cachedResource);
+            if (previous != null)
+                usedBytes -= previous.size;
+            usedBytes += cachedResource.size;
+            Iterator<CachedResource> iterator = entries.values().iterator();
+            while (usedBytes > budget && iterator.hasNext()) {
+                usedBytes -= iterator.next().size;
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to invalidate a cached resource and its resized variants
+     *
+     * @param resource The file of the resource
+     */
+    public void invalidate(Path resource) {
+        Path normalizedResource = resource.toAbsolutePath().normalize();
+        String fileName = normalizedResource.getFileName().toString();
+        int suffixIndex = fileName.lastIndexOf('.');
+        String variantsPrefix = (suffixIndex <= 0 ? fileName : fileName.substring(0, suffixIndex))
+                + ImageVariants.VARIANT_SEPARATOR;
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Path, CachedResource>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, CachedResource> entry = iterator.next();
+                Path cachedPath = entry.getKey();
+                if (cachedPath.equals(normalizedResource) || (cachedPath.getParent().equals(normalizedResource.getParent())
+                        && cachedPath.getFileName().toString().startsWith(variantsPrefix))) {
+                    usedBytes -= entry.getValue().size;
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to remove all the cached resources
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to get the number of bytes currently cached
+     *
+     * @return the number of bytes currently cached as {@code long}
+     */
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to get the number of the resources currently cached
+     *
+     * @return the number of the resources currently cached as {@code int}
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRICS_PREFIX + "hits", hits, LongAdder::sum)
+                .description("Resources reads served by the cache")
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + "misses", misses, LongAdder::sum)
+                .description("Resources reads not served by the cache")
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + "hit.bytes", hitBytes, LongAdder::sum)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + "loaded.bytes", loadedBytes, LongAdder::sum)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + "evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + "used.bytes", this, ResourcesCache::getUsedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + "budget.bytes", this, value -> value.budget)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + "entries", this, ResourcesCache::getSize)
+                .register(registry);
+    }
+
+    /**
+     * Method used to get a snapshot of the metrics of the cache
+     *
+     * @return the snapshot as {@link JSONObject}
+     */
+    public JSONObject toJson() {
+        long currentHits = hits.sum();
+        long currentMisses = misses.sum();
+        long reads = currentHits + currentMisses;
+        return new JSONObject()
+                .put("hits", currentHits)
+                .put("misses", currentMisses)
+                .put("hit_ratio", reads == 0 ? 0 : (double) currentHits / reads)
+                .put("hit_bytes", hitBytes.sum())
+                .put("loaded_bytes", loadedBytes.sum())
+                .put("evictions", evictions.sum())
+                .put("entries", getSize())
+                .put("used_bytes", getUsedBytes())
+                .put("budget_bytes", budget)
+                .put("off_heap", offHeap);
+    }
+
+    /**
+     * Method used to get the current {@link #cache} instance
+     *
+     * @return the current {@link #cache} instance as {@link ResourcesCache}
+     */
+    public static ResourcesCache getInstance() {
+        return cache;
+    }
+
+    /**
+     * The {@code CachedResource} record contains the content of a cached resource
+     *
+     * @param content The content of the resource
+     * @param size The size in bytes of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private record CachedResource(ByteBuffer content, long size, long lastModified) {
+    }
+
+}
@@ -0,0 +1,350 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code ResourcesLayout} class manages the layout of the resources files stored under the
+ * {@link ResourcesManager#RESOURCES_KEY} folder. To avoid huge flat folders each resource is placed in shard
+ * subdirectories named with the prefix of the hash of its identifier, e.g. {@code profiles/3f/a2/resourceId.png}, and an
+ * in-memory index of the full relative paths of the resources, sorted so the resources whose suffix is omitted are found
+ * with a range lookup, allows to find and delete them without scanning the folders. The index is rebuilt with a parallel
+ * walk of the folders when the environment is initialized and then maintained when the resources are created or
+ * deleted. It is based on a singleton design pattern because the index must be shared by all the {@link ResourcesManager}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager
+ *
+ * @since 1.2.0
+ */
+public class ResourcesLayout {
+
+    /**
+     * {@code SHARD_NAME_LENGTH} the length of the name of a shard subdirectory
+     */
+    private static final int SHARD_NAME_LENGTH = 2;
+
+    /**
+     * {@code layout} the layout of the resources of the current backend instance
+     */
+    private static final ResourcesLayout layout = new ResourcesLayout(Path.of(RESOURCES_PATH),
+            EquinoxBackendConfiguration.getInstance().getResourcesConfig().getShardDepth());
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code shardDepth} the number of nested shard subdirectories where the resources are placed
+     */
+    private final int shardDepth;
+
+    /**
+     * {@code index} the paths of the resources relative to the resources folder, replaced as a whole when rebuilt
+     */
+    private volatile NavigableSet<String> index;
+
+    /**
+     * {@code rebuildingIndex} the index being built by the {@link #rebuildIndex()} method, the resources registered or
+     * deleted meanwhile are applied to it as well, {@code null} when no rebuild is running
+     */
+    private volatile NavigableSet<String> rebuildingIndex;
+
+    /**
+     * {@code indexed} whether the {@link #index} has been built
+     */
+    private volatile boolean indexed;
+
+    /**
+     * Constructor to init the layout
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param shardDepth The number of nested shard subdirectories where the resources are placed, {@code 0} to place
+     *                   the resources directly in their resources directory
+     */
+    public ResourcesLayout(Path resourcesFolder, int shardDepth) {
+        if (shardDepth < 0 || shardDepth * SHARD_NAME_LENGTH > Integer.SIZE / 4)
+            throw new IllegalArgumentException("The shard depth must be between 0 and 4");
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        this.shardDepth = shardDepth;
+        index = new ConcurrentSkipListSet<>();
+    }
+
+    /**
+     * Method used to create the path of a resource
+     *
+     * @param resourcesDirectory The resources directory where store the resource
+     * @param resourceId The identifier of the resource
+     * @param suffix The suffix of the resource file, e.g. {@code .png}
+     *
+     * @return the path of the resource relative to the resources folder as {@link String}
+     */
+    public String createResourcePath(String resourcesDirectory, String resourceId, String suffix) {
+        StringBuilder path = new StringBuilder(resourcesDirectory).append("/");
+        String hash = String.format("%08x", hashOf(getIdentifier(resourceId)));
+        for (int j = 0; j < shardDepth; j++) {
+            int start = j * SHARD_NAME_LENGTH;
+            path.append(hash, start, start + SHARD_NAME_LENGTH).append("/");
+        }
+        return path.append(resourceId).append(suffix).toString();
+    }
+
+    /**
+     * Method used to compute the hash of the identifier of a resource
+     *
+     * @param resourceId The identifier of the resource
+     *
+     * @return the hash of the identifier as {@code long}
+     */
+    private static long hashOf(String resourceId) {
+        CRC32 crc = new CRC32();
+        crc.update(resourceId.getBytes(UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Method used to register in the index a saved resource
+     *
+     * @param resourcePath The path of the resource relative to the resources folder
+     */
+    public void registerResource(String resourcePath) {
+        String normalizedPath = normalize(resourcePath);
+        if (normalizedPath.indexOf('/') == -1)
+            return;
+        index.add(normalizedPath);
+        NavigableSet<String> rebuilding = rebuildingIndex;
+        if (rebuilding != null)
+            rebuilding.add(normalizedPath);
+    }
+
+    /**
+     * Method used to remove from the index a resource
+     *
+     * @param resourcePath The normalized path of the resource relative to the resources folder
+     */
+    private void unregisterResource(String resourcePath) {
+        index.remove(resourcePath);
+        NavigableSet<String> rebuilding = rebuildingIndex;
+        if (rebuilding != null)
+            rebuilding.remove(resourcePath);
+    }
+
+    /**
+     * Method used to find in the index the paths of a resource, that are the path created for its identifier with any
+     * suffix
+     *
+     * @param resourcesDirectory The resources directory where the resource is stored
+     * @param resourceId The identifier of the resource, the suffix of the file can be omitted
+     *
+     * @return the paths of the resource relative to the resources folder as {@link List} of {@link String}
+     */
+    private List<String> findResourcePaths(String resourcesDirectory, String resourceId) {
+        ensureIndexed();
+        String resourcePrefix = createResourcePath(normalize(resourcesDirectory), resourceId, "");
+        List<String> resourcePaths = new ArrayList<>();
+        for (String resourcePath : index.subSet(resourcePrefix, true, resourcePrefix + Character.MAX_VALUE, false)) {
+            String suffix = resourcePath.substring(resourcePrefix.length());
+            if (suffix.isEmpty() || (suffix.lastIndexOf('.') == 0 && suffix.indexOf('/') == -1))
+                resourcePaths.add(resourcePath);
+        }
+        return resourcePaths;
+    }
+
+    /**
+     * Method used to get the path of a resource
+     *
+     * @param resourcesDirectory The resources directory where the resource is stored
+     * @param resourceId The identifier of the resource, the suffix of the file can be omitted
+     *
+     * @return the path of the resource relative to the resources folder as {@link String}, {@code null} if not exists
+     */
+    public String getResourcePath(String resourcesDirectory, String resourceId) {
+        List<String> resourcePaths = findResourcePaths(resourcesDirectory, resourceId);
+        return resourcePaths.isEmpty() ? null : resourcePaths.get(0);
+    }
+
+    /**
+     * Method used to delete a resource
+     *
+     * @param resourcesDirectory The resources directory where the resource is stored
+     * @param resourceId The identifier of the resource, when the suffix of the file is omitted the resource files with
+     *                   any suffix are deleted
+     *
+     * @return whether the resource has been deleted as {@code boolean}
+     */
+    public boolean deleteResource(String resourcesDirectory, String resourceId) {
+        boolean deleted = false;
+        for (String resourcePath : findResourcePaths(resourcesDirectory, resourceId)) {
+            unregisterResource(resourcePath);
+            deleted |= deleteFile(resourcePath);
+        }
+        return deleted;
+    }
+
+    /**
+     * Method used to delete a resource by its path
+     *
+     * @param resourcePath The path of the resource relative to the resources folder
+     *
+     * @return whether the resource has been deleted as {@code boolean}
+     */
+    public boolean deleteResourceByPath(String resourcePath) {
+        String normalizedPath = normalize(resourcePath);
+        unregisterResource(normalizedPath);
+        return deleteFile(normalizedPath);
+    }
+
+    /**
+     * Method used to delete a resource file
+     *
+     * @param resourcePath The path of the resource relative to the resources folder
+     *
+     * @return whether the resource file has been deleted as {@code boolean}
+     */
+    private boolean deleteFile(String resourcePath) {
+        Path resourceFile = resourcesFolder.resolve(resourcePath).normalize();
+        if (!resourceFile.startsWith(resourcesFolder))
+            return false;
+        try {
+            boolean deleted = Files.deleteIfExists(resourceFile);
+            ResourcesCache.getInstance().invalidate(resourceFile);
+            ImageVariants.deleteVariants(resourceFile);
+            return deleted;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Method used to rebuild the index walking in parallel all the resources directories, the new index is built
+     * aside and then replaced atomically, so the lookups performed meanwhile use the current one
+     *
+     * @throws IOException when an error occurred during the walk of the resources directories
+     */
+    public synchronized void rebuildIndex() throws IOException {
+        NavigableSet<String> rebuiltIndex = new ConcurrentSkipListSet<>();
+        rebuildingIndex = rebuiltIndex;
+        try {
+            walkResources(rebuiltIndex);
+            index = rebuiltIndex;
+        } finally {
+            rebuildingIndex = null;
+        }
+        indexed = true;
+    }
+
+    /**
+     * Method used to walk in parallel all the resources directories adding the resources files found to an index
+     *
+     * @param targetIndex The index where add the resources files
+     *
+     * @throws IOException when an error occurred during the walk of the resources directories
+     */
+    private void walkResources(NavigableSet<String> targetIndex) throws IOException {
+        if (Files.isDirectory(resourcesFolder)) {
+            List<Path> roots = new ArrayList<>();
+            try (Stream<Path> directories = Files.list(resourcesFolder)) {
+                for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                    try (Stream<Path> entries = Files.list(directory)) {
+                        entries.forEach(roots::add);
+                    }
+                }
+            }
+            try {
+                roots.parallelStream().forEach(root -> indexTree(root, targetIndex));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Method used to index all the resources files of a tree
+     *
+     * @param root The root of the tree to index
+     * @param targetIndex The index where add the resources files
+     */
+    private void indexTree(Path root, NavigableSet<String> targetIndex) {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String fileName = file.getFileName().toString();
+                        return !fileName.startsWith(".") && !fileName.endsWith(TEMP_RESOURCE_SUFFIX)
+                                && !ImageVariants.isVariant(fileName);
+                    })
+                    .map(file -> normalize(resourcesFolder.relativize(file).toString()))
+                    .forEach(targetIndex::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method used to build the {@link #index} if not built yet
+     */
+    private void ensureIndexed() {
+        if (indexed)
+            return;
+        synchronized (this) {
+            if (indexed)
+                return;
+            try {
+                rebuildIndex();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Method used to get the identifier of a resource removing the suffix of the file
+     *
+     * @param resourceName The name of the resource
+     *
+     * @return the identifier of the resource as {@link String}
+     */
+    private static String getIdentifier(String resourceName) {
+        int suffixIndex = resourceName.lastIndexOf('.');
+        return suffixIndex <= 0 ? resourceName : resourceName.substring(0, suffixIndex);
+    }
+
+    /**
+     * Method used to normalize a path using the {@code /} separator and removing the leading ones
+     *
+     * @param path The path to normalize
+     *
+     * @return the normalized path as {@link String}
+     */
+    private static String normalize(String path) {
+        String normalizedPath = path.replace('\\', '/');
+        while (normalizedPath.startsWith("/"))
+            normalizedPath = normalizedPath.substring(1);
+        return normalizedPath;
+    }
+
+    /**
+     * Method used to get the current {@link #layout} instance
+     *
+     * @return the current {@link #layout} instance as {@link ResourcesLayout}
+     */
+    public static ResourcesLayout getInstance() {
+        return layout;
+    }
+
+}
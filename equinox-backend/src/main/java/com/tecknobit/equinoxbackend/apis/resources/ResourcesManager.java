@@ -2,13 +2,31 @@ package com.tecknobit.equinoxbackend.apis.resources;
 
 
 import com.tecknobit.apimanager.annotations.Wrapper;
+import com.tecknobit.equinoxbackend.apis.resources.storage.BoundedInputStream;
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorage;
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorages;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Objects;
+import java.util.UUID;
+
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig.UNLIMITED_RESOURCE_SIZE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * The {@code ResourcesManager} interface is useful to create and manage the resources files
@@ -33,6 +51,28 @@ public interface ResourcesManager {
      */
     String PROFILES_DIRECTORY = "profiles";
 
+    /**
+     * {@code TEMP_RESOURCE_SUFFIX} the suffix of the temporary files where the resources are written before being moved
+     * to their final path
+     */
+    String TEMP_RESOURCE_SUFFIX = ".part";
+
+    /**
+     * {@code STREAMING_BUFFER_SIZE} the size of the buffer used to stream the content of the resources
+     */
+    int STREAMING_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Method used to get the storage where the resources files are stored, by default the one specified in the
+     * {@code equinox.config} file
+     *
+     * @return the storage of the resources as {@link ResourceStorage}
+     * @since 1.2.0
+     */
+    default ResourceStorage getResourceStorage() {
+        return ResourceStorages.getInstance();
+    }
+
     /**
      * Method used to create the pathname for a profile pic
      *
@@ -46,7 +86,8 @@ public interface ResourcesManager {
     }
 
     /**
-     * Method used to create the pathname of a resource file
+     * Method used to create the pathname of a resource file, the resource file is placed in the shard subdirectories
+     * of the {@link ResourcesLayout}
      *
      * @param resource:           the resource from create its pathname
      * @param resourcesDirectory: the specific resources directory to store the resource file
@@ -57,7 +98,7 @@ public interface ResourcesManager {
         String suffix = "";
         if (!resourceId.contains("."))
             suffix = getSuffixResource(resource);
-        return resourcesDirectory + "/" + resourceId + suffix;
+        return ResourcesLayout.getInstance().createResourcePath(resourcesDirectory, resourceId, suffix);
     }
 
     /**
@@ -72,16 +113,196 @@ public interface ResourcesManager {
     }
 
     /**
-     * Method used to save a resource file
+     * Method used to save a resource file, the max size allowed is the one specified in the {@code equinox.config}
+     * file
      *
      * @param resource: the resource to save
      * @param path:     the path where save the resource file
      * @throws IOException when an error occurred during the resource file saving
      */
+    @Wrapper
     default void saveResource(MultipartFile resource, String path) throws IOException {
-        File resourceFile = new File(RESOURCES_PATH + path);
-        try (OutputStream outputStream = new FileOutputStream(resourceFile)) {
-            outputStream.write(resource.getBytes());
+        long maxResourceSize = EquinoxBackendConfiguration.getInstance().getResourcesConfig().getMaxResourceSize();
+        saveResource(resource, path, maxResourceSize, null);
+    }
+
+    /**
+     * Method used to save a resource file streaming its content, so the resource is never entirely loaded in memory.
+     * The content is written in a temporary file placed in the same folder of the resource, then moved atomically to
+     * the final path, so a partially written resource is never exposed. When the multipart is backed by a temporary
+     * file and the hash is not required, the file is directly moved by the server without copying its content. When
+     * the {@link #getResourceStorage()} is not backed by the local filesystem the content is streamed to the storage
+     *
+     * @param resource:        the resource to save
+     * @param path:            the path where save the resource file
+     * @param maxSize:         the max size in bytes allowed for the resource, {@link EquinoxBackendConfiguration.ResourcesConfig#UNLIMITED_RESOURCE_SIZE}
+     *                         to not limit it
+     * @param digestAlgorithm: the algorithm used to compute the hash of the content while streaming it, e.g. {@code "SHA-256"},
+     *                         {@code null} to not compute it
+     * @return the details of the saved resource as {@link SavedResource}
+     * @throws ResourceSizeExceededException when the resource exceeds the {@code maxSize}
+     * @throws IOException                   when an error occurred during the resource file saving
+     * @throws IllegalArgumentException      when the {@code digestAlgorithm} is not available
+     * @since 1.2.0
+     */
+    default SavedResource saveResource(MultipartFile resource, String path, long maxSize,
+                                       String digestAlgorithm) throws IOException {
+        boolean sizeLimited = maxSize != UNLIMITED_RESOURCE_SIZE;
+        if (sizeLimited && resource.getSize() > maxSize)
+            throw new ResourceSizeExceededException(maxSize);
+        ResourceStorage storage = getResourceStorage();
+        if (storage.getLocalPath(path) == null)
+            return writeResource(storage, resource, path, maxSize, digestAlgorithm);
+        Path resourcePath = Path.of(RESOURCES_PATH + path).toAbsolutePath();
+        Path resourceDirectory = resourcePath.getParent();
+        Files.createDirectories(resourceDirectory);
+        Path tempPath = resourceDirectory.resolve("." + resourcePath.getFileName() + "." + UUID.randomUUID()
+                + TEMP_RESOURCE_SUFFIX);
+        try {
+            long size;
+            String hash = null;
+            if (digestAlgorithm == null) {
+                resource.transferTo(tempPath.toFile());
+                size = Files.size(tempPath);
+                if (sizeLimited && size > maxSize)
+                    throw new ResourceSizeExceededException(maxSize);
+            } else {
+                MessageDigest digest = getMessageDigest(digestAlgorithm);
+                size = streamResource(resource, tempPath, maxSize, digest);
+                hash = HexFormat.of().formatHex(digest.digest());
+            }
+            try {
+                Files.move(tempPath, resourcePath, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, resourcePath, REPLACE_EXISTING);
+            }
+            ResourcesLayout.getInstance().registerResource(path);
+            ResourcesCache.getInstance().invalidate(resourcePath);
+            PrecompressedResources.getInstance().compressAsync(resourcePath);
+            return new SavedResource(path, size, hash);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Method used to save a resource uploaded with the {@link ResumableUploads}, moving its temporary file to the
+     * final path
+     *
+     * @param uploadedFile: the temporary file with the uploaded content, as returned by the
+     *                      {@link ResumableUploads#complete(ResumableUploads.UploadSession, String)} method
+     * @param path:         the path where save the resource file
+     * @return the details of the saved resource as {@link SavedResource}
+     * @throws IOException when an error occurred during the resource file saving
+     * @since 1.2.0
+     */
+    default SavedResource saveUploadedResource(Path uploadedFile, String path) throws IOException {
+        long size = Files.size(uploadedFile);
+        ResourceStorage storage = getResourceStorage();
+        try {
+            if (storage.getLocalPath(path) == null) {
+                ResourceStorage.await(storage.write(path, uploadedFile));
+                return new SavedResource(path, size, null);
+            }
+            Path resourcePath = Path.of(RESOURCES_PATH + path).toAbsolutePath();
+            Files.createDirectories(resourcePath.getParent());
+            try {
+                Files.move(uploadedFile, resourcePath, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(uploadedFile, resourcePath, REPLACE_EXISTING);
+            }
+            ResourcesLayout.getInstance().registerResource(path);
+            ResourcesCache.getInstance().invalidate(resourcePath);
+            PrecompressedResources.getInstance().compressAsync(resourcePath);
+            return new SavedResource(path, size, null);
+        } finally {
+            Files.deleteIfExists(uploadedFile);
+        }
+    }
+
+    /**
+     * Method used to write a resource file in a storage not backed by the local filesystem, the content is streamed
+     * through a {@link BoundedInputStream}, so the writing stops as soon as the resource exceeds the {@code maxSize}
+     *
+     * @param storage:         the storage where write the resource
+     * @param resource:        the resource to write
+     * @param path:            the path where write the resource file
+     * @param maxSize:         the max size in bytes allowed for the resource
+     * @param digestAlgorithm: the algorithm used to compute the hash of the content, {@code null} to not compute it
+     * @return the details of the written resource as {@link SavedResource}
+     * @throws IOException when an error occurred during the writing or the resource exceeds the {@code maxSize}
+     */
+    private SavedResource writeResource(ResourceStorage storage, MultipartFile resource, String path, long maxSize,
+                                        String digestAlgorithm) throws IOException {
+        MessageDigest digest = null;
+        InputStream content = resource.getInputStream();
+        BoundedInputStream boundedContent = null;
+        if (maxSize != UNLIMITED_RESOURCE_SIZE) {
+            boundedContent = new BoundedInputStream(content, maxSize, true);
+            content = boundedContent;
+        }
+        if (digestAlgorithm != null) {
+            digest = getMessageDigest(digestAlgorithm);
+            content = new DigestInputStream(content, digest);
+        }
+        long size;
+        try (InputStream streamedContent = content) {
+            size = ResourceStorage.await(storage.write(path, streamedContent));
+        } catch (IOException | RuntimeException e) {
+            if (boundedContent == null || !boundedContent.isExceeded())
+                throw e;
+            try {
+                ResourceStorage.await(storage.delete(path));
+            } catch (IOException deleteException) {
+                // the partial resource, if any has been written, is left to the orphans collector
+            }
+            throw new ResourceSizeExceededException(maxSize);
+        }
+        return new SavedResource(path, size, digest != null ? HexFormat.of().formatHex(digest.digest()) : null);
+    }
+
+    /**
+     * Method used to stream the content of a resource into a file computing its hash
+     *
+     * @param resource:    the resource to stream
+     * @param destination: the file where write the content of the resource
+     * @param maxSize:     the max size in bytes allowed for the resource
+     * @param digest:      the digest to update with the content streamed
+     * @return the number of bytes streamed as {@code long}
+     * @throws IOException when an error occurred during the streaming or the resource exceeds the {@code maxSize}
+     */
+    private long streamResource(MultipartFile resource, Path destination, long maxSize,
+                                MessageDigest digest) throws IOException {
+        long size = 0;
+        byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+        try (InputStream inputStream = resource.getInputStream();
+             FileChannel channel = FileChannel.open(destination, CREATE_NEW, WRITE)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+                if (maxSize != UNLIMITED_RESOURCE_SIZE && size > maxSize)
+                    throw new ResourceSizeExceededException(maxSize);
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining())
+                    channel.write(chunk);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Method used to get the digest of an algorithm
+     *
+     * @param digestAlgorithm: the algorithm of the digest
+     * @return the digest as {@link MessageDigest}
+     * @throws IllegalArgumentException when the algorithm is not available
+     */
+    private MessageDigest getMessageDigest(String digestAlgorithm) {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Digest algorithm not available: " + digestAlgorithm, e);
         }
     }
 
@@ -100,15 +321,43 @@ public interface ResourcesManager {
      * Method used to delete a resource file
      *
      * @param resourcesDirectory: the resources directory where delete a resource file
-     * @param resourceId:         the resource identifier of the resource to delete
+     * @param resourceId:         the resource identifier of the resource to delete, the suffix of the file can be omitted
      * @return whether the resource has been deleted as boolean
      */
     default boolean deleteResource(String resourcesDirectory, String resourceId) {
-        File resourceFolder = new File(RESOURCES_PATH + resourcesDirectory);
-        for (File resourceFile : Objects.requireNonNull(resourceFolder.listFiles()))
-            if (resourceFile.getName().contains(resourceId))
-                return resourceFile.delete();
-        return false;
+        ResourcesLayout layout = ResourcesLayout.getInstance();
+        ResourceStorage storage = getResourceStorage();
+        String resourcePrefix = layout.createResourcePath(resourcesDirectory, resourceId, "");
+        if (storage.getLocalPath(resourcePrefix) != null)
+            return layout.deleteResource(resourcesDirectory, resourceId);
+        try {
+            boolean deleted = false;
+            for (String resourcePath : ResourceStorage.await(storage.list(resourcePrefix)))
+                if (resourcePath.equals(resourcePrefix) || resourcePath.startsWith(resourcePrefix + "."))
+                    deleted |= ResourceStorage.await(storage.delete(resourcePath));
+            return deleted;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Method used to delete a resource file by its pathname
+     *
+     * @param resourcePath: the pathname of the resource file to delete, as created by the
+     *                      {@link #createResource(MultipartFile, String, String)} method
+     * @return whether the resource has been deleted as boolean
+     * @since 1.2.0
+     */
+    default boolean deleteResourceByPath(String resourcePath) {
+        ResourceStorage storage = getResourceStorage();
+        if (storage.getLocalPath(resourcePath) != null)
+            return ResourcesLayout.getInstance().deleteResourceByPath(resourcePath);
+        try {
+            return ResourceStorage.await(storage.delete(resourcePath));
+        } catch (IOException e) {
+            return false;
+        }
     }
 
 }
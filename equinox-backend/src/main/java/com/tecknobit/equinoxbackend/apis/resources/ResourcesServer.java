@@ -0,0 +1,648 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorage;
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorage.ResourceMetadata;
+import com.tecknobit.equinoxbackend.apis.resources.storage.ResourceStorages;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore.BLOBS_CACHE_CONTROL;
+import static com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore.BLOBS_DIRECTORY;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static jakarta.servlet.http.HttpServletResponse.*;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * The {@code ResourcesServer} class is the handler which serves the resources files stored under the
+ * {@link ResourcesManager#RESOURCES_KEY} folder, e.g. the profile pics. The resources are served with:
+ *
+ * <ul>
+ *     <li>
+ *         strong {@code ETag} and {@code Last-Modified} validators derived from the metadata of the file, so the
+ *         conditional requests ({@code If-None-Match} and {@code If-Modified-Since}) are answered with
+ *         {@code 304 Not Modified} without reading the file
+ *     </li>
+ *     <li>
+ *         single byte-range requests ({@code Range} and {@code If-Range})
+ *     </li>
+ *     <li>
+ *         the {@code Cache-Control} configured for each subdirectory in the {@code equinox.config} file
+ *     </li>
+ *     <li>
+ *         the resized variants of the images, selected with the {@link #SIZE_PARAMETER} query parameter, e.g.
+ *         {@code profiles/3f/a2/resourceId.png?size=128}
+ *     </li>
+ *     <li>
+ *         the precompressed siblings of the compressible resources generated by the {@link PrecompressedResources},
+ *         selected with the {@code Accept-Encoding} header
+ *     </li>
+ *     <li>
+ *         the {@link ResourcesCache} which keeps in memory the content of the hot resources
+ *     </li>
+ *     <li>
+ *         zero-copy transfer of the content of the other resources: the {@code sendfile} of the server when supported, otherwise the
+ *         {@link FileChannel#transferTo(long, long, WritableByteChannel)} method
+ *     </li>
+ * </ul>
+ *
+ * When the {@link ResourceStorage} is not backed by the local filesystem the metadata and the content of the resources
+ * are read from the storage, without the resized variants, the precompressed siblings and the zero-copy transfer
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see HttpRequestHandler
+ *
+ * @since 1.2.0
+ */
+public class ResourcesServer implements HttpRequestHandler {
+
+    /**
+     * {@code SIZE_PARAMETER} the query parameter used to request a resized variant of an image
+     */
+    public static final String SIZE_PARAMETER = "size";
+
+    /**
+     * {@code SENDFILE_SUPPORT_ATTRIBUTE} the attribute set by the server when the {@code sendfile} is supported
+     */
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    /**
+     * {@code SENDFILE_FILENAME_ATTRIBUTE} the attribute with the path of the file to send
+     */
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    /**
+     * {@code SENDFILE_START_ATTRIBUTE} the attribute with the first byte of the file to send
+     */
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    /**
+     * {@code SENDFILE_END_ATTRIBUTE} the attribute with the last byte, exclusive, of the file to send
+     */
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * {@code SENDFILE_THRESHOLD} the min size in bytes of the content to send with the {@code sendfile}, the smaller
+     * contents are cheaper to write directly
+     */
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    /**
+     * {@code BYTES_UNIT} the unit of the byte-range requests
+     */
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * {@code DEFAULT_CONTENT_TYPE} the content type used when the type of the resource cannot be detected
+     */
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * {@code resourcesFolder} the folder where the resources are stored
+     */
+    private final Path resourcesFolder;
+
+    /**
+     * {@code resourcesConfig} the configuration of the resources
+     */
+    private final ResourcesConfig resourcesConfig;
+
+    /**
+     * {@code imageVariants} the generator of the resized variants of the images
+     */
+    private final ImageVariants imageVariants;
+
+    /**
+     * {@code precompressedResources} the generator of the precompressed siblings of the compressible resources,
+     * {@code null} to always serve the resources uncompressed
+     */
+    private final PrecompressedResources precompressedResources;
+
+    /**
+     * {@code storage} the storage where the resources are stored, {@code null} to read them from the
+     * {@link #resourcesFolder}
+     */
+    private final ResourceStorage storage;
+
+    /**
+     * {@code resourcesCache} the cache of the content of the hot resources, {@code null} to always read the resources
+     * from the disk
+     */
+    private final ResourcesCache resourcesCache;
+
+    /**
+     * {@code urlPathHelper} the helper used to resolve the path of the requested resources
+     */
+    private final UrlPathHelper urlPathHelper;
+
+    /**
+     * Constructor to init the server
+     */
+    public ResourcesServer() {
+        this(Path.of(RESOURCES_PATH), EquinoxBackendConfiguration.getInstance().getResourcesConfig(),
+                ImageVariants.getInstance(), PrecompressedResources.getInstance(), ResourceStorages.getInstance(),
+                ResourcesCache.getInstance());
+    }
+
+    /**
+     * Constructor to init the server
+     *
+     * @param resourcesFolder The folder where the resources are stored
+     * @param resourcesConfig The configuration of the resources
+     * @param imageVariants The generator of the resized variants of the images
+     */
+    public ResourcesServer(Path resourcesFolder, ResourcesConfig resourcesConfig, ImageVariants imageVariants) {
+        this(resourcesFolder, resourcesConfig, imageVariants, null, null, null);
+    }
+
+    /**
+     * Constructor to init the server
+     *
+     * @param resourcesFolder The folder where the resources are stored when the storage is backed by the local
+     *                        filesystem
+     * @param resourcesConfig The configuration of the resources
+     * @param imageVariants The generator of the resized variants of the images
+     * @param precompressedResources The generator of the precompressed siblings of the compressible resources,
+     *                               {@code null} to always serve the resources uncompressed
+     * @param storage The storage where the resources are stored, {@code null} to read them from the
+     *                {@code resourcesFolder}
+     * @param resourcesCache The cache of the content of the hot resources, {@code null} to always read the resources
+     *                       from the disk
+     */
+    public ResourcesServer(Path resourcesFolder, ResourcesConfig resourcesConfig, ImageVariants imageVariants,
+                           PrecompressedResources precompressedResources, ResourceStorage storage,
+                           ResourcesCache resourcesCache) {
+        this.resourcesFolder = resourcesFolder.toAbsolutePath().normalize();
+        this.resourcesConfig = resourcesConfig;
+        this.imageVariants = imageVariants;
+        this.precompressedResources = precompressedResources;
+        this.storage = storage;
+        this.resourcesCache = resourcesCache;
+        urlPathHelper = new UrlPathHelper();
+    }
+
+    /**
+     * Method used to serve a resource
+     *
+     * @param request The request of the resource
+     * @param response The response where send the resource
+     *
+     * @throws IOException when an error occurred during the sending of the resource
+     */
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String method = request.getMethod();
+        boolean headRequest = "HEAD".equals(method);
+        if (!headRequest && !"GET".equals(method)) {
+            response.setHeader("Allow", "GET, HEAD");
+            response.sendError(SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        String resourcePath = urlPathHelper.getPathWithinApplication(request);
+        Path resource = resolveResource(resourcePath);
+        String storedPath = getStoredPath(resource);
+        long size;
+        long lastModified;
+        if (storedPath != null) {
+            ResourceMetadata metadata = ResourceStorage.await(storage.stat(storedPath));
+            if (metadata == null) {
+                response.sendError(SC_NOT_FOUND);
+                return;
+            }
+            size = metadata.size();
+            lastModified = metadata.lastModified();
+        } else {
+            BasicFileAttributes attributes = readAttributes(resource);
+            if (attributes == null || !attributes.isRegularFile()) {
+                response.sendError(SC_NOT_FOUND);
+                return;
+            }
+            Path variant = getVariant(request, resource);
+            if (variant != null) {
+                BasicFileAttributes variantAttributes = readAttributes(variant);
+                if (variantAttributes != null) {
+                    resource = variant;
+                    attributes = variantAttributes;
+                }
+            } else if (precompressedResources != null && precompressedResources.isCompressible(resource)) {
+                response.setHeader("Vary", "Accept-Encoding");
+                String acceptEncoding = request.getHeader("Accept-Encoding");
+                if (acceptEncoding != null) {
+                    for (String encoding : PrecompressedResources.ENCODINGS) {
+                        if (!acceptsEncoding(acceptEncoding, encoding))
+                            continue;
+                        Path sibling = precompressedResources.getSiblingPath(resource, encoding);
+                        BasicFileAttributes siblingAttributes = readAttributes(sibling);
+                        if (siblingAttributes != null && siblingAttributes.lastModifiedTime()
+                                .compareTo(attributes.lastModifiedTime()) >= 0) {
+                            response.setHeader("Content-Encoding", encoding);
+                            resource = sibling;
+                            attributes = siblingAttributes;
+                            break;
+                        }
+                    }
+                }
+            }
+            size = attributes.size();
+            lastModified = attributes.lastModifiedTime().toMillis();
+        }
+        String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", getCacheControl(getSubdirectory(resourcePath)));
+        response.setHeader("Accept-Ranges", "bytes");
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(SC_NOT_MODIFIED);
+            return;
+        }
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader("Range");
+        if (range != null && isRangeApplicable(request, eTag, lastModified)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader("Content-Range", "bytes */" + size);
+                response.sendError(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentType(getContentType(request, resource));
+        response.setContentLengthLong(length);
+        if (headRequest || length == 0)
+            return;
+        if (storedPath != null)
+            sendStoredResource(response, storedPath, start, length);
+        else
+            sendResource(request, response, resource, size, lastModified, start, length);
+    }
+
+    /**
+     * Method used to resolve the file of a requested resource
+     *
+     * @param resourcePath The path of the requested resource
+     *
+     * @return the file of the resource as {@link Path}, {@code null} if the path is not valid
+     */
+    private Path resolveResource(String resourcePath) {
+        String relativePath = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        if (relativePath.isEmpty() || relativePath.indexOf('\0') != -1)
+            return null;
+        for (String segment : relativePath.split("/"))
+            if (segment.startsWith(".") || segment.endsWith(TEMP_RESOURCE_SUFFIX))
+                return null;
+        Path resource = resourcesFolder.resolve(relativePath).normalize();
+        if (!resource.startsWith(resourcesFolder))
+            return null;
+        return resource;
+    }
+
+    /**
+     * Method used to get the path of a resource in the {@link #storage} when it is not backed by the local filesystem
+     *
+     * @param resource The resolved file of the resource
+     *
+     * @return the path of the resource in the storage as {@link String}, {@code null} if the resource must be read from
+     * the local filesystem or the path is not valid
+     */
+    private String getStoredPath(Path resource) {
+        if (storage == null || resource == null)
+            return null;
+        String storedPath = resourcesFolder.relativize(resource).toString().replace('\\', '/');
+        return storage.getLocalPath(storedPath) == null ? storedPath : null;
+    }
+
+    /**
+     * Method used to read the attributes of a resource file
+     *
+     * @param resource The resource file
+     *
+     * @return the attributes of the resource file as {@link BasicFileAttributes}, {@code null} if the file not exists
+     *
+     * @throws IOException when the attributes cannot be read
+     */
+    private BasicFileAttributes readAttributes(Path resource) throws IOException {
+        if (resource == null)
+            return null;
+        try {
+            return Files.readAttributes(resource, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method used to get the resized variant of an image requested with the {@link #SIZE_PARAMETER} query parameter
+     *
+     * @param request The request of the resource
+     * @param resource The original resource
+     *
+     * @return the variant as {@link Path}, {@code null} if not requested, not valid or the resource is not an image
+     */
+    private Path getVariant(HttpServletRequest request, Path resource) {
+        String requestedSize = request.getParameter(SIZE_PARAMETER);
+        if (requestedSize == null || imageVariants == null)
+            return null;
+        try {
+            int size = Integer.parseInt(requestedSize);
+            if (size <= 0)
+                return null;
+            return imageVariants.getVariant(resource, size);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method used to check whether a content coding is accepted by the client
+     *
+     * @param acceptEncoding The value of the {@code Accept-Encoding} header
+     * @param encoding The content coding to check
+     *
+     * @return whether the content coding is accepted as {@code boolean}
+     */
+    private boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        boolean wildcardAccepted = false;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parameters = candidate.split(";");
+            String coding = parameters[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase(encoding))
+                return accepted;
+            if (coding.equals("*"))
+                wildcardAccepted = accepted;
+        }
+        return wildcardAccepted;
+    }
+
+    /**
+     * Method used to get the subdirectory of a requested resource
+     *
+     * @param resourcePath The path of the requested resource
+     *
+     * @return the subdirectory of the resource as {@link String}
+     */
+    private String getSubdirectory(String resourcePath) {
+        String relativePath = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        int separatorIndex = relativePath.indexOf('/');
+        return separatorIndex == -1 ? "" : relativePath.substring(0, separatorIndex);
+    }
+
+    /**
+     * Method used to get the {@code Cache-Control} of the resources of a subdirectory, the blobs of the
+     * {@link ContentAddressedStore} are immutable if not configured differently
+     *
+     * @param subdirectory The subdirectory of the resources
+     *
+     * @return the {@code Cache-Control} as {@link String}
+     */
+    private String getCacheControl(String subdirectory) {
+        if (BLOBS_DIRECTORY.equals(subdirectory) && !resourcesConfig.getCacheControlledSubdirectories().contains(subdirectory))
+            return BLOBS_CACHE_CONTROL;
+        return resourcesConfig.getCacheControl(subdirectory);
+    }
+
+    /**
+     * Method used to check whether the resource cached by the client is still valid
+     *
+     * @param request The request of the resource
+     * @param eTag The current {@code ETag} of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     *
+     * @return whether the resource cached by the client is still valid as {@code boolean}
+     */
+    private boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null)
+            return matchesETag(ifNoneMatch, eTag);
+        long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Method used to check whether a list of {@code ETag} matches the current one, the weak tags are compared as the
+     * strong ones as required by the {@code If-None-Match} header
+     *
+     * @param eTags The list of the {@code ETag} sent by the client
+     * @param eTag The current {@code ETag} of the resource
+     *
+     * @return whether the list contains the current {@code ETag} as {@code boolean}
+     */
+    private boolean matchesETag(String eTags, String eTag) {
+        for (String candidate : eTags.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/"))
+                candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(eTag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method used to check whether the {@code Range} header must be applied, that is when the {@code If-Range} header
+     * is not specified or it matches the current version of the resource
+     *
+     * @param request The request of the resource
+     * @param eTag The current {@code ETag} of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     *
+     * @return whether the {@code Range} header must be applied as {@code boolean}
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null)
+            return true;
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\""))
+            return ifRange.equals(eTag);
+        long ifRangeDate = getDateHeader(request, "If-Range");
+        return ifRangeDate != -1 && lastModified / 1000 == ifRangeDate / 1000;
+    }
+
+    /**
+     * Method used to parse the value of the {@code Range} header
+     *
+     * @param range The value of the {@code Range} header
+     * @param size The size of the resource
+     *
+     * @return the first and the last bytes of the range as {@code long} array, an empty array if the range must be
+     * ignored and the whole resource served, {@code null} if the range cannot be satisfied
+     */
+    private long[] parseRange(String range, long size) {
+        if (!range.startsWith(BYTES_UNIT) || range.indexOf(',') != -1)
+            return new long[0];
+        String rangeSpec = range.substring(BYTES_UNIT.length()).trim();
+        int separatorIndex = rangeSpec.indexOf('-');
+        if (separatorIndex == -1)
+            return new long[0];
+        try {
+            String first = rangeSpec.substring(0, separatorIndex).trim();
+            String last = rangeSpec.substring(separatorIndex + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0)
+                    return null;
+                start = Math.max(0, size - suffixLength);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start < 0 || start >= size || start > end)
+                return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * Method used to get the value of a date header
+     *
+     * @param request The request from get the header
+     * @param header The name of the header
+     *
+     * @return the value of the header in milliseconds as {@code long}, {@code -1} if not specified or not valid
+     */
+    private long getDateHeader(HttpServletRequest request, String header) {
+        try {
+            return request.getDateHeader(header);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Method used to get the content type of a resource
+     *
+     * @param request The request of the resource
+     * @param resource The file of the resource
+     *
+     * @return the content type of the resource as {@link String}
+     */
+    private String getContentType(HttpServletRequest request, Path resource) {
+        String contentType = request.getServletContext().getMimeType(resource.getFileName().toString());
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    /**
+     * Method used to send the content of a resource cached by the {@link #resourcesCache}
+     *
+     * @param response The response where send the resource
+     * @param content The cached content of the resource
+     * @param start The first byte of the resource to send
+     * @param length The number of bytes to send
+     *
+     * @throws IOException when an error occurred during the sending of the resource
+     */
+    private void sendCachedResource(HttpServletResponse response, ByteBuffer content, long start,
+                                    long length) throws IOException {
+        OutputStream outputStream = response.getOutputStream();
+        ByteBuffer range = content.slice((int) start, (int) length);
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        while (range.hasRemaining())
+            target.write(range);
+        outputStream.flush();
+    }
+
+    /**
+     * Method used to send the content of a resource read from the {@link #storage}
+     *
+     * @param response The response where send the resource
+     * @param storedPath The path of the resource in the storage
+     * @param start The first byte of the resource to send
+     * @param length The number of bytes to send
+     *
+     * @throws IOException when an error occurred during the sending of the resource
+     */
+    private void sendStoredResource(HttpServletResponse response, String storedPath, long start,
+                                    long length) throws IOException {
+        OutputStream outputStream = response.getOutputStream();
+        try (InputStream content = ResourceStorage.await(storage.read(storedPath, start, length))) {
+            content.transferTo(outputStream);
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Method used to send the content of a resource, served by the {@link #resourcesCache} when the resource is small
+     * enough to be cached, otherwise delegating the transfer to the {@code sendfile} of the server when supported
+     *
+     * @param request The request of the resource
+     * @param response The response where send the resource
+     * @param resource The file of the resource
+     * @param size The size in bytes of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     * @param start The first byte of the resource to send
+     * @param length The number of bytes to send
+     *
+     * @throws IOException when an error occurred during the sending of the resource
+     */
+    private void sendResource(HttpServletRequest request, HttpServletResponse response, Path resource, long size,
+                              long lastModified, long start, long length) throws IOException {
+        if (resourcesCache != null && resourcesCache.isCacheable(size)) {
+            ByteBuffer content = resourcesCache.get(resource, size, lastModified);
+            if (content != null) {
+                sendCachedResource(response, content, start, length);
+                return;
+            }
+        }
+        if (length >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, resource.toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, start + length);
+            return;
+        }
+        OutputStream outputStream = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(resource, READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0)
+                    break;
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        outputStream.flush();
+    }
+
+}
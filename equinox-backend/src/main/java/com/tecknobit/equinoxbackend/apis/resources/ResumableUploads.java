@@ -0,0 +1,469 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.UploadsConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.*;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig.UNLIMITED_RESOURCE_SIZE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The {@code ResumableUploads} class manages the resumable uploads of the large resources. An upload is initialized
+ * declaring the size of the resource, then its content is sent in chunks, each one with the offset where it must be
+ * written, so a dropped connection only requires to resend the chunks not received yet. The chunks are written with
+ * positional writes straight into a preallocated temporary file, without being buffered in memory, and the upload is
+ * finalized verifying the {@code SHA-256} checksum of the whole content. The idle sessions expire and their temporary
+ * files are deleted, while the sessions each owner can keep open and the size they preallocate are capped, so a single
+ * owner cannot fill the resources volume. It is based on a singleton design pattern because the sessions must be shared by all the
+ * {@link ResourcesManager}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourcesManager#saveUploadedResource(Path, String)
+ *
+ * @since 1.2.0
+ */
+public class ResumableUploads {
+
+    /**
+     * {@code UPLOADS_DIRECTORY} the hidden directory where the temporary files of the uploads are placed
+     */
+    public static final String UPLOADS_DIRECTORY = ".uploads";
+
+    /**
+     * {@code CHECKSUM_ALGORITHM} the algorithm of the checksum of the uploaded resources
+     */
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    /**
+     * {@code EXPIRATION_CHECK_INTERVAL} the interval in seconds between two checks of the expired sessions
+     */
+    private static final long EXPIRATION_CHECK_INTERVAL = 60;
+
+    /**
+     * {@code uploads} the uploads of the current backend instance
+     */
+    private static ResumableUploads uploads;
+
+    /**
+     * {@code uploadsFolder} the folder where the temporary files of the uploads are placed
+     */
+    private final Path uploadsFolder;
+
+    /**
+     * {@code maxSize} the max size in bytes allowed for an uploaded resource
+     */
+    private final long maxSize;
+
+    /**
+     * {@code uploadsConfig} the configuration of the uploads
+     */
+    private final UploadsConfig uploadsConfig;
+
+    /**
+     * {@code sessions} the sessions in progress indexed by identifier
+     */
+    private final Map<String, UploadSession> sessions;
+
+    /**
+     * {@code expirer} the scheduler which periodically deletes the expired sessions
+     */
+    private ScheduledExecutorService expirer;
+
+    /**
+     * Constructor to init the uploads
+     *
+     * @param uploadsFolder The folder where the temporary files of the uploads are placed
+     * @param maxSize The max size in bytes allowed for an uploaded resource,
+     *                {@link EquinoxBackendConfiguration.ResourcesConfig#UNLIMITED_RESOURCE_SIZE} to not limit it, the
+     *                lower {@link UploadsConfig#getMaxUploadSize()} is applied in any case
+     * @param uploadsConfig The configuration of the uploads
+     */
+    public ResumableUploads(Path uploadsFolder, long maxSize, UploadsConfig uploadsConfig) {
+        this.uploadsFolder = uploadsFolder.toAbsolutePath().normalize();
+        long maxUploadSize = uploadsConfig.getMaxUploadSize();
+        if (maxSize == UNLIMITED_RESOURCE_SIZE || (maxUploadSize != UNLIMITED_RESOURCE_SIZE && maxUploadSize < maxSize))
+            maxSize = maxUploadSize;
+        this.maxSize = maxSize;
+        this.uploadsConfig = uploadsConfig;
+        sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method used to initialize an upload preallocating its temporary file
+     *
+     * @param ownerId The identifier of the owner of the upload
+     * @param fileName The name of the file uploaded, used to keep its suffix
+     * @param size The size in bytes of the resource to upload
+     *
+     * @return the session of the upload as {@link UploadSession}
+     *
+     * @throws ResourceSizeExceededException when the resource exceeds the max size allowed
+     * @throws UploadsQuotaExceededException when the owner already reached the max number of the sessions or the max
+     * size reserved allowed
+     * @throws IOException when the temporary file cannot be created
+     */
+    public UploadSession init(String ownerId, String fileName, long size) throws IOException {
+        if (size <= 0)
+            throw new IllegalArgumentException("The size of the upload must be positive");
+        if (maxSize != UNLIMITED_RESOURCE_SIZE && size > maxSize)
+            throw new ResourceSizeExceededException(maxSize);
+        Files.createDirectories(uploadsFolder);
+        String sessionId = UUID.randomUUID().toString().replace("-", "");
+        Path uploadFile = uploadsFolder.resolve(sessionId + TEMP_RESOURCE_SUFFIX);
+        UploadSession session = new UploadSession(sessionId, ownerId, fileName, size, uploadFile);
+        reserve(session);
+        try (RandomAccessFile file = new RandomAccessFile(uploadFile.toFile(), "rw")) {
+            file.setLength(size);
+        } catch (IOException e) {
+            discard(session);
+            throw e;
+        }
+        return session;
+    }
+
+    /**
+     * Method used to reserve the space of a new session, checking the quotas of its owner
+     *
+     * @param session The session to reserve
+     *
+     * @throws UploadsQuotaExceededException when the owner already reached the max number of the sessions or the max
+     * size reserved allowed
+     */
+    private synchronized void reserve(UploadSession session) throws UploadsQuotaExceededException {
+        int ownerSessions = 0;
+        long ownerReservedSize = 0;
+        for (UploadSession current : sessions.values()) {
+            if (current.ownerId.equals(session.ownerId)) {
+                ownerSessions++;
+                ownerReservedSize += current.size;
+            }
+        }
+        if (ownerSessions >= uploadsConfig.getMaxSessionsPerOwner()) {
+            throw new UploadsQuotaExceededException("The owner already reached the max number of "
+                    + uploadsConfig.getMaxSessionsPerOwner() + " upload sessions");
+        }
+        long maxReservedSize = uploadsConfig.getMaxReservedSizePerOwner();
+        if (maxReservedSize != UNLIMITED_RESOURCE_SIZE && ownerReservedSize + session.size > maxReservedSize) {
+            throw new UploadsQuotaExceededException("The upload sessions of the owner would exceed the max reserved "
+                    + "size of " + maxReservedSize + " bytes");
+        }
+        sessions.put(session.sessionId, session);
+    }
+
+    /**
+     * Method used to get the session of an upload
+     *
+     * @param sessionId The identifier of the session
+     * @param ownerId The identifier of the owner of the upload
+     *
+     * @return the session of the upload as {@link UploadSession}, {@code null} if not exists, it is expired or it is
+     * owned by another owner
+     */
+    public UploadSession getSession(String sessionId, String ownerId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null || !session.ownerId.equals(ownerId))
+            return null;
+        return session;
+    }
+
+    /**
+     * Method used to append a chunk to an upload writing it at its offset. The offset cannot be greater than the bytes
+     * already received, while a lower offset overwrites the content, so the chunks can be safely resent
+     *
+     * @param session The session of the upload
+     * @param offset The offset where write the chunk
+     * @param chunk The content of the chunk
+     *
+     * @return the bytes received after the chunk as {@code long}, that is the offset of the next chunk
+     *
+     * @throws IllegalArgumentException when the offset is not valid or the chunk exceeds the size of the upload
+     * @throws IOException when an error occurred during the writing of the chunk
+     */
+    public long appendChunk(UploadSession session, long offset, InputStream chunk) throws IOException {
+        synchronized (session) {
+            if (!sessions.containsKey(session.sessionId))
+                throw new IllegalStateException("The upload session is expired or completed");
+            if (offset < 0 || offset > session.received)
+                throw new IllegalArgumentException("The offset must be between 0 and " + session.received);
+            long position = offset;
+            byte[] buffer = new byte[STREAMING_BUFFER_SIZE];
+            try (FileChannel channel = FileChannel.open(session.uploadFile, WRITE)) {
+                int read;
+                while ((read = chunk.read(buffer)) != -1) {
+                    if (position + read > session.size)
+                        throw new IllegalArgumentException("The chunk exceeds the size of the upload");
+                    ByteBuffer content = ByteBuffer.wrap(buffer, 0, read);
+                    while (content.hasRemaining())
+                        position += channel.write(content, position);
+                }
+            }
+            session.received = Math.max(session.received, position);
+            session.lastActivity = System.currentTimeMillis();
+            return session.received;
+        }
+    }
+
+    /**
+     * Method used to complete an upload verifying the checksum of its content, the session is closed and the temporary
+     * file must be moved or deleted by the caller
+     *
+     * @param session The session of the upload
+     * @param checksum The hexadecimal {@code SHA-256} checksum of the whole content computed by the client
+     *
+     * @return the temporary file with the uploaded content as {@link Path}
+     *
+     * @throws IllegalStateException when the upload is not complete yet
+     * @throws IllegalArgumentException when the checksum does not match the uploaded content, the upload is discarded
+     * @throws IOException when an error occurred during the reading of the uploaded content
+     */
+    public Path complete(UploadSession session, String checksum) throws IOException {
+        synchronized (session) {
+            if (!sessions.containsKey(session.sessionId))
+                throw new IllegalStateException("The upload session is expired or completed");
+            if (session.received != session.size)
+                throw new IllegalStateException("The upload is not complete: " + session.received + "/" + session.size);
+            String uploadChecksum = computeChecksum(session.uploadFile);
+            if (!uploadChecksum.equalsIgnoreCase(checksum)) {
+                discard(session);
+                throw new IllegalArgumentException("The checksum does not match the uploaded content");
+            }
+            sessions.remove(session.sessionId);
+            return session.uploadFile;
+        }
+    }
+
+    /**
+     * Method used to discard an upload deleting its temporary file
+     *
+     * @param session The session of the upload
+     *
+     * @throws IOException when the temporary file cannot be deleted
+     */
+    public void discard(UploadSession session) throws IOException {
+        synchronized (session) {
+            sessions.remove(session.sessionId);
+            Files.deleteIfExists(session.uploadFile);
+        }
+    }
+
+    /**
+     * Method used to compute the checksum of an uploaded content
+     *
+     * @param uploadFile The temporary file with the uploaded content
+     *
+     * @return the hexadecimal checksum as {@link String}
+     *
+     * @throws IOException when an error occurred during the reading of the uploaded content
+     */
+    private String computeChecksum(Path uploadFile) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(STREAMING_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(uploadFile, READ)) {
+            while (channel.read(buffer) != -1) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Method used to delete the sessions idle for longer than the configured time to live
+     *
+     * @return the number of the sessions expired as {@code int}
+     */
+    public int expireSessions() {
+        long threshold = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(uploadsConfig.getSessionTtl());
+        int expired = 0;
+        Iterator<UploadSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            UploadSession session = iterator.next();
+            if (session.lastActivity < threshold) {
+                try {
+                    discard(session);
+                    expired++;
+                } catch (IOException ignored) {
+                    // retried at the next check
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Method used to start the periodic expiration of the idle sessions, deleting the temporary files left by a previous
+     * run of the backend, whose sessions cannot be resumed
+     */
+    public synchronized void startExpiration() {
+        if (expirer != null)
+            return;
+        if (Files.isDirectory(uploadsFolder)) {
+            try (Stream<Path> files = Files.list(uploadsFolder)) {
+                for (Path file : files.toList())
+                    if (!sessions.containsKey(file.getFileName().toString().replace(TEMP_RESOURCE_SUFFIX, "")))
+                        Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // left to the next startup
+            }
+        }
+        expirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equinox-uploads-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expirer.scheduleWithFixedDelay(this::expireSessions, EXPIRATION_CHECK_INTERVAL, EXPIRATION_CHECK_INTERVAL,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Method used to get the size in bytes of the chunks suggested to the clients
+     *
+     * @return the size in bytes of the chunks as {@code int}
+     */
+    public int getChunkSize() {
+        return uploadsConfig.getChunkSize();
+    }
+
+    /**
+     * Method used to get the current {@link #uploads} instance, created and started when requested the first time
+     *
+     * @return the current {@link #uploads} instance as {@link ResumableUploads}
+     */
+    public static synchronized ResumableUploads getInstance() {
+        if (uploads == null) {
+            EquinoxBackendConfiguration.ResourcesConfig resourcesConfig = EquinoxBackendConfiguration.getInstance()
+                    .getResourcesConfig();
+            uploads = new ResumableUploads(Path.of(RESOURCES_PATH + UPLOADS_DIRECTORY),
+                    resourcesConfig.getMaxResourceSize(), resourcesConfig.getUploadsConfig());
+            uploads.startExpiration();
+        }
+        return uploads;
+    }
+
+    /**
+     * The {@code UploadSession} class contains the state of an upload in progress
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public static final class UploadSession {
+
+        /**
+         * {@code sessionId} the identifier of the session
+         */
+        private final String sessionId;
+
+        /**
+         * {@code ownerId} the identifier of the owner of the upload
+         */
+        private final String ownerId;
+
+        /**
+         * {@code fileName} the name of the file uploaded
+         */
+        private final String fileName;
+
+        /**
+         * {@code size} the size in bytes of the resource to upload
+         */
+        private final long size;
+
+        /**
+         * {@code uploadFile} the temporary file where the chunks are written
+         */
+        private final Path uploadFile;
+
+        /**
+         * {@code received} the number of contiguous bytes received from the start of the resource
+         */
+        private volatile long received;
+
+        /**
+         * {@code lastActivity} when the last chunk has been received in milliseconds
+         */
+        private volatile long lastActivity;
+
+        /**
+         * Constructor to init the session
+         *
+         * @param sessionId The identifier of the session
+         * @param ownerId The identifier of the owner of the upload
+         * @param fileName The name of the file uploaded
+         * @param size The size in bytes of the resource to upload
+         * @param uploadFile The temporary file where the chunks are written
+         */
+        private UploadSession(String sessionId, String ownerId, String fileName, long size, Path uploadFile) {
+            this.sessionId = sessionId;
+            this.ownerId = ownerId;
+            this.fileName = fileName;
+            this.size = size;
+            this.uploadFile = uploadFile;
+            lastActivity = System.currentTimeMillis();
+        }
+
+        /**
+         * Method used to get the {@link #sessionId} instance
+         *
+         * @return the {@link #sessionId} instance as {@link String}
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Method used to get the {@link #fileName} instance
+         *
+         * @return the {@link #fileName} instance as {@link String}
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Method used to get the {@link #size} instance
+         *
+         * @return the {@link #size} instance as {@code long}
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Method used to get the {@link #received} instance
+         *
+         * @return the {@link #received} instance as {@code long}
+         */
+        public long getReceived() {
+            return received;
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+/**
+ * The {@code SavedResource} record contains the details of a resource file saved by the {@link ResourcesManager}
+ *
+ * @param path The path of the resource file, relative to the {@link ResourcesManager#RESOURCES_KEY} folder
+ * @param size The size in bytes of the resource file
+ * @param hash The hexadecimal hash of the content of the resource file, {@code null} if not computed
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public record SavedResource(String path, long size, String hash) {
+}
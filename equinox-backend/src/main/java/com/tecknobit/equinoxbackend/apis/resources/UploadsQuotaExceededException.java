@@ -0,0 +1,26 @@
+package com.tecknobit.equinoxbackend.apis.resources;
+
+import java.io.IOException;
+
+/**
+ * The {@code UploadsQuotaExceededException} is thrown when an owner tries to open an upload session beyond the max
+ * number of the sessions or the max size reserved allowed for each owner
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResumableUploads
+ *
+ * @since 1.2.0
+ */
+public class UploadsQuotaExceededException extends IOException {
+
+    /**
+     * Constructor to init the exception
+     *
+     * @param message The detail of the quota exceeded
+     */
+    public UploadsQuotaExceededException(String message) {
+        super(message);
+    }
+
+}
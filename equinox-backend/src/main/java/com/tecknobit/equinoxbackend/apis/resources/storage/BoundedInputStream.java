@@ -0,0 +1,145 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import com.tecknobit.equinoxbackend.apis.resources.ResourceSizeExceededException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The {@code BoundedInputStream} class is the stream which reads at most a number of bytes from the wrapped stream,
+ * used to serve the ranges of the resources, or which fails as soon as the wrapped stream exceeds that number of bytes,
+ * used to stop the uploads of the resources bigger than the max size allowed while they are streamed
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    /**
+     * {@code limit} the max number of bytes to read
+     */
+    private final long limit;
+
+    /**
+     * {@code failOnExceed} whether the stream fails when the wrapped stream exceeds the {@link #limit} instead of
+     * ending
+     */
+    private final boolean failOnExceed;
+
+    /**
+     * {@code remaining} the number of bytes still readable
+     */
+    private long remaining;
+
+    /**
+     * {@code exceeded} whether the wrapped stream has exceeded the {@link #limit}
+     */
+    private volatile boolean exceeded;
+
+    /**
+     * Constructor to init the stream which ends when the limit is reached
+     *
+     * @param inputStream The stream to wrap
+     * @param limit The max number of bytes to read
+     */
+    public BoundedInputStream(InputStream inputStream, long limit) {
+        this(inputStream, limit, false);
+    }
+
+    /**
+     * Constructor to init the stream
+     *
+     * @param inputStream The stream to wrap
+     * @param limit The max number of bytes to read
+     * @param failOnExceed Whether the stream throws a {@link ResourceSizeExceededException} when the wrapped stream
+     *                     exceeds the limit instead of ending
+     */
+    public BoundedInputStream(InputStream inputStream, long limit, boolean failOnExceed) {
+        super(inputStream);
+        this.limit = limit;
+        this.failOnExceed = failOnExceed;
+        remaining = limit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0)
+            return checkEnded();
+        int read = super.read();
+        if (read != -1)
+            remaining--;
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (remaining <= 0)
+            return checkEnded();
+        int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+        if (read != -1)
+            remaining -= read;
+        return read;
+    }
+
+    /**
+     * Method used to end the stream when the limit is reached, checking whether the wrapped stream exceeds it when
+     * the {@link #failOnExceed} is enabled
+     *
+     * @return {@code -1} as the end of the stream
+     *
+     * @throws IOException when the wrapped stream cannot be read
+     * @throws ResourceSizeExceededException when the wrapped stream exceeds the limit and the {@link #failOnExceed} is
+     * enabled
+     */
+    private int checkEnded() throws IOException {
+        if (failOnExceed && super.read() != -1) {
+            exceeded = true;
+            throw new ResourceSizeExceededException(limit);
+        }
+        return -1;
+    }
+
+    /**
+     * Method used to get whether the wrapped stream has exceeded the limit
+     *
+     * @return whether the wrapped stream has exceeded the limit as {@code boolean}
+     */
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The {@code InMemoryResourceStorage} class is the {@link ResourceStorage} which keeps the resources in memory, useful
+ * for the tests and the benchmarks which must not touch the disk. The operations are completed directly in the calling
+ * thread
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourceStorage
+ *
+ * @since 1.2.0
+ */
+public class InMemoryResourceStorage implements ResourceStorage {
+
+    /**
+     * {@code resources} the stored resources sorted by path
+     */
+    private final ConcurrentSkipListMap<String, StoredResource> resources;
+
+    /**
+     * Constructor to init the storage
+     */
+    public InMemoryResourceStorage() {
+        resources = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> write(String path, InputStream content) {
+        try (InputStream inputStream = content) {
+            byte[] data = inputStream.readAllBytes();
+            resources.put(normalize(path), new StoredResource(data, System.currentTimeMillis()));
+            return CompletableFuture.completedFuture((long) data.length);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<InputStream> read(String path, long offset, long length) {
+        StoredResource resource = resources.get(normalize(path));
+        if (resource == null)
+            return CompletableFuture.failedFuture(new NoSuchFileException(path));
+        int start = (int) Math.min(offset, resource.data.length);
+        int available = resource.data.length - start;
+        int readable = length < 0 ? available : (int) Math.min(length, available);
+        return CompletableFuture.completedFuture(new ByteArrayInputStream(resource.data, start, readable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ResourceMetadata> stat(String path) {
+        StoredResource resource = resources.get(normalize(path));
+        if (resource == null)
+            return CompletableFuture.completedFuture(null);
+        return CompletableFuture.completedFuture(new ResourceMetadata(resource.data.length, resource.lastModified));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(String path) {
+        return CompletableFuture.completedFuture(resources.remove(normalize(path)) != null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> list(String prefix) {
+        String normalizedPrefix = normalize(prefix);
+        List<String> paths = new ArrayList<>();
+        for (String path : resources.tailMap(normalizedPrefix).keySet()) {
+            if (!path.startsWith(normalizedPrefix))
+                break;
+            paths.add(path);
+        }
+        return CompletableFuture.completedFuture(paths);
+    }
+
+    /**
+     * Method used to normalize a path using the {@code /} separator and removing the leading ones
+     *
+     * @param path The path to normalize
+     *
+     * @return the normalized path as {@link String}
+     */
+    private static String normalize(String path) {
+        String normalizedPath = path.replace('\\', '/');
+        while (normalizedPath.startsWith("/"))
+            normalizedPath = normalizedPath.substring(1);
+        return normalizedPath;
+    }
+
+    /**
+     * Method used to remove all the stored resources
+     */
+    @Override
+    public void close() {
+        resources.clear();
+    }
+
+    /**
+     * The {@code StoredResource} record contains a resource stored in memory
+     *
+     * @param data The content of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     */
+    private record StoredResource(byte[] data, long lastModified) {
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.TEMP_RESOURCE_SUFFIX;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The {@code LocalResourceStorage} class is the {@link ResourceStorage} which stores the resources in a folder of the
+ * local filesystem with the {@code NIO} APIs. The resources are written in temporary files then moved atomically, so a
+ * partially written resource is never visible
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourceStorage
+ *
+ * @since 1.2.0
+ */
+public class LocalResourceStorage implements ResourceStorage {
+
+    /**
+     * {@code rootFolder} the folder where the resources are stored
+     */
+    private final Path rootFolder;
+
+    /**
+     * {@code executor} the executor where the blocking operations are performed
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructor to init the storage
+     *
+     * @param rootFolder The folder where the resources are stored
+     * @param executor The executor where the blocking operations are performed
+     */
+    public LocalResourceStorage(Path rootFolder, ExecutorService executor) {
+        this.rootFolder = rootFolder.toAbsolutePath().normalize();
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> write(String path, InputStream content) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path resource = resolve(path);
+            Path tempResource = resource.resolveSibling("." + resource.getFileName() + "." + UUID.randomUUID()
+                    + TEMP_RESOURCE_SUFFIX);
+            try (InputStream inputStream = content) {
+                Files.createDirectories(resource.getParent());
+                long written = Files.copy(inputStream, tempResource);
+                try {
+                    Files.move(tempResource, resource, ATOMIC_MOVE, REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempResource, resource, REPLACE_EXISTING);
+                }
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                try {
+                    Files.deleteIfExists(tempResource);
+                } catch (IOException ignored) {
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<InputStream> read(String path, long offset, long length) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                InputStream inputStream = Files.newInputStream(resolve(path));
+                try {
+                    inputStream.skipNBytes(offset);
+                } catch (IOException e) {
+                    inputStream.close();
+                    throw e;
+                }
+                return length < 0 ? inputStream : new BoundedInputStream(inputStream, length);
+            } catch (NoSuchFileException e) {
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ResourceMetadata> stat(String path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(resolve(path), BasicFileAttributes.class);
+                if (!attributes.isRegularFile())
+                    return null;
+                return new ResourceMetadata(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(String path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.deleteIfExists(resolve(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> list(String prefix) {
+        return CompletableFuture.supplyAsync(() -> {
+            String normalizedPrefix = prefix.replace('\\', '/');
+            int folderEnd = normalizedPrefix.lastIndexOf('/');
+            Path folder = folderEnd == -1 ? rootFolder : resolve(normalizedPrefix.substring(0, folderEnd));
+            List<String> resources = new ArrayList<>();
+            if (!Files.isDirectory(folder))
+                return resources;
+            try (Stream<Path> files = Files.walk(folder)) {
+                files.filter(Files::isRegularFile)
+                        .filter(file -> {
+                            String fileName = file.getFileName().toString();
+                            return !fileName.startsWith(".") && !fileName.endsWith(TEMP_RESOURCE_SUFFIX);
+                        })
+                        .map(file -> rootFolder.relativize(file).toString().replace('\\', '/'))
+                        .filter(resource -> resource.startsWith(normalizedPrefix))
+                        .forEach(resources::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return resources;
+        }, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path getLocalPath(String path) {
+        return resolve(path);
+    }
+
+    /**
+     * Method used to resolve the file of a resource
+     *
+     * @param path The path of the resource
+     *
+     * @return the file of the resource as {@link Path}
+     *
+     * @throws IllegalArgumentException when the path is outside the {@link #rootFolder}
+     */
+    private Path resolve(String path) {
+        String relativePath = path.replace('\\', '/');
+        while (relativePath.startsWith("/"))
+            relativePath = relativePath.substring(1);
+        Path resource = rootFolder.resolve(relativePath).normalize();
+        if (!resource.startsWith(rootFolder))
+            throw new IllegalArgumentException("The path is outside the storage: " + path);
+        return resource;
+    }
+
+    /**
+     * Method used to shutdown the {@link #executor}
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
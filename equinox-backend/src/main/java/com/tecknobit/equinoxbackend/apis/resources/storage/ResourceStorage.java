@@ -0,0 +1,159 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The {@code ResourceStorage} interface is the SPI of the storages where the resources files are stored. The resources
+ * are identified by their path relative to the root of the storage, e.g. {@code profiles/3f/a2/resourceId.png}, and all
+ * the operations are asynchronous, so the storages backed by remote services do not block the request threads
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see LocalResourceStorage
+ * @see InMemoryResourceStorage
+ * @see S3ResourceStorage
+ *
+ * @since 1.2.0
+ */
+public interface ResourceStorage extends Closeable {
+
+    /**
+     * Method used to write a resource, replacing the existing one. The content is entirely consumed and closed by the
+     * storage
+     *
+     * @param path The path of the resource
+     * @param content The content of the resource
+     *
+     * @return the writing of the resource as {@link CompletableFuture}, completed with the number of bytes written
+     */
+    CompletableFuture<Long> write(String path, InputStream content);
+
+    /**
+     * Method used to write a resource from a local file, replacing the existing one
+     *
+     * @param path The path of the resource
+     * @param file The file with the content of the resource
+     *
+     * @return the writing of the resource as {@link CompletableFuture}, completed with the number of bytes written
+     */
+    default CompletableFuture<Long> write(String path, Path file) {
+        try {
+            return write(path, Files.newInputStream(file));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Method used to read a resource
+     *
+     * @param path The path of the resource
+     *
+     * @return the reading of the resource as {@link CompletableFuture}, completed with the stream of the content which
+     * must be closed by the caller, failed with {@link java.nio.file.NoSuchFileException} if the resource not exists
+     */
+    default CompletableFuture<InputStream> read(String path) {
+        return read(path, 0, -1);
+    }
+
+    /**
+     * Method used to read a range of a resource
+     *
+     * @param path The path of the resource
+     * @param offset The first byte to read
+     * @param length The number of bytes to read, {@code -1} to read until the end of the resource
+     *
+     * @return the reading of the resource as {@link CompletableFuture}, completed with the stream of the content which
+     * must be closed by the caller, failed with {@link java.nio.file.NoSuchFileException} if the resource not exists
+     */
+    CompletableFuture<InputStream> read(String path, long offset, long length);
+
+    /**
+     * Method used to get the metadata of a resource
+     *
+     * @param path The path of the resource
+     *
+     * @return the retrieving of the metadata as {@link CompletableFuture}, completed with {@code null} if the resource
+     * not exists
+     */
+    CompletableFuture<ResourceMetadata> stat(String path);
+
+    /**
+     * Method used to delete a resource
+     *
+     * @param path The path of the resource
+     *
+     * @return the deletion of the resource as {@link CompletableFuture}, completed with whether the resource has been
+     * deleted
+     */
+    CompletableFuture<Boolean> delete(String path);
+
+    /**
+     * Method used to list the resources with a prefix
+     *
+     * @param prefix The prefix of the paths of the resources to list, e.g. {@code profiles/}
+     *
+     * @return the listing of the resources as {@link CompletableFuture}, completed with the paths of the resources
+     */
+    CompletableFuture<List<String>> list(String prefix);
+
+    /**
+     * Method used to get the local file of a resource, the storages backed by the local filesystem allow the callers to
+     * use the zero-copy transfers and the local helpers such as the {@link com.tecknobit.equinoxbackend.apis.resources.ResourcesLayout}
+     *
+     * @param path The path of the resource
+     *
+     * @return the local file of the resource as {@link Path}, {@code null} if the storage is not backed by the local
+     * filesystem
+     */
+    default Path getLocalPath(String path) {
+        return null;
+    }
+
+    /**
+     * Method used to wait the completion of a storage operation, unwrapping the {@link IOException} which caused its
+     * failure
+     *
+     * @param operation The storage operation to wait
+     *
+     * @return the result of the operation
+     *
+     * @param <T> The type of the result of the operation
+     *
+     * @throws IOException when the operation failed for an I/O error
+     */
+    static <T> T await(CompletableFuture<T> operation) throws IOException {
+        try {
+            return operation.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIOException)
+                throw uncheckedIOException.getCause();
+            if (cause instanceof IOException ioException)
+                throw ioException;
+            throw e;
+        }
+    }
+
+    /**
+     * The {@code ResourceMetadata} record contains the metadata of a stored resource
+     *
+     * @param size The size in bytes of the resource
+     * @param lastModified The last modification of the resource in milliseconds
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    record ResourceMetadata(long size, long lastModified) {
+    }
+
+}
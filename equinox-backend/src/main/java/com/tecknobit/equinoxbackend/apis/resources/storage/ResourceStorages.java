@@ -0,0 +1,81 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.StorageConfig;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_PATH;
+
+/**
+ * The {@code ResourceStorages} class is useful to create the {@link ResourceStorage} specified in the
+ * {@code equinox.config} file and to share it among all the components which manage the resources
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourceStorage
+ *
+ * @since 1.2.0
+ */
+public final class ResourceStorages {
+
+    /**
+     * {@code storage} the storage of the resources of the current backend instance
+     */
+    private static ResourceStorage storage;
+
+    /**
+     * Constructor to avoid the instantiation of the class
+     */
+    private ResourceStorages() {
+    }
+
+    /**
+     * Method used to create a storage of the resources
+     *
+     * @param storageConfig The configuration of the storage
+     *
+     * @return the storage as {@link ResourceStorage}
+     */
+    public static ResourceStorage create(StorageConfig storageConfig) {
+        return switch (storageConfig.getType()) {
+            case MEMORY -> new InMemoryResourceStorage();
+            case S3 -> new S3ResourceStorage(storageConfig.getEndpoint(), storageConfig.getBucket(),
+                    storageConfig.getRegion(), storageConfig.getAccessKey(), storageConfig.getSecretKey(),
+                    createExecutor(storageConfig.getThreads()));
+            default -> new LocalResourceStorage(Path.of(RESOURCES_PATH), createExecutor(storageConfig.getThreads()));
+        };
+    }
+
+    /**
+     * Method used to create the executor where the blocking operations of a storage are performed
+     *
+     * @param threads The number of threads of the executor
+     *
+     * @return the executor as {@link ExecutorService}
+     */
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger threadsCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "equinox-storage-" + threadsCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method used to get the current {@link #storage} instance, created from the {@code equinox.config} file when
+     * requested the first time
+     *
+     * @return the current {@link #storage} instance as {@link ResourceStorage}
+     */
+    public static synchronized ResourceStorage getInstance() {
+        if (storage == null)
+            storage = create(EquinoxBackendConfiguration.getInstance().getResourcesConfig().getStorageConfig());
+        return storage;
+    }
+
+}
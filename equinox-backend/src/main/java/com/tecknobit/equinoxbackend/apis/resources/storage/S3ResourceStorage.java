@@ -0,0 +1,447 @@
+package com.tecknobit.equinoxbackend.apis.resources.storage;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+
+/**
+ * The {@code S3ResourceStorage} class is the {@link ResourceStorage} which stores the resources in a bucket of an
+ * {@code S3} compatible object store, e.g. {@code AWS S3} or a local {@code MinIO} instance used as stand-in during the
+ * tests. The requests are sent with the JDK {@link HttpClient} using the path-style addressing and signed with the
+ * {@code AWS Signature Version 4}, so no SDK is required
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see ResourceStorage
+ *
+ * @since 1.2.0
+ */
+public class S3ResourceStorage implements ResourceStorage {
+
+    /**
+     * {@code SIGNING_ALGORITHM} the algorithm used to sign the requests
+     */
+    private static final String SIGNING_ALGORITHM = "AWS4-HMAC-SHA256";
+
+    /**
+     * {@code SERVICE} the name of the service used in the signature scope
+     */
+    private static final String SERVICE = "s3";
+
+    /**
+     * {@code UNSIGNED_PAYLOAD} the payload hash used for the requests whose body is not signed
+     */
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    /**
+     * {@code AMZ_DATE_FORMATTER} the formatter of the timestamp of the requests
+     */
+    private static final DateTimeFormatter AMZ_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    /**
+     * {@code endpoint} the endpoint of the object store
+     */
+    private final URI endpoint;
+
+    /**
+     * {@code bucket} the bucket where the resources are stored
+     */
+    private final String bucket;
+
+    /**
+     * {@code region} the region of the object store
+     */
+    private final String region;
+
+    /**
+     * {@code accessKey} the access key used to authenticate the requests
+     */
+    private final String accessKey;
+
+    /**
+     * {@code secretKey} the secret key used to sign the requests
+     */
+    private final String secretKey;
+
+    /**
+     * {@code executor} the executor where the blocking operations are performed
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code httpClient} the client used to send the requests
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Constructor to init the storage
+     *
+     * @param endpoint The endpoint of the object store, e.g. {@code http://localhost:9000}
+     * @param bucket The bucket where the resources are stored
+     * @param region The region of the object store
+     * @param accessKey The access key used to authenticate the requests
+     * @param secretKey The secret key used to sign the requests
+     * @param executor The executor where the blocking operations are performed
+     */
+    public S3ResourceStorage(String endpoint, String bucket, String region, String accessKey, String secretKey,
+                             ExecutorService executor) {
+        String normalizedEndpoint = Objects.requireNonNull(endpoint, "The endpoint of the object store is required");
+        while (normalizedEndpoint.endsWith("/"))
+            normalizedEndpoint = normalizedEndpoint.substring(0, normalizedEndpoint.length() - 1);
+        this.endpoint = URI.create(normalizedEndpoint);
+        this.bucket = Objects.requireNonNull(bucket, "The bucket of the object store is required");
+        this.region = region;
+        this.accessKey = Objects.requireNonNull(accessKey, "The access key of the object store is required");
+        this.secretKey = Objects.requireNonNull(secretKey, "The secret key of the object store is required");
+        this.executor = executor;
+        httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The object store requires the length of the content, so the content is spooled in a temporary file before being
+     * uploaded
+     */
+    @Override
+    public CompletableFuture<Long> write(String path, InputStream content) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream inputStream = content) {
+                Path spool = Files.createTempFile("equinox-s3-", ".part");
+                Files.copy(inputStream, spool, REPLACE_EXISTING);
+                return spool;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).thenCompose(spool -> write(path, spool).whenComplete((written, throwable) -> {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ignored) {
+            }
+        }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> write(String path, Path file) {
+        try {
+            long size = Files.size(file);
+            HttpRequest request = signedRequest("PUT", path, Map.of(), Map.of())
+                    .PUT(HttpRequest.BodyPublishers.ofFile(file))
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        checkResponse(response.statusCode(), path, response.body());
+                        return size;
+                    });
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<InputStream> read(String path, long offset, long length) {
+        HttpRequest.Builder builder = signedRequest("GET", path, Map.of(), Map.of());
+        if (offset > 0 || length >= 0)
+            builder.header("Range", "bytes=" + offset + "-" + (length >= 0 ? String.valueOf(offset + length - 1) : ""));
+        return httpClient.sendAsync(builder.GET().build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        String body = readQuietly(response.body());
+                        if (response.statusCode() == 404)
+                            throw new CompletionException(new NoSuchFileException(path));
+                        checkResponse(response.statusCode(), path, body);
+                    }
+                    return response.body();
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ResourceMetadata> stat(String path) {
+        HttpRequest request = signedRequest("HEAD", path, Map.of(), Map.of())
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    if (response.statusCode() == 404)
+                        return null;
+                    checkResponse(response.statusCode(), path, null);
+                    long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+                    long lastModified = response.headers().firstValue("Last-Modified")
+                            .map(value -> ZonedDateTime.parse(value, RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                            .orElse(0L);
+                    return new ResourceMetadata(size, lastModified);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The object store does not report whether the resource existed, so the deletion is always completed with
+     * {@code true} when the request succeeds
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(String path) {
+        HttpRequest request = signedRequest("DELETE", path, Map.of(), Map.of())
+                .DELETE()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() == 404)
+                        return false;
+                    checkResponse(response.statusCode(), path, response.body());
+                    return true;
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> list(String prefix) {
+        return listPage(prefix, null, new ArrayList<>());
+    }
+
+    /**
+     * Method used to list a page of the resources with a prefix, the next pages are requested until the listing is
+     * complete
+     *
+     * @param prefix The prefix of the paths of the resources to list
+     * @param continuationToken The token of the page to request, {@code null} for the first page
+     * @param resources The paths of the resources listed so far
+     *
+     * @return the listing of the resources as {@link CompletableFuture}
+     */
+    private CompletableFuture<List<String>> listPage(String prefix, String continuationToken,
+                                                     List<String> resources) {
+        Map<String, String> query = new TreeMap<>();
+        query.put("list-type", "2");
+        query.put("prefix", normalize(prefix));
+        if (continuationToken != null)
+            query.put("continuation-token", continuationToken);
+        HttpRequest request = signedRequest("GET", "", query, Map.of())
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenCompose(response -> {
+                    Document document;
+                    try (InputStream body = response.body()) {
+                        if (response.statusCode() / 100 != 2)
+                            checkResponse(response.statusCode(), prefix, new String(body.readAllBytes(), UTF_8));
+                        document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                    NodeList keys = document.getElementsByTagName("Key");
+                    for (int j = 0; j < keys.getLength(); j++)
+                        resources.add(keys.item(j).getTextContent());
+                    NodeList truncated = document.getElementsByTagName("IsTruncated");
+                    NodeList nextToken = document.getElementsByTagName("NextContinuationToken");
+                    if (truncated.getLength() > 0 && Boolean.parseBoolean(truncated.item(0).getTextContent())
+                            && nextToken.getLength() > 0)
+                        return listPage(prefix, nextToken.item(0).getTextContent(), resources);
+                    return CompletableFuture.completedFuture(resources);
+                });
+    }
+
+    /**
+     * Method used to create a request signed with the {@code AWS Signature Version 4}
+     *
+     * @param method The method of the request
+     * @param path The path of the resource, empty to address the bucket
+     * @param query The query parameters of the request
+     * @param headers The additional headers to sign
+     *
+     * @return the builder of the request as {@link HttpRequest.Builder}
+     */
+    private HttpRequest.Builder signedRequest(String method, String path, Map<String, String> query,
+                                              Map<String, String> headers) {
+        String canonicalUri = endpoint.getRawPath() + "/" + encode(bucket, false);
+        String normalizedPath = normalize(path);
+        if (!normalizedPath.isEmpty())
+            canonicalUri += "/" + encode(normalizedPath, true);
+        StringJoiner canonicalQuery = new StringJoiner("&");
+        new TreeMap<>(query).forEach((key, value) -> canonicalQuery.add(encode(key, false) + "=" + encode(value, false)));
+        String amzDate = ZonedDateTime.now(ZoneOffset.UTC).format(AMZ_DATE_FORMATTER);
+        String date = amzDate.substring(0, 8);
+        TreeMap<String, String> signedHeaders = new TreeMap<>();
+        headers.forEach((key, value) -> signedHeaders.put(key.toLowerCase(Locale.ROOT), value.trim()));
+        signedHeaders.put("host", getHost());
+        signedHeaders.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        signedHeaders.put("x-amz-date", amzDate);
+        StringBuilder canonicalHeaders = new StringBuilder();
+        signedHeaders.forEach((key, value) -> canonicalHeaders.append(key).append(':').append(value).append('\n'));
+        String signedHeadersList = String.join(";", signedHeaders.keySet());
+        String canonicalRequest = method + "\n" + canonicalUri + "\n" + canonicalQuery + "\n" + canonicalHeaders
+                + "\n" + signedHeadersList + "\n" + UNSIGNED_PAYLOAD;
+        String scope = date + "/" + region + "/" + SERVICE + "/aws4_request";
+        String stringToSign = SIGNING_ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+        byte[] signingKey = hmac(hmac(hmac(hmac(("AWS4" + secretKey).getBytes(UTF_8), date), region), SERVICE),
+                "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+        String uri = endpoint.getScheme() + "://" + getHost() + canonicalUri;
+        if (canonicalQuery.length() > 0)
+            uri += "?" + canonicalQuery;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri));
+        signedHeaders.forEach((key, value) -> {
+            if (!key.equals("host"))
+                builder.header(key, value);
+        });
+        return builder.header("Authorization", SIGNING_ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeadersList + ", Signature=" + signature);
+    }
+
+    /**
+     * Method used to get the host of the {@link #endpoint} with the port if not the default one
+     *
+     * @return the host as {@link String}
+     */
+    private String getHost() {
+        int port = endpoint.getPort();
+        if (port == -1 || (port == 80 && "http".equals(endpoint.getScheme()))
+                || (port == 443 && "https".equals(endpoint.getScheme())))
+            return endpoint.getHost();
+        return endpoint.getHost() + ":" + port;
+    }
+
+    /**
+     * Method used to check the status code of a response
+     *
+     * @param statusCode The status code of the response
+     * @param path The path of the resource requested
+     * @param body The body of the response, if available
+     *
+     * @throws UncheckedIOException when the request failed
+     */
+    private void checkResponse(int statusCode, String path, String body) {
+        if (statusCode / 100 != 2)
+            throw new UncheckedIOException(new IOException("Object store request for \"" + path + "\" failed with status "
+                    + statusCode + (body == null || body.isEmpty() ? "" : ": " + body)));
+    }
+
+    /**
+     * Method used to read the remaining content of a stream ignoring the errors
+     *
+     * @param inputStream The stream to read
+     *
+     * @return the content as {@link String}
+     */
+    private static String readQuietly(InputStream inputStream) {
+        try (InputStream stream = inputStream) {
+            return new String(stream.readAllBytes(), UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Method used to encode a value as required by the {@code AWS Signature Version 4}
+     *
+     * @param value The value to encode
+     * @param keepSlashes Whether the {@code /} must not be encoded
+     *
+     * @return the encoded value as {@link String}
+     */
+    private static String encode(String value, boolean keepSlashes) {
+        String encoded = URLEncoder.encode(value, UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+        return keepSlashes ? encoded.replace("%2F", "/") : encoded;
+    }
+
+    /**
+     * Method used to normalize a path using the {@code /} separator and removing the leading ones
+     *
+     * @param path The path to normalize
+     *
+     * @return the normalized path as {@link String}
+     */
+    private static String normalize(String path) {
+        String normalizedPath = path.replace('\\', '/');
+        while (normalizedPath.startsWith("/"))
+            normalizedPath = normalizedPath.substring(1);
+        return normalizedPath;
+    }
+
+    /**
+     * Method used to compute the hexadecimal {@code SHA-256} of a value
+     *
+     * @param value The value to hash
+     *
+     * @return the hash as {@link String}
+     */
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to compute the {@code HMAC-SHA256} of a value
+     *
+     * @param key The key of the {@code HMAC}
+     * @param value The value to authenticate
+     *
+     * @return the {@code HMAC} as {@code byte} array
+     */
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method used to shutdown the {@link #executor}
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
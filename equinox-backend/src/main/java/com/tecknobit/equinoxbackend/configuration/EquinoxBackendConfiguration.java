@@ -4,11 +4,10 @@ import com.tecknobit.apimanager.apis.ResourcesUtils;
 import com.tecknobit.apimanager.formatters.JsonHelper;
 import com.tecknobit.equinoxbackend.apis.resources.ResourcesManager;
 import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxController;
+import org.json.JSONObject;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_KEY;
 
@@ -41,6 +40,26 @@ public class EquinoxBackendConfiguration {
      */
     private ServerProtectorConfig serverProtectorConfig;
 
+    /**
+     * {@code authCacheConfig} the configuration of the cache of the authenticated users
+     */
+    private AuthCacheConfig authCacheConfig;
+
+    /**
+     * {@code rateLimitsConfig} the configuration of the rate limits of the endpoints
+     */
+    private RateLimitsConfig rateLimitsConfig;
+
+    /**
+     * {@code passwordHashingConfig} the configuration of the hashing of the passwords
+     */
+    private PasswordHashingConfig passwordHashingConfig;
+
+    /**
+     * {@code usersImportConfig} the configuration of the bulk imports of the users
+     */
+    private UsersImportConfig usersImportConfig;
+
     /**
      * Private constructor to instantiate the configuration instance
      */
@@ -50,8 +69,18 @@ public class EquinoxBackendConfiguration {
             JsonHelper hConfig = new JsonHelper(rawConfiguration);
             loadResourcesConfig(hConfig);
             loadServerProtectorConfig(hConfig);
-        } else
+            authCacheConfig = new AuthCacheConfig(hConfig.getJsonHelper(AuthCacheConfig.AUTH_CACHE_KEY));
+            rateLimitsConfig = new RateLimitsConfig(hConfig.getJsonHelper(RateLimitsConfig.RATE_LIMITS_KEY));
+            passwordHashingConfig = new PasswordHashingConfig(hConfig.getJsonHelper(
+                    PasswordHashingConfig.PASSWORD_HASHING_KEY));
+            usersImportConfig = new UsersImportConfig(hConfig.getJsonHelper(UsersImportConfig.USERS_IMPORT_KEY));
+        } else {
             resourcesConfig = new ResourcesConfig();
+            authCacheConfig = new AuthCacheConfig(null);
+            rateLimitsConfig = new RateLimitsConfig(null);
+            passwordHashingConfig = new PasswordHashingConfig(null);
+            usersImportConfig = new UsersImportConfig(null);
+        }
     }
 
     /**
@@ -108,6 +137,42 @@ public class EquinoxBackendConfiguration {
         return serverProtectorConfig;
     }
 
+    /**
+     * Method used to get the {@link #authCacheConfig} instance
+     *
+     * @return the {@link #authCacheConfig} instance as {@link AuthCacheConfig}
+     */
+    public AuthCacheConfig getAuthCacheConfig() {
+        return authCacheConfig;
+    }
+
+    /**
+     * Method used to get the {@link #rateLimitsConfig} instance
+     *
+     * @return the {@link #rateLimitsConfig} instance as {@link RateLimitsConfig}
+     */
+    public RateLimitsConfig getRateLimitsConfig() {
+        return rateLimitsConfig;
+    }
+
+    /**
+     * Method used to get the {@link #passwordHashingConfig} instance
+     *
+     * @return the {@link #passwordHashingConfig} instance as {@link PasswordHashingConfig}
+     */
+    public PasswordHashingConfig getPasswordHashingConfig() {
+        return passwordHashingConfig;
+    }
+
+    /**
+     * Method used to get the {@link #usersImportConfig} instance
+     *
+     * @return the {@link #usersImportConfig} instance as {@link UsersImportConfig}
+     */
+    public UsersImportConfig getUsersImportConfig() {
+        return usersImportConfig;
+    }
+
     /**
      * Method used to check whether the protection by the {@link com.tecknobit.apimanager.apis.ServerProtector} is
      * currently enabled
@@ -120,75 +185,1724 @@ public class EquinoxBackendConfiguration {
     }
 
     /**
-     * The {@code ResourcesConfig} represents the configuration used for the static folders of the resources provided by
-     * the server
+     * The {@code AuthCacheConfig} represents the configuration of the cache of the authenticated users, used to
+     * authorize the requests without querying the database. The cache is disabled by default because, with more nodes,
+     * an invalidation performed on a node reaches the others only through an
+     * {@link com.tecknobit.equinoxbackend.apis.events.bridge.EquinoxEventsBridge}
      *
      * @author N7ghtm4r3 - Tecknobit
-     * @since 1.1.0
+     * @since 1.2.0
      */
-    public static final class ResourcesConfig {
+    public static final class AuthCacheConfig {
 
         /**
-         * {@code RESOURCES_FOLDER_KEY} the constant value for the {@code resources_folder} property
+         * {@code AUTH_CACHE_KEY} the constant value for the {@code auth_cache} property
          */
-        public static final String RESOURCES_FOLDER_KEY = "resources_folder";
+        public static final String AUTH_CACHE_KEY = "auth_cache";
 
         /**
-         * {@code SUBDIRECTORIES_KEY} the constant value for the {@code subdirectories} property
+         * {@code ENABLED_KEY} the constant value for the {@code enabled} property
          */
-        public static final String SUBDIRECTORIES_KEY = "subdirectories";
+        public static final String ENABLED_KEY = "enabled";
 
         /**
-         * {@code createResourcesFolder} whether the {@link ResourcesManager#RESOURCES_KEY} must be created,
-         * if not specified will be created as default
+         * {@code TTL_KEY} the constant value for the {@code ttl} property
          */
-        private final boolean createResourcesFolder;
+        public static final String TTL_KEY = "ttl";
 
         /**
-         * {@code subdirectories} the subdirectories to create and place under the {@link ResourcesManager#RESOURCES_KEY}
-         * folder
+         * {@code MAX_USERS_KEY} the constant value for the {@code max_users} property
          */
-        private final List<String> subdirectories;
+        public static final String MAX_USERS_KEY = "max_users";
 
         /**
-         * Default constructor used to instantiate the configuration
+         * {@code DEFAULT_TTL} the default time in seconds an authenticated user is kept in the cache
          */
-        public ResourcesConfig() {
-            createResourcesFolder = true;
-            subdirectories = Collections.EMPTY_LIST;
+        public static final long DEFAULT_TTL = 5 * 60;
+
+        /**
+         * {@code DEFAULT_MAX_USERS} the default max number of authenticated users kept in the cache
+         */
+        public static final int DEFAULT_MAX_USERS = 10_000;
+
+        /**
+         * {@code enabled} whether the authenticated users are cached, disabled by default
+         */
+        private final boolean enabled;
+
+        /**
+         * {@code ttl} the time in seconds an authenticated user is kept in the cache
+         */
+        private final long ttl;
+
+        /**
+         * {@code maxUsers} the max number of authenticated users kept in the cache
+         */
+        private final int maxUsers;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public AuthCacheConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                enabled = false;
+                ttl = DEFAULT_TTL;
+                maxUsers = DEFAULT_MAX_USERS;
+            } else {
+                enabled = hConfig.getBoolean(ENABLED_KEY, false);
+                ttl = hConfig.getLong(TTL_KEY, DEFAULT_TTL);
+                maxUsers = hConfig.getInt(MAX_USERS_KEY, DEFAULT_MAX_USERS);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #enabled} instance
+         *
+         * @return the {@link #enabled} instance as {@code boolean}
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Method used to get the {@link #ttl} instance
+         *
+         * @return the {@link #ttl} instance as {@code long}
+         */
+        public long getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Method used to get the {@link #maxUsers} instance
+         *
+         * @return the {@link #maxUsers} instance as {@code int}
+         */
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+    }
+
+    /**
+     * The {@code RateLimitsConfig} represents the configuration of the rate limits of the endpoints, each limit is a
+     * bucket of requests refilled over time and kept for each client, e.g. for each address or for each user
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class RateLimitsConfig {
+
+        /**
+         * {@code RATE_LIMITS_KEY} the constant value for the {@code rate_limits} property
+         */
+        public static final String RATE_LIMITS_KEY = "rate_limits";
+
+        /**
+         * {@code ENABLED_KEY} the constant value for the {@code enabled} property
+         */
+        public static final String ENABLED_KEY = "enabled";
+
+        /**
+         * {@code MAX_KEYS_KEY} the constant value for the {@code max_keys} property
+         */
+        public static final String MAX_KEYS_KEY = "max_keys";
+
+        /**
+         * {@code CLIENT_HEADER_KEY} the constant value for the {@code client_header} property
+         */
+        public static final String CLIENT_HEADER_KEY = "client_header";
+
+        /**
+         * {@code LIMITS_KEY} the constant value for the {@code limits} property
+         */
+        public static final String LIMITS_KEY = "limits";
+
+        /**
+         * {@code CAPACITY_KEY} the constant value for the {@code capacity} property
+         */
+        public static final String CAPACITY_KEY = "capacity";
+
+        /**
+         * {@code REFILL_PERIOD_KEY} the constant value for the {@code refill_period} property
+         */
+        public static final String REFILL_PERIOD_KEY = "refill_period";
+
+        /**
+         * {@code SIGN_UP_LIMIT} the name of the limit of the sign up requests, applied to each client address
+         */
+        public static final String SIGN_UP_LIMIT = "signUp";
+
+        /**
+         * {@code SIGN_IN_LIMIT} the name of the limit of the sign in requests, applied to each client address
+         */
+        public static final String SIGN_IN_LIMIT = "signIn";
+
+        /**
+         * {@code CHANGE_ACCOUNT_LIMIT} the name of the limit of the requests which change the account, applied to each
+         * user
+         */
+        public static final String CHANGE_ACCOUNT_LIMIT = "changeAccount";
+
+        /**
+         * {@code DEFAULT_MAX_KEYS} the default max number of clients tracked by the rate limits
+         */
+        public static final int DEFAULT_MAX_KEYS = 100_000;
+
+        /**
+         * {@code DEFAULT_LIMITS} the default rate limits
+         */
+        public static final Map<String, RateLimitConfig> DEFAULT_LIMITS = Map.of(
+                SIGN_UP_LIMIT, new RateLimitConfig(5, 60),
+                SIGN_IN_LIMIT, new RateLimitConfig(10, 60),
+                CHANGE_ACCOUNT_LIMIT, new RateLimitConfig(10, 60)
+        );
+
+        /**
+         * {@code enabled} whether the rate limits are applied
+         */
+        private final boolean enabled;
+
+        /**
+         * {@code maxKeys} the max number of clients tracked by the rate limits
+         */
+        private final int maxKeys;
+
+        /**
+         * {@code clientHeader} the header which carries the address of the client set by a trusted proxy, {@code null}
+         * to use the address of the connection
+         */
+        private final String clientHeader;
+
+        /**
+         * {@code limits} the rate limits by their name
+         */
+        private final Map<String, RateLimitConfig> limits;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public RateLimitsConfig(JsonHelper hConfig) {
+            limits = new HashMap<>(DEFAULT_LIMITS);
+            if (hConfig == null) {
+                enabled = false;
+                maxKeys = DEFAULT_MAX_KEYS;
+                clientHeader = null;
+            } else {
+                enabled = hConfig.getBoolean(ENABLED_KEY, false);
+                maxKeys = hConfig.getInt(MAX_KEYS_KEY, DEFAULT_MAX_KEYS);
+                String header = hConfig.getString(CLIENT_HEADER_KEY, null);
+                clientHeader = header == null || header.isBlank() ? null : header.trim();
+                JSONObject jLimits = hConfig.getJSONObject(LIMITS_KEY, new JSONObject());
+                for (String limit : jLimits.keySet()) {
+                    JSONObject jLimit = jLimits.getJSONObject(limit);
+                    limits.put(limit, new RateLimitConfig(jLimit.optInt(CAPACITY_KEY),
+                            jLimit.optLong(REFILL_PERIOD_KEY)));
+                }
+            }
+        }
+
+        /**
+         * Method used to get the {@link #enabled} instance
+         *
+         * @return the {@link #enabled} instance as {@code boolean}
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Method used to get the {@link #maxKeys} instance
+         *
+         * @return the {@link #maxKeys} instance as {@code int}
+         */
+        public int getMaxKeys() {
+            return maxKeys;
         }
 
+        /**
+         * Method used to get the {@link #clientHeader} instance
+         *
+         * @return the {@link #clientHeader} instance as {@link String}
+         */
+        public String getClientHeader() {
+            return clientHeader;
+        }
+
+        /**
+         * Method used to get a rate limit
+         *
+         * @param limit The name of the limit
+         *
+         * @return the rate limit as {@link RateLimitConfig}, {@code null} if not specified
+         */
+        public RateLimitConfig getLimit(String limit) {
+            return limits.get(limit);
+        }
+
+        /**
+         * The {@code RateLimitConfig} represents a rate limit: a client can send at most {@code capacity} requests in
+         * a burst, then the requests are admitted again as the bucket is refilled over the {@code refillPeriod}
+         *
+         * @param capacity The max number of requests admitted in a burst, a non-positive value disables the limit
+         * @param refillPeriod The time in seconds to completely refill the bucket, a non-positive value disables the
+         *                     limit
+         *
+         * @author N7ghtm4r3 - Tecknobit
+         * @since 1.2.0
+         */
+        public record RateLimitConfig(int capacity, long refillPeriod) {
+
+            /**
+             * Method used to check whether the limit is applied
+             *
+             * @return whether the limit is applied as {@code boolean}
+             */
+            public boolean isApplied() {
+                return capacity > 0 && refillPeriod > 0;
+            }
+
+        }
+
+    }
+
+    /**
+     * The {@code PasswordHashingConfig} represents the configuration of the hashing of the passwords, executed by a
+     * dedicated and bounded pool of threads so the costly hashes do not starve the other endpoints
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class PasswordHashingConfig {
+
+        /**
+         * {@code PASSWORD_HASHING_KEY} the constant value for the {@code password_hashing} property
+         */
+        public static final String PASSWORD_HASHING_KEY = "password_hashing";
+
+        /**
+         * {@code ALGORITHM_KEY} the constant value for the {@code algorithm} property
+         */
+        public static final String ALGORITHM_KEY = "algorithm";
+
+        /**
+         * {@code COST_KEY} the constant value for the {@code cost} property
+         */
+        public static final String COST_KEY = "cost";
+
+        /**
+         * {@code TARGET_LATENCY_KEY} the constant value for the {@code target_latency} property
+         */
+        public static final String TARGET_LATENCY_KEY = "target_latency";
+
+        /**
+         * {@code THREADS_KEY} the constant value for the {@code threads} property
+         */
+        public static final String THREADS_KEY = "threads";
+
+        /**
+         * {@code QUEUE_CAPACITY_KEY} the constant value for the {@code queue_capacity} property
+         */
+        public static final String QUEUE_CAPACITY_KEY = "queue_capacity";
+
+        /**
+         * {@code MAX_QUEUE_WAIT_KEY} the constant value for the {@code max_queue_wait} property
+         */
+        public static final String MAX_QUEUE_WAIT_KEY = "max_queue_wait";
+
+        /**
+         * {@code DEFAULT_ALGORITHM} the default algorithm used to hash the passwords
+         */
+        public static final String DEFAULT_ALGORITHM = "pbkdf2-sha256";
+
+        /**
+         * {@code DEFAULT_TARGET_LATENCY} the default time in milliseconds a hash should take, used to calibrate the cost
+         * when no cost is configured
+         */
+        public static final long DEFAULT_TARGET_LATENCY = 100;
+
+        /**
+         * {@code DEFAULT_QUEUE_CAPACITY} the default max number of hashes waiting for a thread of the pool
+         */
+        public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+        /**
+         * {@code DEFAULT_MAX_QUEUE_WAIT} the default max time in milliseconds a hash is expected to wait in the queue
+         * before being rejected, enough to hold a burst of about a hundred sign-ins for each thread of the pool at the
+         * default target latency
+         */
+        public static final long DEFAULT_MAX_QUEUE_WAIT = 10_000;
+
+        /**
+         * {@code algorithm} the identifier of the algorithm used to hash the passwords
+         */
+        private final String algorithm;
+
+        /**
+         * {@code cost} the cost of the algorithm, {@code 0} to calibrate it on the {@link #targetLatency}
+         */
+        private final int cost;
+
+        /**
+         * {@code targetLatency} the time in milliseconds a hash should take on the current hardware, when greater than
+         * {@code 0} the cost is calibrated at startup and the {@link #cost} is ignored. It is the
+         * {@link #DEFAULT_TARGET_LATENCY} when no cost is configured
+         */
+        private final long targetLatency;
+
+        /**
+         * {@code threads} the number of threads of the pool
+         */
+        private final int threads;
+
+        /**
+         * {@code queueCapacity} the max number of hashes waiting for a thread of the pool
+         */
+        private final int queueCapacity;
+
+        /**
+         * {@code maxQueueWait} the max time in milliseconds a hash is expected to wait in the queue before being
+         * rejected
+         */
+        private final long maxQueueWait;
+
         /**
          * Constructor used to instantiate the configuration
          *
-         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
          */
-        public ResourcesConfig(JsonHelper hConfig) {
+        public PasswordHashingConfig(JsonHelper hConfig) {
+            int defaultThreads = Runtime.getRuntime().availableProcessors();
             if (hConfig == null) {
-                createResourcesFolder = true;
-                subdirectories = Collections.EMPTY_LIST;
+                algorithm = DEFAULT_ALGORITHM;
+                cost = 0;
+                targetLatency = DEFAULT_TARGET_LATENCY;
+                threads = defaultThreads;
+                queueCapacity = DEFAULT_QUEUE_CAPACITY;
+                maxQueueWait = DEFAULT_MAX_QUEUE_WAIT;
             } else {
-                createResourcesFolder = hConfig.getBoolean(RESOURCES_FOLDER_KEY, true);
-                subdirectories = hConfig.fetchList(SUBDIRECTORIES_KEY, new ArrayList<>());
+                algorithm = hConfig.getString(ALGORITHM_KEY, DEFAULT_ALGORITHM);
+                cost = Math.max(0, hConfig.getInt(COST_KEY, 0));
+                targetLatency = Math.max(0, hConfig.getLong(TARGET_LATENCY_KEY, cost > 0 ? 0 :
+                        DEFAULT_TARGET_LATENCY));
+                threads = Math.max(1, hConfig.getInt(THREADS_KEY, defaultThreads));
+                queueCapacity = Math.max(1, hConfig.getInt(QUEUE_CAPACITY_KEY, DEFAULT_QUEUE_CAPACITY));
+                maxQueueWait = Math.max(0, hConfig.getLong(MAX_QUEUE_WAIT_KEY, DEFAULT_MAX_QUEUE_WAIT));
             }
         }
 
         /**
-         * Method used to get the {@link #createResourcesFolder} instance
+         * Method used to get the {@link #algorithm} instance
          *
-         * @return the {@link #createResourcesFolder} instance as {@code boolean}
+         * @return the {@link #algorithm} instance as {@link String}
          */
-        public boolean createResourcesFolder() {
-            return createResourcesFolder;
+        public String getAlgorithm() {
+            return algorithm;
         }
 
         /**
-         * Method used to get the {@link #subdirectories} instance
+         * Method used to get the {@link #cost} instance
          *
-         * @return the {@link #subdirectories} instance as {@link List} of {@link String}
+         * @return the {@link #cost} instance as {@code int}
          */
-        public List<String> getSubdirectories() {
-            return subdirectories;
+        public int getCost() {
+            return cost;
+        }
+
+        /**
+         * Method used to get the {@link #targetLatency} instance
+         *
+         * @return the {@link #targetLatency} instance as {@code long}
+         */
+        public long getTargetLatency() {
+            return targetLatency;
+        }
+
+        /**
+         * Method used to get the {@link #threads} instance
+         *
+         * @return the {@link #threads} instance as {@code int}
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Method used to get the {@link #queueCapacity} instance
+         *
+         * @return the {@link #queueCapacity} instance as {@code int}
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Method used to get the {@link #maxQueueWait} instance
+         *
+         * @return the {@link #maxQueueWait} instance as {@code long}
+         */
+        public long getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+    }
+
+    /**
+     * The {@code UsersImportConfig} represents the configuration of the bulk imports of the users, whose passwords are
+     * hashed by a pool dedicated to each import and whose rows are written in batches
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class UsersImportConfig {
+
+        /**
+         * {@code USERS_IMPORT_KEY} the constant value for the {@code users_import} property
+         */
+        public static final String USERS_IMPORT_KEY = "users_import";
+
+        /**
+         * {@code CHUNK_SIZE_KEY} the constant value for the {@code chunk_size} property
+         */
+        public static final String CHUNK_SIZE_KEY = "chunk_size";
+
+        /**
+         * {@code THREADS_KEY} the constant value for the {@code threads} property
+         */
+        public static final String THREADS_KEY = "threads";
+
+        /**
+         * {@code MAX_REPORTED_ERRORS_KEY} the constant value for the {@code max_reported_errors} property
+         */
+        public static final String MAX_REPORTED_ERRORS_KEY = "max_reported_errors";
+
+        /**
+         * {@code DEFAULT_CHUNK_SIZE} the default number of rows written and committed together
+         */
+        public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+        /**
+         * {@code DEFAULT_MAX_REPORTED_ERRORS} the default max number of failed rows detailed in the report of an import
+         */
+        public static final int DEFAULT_MAX_REPORTED_ERRORS = 10000;
+
+        /**
+         * {@code chunkSize} the number of rows written and committed together
+         */
+        private final int chunkSize;
+
+        /**
+         * {@code threads} the number of threads which hash the passwords during an import
+         */
+        private final int threads;
+
+        /**
+         * {@code maxReportedErrors} the max number of failed rows detailed in the report of an import, the failed rows
+         * beyond it are only counted
+         */
+        private final int maxReportedErrors;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public UsersImportConfig(JsonHelper hConfig) {
+            int defaultThreads = Runtime.getRuntime().availableProcessors();
+            if (hConfig == null) {
+                chunkSize = DEFAULT_CHUNK_SIZE;
+                threads = defaultThreads;
+                maxReportedErrors = DEFAULT_MAX_REPORTED_ERRORS;
+            } else {
+                chunkSize = Math.max(1, hConfig.getInt(CHUNK_SIZE_KEY, DEFAULT_CHUNK_SIZE));
+                threads = Math.max(1, hConfig.getInt(THREADS_KEY, defaultThreads));
+                maxReportedErrors = Math.max(0, hConfig.getInt(MAX_REPORTED_ERRORS_KEY, DEFAULT_MAX_REPORTED_ERRORS));
+            }
+        }
+
+        /**
+         * Method used to get the {@link #chunkSize} instance
+         *
+         * @return the {@link #chunkSize} instance as {@code int}
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * Method used to get the {@link #threads} instance
+         *
+         * @return the {@link #threads} instance as {@code int}
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Method used to get the {@link #maxReportedErrors} instance
+         *
+         * @return the {@link #maxReportedErrors} instance as {@code int}
+         */
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+    }
+
+    /**
+     * The {@code ResourcesConfig} represents the configuration used for the static folders of the resources provided by
+     * the server
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.1.0
+     */
+    public static final class ResourcesConfig {
+
+        /**
+         * {@code RESOURCES_FOLDER_KEY} the constant value for the {@code resources_folder} property
+         */
+        public static final String RESOURCES_FOLDER_KEY = "resources_folder";
+
+        /**
+         * {@code SUBDIRECTORIES_KEY} the constant value for the {@code subdirectories} property
+         */
+        public static final String SUBDIRECTORIES_KEY = "subdirectories";
+
+        /**
+         * {@code MAX_RESOURCE_SIZE_KEY} the constant value for the {@code max_resource_size} property
+         */
+        public static final String MAX_RESOURCE_SIZE_KEY = "max_resource_size";
+
+        /**
+         * {@code UNLIMITED_RESOURCE_SIZE} the constant value to use to not limit the size of the resources
+         */
+        public static final long UNLIMITED_RESOURCE_SIZE = -1;
+
+        /**
+         * {@code CACHE_CONTROL_KEY} the constant value for the {@code cache_control} property
+         */
+        public static final String CACHE_CONTROL_KEY = "cache_control";
+
+        /**
+         * {@code DEFAULT_CACHE_CONTROL} the {@code Cache-Control} used for the subdirectories without a specific value,
+         * the clients must revalidate the resources with the {@code ETag} before reusing them
+         */
+        public static final String DEFAULT_CACHE_CONTROL = "no-cache";
+
+        /**
+         * {@code SHARD_DEPTH_KEY} the constant value for the {@code shard_depth} property
+         */
+        public static final String SHARD_DEPTH_KEY = "shard_depth";
+
+        /**
+         * {@code DEFAULT_SHARD_DEPTH} the default number of nested shard subdirectories where the resources are placed
+         */
+        public static final int DEFAULT_SHARD_DEPTH = 2;
+
+        /**
+         * {@code IMAGE_VARIANTS_KEY} the constant value for the {@code image_variants} property
+         */
+        public static final String IMAGE_VARIANTS_KEY = "image_variants";
+
+        /**
+         * {@code SIZES_KEY} the constant value for the {@code sizes} property
+         */
+        public static final String SIZES_KEY = "sizes";
+
+        /**
+         * {@code FORMAT_KEY} the constant value for the {@code format} property
+         */
+        public static final String FORMAT_KEY = "format";
+
+        /**
+         * {@code DEFAULT_IMAGE_VARIANTS_SIZES} the default sizes in pixels of the variants generated for the images
+         */
+        public static final List<Integer> DEFAULT_IMAGE_VARIANTS_SIZES = List.of(64, 128, 512);
+
+        /**
+         * {@code DEFAULT_IMAGE_VARIANTS_FORMAT} the default format of the variants generated for the images
+         */
+        public static final String DEFAULT_IMAGE_VARIANTS_FORMAT = "jpg";
+
+        /**
+         * {@code MAX_PIXELS_KEY} the constant value for the {@code max_pixels} property
+         */
+        public static final String MAX_PIXELS_KEY = "max_pixels";
+
+        /**
+         * {@code GENERATION_TIMEOUT_KEY} the constant value for the {@code generation_timeout} property
+         */
+        public static final String GENERATION_TIMEOUT_KEY = "generation_timeout";
+
+        /**
+         * {@code DEFAULT_IMAGE_VARIANTS_MAX_PIXELS} the default max number of pixels of the images whose variants are
+         * generated
+         */
+        public static final long DEFAULT_IMAGE_VARIANTS_MAX_PIXELS = 40_000_000L;
+
+        /**
+         * {@code DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT} the default time in milliseconds a request waits for the
+         * generation of a missing variant
+         */
+        public static final long DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT = 5000L;
+
+        /**
+         * {@code CONTENT_ADDRESSED_KEY} the constant value for the {@code content_addressed} property
+         */
+        public static final String CONTENT_ADDRESSED_KEY = "content_addressed";
+
+        /**
+         * {@code STORAGE_KEY} the constant value for the {@code storage} property
+         */
+        public static final String STORAGE_KEY = "storage";
+
+        /**
+         * {@code READ_CACHE_KEY} the constant value for the {@code read_cache} property
+         */
+        public static final String READ_CACHE_KEY = "read_cache";
+
+        /**
+         * {@code ORPHANS_COLLECTOR_KEY} the constant value for the {@code orphans_collector} property
+         */
+        public static final String ORPHANS_COLLECTOR_KEY = "orphans_collector";
+
+        /**
+         * {@code UPLOADS_KEY} the constant value for the {@code uploads} property
+         */
+        public static final String UPLOADS_KEY = "uploads";
+
+        /**
+         * {@code PRECOMPRESSION_KEY} the constant value for the {@code precompression} property
+         */
+        public static final String PRECOMPRESSION_KEY = "precompression";
+
+        /**
+         * {@code createResourcesFolder} whether the {@link ResourcesManager#RESOURCES_KEY} must be created,
+         * if not specified will be created as default
+         */
+        private final boolean createResourcesFolder;
+
+        /**
+         * {@code subdirectories} the subdirectories to create and place under the {@link ResourcesManager#RESOURCES_KEY}
+         * folder
+         */
+        private final List<String> subdirectories;
+
+        /**
+         * {@code maxResourceSize} the max size in bytes allowed for a resource file to save,
+         * {@link #UNLIMITED_RESOURCE_SIZE} if not specified
+         */
+        private final long maxResourceSize;
+
+        /**
+         * {@code cacheControls} the {@code Cache-Control} values to use when a resource of a subdirectory is served
+         */
+        private final Map<String, String> cacheControls;
+
+        /**
+         * {@code shardDepth} the number of nested shard subdirectories where the resources are placed
+         */
+        private final int shardDepth;
+
+        /**
+         * {@code imageVariantsSizes} the sizes in pixels of the variants generated for the images
+         */
+        private final List<Integer> imageVariantsSizes;
+
+        /**
+         * {@code imageVariantsFormat} the format of the variants generated for the images
+         */
+        private final String imageVariantsFormat;
+
+        /**
+         * {@code imageVariantsMaxPixels} the max number of pixels of the images whose variants are generated
+         */
+        private final long imageVariantsMaxPixels;
+
+        /**
+         * {@code imageVariantsGenerationTimeout} the time in milliseconds a request waits for the generation of a
+         * missing variant
+         */
+        private final long imageVariantsGenerationTimeout;
+
+        /**
+         * {@code contentAddressed} whether the resources are stored deduplicated by content, if not specified are not
+         */
+        private final boolean contentAddressed;
+
+        /**
+         * {@code storageConfig} the configuration of the storage where the resources are stored
+         */
+        private final StorageConfig storageConfig;
+
+        /**
+         * {@code readCacheConfig} the configuration of the cache of the resources read
+         */
+        private final ReadCacheConfig readCacheConfig;
+
+        /**
+         * {@code orphansCollectorConfig} the configuration of the collector of the orphaned resources
+         */
+        private final OrphansCollectorConfig orphansCollectorConfig;
+
+        /**
+         * {@code uploadsConfig} the configuration of the resumable uploads
+         */
+        private final UploadsConfig uploadsConfig;
+
+        /**
+         * {@code precompressionConfig} the configuration of the precompressed siblings of the resources
+         */
+        private final PrecompressionConfig precompressionConfig;
+
+        /**
+         * Default constructor used to instantiate the configuration
+         */
+        public ResourcesConfig() {
+            createResourcesFolder = true;
+            subdirectories = Collections.EMPTY_LIST;
+            maxResourceSize = UNLIMITED_RESOURCE_SIZE;
+            cacheControls = Collections.emptyMap();
+            shardDepth = DEFAULT_SHARD_DEPTH;
+            imageVariantsSizes = DEFAULT_IMAGE_VARIANTS_SIZES;
+            imageVariantsFormat = DEFAULT_IMAGE_VARIANTS_FORMAT;
+            imageVariantsMaxPixels = DEFAULT_IMAGE_VARIANTS_MAX_PIXELS;
+            imageVariantsGenerationTimeout = DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT;
+            contentAddressed = false;
+            storageConfig = new StorageConfig(null);
+            readCacheConfig = new ReadCacheConfig(null);
+            orphansCollectorConfig = new OrphansCollectorConfig(null);
+            uploadsConfig = new UploadsConfig(null);
+            precompressionConfig = new PrecompressionConfig(null);
+        }
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}
+         */
+        public ResourcesConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                createResourcesFolder = true;
+                subdirectories = Collections.EMPTY_LIST;
+                maxResourceSize = UNLIMITED_RESOURCE_SIZE;
+                cacheControls = Collections.emptyMap();
+                shardDepth = DEFAULT_SHARD_DEPTH;
+                imageVariantsSizes = DEFAULT_IMAGE_VARIANTS_SIZES;
+                imageVariantsFormat = DEFAULT_IMAGE_VARIANTS_FORMAT;
+                imageVariantsMaxPixels = DEFAULT_IMAGE_VARIANTS_MAX_PIXELS;
+                imageVariantsGenerationTimeout = DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT;
+                contentAddressed = false;
+                storageConfig = new StorageConfig(null);
+                readCacheConfig = new ReadCacheConfig(null);
+                orphansCollectorConfig = new OrphansCollectorConfig(null);
+                uploadsConfig = new UploadsConfig(null);
+                precompressionConfig = new PrecompressionConfig(null);
+            } else {
+                createResourcesFolder = hConfig.getBoolean(RESOURCES_FOLDER_KEY, true);
+                subdirectories = hConfig.fetchList(SUBDIRECTORIES_KEY, new ArrayList<>());
+                maxResourceSize = hConfig.getLong(MAX_RESOURCE_SIZE_KEY, UNLIMITED_RESOURCE_SIZE);
+                cacheControls = new HashMap<>();
+                JSONObject jCacheControls = hConfig.getJSONObject(CACHE_CONTROL_KEY, new JSONObject());
+                for (String subdirectory : jCacheControls.keySet())
+                    cacheControls.put(subdirectory, jCacheControls.getString(subdirectory));
+                shardDepth = hConfig.getInt(SHARD_DEPTH_KEY, DEFAULT_SHARD_DEPTH);
+                JsonHelper hImageVariants = hConfig.getJsonHelper(IMAGE_VARIANTS_KEY);
+                if (hImageVariants == null) {
+                    imageVariantsSizes = DEFAULT_IMAGE_VARIANTS_SIZES;
+                    imageVariantsFormat = DEFAULT_IMAGE_VARIANTS_FORMAT;
+                    imageVariantsMaxPixels = DEFAULT_IMAGE_VARIANTS_MAX_PIXELS;
+                    imageVariantsGenerationTimeout = DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT;
+                } else {
+                    imageVariantsSizes = hImageVariants.fetchList(SIZES_KEY, DEFAULT_IMAGE_VARIANTS_SIZES);
+                    imageVariantsFormat = hImageVariants.getString(FORMAT_KEY, DEFAULT_IMAGE_VARIANTS_FORMAT);
+                    imageVariantsMaxPixels = hImageVariants.getLong(MAX_PIXELS_KEY, DEFAULT_IMAGE_VARIANTS_MAX_PIXELS);
+                    imageVariantsGenerationTimeout = hImageVariants.getLong(GENERATION_TIMEOUT_KEY,
+                            DEFAULT_IMAGE_VARIANTS_GENERATION_TIMEOUT);
+                }
+                contentAddressed = hConfig.getBoolean(CONTENT_ADDRESSED_KEY, false);
+                storageConfig = new StorageConfig(hConfig.getJsonHelper(STORAGE_KEY));
+                readCacheConfig = new ReadCacheConfig(hConfig.getJsonHelper(READ_CACHE_KEY));
+                orphansCollectorConfig = new OrphansCollectorConfig(hConfig.getJsonHelper(ORPHANS_COLLECTOR_KEY));
+                uploadsConfig = new UploadsConfig(hConfig.getJsonHelper(UPLOADS_KEY));
+                precompressionConfig = new PrecompressionConfig(hConfig.getJsonHelper(PRECOMPRESSION_KEY));
+            }
+        }
+
+        /**
+         * Method used to get the {@link #createResourcesFolder} instance
+         *
+         * @return the {@link #createResourcesFolder} instance as {@code boolean}
+         */
+        public boolean createResourcesFolder() {
+            return createResourcesFolder;
+        }
+
+        /**
+         * Method used to get the {@link #subdirectories} instance
+         *
+         * @return the {@link #subdirectories} instance as {@link List} of {@link String}
+         */
+        public List<String> getSubdirectories() {
+            return subdirectories;
+        }
+
+        /**
+         * Method used to get the {@link #maxResourceSize} instance
+         *
+         * @return the {@link #maxResourceSize} instance as {@code long}
+         */
+        public long getMaxResourceSize() {
+            return maxResourceSize;
+        }
+
+        /**
+         * Method used to get the {@code Cache-Control} value to use for the resources of a subdirectory
+         *
+         * @param subdirectory The subdirectory of the resources
+         *
+         * @return the {@code Cache-Control} value as {@link String}, {@link #DEFAULT_CACHE_CONTROL} if not specified
+         */
+        public String getCacheControl(String subdirectory) {
+            return cacheControls.getOrDefault(subdirectory, DEFAULT_CACHE_CONTROL);
+        }
+
+        /**
+         * Method used to get the subdirectories with a specific {@code Cache-Control} value
+         *
+         * @return the subdirectories as {@link Set} of {@link String}
+         */
+        public Set<String> getCacheControlledSubdirectories() {
+            return cacheControls.keySet();
+        }
+
+        /**
+         * Method used to get the {@link #shardDepth} instance
+         *
+         * @return the {@link #shardDepth} instance as {@code int}
+         */
+        public int getShardDepth() {
+            return shardDepth;
+        }
+
+        /**
+         * Method used to get the {@link #imageVariantsSizes} instance
+         *
+         * @return the {@link #imageVariantsSizes} instance as {@link List} of {@link Integer}
+         */
+        public List<Integer> getImageVariantsSizes() {
+            return imageVariantsSizes;
+        }
+
+        /**
+         * Method used to get the {@link #imageVariantsFormat} instance
+         *
+         * @return the {@link #imageVariantsFormat} instance as {@link String}
+         */
+        public String getImageVariantsFormat() {
+            return imageVariantsFormat;
+        }
+
+        /**
+         * Method used to get the {@link #imageVariantsMaxPixels} instance
+         *
+         * @return the {@link #imageVariantsMaxPixels} instance as {@code long}
+         */
+        public long getImageVariantsMaxPixels() {
+            return imageVariantsMaxPixels;
+        }
+
+        /**
+         * Method used to get the {@link #imageVariantsGenerationTimeout} instance
+         *
+         * @return the {@link #imageVariantsGenerationTimeout} instance as {@code long}
+         */
+        public long getImageVariantsGenerationTimeout() {
+            return imageVariantsGenerationTimeout;
+        }
+
+        /**
+         * Method used to get the {@link #contentAddressed} instance
+         *
+         * @return the {@link #contentAddressed} instance as {@code boolean}
+         */
+        public boolean isContentAddressed() {
+            return contentAddressed;
+        }
+
+        /**
+         * Method used to get the {@link #storageConfig} instance
+         *
+         * @return the {@link #storageConfig} instance as {@link StorageConfig}
+         */
+        public StorageConfig getStorageConfig() {
+            return storageConfig;
+        }
+
+        /**
+         * Method used to get the {@link #readCacheConfig} instance
+         *
+         * @return the {@link #readCacheConfig} instance as {@link ReadCacheConfig}
+         */
+        public ReadCacheConfig getReadCacheConfig() {
+            return readCacheConfig;
+        }
+
+        /**
+         * Method used to get the {@link #orphansCollectorConfig} instance
+         *
+         * @return the {@link #orphansCollectorConfig} instance as {@link OrphansCollectorConfig}
+         */
+        public OrphansCollectorConfig getOrphansCollectorConfig() {
+            return orphansCollectorConfig;
+        }
+
+        /**
+         * Method used to get the {@link #uploadsConfig} instance
+         *
+         * @return the {@link #uploadsConfig} instance as {@link UploadsConfig}
+         */
+        public UploadsConfig getUploadsConfig() {
+            return uploadsConfig;
+        }
+
+        /**
+         * Method used to get the {@link #precompressionConfig} instance
+         *
+         * @return the {@link #precompressionConfig} instance as {@link PrecompressionConfig}
+         */
+        public PrecompressionConfig getPrecompressionConfig() {
+            return precompressionConfig;
+        }
+
+    }
+
+    /**
+     * The {@code PrecompressionConfig} represents the configuration of the precompressed siblings generated for the
+     * compressible resources
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class PrecompressionConfig {
+
+        /**
+         * {@code ENABLED_KEY} the constant value for the {@code enabled} property
+         */
+        public static final String ENABLED_KEY = "enabled";
+
+        /**
+         * {@code MIN_SIZE_KEY} the constant value for the {@code min_size} property
+         */
+        public static final String MIN_SIZE_KEY = "min_size";
+
+        /**
+         * {@code EXTENSIONS_KEY} the constant value for the {@code extensions} property
+         */
+        public static final String EXTENSIONS_KEY = "extensions";
+
+        /**
+         * {@code DEFAULT_MIN_SIZE} the default min size in bytes of the resources to precompress
+         */
+        public static final long DEFAULT_MIN_SIZE = 1024;
+
+        /**
+         * {@code DEFAULT_EXTENSIONS} the default extensions of the compressible resources
+         */
+        public static final List<String> DEFAULT_EXTENSIONS = List.of("json", "svg", "txt", "csv", "xml", "html",
+                "css", "js", "md");
+
+        /**
+         * {@code enabled} whether the precompressed siblings are generated
+         */
+        private final boolean enabled;
+
+        /**
+         * {@code minSize} the min size in bytes of the resources to precompress, the smaller ones are not worth it
+         */
+        private final long minSize;
+
+        /**
+         * {@code extensions} the extensions of the compressible resources
+         */
+        private final List<String> extensions;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public PrecompressionConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                enabled = true;
+                minSize = DEFAULT_MIN_SIZE;
+                extensions = DEFAULT_EXTENSIONS;
+            } else {
+                enabled = hConfig.getBoolean(ENABLED_KEY, true);
+                minSize = hConfig.getLong(MIN_SIZE_KEY, DEFAULT_MIN_SIZE);
+                extensions = hConfig.fetchList(EXTENSIONS_KEY, DEFAULT_EXTENSIONS);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #enabled} instance
+         *
+         * @return the {@link #enabled} instance as {@code boolean}
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Method used to get the {@link #minSize} instance
+         *
+         * @return the {@link #minSize} instance as {@code long}
+         */
+        public long getMinSize() {
+            return minSize;
+        }
+
+        /**
+         * Method used to get the {@link #extensions} instance
+         *
+         * @return the {@link #extensions} instance as {@link List} of {@link String}
+         */
+        public List<String> getExtensions() {
+            return extensions;
+        }
+
+    }
+
+    /**
+     * The {@code UploadsConfig} represents the configuration of the resumable uploads of the resources
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class UploadsConfig {
+
+        /**
+         * {@code SESSION_TTL_KEY} the constant value for the {@code session_ttl} property
+         */
+        public static final String SESSION_TTL_KEY = "session_ttl";
+
+        /**
+         * {@code CHUNK_SIZE_KEY} the constant value for the {@code chunk_size} property
+         */
+        public static final String CHUNK_SIZE_KEY = "chunk_size";
+
+        /**
+         * {@code MAX_UPLOAD_SIZE_KEY} the constant value for the {@code max_upload_size} property
+         */
+        public static final String MAX_UPLOAD_SIZE_KEY = "max_upload_size";
+
+        /**
+         * {@code MAX_SESSIONS_PER_OWNER_KEY} the constant value for the {@code max_sessions_per_owner} property
+         */
+        public static final String MAX_SESSIONS_PER_OWNER_KEY = "max_sessions_per_owner";
+
+        /**
+         * {@code MAX_RESERVED_SIZE_PER_OWNER_KEY} the constant value for the {@code max_reserved_size_per_owner}
+         * property
+         */
+        public static final String MAX_RESERVED_SIZE_PER_OWNER_KEY = "max_reserved_size_per_owner";
+
+        /**
+         * {@code DEFAULT_SESSION_TTL} the default time in seconds an idle upload session is kept before expiring
+         */
+        public static final long DEFAULT_SESSION_TTL = 24 * 60 * 60;
+
+        /**
+         * {@code DEFAULT_CHUNK_SIZE} the default size in bytes of the chunks suggested to the clients
+         */
+        public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+        /**
+         * {@code DEFAULT_MAX_UPLOAD_SIZE} the default max size in bytes of a resource uploaded in chunks
+         */
+        public static final long DEFAULT_MAX_UPLOAD_SIZE = 1024L * 1024 * 1024;
+
+        /**
+         * {@code DEFAULT_MAX_SESSIONS_PER_OWNER} the default max number of the upload sessions an owner can keep open
+         * at the same time
+         */
+        public static final int DEFAULT_MAX_SESSIONS_PER_OWNER = 4;
+
+        /**
+         * {@code DEFAULT_MAX_RESERVED_SIZE_PER_OWNER} the default max size in bytes preallocated by all the upload
+         * sessions of an owner
+         */
+        public static final long DEFAULT_MAX_RESERVED_SIZE_PER_OWNER = 2 * DEFAULT_MAX_UPLOAD_SIZE;
+
+        /**
+         * {@code sessionTtl} the time in seconds an idle upload session is kept before expiring
+         */
+        private final long sessionTtl;
+
+        /**
+         * {@code chunkSize} the size in bytes of the chunks suggested to the clients
+         */
+        private final int chunkSize;
+
+        /**
+         * {@code maxUploadSize} the max size in bytes of a resource uploaded in chunks,
+         * {@link ResourcesConfig#UNLIMITED_RESOURCE_SIZE} to limit it only by the {@code max_resource_size}
+         */
+        private final long maxUploadSize;
+
+        /**
+         * {@code maxSessionsPerOwner} the max number of the upload sessions an owner can keep open at the same time
+         */
+        private final int maxSessionsPerOwner;
+
+        /**
+         * {@code maxReservedSizePerOwner} the max size in bytes preallocated by all the upload sessions of an owner,
+         * {@link ResourcesConfig#UNLIMITED_RESOURCE_SIZE} to not limit it
+         */
+        private final long maxReservedSizePerOwner;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public UploadsConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                sessionTtl = DEFAULT_SESSION_TTL;
+                chunkSize = DEFAULT_CHUNK_SIZE;
+                maxUploadSize = DEFAULT_MAX_UPLOAD_SIZE;
+                maxSessionsPerOwner = DEFAULT_MAX_SESSIONS_PER_OWNER;
+                maxReservedSizePerOwner = DEFAULT_MAX_RESERVED_SIZE_PER_OWNER;
+            } else {
+                sessionTtl = hConfig.getLong(SESSION_TTL_KEY, DEFAULT_SESSION_TTL);
+                chunkSize = hConfig.getInt(CHUNK_SIZE_KEY, DEFAULT_CHUNK_SIZE);
+                maxUploadSize = hConfig.getLong(MAX_UPLOAD_SIZE_KEY, DEFAULT_MAX_UPLOAD_SIZE);
+                maxSessionsPerOwner = Math.max(1, hConfig.getInt(MAX_SESSIONS_PER_OWNER_KEY,
+                        DEFAULT_MAX_SESSIONS_PER_OWNER));
+                maxReservedSizePerOwner = hConfig.getLong(MAX_RESERVED_SIZE_PER_OWNER_KEY,
+                        DEFAULT_MAX_RESERVED_SIZE_PER_OWNER);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #sessionTtl} instance
+         *
+         * @return the {@link #sessionTtl} instance as {@code long}
+         */
+        public long getSessionTtl() {
+            return sessionTtl;
+        }
+
+        /**
+         * Method used to get the {@link #chunkSize} instance
+         *
+         * @return the {@link #chunkSize} instance as {@code int}
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * Method used to get the {@link #maxUploadSize} instance
+         *
+         * @return the {@link #maxUploadSize} instance as {@code long}
+         */
+        public long getMaxUploadSize() {
+            return maxUploadSize;
+        }
+
+        /**
+         * Method used to get the {@link #maxSessionsPerOwner} instance
+         *
+         * @return the {@link #maxSessionsPerOwner} instance as {@code int}
+         */
+        public int getMaxSessionsPerOwner() {
+            return maxSessionsPerOwner;
+        }
+
+        /**
+         * Method used to get the {@link #maxReservedSizePerOwner} instance
+         *
+         * @return the {@link #maxReservedSizePerOwner} instance as {@code long}
+         */
+        public long getMaxReservedSizePerOwner() {
+            return maxReservedSizePerOwner;
+        }
+
+    }
+
+    /**
+     * The {@code OrphansCollectorConfig} represents the configuration of the collector which periodically deletes the
+     * resources no longer referenced
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class OrphansCollectorConfig {
+
+        /**
+         * {@code ENABLED_KEY} the constant value for the {@code enabled} property
+         */
+        public static final String ENABLED_KEY = "enabled";
+
+        /**
+         * {@code INTERVAL_KEY} the constant value for the {@code interval} property
+         */
+        public static final String INTERVAL_KEY = "interval";
+
+        /**
+         * {@code GRACE_PERIOD_KEY} the constant value for the {@code grace_period} property
+         */
+        public static final String GRACE_PERIOD_KEY = "grace_period";
+
+        /**
+         * {@code MAX_FILES_PER_SECOND_KEY} the constant value for the {@code max_files_per_second} property
+         */
+        public static final String MAX_FILES_PER_SECOND_KEY = "max_files_per_second";
+
+        /**
+         * {@code BATCH_SIZE_KEY} the constant value for the {@code batch_size} property
+         */
+        public static final String BATCH_SIZE_KEY = "batch_size";
+
+        /**
+         * {@code DRY_RUN_KEY} the constant value for the {@code dry_run} property
+         */
+        public static final String DRY_RUN_KEY = "dry_run";
+
+        /**
+         * {@code DEFAULT_INTERVAL} the default interval in seconds between two sweeps
+         */
+        public static final long DEFAULT_INTERVAL = 6 * 60 * 60;
+
+        /**
+         * {@code DEFAULT_GRACE_PERIOD} the default age in seconds a resource must reach before being collected
+         */
+        public static final long DEFAULT_GRACE_PERIOD = 24 * 60 * 60;
+
+        /**
+         * {@code DEFAULT_MAX_FILES_PER_SECOND} the default max number of files checked each second
+         */
+        public static final int DEFAULT_MAX_FILES_PER_SECOND = 1000;
+
+        /**
+         * {@code DEFAULT_BATCH_SIZE} the default number of files whose references are checked with a single query
+         */
+        public static final int DEFAULT_BATCH_SIZE = 500;
+
+        /**
+         * {@code enabled} whether the collector is enabled, if not specified is not
+         */
+        private final boolean enabled;
+
+        /**
+         * {@code dryRun} whether the collector only reports the orphaned resources without deleting them
+         */
+        private final boolean dryRun;
+
+        /**
+         * {@code interval} the interval in seconds between two sweeps
+         */
+        private final long interval;
+
+        /**
+         * {@code gracePeriod} the age in seconds a resource must reach before being collected
+         */
+        private final long gracePeriod;
+
+        /**
+         * {@code maxFilesPerSecond} the max number of files checked each second
+         */
+        private final int maxFilesPerSecond;
+
+        /**
+         * {@code batchSize} the number of files whose references are checked with a single query
+         */
+        private final int batchSize;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public OrphansCollectorConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                enabled = false;
+                dryRun = false;
+                interval = DEFAULT_INTERVAL;
+                gracePeriod = DEFAULT_GRACE_PERIOD;
+                maxFilesPerSecond = DEFAULT_MAX_FILES_PER_SECOND;
+                batchSize = DEFAULT_BATCH_SIZE;
+            } else {
+                enabled = hConfig.getBoolean(ENABLED_KEY, false);
+                dryRun = hConfig.getBoolean(DRY_RUN_KEY, false);
+                interval = hConfig.getLong(INTERVAL_KEY, DEFAULT_INTERVAL);
+                gracePeriod = hConfig.getLong(GRACE_PERIOD_KEY, DEFAULT_GRACE_PERIOD);
+                maxFilesPerSecond = hConfig.getInt(MAX_FILES_PER_SECOND_KEY, DEFAULT_MAX_FILES_PER_SECOND);
+                batchSize = hConfig.getInt(BATCH_SIZE_KEY, DEFAULT_BATCH_SIZE);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #enabled} instance
+         *
+         * @return the {@link #enabled} instance as {@code boolean}
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Method used to get the {@link #dryRun} instance
+         *
+         * @return the {@link #dryRun} instance as {@code boolean}
+         */
+        public boolean isDryRun() {
+            return dryRun;
+        }
+
+        /**
+         * Method used to get the {@link #interval} instance
+         *
+         * @return the {@link #interval} instance as {@code long}
+         */
+        public long getInterval() {
+            return interval;
+        }
+
+        /**
+         * Method used to get the {@link #gracePeriod} instance
+         *
+         * @return the {@link #gracePeriod} instance as {@code long}
+         */
+        public long getGracePeriod() {
+            return gracePeriod;
+        }
+
+        /**
+         * Method used to get the {@link #maxFilesPerSecond} instance
+         *
+         * @return the {@link #maxFilesPerSecond} instance as {@code int}
+         */
+        public int getMaxFilesPerSecond() {
+            return maxFilesPerSecond;
+        }
+
+        /**
+         * Method used to get the {@link #batchSize} instance
+         *
+         * @return the {@link #batchSize} instance as {@code int}
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+    }
+
+    /**
+     * The {@code ReadCacheConfig} represents the configuration of the cache which keeps in memory the content of the
+     * resources most recently read
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class ReadCacheConfig {
+
+        /**
+         * {@code BUDGET_KEY} the constant value for the {@code budget} property
+         */
+        public static final String BUDGET_KEY = "budget";
+
+        /**
+         * {@code MAX_ENTRY_SIZE_KEY} the constant value for the {@code max_entry_size} property
+         */
+        public static final String MAX_ENTRY_SIZE_KEY = "max_entry_size";
+
+        /**
+         * {@code OFF_HEAP_KEY} the constant value for the {@code off_heap} property
+         */
+        public static final String OFF_HEAP_KEY = "off_heap";
+
+        /**
+         * {@code DEFAULT_BUDGET} the default max number of bytes kept in the cache
+         */
+        public static final long DEFAULT_BUDGET = 16 * 1024 * 1024;
+
+        /**
+         * {@code DEFAULT_MAX_ENTRY_SIZE} the default max size in bytes of a resource kept in the cache
+         */
+        public static final int DEFAULT_MAX_ENTRY_SIZE = 256 * 1024;
+
+        /**
+         * {@code budget} the max number of bytes kept in the cache, {@code 0} to disable the cache
+         */
+        private final long budget;
+
+        /**
+         * {@code maxEntrySize} the max size in bytes of a resource kept in the cache
+         */
+        private final int maxEntrySize;
+
+        /**
+         * {@code offHeap} whether the content of the resources is kept in direct buffers outside the heap
+         */
+        private final boolean offHeap;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the default configuration
+         */
+        public ReadCacheConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                budget = DEFAULT_BUDGET;
+                maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+                offHeap = false;
+            } else {
+                budget = hConfig.getLong(BUDGET_KEY, DEFAULT_BUDGET);
+                maxEntrySize = hConfig.getInt(MAX_ENTRY_SIZE_KEY, DEFAULT_MAX_ENTRY_SIZE);
+                offHeap = hConfig.getBoolean(OFF_HEAP_KEY, false);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #budget} instance
+         *
+         * @return the {@link #budget} instance as {@code long}
+         */
+        public long getBudget() {
+            return budget;
+        }
+
+        /**
+         * Method used to get the {@link #maxEntrySize} instance
+         *
+         * @return the {@link #maxEntrySize} instance as {@code int}
+         */
+        public int getMaxEntrySize() {
+            return maxEntrySize;
+        }
+
+        /**
+         * Method used to get the {@link #offHeap} instance
+         *
+         * @return the {@link #offHeap} instance as {@code boolean}
+         */
+        public boolean isOffHeap() {
+            return offHeap;
+        }
+
+    }
+
+    /**
+     * The {@code StorageConfig} represents the configuration of the storage where the resources are stored
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     * @since 1.2.0
+     */
+    public static final class StorageConfig {
+
+        /**
+         * {@code TYPE_KEY} the constant value for the {@code type} property
+         */
+        public static final String TYPE_KEY = "type";
+
+        /**
+         * {@code THREADS_KEY} the constant value for the {@code threads} property
+         */
+        public static final String THREADS_KEY = "threads";
+
+        /**
+         * {@code ENDPOINT_KEY} the constant value for the {@code endpoint} property
+         */
+        public static final String ENDPOINT_KEY = "endpoint";
+
+        /**
+         * {@code BUCKET_KEY} the constant value for the {@code bucket} property
+         */
+        public static final String BUCKET_KEY = "bucket";
+
+        /**
+         * {@code REGION_KEY} the constant value for the {@code region} property
+         */
+        public static final String REGION_KEY = "region";
+
+        /**
+         * {@code ACCESS_KEY_KEY} the constant value for the {@code access_key} property
+         */
+        public static final String ACCESS_KEY_KEY = "access_key";
+
+        /**
+         * {@code SECRET_KEY_KEY} the constant value for the {@code secret_key} property
+         */
+        public static final String SECRET_KEY_KEY = "secret_key";
+
+        /**
+         * {@code DEFAULT_THREADS} the default number of threads used to perform the storage operations
+         */
+        public static final int DEFAULT_THREADS = 4;
+
+        /**
+         * {@code DEFAULT_REGION} the default region of the object store
+         */
+        public static final String DEFAULT_REGION = "us-east-1";
+
+        /**
+         * {@code StorageType} the types of the storage available
+         */
+        public enum StorageType {
+
+            /**
+             * {@code LOCAL} the resources are stored in the local filesystem
+             */
+            LOCAL,
+
+            /**
+             * {@code MEMORY} the resources are stored in memory, useful for tests and benchmarks
+             */
+            MEMORY,
+
+            /**
+             * {@code S3} the resources are stored in an {@code S3} compatible object store
+             */
+            S3
+
+        }
+
+        /**
+         * {@code type} the type of the storage
+         */
+        private final StorageType type;
+
+        /**
+         * {@code threads} the number of threads used to perform the storage operations
+         */
+        private final int threads;
+
+        /**
+         * {@code endpoint} the endpoint of the object store
+         */
+        private final String endpoint;
+
+        /**
+         * {@code bucket} the bucket of the object store where the resources are stored
+         */
+        private final String bucket;
+
+        /**
+         * {@code region} the region of the object store
+         */
+        private final String region;
+
+        /**
+         * {@code accessKey} the access key used to authenticate to the object store
+         */
+        private final String accessKey;
+
+        /**
+         * {@code secretKey} the secret key used to authenticate to the object store
+         */
+        private final String secretKey;
+
+        /**
+         * Constructor used to instantiate the configuration
+         *
+         * @param hConfig The configuration retrieved from the {@link #EQUINOX_CONFIGURATION_PATHNAME}, {@code null} to
+         *                use the local storage
+         */
+        public StorageConfig(JsonHelper hConfig) {
+            if (hConfig == null) {
+                type = StorageType.LOCAL;
+                threads = DEFAULT_THREADS;
+                endpoint = null;
+                bucket = null;
+                region = DEFAULT_REGION;
+                accessKey = null;
+                secretKey = null;
+            } else {
+                type = StorageType.valueOf(hConfig.getString(TYPE_KEY, StorageType.LOCAL.name()).toUpperCase());
+                threads = hConfig.getInt(THREADS_KEY, DEFAULT_THREADS);
+                endpoint = hConfig.getString(ENDPOINT_KEY);
+                bucket = hConfig.getString(BUCKET_KEY);
+                region = hConfig.getString(REGION_KEY, DEFAULT_REGION);
+                accessKey = hConfig.getString(ACCESS_KEY_KEY);
+                secretKey = hConfig.getString(SECRET_KEY_KEY);
+            }
+        }
+
+        /**
+         * Method used to get the {@link #type} instance
+         *
+         * @return the {@link #type} instance as {@link StorageType}
+         */
+        public StorageType getType() {
+            return type;
+        }
+
+        /**
+         * Method used to get the {@link #threads} instance
+         *
+         * @return the {@link #threads} instance as {@code int}
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Method used to get the {@link #endpoint} instance
+         *
+         * @return the {@link #endpoint} instance as {@link String}
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Method used to get the {@link #bucket} instance
+         *
+         * @return the {@link #bucket} instance as {@link String}
+         */
+        public String getBucket() {
+            return bucket;
+        }
+
+        /**
+         * Method used to get the {@link #region} instance
+         *
+         * @return the {@link #region} instance as {@link String}
+         */
+        public String getRegion() {
+            return region;
+        }
+
+        /**
+         * Method used to get the {@link #accessKey} instance
+         *
+         * @return the {@link #accessKey} instance as {@link String}
+         */
+        public String getAccessKey() {
+            return accessKey;
+        }
+
+        /**
+         * Method used to get the {@link #secretKey} instance
+         *
+         * @return the {@link #secretKey} instance as {@link String}
+         */
+        public String getSecretKey() {
+            return secretKey;
         }
 
     }
@@ -0,0 +1,106 @@
+package com.tecknobit.equinoxbackend.environment;
+
+import com.tecknobit.apimanager.apis.ServerProtector;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHasher;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesLayout;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesProvider;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ServerProtectorConfig;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_KEY;
+
+/**
+ * The {@code EquinoxEnvironment} class initializes the environment shared by the servlet controllers and by the
+ * reactive handlers, that is the resources directories, the pool of the {@link PasswordHasher} and the
+ * {@link ServerProtector}, without depending on the web stack which serves the requests
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public final class EquinoxEnvironment {
+
+    /**
+     * {@code resourcesProvider} the resources provider and manager, {@code null} if the resources folder has not been
+     * created
+     */
+    private static ResourcesProvider resourcesProvider;
+
+    /**
+     * {@code serverProtector} the instance which protects the server accesses, {@code null} if not enabled
+     */
+    private static ServerProtector serverProtector;
+
+    /**
+     * Constructor to avoid the instantiation of the class
+     */
+    private EquinoxEnvironment() {
+    }
+
+    /**
+     * Method used to init the resources directories, the pool of the {@link PasswordHasher} and the
+     * {@link #serverProtector}
+     *
+     * @param saveMessageExtra Extra arguments used to format the save message displayed by the {@link #serverProtector}
+     * @param args Custom arguments to share with the {@link #serverProtector}
+     *
+     * @throws Exception when the environment cannot be initialized or has been already initialized
+     */
+    public static synchronized void init(Object[] saveMessageExtra, String[] args) throws Exception {
+        EquinoxBackendConfiguration backendConfiguration = EquinoxBackendConfiguration.getInstance();
+        ResourcesConfig resourcesConfig = backendConfiguration.getResourcesConfig();
+        if (resourcesConfig.createResourcesFolder()) {
+            resourcesProvider = new ResourcesProvider(RESOURCES_KEY, resourcesConfig.getSubdirectories());
+            resourcesProvider.createContainerDirectory();
+            resourcesProvider.createSubDirectories();
+        }
+        ResourcesLayout.getInstance().rebuildIndex();
+        // creates the hashing pool and calibrates its cost before serving the requests
+        PasswordHasher.init();
+        if (backendConfiguration.serverProtectorEnabled()) {
+            if (serverProtector != null)
+                throw new IllegalAccessException("The protector has been already instantiated");
+            ServerProtectorConfig serverProtectorConfig = backendConfiguration.getServerProtectorConfig();
+            serverProtector = new ServerProtector(
+                    serverProtectorConfig.getStoragePath(),
+                    serverProtectorConfig.getSaveMessage(saveMessageExtra)
+            );
+            serverProtector.launch(args);
+        }
+    }
+
+    /**
+     * Method used to check whether a server secret matches the one of the {@link #serverProtector}
+     *
+     * @param serverSecret The server secret to check
+     *
+     * @return whether the server secret matches as {@code boolean}, always {@code true} when the server protector is not
+     * enabled
+     */
+    public static boolean serverSecretMatches(String serverSecret) {
+        if (!EquinoxBackendConfiguration.getInstance().serverProtectorEnabled())
+            return true;
+        ServerProtector protector = serverProtector;
+        return protector != null && protector.serverSecretMatches(serverSecret);
+    }
+
+    /**
+     * Method used to get the {@link #resourcesProvider} instance
+     *
+     * @return the {@link #resourcesProvider} instance as {@link ResourcesProvider}
+     */
+    public static ResourcesProvider getResourcesProvider() {
+        return resourcesProvider;
+    }
+
+    /**
+     * Method used to get the {@link #serverProtector} instance
+     *
+     * @return the {@link #serverProtector} instance as {@link ServerProtector}
+     */
+    public static ServerProtector getServerProtector() {
+        return serverProtector;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.tecknobit.equinoxbackend.environment.configuration;
+
+import com.tecknobit.equinoxbackend.apis.cbor.CborHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters.ServerBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * The {@code CborConfig} class registers the {@link CborHttpMessageConverter} before the default converters, so the
+ * responses are written in the {@code CBOR} format to the clients which explicitly accept it
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see WebMvcConfigurer
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void configureMessageConverters(ServerBuilder builder) {
+        builder.addCustomConverter(new CborHttpMessageConverter());
+    }
+
+}
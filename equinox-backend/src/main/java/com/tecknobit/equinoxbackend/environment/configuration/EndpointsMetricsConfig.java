@@ -0,0 +1,44 @@
+package com.tecknobit.equinoxbackend.environment.configuration;
+
+import com.tecknobit.equinoxbackend.apis.metrics.EndpointsMetrics;
+import com.tecknobit.equinoxbackend.apis.metrics.EndpointsMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * The {@code EndpointsMetricsConfig} class registers the {@link EndpointsMetricsInterceptor}, so the requests of the
+ * endpoints are recorded by the {@link EndpointsMetrics}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see WebMvcConfigurer
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class EndpointsMetricsConfig implements WebMvcConfigurer {
+
+    /**
+     * {@code endpointsMetricsInterceptor} the interceptor which records the requests of the endpoints
+     */
+    private final EndpointsMetricsInterceptor endpointsMetricsInterceptor;
+
+    /**
+     * Constructor to init the configuration
+     *
+     * @param endpointsMetricsInterceptor The interceptor which records the requests of the endpoints
+     */
+    public EndpointsMetricsConfig(EndpointsMetricsInterceptor endpointsMetricsInterceptor) {
+        this.endpointsMetricsInterceptor = endpointsMetricsInterceptor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointsMetricsInterceptor);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.tecknobit.equinoxbackend.environment.configuration;
+
+import com.tecknobit.equinoxbackend.apis.events.metrics.EquinoxEventsMetrics;
+import com.tecknobit.equinoxbackend.apis.events.metrics.EquinoxEventsMulticaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+import static org.springframework.context.support.AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME;
+
+/**
+ * The {@code EventsMetricsConfig} class wraps the multicaster of the application events with the
+ * {@link EquinoxEventsMulticaster}, so the events pipeline is instrumented by the {@link EquinoxEventsMetrics}. The
+ * multicaster defined by the application, if any, is kept and wrapped, otherwise the default one is defined as bean so
+ * it can be wrapped as well
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class EventsMetricsConfig {
+
+    /**
+     * Method used to define the default multicaster of the application events when the application does not define
+     * its own one, the context would otherwise create it without exposing it to the {@link BeanPostProcessor}
+     *
+     * @return the post processor which defines the default multicaster as {@link BeanDefinitionRegistryPostProcessor}
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor defaultEventsMulticasterDefiner() {
+        return registry -> {
+            if (!registry.containsBeanDefinition(APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+                registry.registerBeanDefinition(APPLICATION_EVENT_MULTICASTER_BEAN_NAME,
+                        new RootBeanDefinition(SimpleApplicationEventMulticaster.class));
+            }
+        };
+    }
+
+    /**
+     * Method used to wrap the multicaster of the application events with the {@link EquinoxEventsMulticaster}
+     *
+     * @param eventsMetrics The provider of the metrics where record the events dispatching
+     *
+     * @return the post processor which wraps the multicaster as {@link BeanPostProcessor}
+     */
+    @Bean
+    public static BeanPostProcessor eventsMulticasterWrapper(ObjectProvider<EquinoxEventsMetrics> eventsMetrics) {
+        return new BeanPostProcessor() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (APPLICATION_EVENT_MULTICASTER_BEAN_NAME.equals(beanName)
+                        && bean instanceof ApplicationEventMulticaster multicaster
+                        && !(bean instanceof EquinoxEventsMulticaster))
+                    return new EquinoxEventsMulticaster(multicaster, eventsMetrics);
+                return bean;
+            }
+
+        };
+    }
+
+}
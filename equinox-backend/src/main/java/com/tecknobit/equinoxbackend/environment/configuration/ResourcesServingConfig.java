@@ -0,0 +1,82 @@
+package com.tecknobit.equinoxbackend.environment.configuration;
+
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesCache;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesServer;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.ResourcesConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore.BLOBS_DIRECTORY;
+import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.PROFILES_DIRECTORY;
+
+/**
+ * The {@code ResourcesServingConfig} class configures the {@link ResourcesServer} to serve the resources of the
+ * subdirectories of the {@link com.tecknobit.equinoxbackend.apis.resources.ResourcesManager#RESOURCES_KEY} folder, that
+ * are the {@link com.tecknobit.equinoxbackend.apis.resources.ResourcesManager#PROFILES_DIRECTORY} and the ones
+ * specified in the {@code equinox.config} file. The resources are served with the same paths stored in the database,
+ * e.g. {@code profiles/userId.png}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+@Configuration
+public class ResourcesServingConfig {
+
+    /**
+     * {@code RESOURCES_MAPPING_ORDER} the order of the mapping, after the controllers and before the generic static
+     * resources handlers
+     */
+    private static final int RESOURCES_MAPPING_ORDER = 1;
+
+    /**
+     * Method used to expose the cache of the resources as bean, so its meters are bound to the registry when available
+     *
+     * @return the cache of the resources as {@link ResourcesCache}
+     */
+    @Bean
+    public ResourcesCache resourcesCache() {
+        return ResourcesCache.getInstance();
+    }
+
+    /**
+     * Method used to create the server of the resources
+     *
+     * @return the server of the resources as {@link ResourcesServer}
+     */
+    @Bean
+    public ResourcesServer resourcesServer() {
+        return new ResourcesServer();
+    }
+
+    /**
+     * Method used to map the subdirectories of the resources to the {@link ResourcesServer}
+     *
+     * @param resourcesServer The server of the resources
+     *
+     * @return the mapping as {@link HandlerMapping}
+     */
+    @Bean
+    public HandlerMapping resourcesServerMapping(ResourcesServer resourcesServer) {
+        ResourcesConfig resourcesConfig = EquinoxBackendConfiguration.getInstance().getResourcesConfig();
+        Set<String> subdirectories = new LinkedHashSet<>();
+        subdirectories.add(PROFILES_DIRECTORY);
+        if (resourcesConfig.isContentAddressed())
+            subdirectories.add(BLOBS_DIRECTORY);
+        subdirectories.addAll(resourcesConfig.getSubdirectories());
+        subdirectories.addAll(resourcesConfig.getCacheControlledSubdirectories());
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        for (String subdirectory : subdirectories)
+            urlMap.put("/" + subdirectory + "/**", resourcesServer);
+        return new SimpleUrlHandlerMapping(urlMap, RESOURCES_MAPPING_ORDER);
+    }
+
+}
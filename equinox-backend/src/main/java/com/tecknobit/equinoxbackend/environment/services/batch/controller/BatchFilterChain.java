@@ -0,0 +1,137 @@
+package com.tecknobit.equinoxbackend.environment.services.batch.controller;
+
+import jakarta.servlet.*;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The {@code BatchFilterChain} class is the chain of the servlet filters applied to a sub-request of a batch before
+ * dispatching it to the servlet, so the sub-requests pass through the same filters of the standalone requests, e.g. the
+ * security ones. The filters are the ones registered by the application, the {@link jakarta.servlet.Filter} beans and
+ * the {@link AbstractFilterRegistrationBean} beans, applied in the same order when they are enabled for the
+ * {@link DispatcherType#REQUEST} dispatches and are mapped to the path of the sub-request
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxBatchController
+ *
+ * @since 1.2.0
+ */
+final class BatchFilterChain implements FilterChain {
+
+    /**
+     * {@code MATCH_ALL_PATTERN} the url pattern which maps a filter to all the requests
+     */
+    private static final String MATCH_ALL_PATTERN = "/*";
+
+    /**
+     * {@code filters} the filters to apply to the sub-request
+     */
+    private final List<Filter> filters;
+
+    /**
+     * {@code servlet} the servlet which handles the sub-request after the filters
+     */
+    private final Servlet servlet;
+
+    /**
+     * {@code position} the position of the next filter to apply
+     */
+    private int position;
+
+    /**
+     * Constructor to init the chain
+     *
+     * @param filters The filters to apply to the sub-request
+     * @param servlet The servlet which handles the sub-request after the filters
+     */
+    BatchFilterChain(List<Filter> filters, Servlet servlet) {
+        this.filters = filters;
+        this.servlet = servlet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        if (position < filters.size())
+            filters.get(position++).doFilter(request, response, this);
+        else
+            servlet.service(request, response);
+    }
+
+    /**
+     * Method used to resolve the filters registered by the application which are applied to the requests dispatched
+     * to a servlet
+     *
+     * @param beanFactory The factory of the beans of the application
+     * @param servletName The name of the servlet, {@code null} if not available
+     *
+     * @return the filters registered, in their order, as {@link List} of {@link BatchFilter}
+     */
+    static List<BatchFilter> resolveFilters(ListableBeanFactory beanFactory, String servletName) {
+        List<BatchFilter> filters = new ArrayList<>();
+        for (ServletContextInitializer initializer : new ServletContextInitializerBeans(beanFactory)) {
+            if (!(initializer instanceof AbstractFilterRegistrationBean<?> registration) || !registration.isEnabled()
+                    || !registration.determineDispatcherTypes().contains(DispatcherType.REQUEST))
+                continue;
+            Set<String> servletNames = new HashSet<>(registration.getServletNames());
+            for (ServletRegistrationBean<?> servletRegistration : registration.getServletRegistrationBeans())
+                servletNames.add(servletRegistration.getServletName());
+            Collection<String> urlPatterns = registration.getUrlPatterns();
+            if (urlPatterns.isEmpty() && servletNames.isEmpty())
+                urlPatterns = List.of(MATCH_ALL_PATTERN);
+            boolean servletMapped = servletName != null && servletNames.contains(servletName);
+            if (servletMapped)
+                urlPatterns = List.of(MATCH_ALL_PATTERN);
+            if (!urlPatterns.isEmpty())
+                filters.add(new BatchFilter(registration.getFilter(), List.copyOf(urlPatterns)));
+        }
+        return List.copyOf(filters);
+    }
+
+    /**
+     * The {@code BatchFilter} record is a filter registered by the application with the url patterns it is mapped to
+     *
+     * @param filter The filter registered
+     * @param urlPatterns The url patterns the filter is mapped to
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    record BatchFilter(Filter filter, List<String> urlPatterns) {
+
+        /**
+         * Method used to check whether the filter is mapped to a path, following the rules of the servlet
+         * specification
+         *
+         * @param servletPath The path of the request within the application
+         *
+         * @return whether the filter is mapped to the path as {@code boolean}
+         */
+        boolean matches(String servletPath) {
+            for (String urlPattern : urlPatterns) {
+                if (urlPattern.equals(MATCH_ALL_PATTERN) || urlPattern.equals("/") || urlPattern.equals(servletPath))
+                    return true;
+                if (urlPattern.endsWith(MATCH_ALL_PATTERN)) {
+                    String prefix = urlPattern.substring(0, urlPattern.length() - MATCH_ALL_PATTERN.length());
+                    if (servletPath.equals(prefix) || servletPath.startsWith(prefix + "/"))
+                        return true;
+                } else if (urlPattern.startsWith("*.") && servletPath.endsWith(urlPattern.substring(1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,354 @@
+package com.tecknobit.equinoxbackend.environment.services.batch.controller;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.Part;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code BatchServletRequest} class is the request dispatched for each sub-request of a batch. It inherits from the
+ * batch request only the connection details, e.g. the scheme, the host and the session, while the method, the path,
+ * the query, the headers and the body are the ones of the sub-request. The attributes are owned by the sub-request, so
+ * the request context of the controllers is never shared between the sub-requests executed in parallel
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxBatchController
+ *
+ * @since 1.2.0
+ */
+final class BatchServletRequest extends HttpServletRequestWrapper {
+
+    /**
+     * {@code BATCH_ATTRIBUTE} the attribute which marks the sub-requests of a batch
+     */
+    static final String BATCH_ATTRIBUTE = BatchServletRequest.class.getName();
+
+    /**
+     * {@code JSON_CONTENT_TYPE} the content type of the body of the sub-requests
+     */
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    /**
+     * {@code method} the method of the sub-request
+     */
+    private final String method;
+
+    /**
+     * {@code requestURI} the URI of the sub-request, context path included
+     */
+    private final String requestURI;
+
+    /**
+     * {@code servletPath} the path of the sub-request within the application
+     */
+    private final String servletPath;
+
+    /**
+     * {@code queryString} the query string of the sub-request, {@code null} if not specified
+     */
+    private final String queryString;
+
+    /**
+     * {@code headers} the headers of the sub-request
+     */
+    private final Map<String, List<String>> headers;
+
+    /**
+     * {@code parameters} the parameters of the sub-request parsed from its query string
+     */
+    private final Map<String, String[]> parameters;
+
+    /**
+     * {@code body} the body of the sub-request
+     */
+    private final byte[] body;
+
+    /**
+     * {@code attributes} the attributes of the sub-request
+     */
+    private final Map<String, Object> attributes;
+
+    /**
+     * Constructor to init the sub-request
+     *
+     * @param batchRequest The batch request
+     * @param method The method of the sub-request
+     * @param servletPath The path of the sub-request within the application
+     * @param queryString The query string of the sub-request, {@code null} if not specified
+     * @param headers The headers of the sub-request
+     * @param body The body of the sub-request, {@code null} if not specified
+     */
+    BatchServletRequest(HttpServletRequest batchRequest, String method, String servletPath, String queryString,
+                        Map<String, List<String>> headers, String body) {
+        super(batchRequest);
+        this.method = method;
+        this.servletPath = servletPath;
+        requestURI = batchRequest.getContextPath() + servletPath;
+        this.queryString = queryString;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        parameters = parseParameters(queryString);
+        this.body = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (body != null)
+            this.headers.put("Content-Type", List.of(JSON_CONTENT_TYPE));
+        else
+            this.headers.remove("Content-Type");
+        this.headers.remove("Content-Length");
+        attributes = new ConcurrentHashMap<>();
+        attributes.put(BATCH_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * Method used to parse the parameters of the sub-request from its query string
+     *
+     * @param queryString The query string of the sub-request
+     *
+     * @return the parameters as {@link Map} of {@link String} arrays
+     */
+    private static Map<String, String[]> parseParameters(String queryString) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (queryString != null) {
+            for (String parameter : queryString.split("&")) {
+                if (parameter.isEmpty())
+                    continue;
+                int valueIndex = parameter.indexOf('=');
+                String name = valueIndex == -1 ? parameter : parameter.substring(0, valueIndex);
+                String value = valueIndex == -1 ? "" : parameter.substring(valueIndex + 1);
+                values.computeIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8), key -> new ArrayList<>())
+                        .add(URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        values.forEach((name, value) -> parameters.put(name, value.toArray(new String[0])));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestURI;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer requestURL = new StringBuffer();
+        requestURL.append(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+        if (port > 0 && !(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443)))
+            requestURL.append(':').append(port);
+        return requestURL.append(requestURI);
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null)
+            return -1;
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(value);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // the body of the sub-requests is always UTF-8 encoded
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream content = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public boolean isFinished() {
+                return content.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("Non-blocking reads are not supported by the batch sub-requests");
+            }
+
+            @Override
+            public int read() {
+                return content.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return content.read(buffer, offset, length);
+            }
+
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null)
+            attributes.remove(name);
+        else
+            attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Collection<Part> getParts() throws ServletException {
+        throw new ServletException("Multipart payloads are not supported by the batch sub-requests");
+    }
+
+    @Override
+    public Part getPart(String name) throws ServletException {
+        throw new ServletException("Multipart payloads are not supported by the batch sub-requests");
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Asynchronous processing is not supported by the batch sub-requests");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Asynchronous processing is not supported by the batch sub-requests");
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+}
@@ -0,0 +1,358 @@
+package com.tecknobit.equinoxbackend.environment.services.batch.controller;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * The {@code BatchServletResponse} class is the response where a sub-request of a batch is written. The status, the
+ * headers and the body are buffered in memory and never reach the response of the batch request, which is assembled
+ * from the buffered responses of all the sub-requests
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxBatchController
+ *
+ * @since 1.2.0
+ */
+final class BatchServletResponse extends HttpServletResponseWrapper {
+
+    /**
+     * {@code status} the status code of the response
+     */
+    private int status;
+
+    /**
+     * {@code headers} the headers of the response
+     */
+    private final Map<String, List<String>> headers;
+
+    /**
+     * {@code content} the buffered body of the response
+     */
+    private final ByteArrayOutputStream content;
+
+    /**
+     * {@code characterEncoding} the character encoding of the body of the response
+     */
+    private String characterEncoding;
+
+    /**
+     * {@code contentType} the content type of the response
+     */
+    private String contentType;
+
+    /**
+     * {@code locale} the locale of the response
+     */
+    private Locale locale;
+
+    /**
+     * {@code outputStream} the stream where the body is written
+     */
+    private ServletOutputStream outputStream;
+
+    /**
+     * {@code writer} the writer where the body is written
+     */
+    private PrintWriter writer;
+
+    /**
+     * Constructor to init the response
+     *
+     * @param batchResponse The response of the batch request
+     */
+    BatchServletResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+        status = SC_OK;
+        headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        content = new ByteArrayOutputStream();
+        characterEncoding = StandardCharsets.UTF_8.name();
+        locale = Locale.getDefault();
+    }
+
+    /**
+     * Method used to get the buffered body of the response
+     *
+     * @return the body of the response as {@link String}
+     */
+    String getContent() {
+        if (writer != null)
+            writer.flush();
+        return content.toString(getCharset());
+    }
+
+    /**
+     * Method used to get the charset of the body of the response
+     *
+     * @return the charset of the body as {@link Charset}, {@code UTF-8} when the {@link #characterEncoding} is not
+     * supported
+     */
+    private Charset getCharset() {
+        try {
+            return Charset.forName(characterEncoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        sendRedirect(location, SC_FOUND, true);
+    }
+
+    @Override
+    public void sendRedirect(String location, int status, boolean clearBuffer) {
+        this.status = status;
+        setHeader("Location", location);
+        if (clearBuffer)
+            resetBuffer();
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (value == null) {
+            headers.remove(name);
+            return;
+        }
+        if ("Content-Type".equalsIgnoreCase(name))
+            setContentType(value);
+        else
+            headers.put(name, new ArrayList<>(List.of(value)));
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (value == null)
+            return;
+        if ("Content-Type".equalsIgnoreCase(name))
+            setContentType(value);
+        else
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    /**
+     * Method used to format the value of a date header
+     *
+     * @param date The date in milliseconds to format
+     *
+     * @return the formatted date as {@link String}
+     */
+    private String formatDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name) || ("Content-Type".equalsIgnoreCase(name) && contentType != null);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if ("Content-Type".equalsIgnoreCase(name))
+            return getContentType();
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        if ("Content-Type".equalsIgnoreCase(name))
+            return contentType == null ? List.of() : List.of(getContentType());
+        return List.copyOf(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        Set<String> headerNames = new LinkedHashSet<>(headers.keySet());
+        if (contentType != null)
+            headerNames.add("Content-Type");
+        return headerNames;
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // the cookies of the sub-requests are not sent to the client
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+        if (contentType == null)
+            return;
+        int charsetIndex = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (charsetIndex != -1) {
+            String charset = contentType.substring(charsetIndex + "charset=".length());
+            int separatorIndex = charset.indexOf(';');
+            characterEncoding = (separatorIndex == -1 ? charset : charset.substring(0, separatorIndex))
+                    .replace("\"", "").trim();
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        if (contentType == null || contentType.toLowerCase(Locale.ROOT).contains("charset="))
+            return contentType;
+        return contentType + ";charset=" + characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String characterEncoding) {
+        if (characterEncoding != null && writer == null)
+            this.characterEncoding = characterEncoding;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        // the length is computed from the buffered body
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        // the length is computed from the buffered body
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        if (locale != null)
+            this.locale = locale;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new IllegalStateException("Non-blocking writes are not supported by the batch sub-requests");
+                }
+
+                @Override
+                public void write(int data) {
+                    content.write(data);
+                }
+
+                @Override
+                public void write(byte[] data, int offset, int length) {
+                    content.write(data, offset, length);
+                }
+
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null)
+            writer = new PrintWriter(new OutputStreamWriter(content, getCharset()));
+        return writer;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // the whole body is buffered
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null)
+            writer.flush();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        status = SC_OK;
+        headers.clear();
+        contentType = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null)
+            writer.flush();
+        content.reset();
+    }
+
+}
@@ -0,0 +1,389 @@
+package com.tecknobit.equinoxbackend.environment.services.batch.controller;
+
+import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxController;
+import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
+import com.tecknobit.equinoxbackend.environment.services.users.repository.EquinoxUsersRepository;
+import com.tecknobit.equinoxbackend.environment.services.batch.controller.BatchFilterChain.BatchFilter;
+import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersService;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.POST;
+import static com.tecknobit.equinoxbackend.environment.services.batch.controller.BatchServletRequest.BATCH_ATTRIBUTE;
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.BASE_EQUINOX_ENDPOINT;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.BATCH_ENDPOINT;
+import static jakarta.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+
+/**
+ * The {@code EquinoxBatchController} executes multiple requests in a single round trip: the batch is authenticated
+ * once, then each sub-request passes through the servlet filters of the application and is dispatched to the handlers
+ * of the controllers as a standalone request, and the responses are returned in the same order of the sub-requests. The consecutive {@code GET} sub-requests are
+ * independent of each other, so they are executed in parallel, while the other sub-requests are executed one at a
+ * time in their order, so a sub-request always observes the changes made by the previous modifying ones
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @param <T> The type of the {@link EquinoxUser} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <R> The type of the {@link EquinoxUsersRepository} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <H> The type of the {@link EquinoxUsersService} used in the system, is generic to avoid manual casts if it has been customized
+ *
+ * @see EquinoxController
+ *
+ * @since 1.2.0
+ */
+@RestController
+public class EquinoxBatchController<T extends EquinoxUser, R extends EquinoxUsersRepository<T>,
+        H extends EquinoxUsersService<T, R>> extends EquinoxController<T, R, H> {
+
+    /**
+     * {@code MAX_BATCH_REQUESTS} the max number of sub-requests of a batch
+     */
+    public static final int MAX_BATCH_REQUESTS = 20;
+
+    /**
+     * {@code MAX_PENDING_SUB_REQUESTS} the max number of sub-requests waiting to be executed in parallel, the exceeding
+     * ones are executed by the thread which handles the batch
+     */
+    private static final int MAX_PENDING_SUB_REQUESTS = 256;
+
+    /**
+     * {@code GET_METHOD} the method of the sub-requests executed in parallel
+     */
+    private static final String GET_METHOD = "GET";
+
+    /**
+     * {@code SUPPORTED_METHODS} the methods supported by the sub-requests
+     */
+    private static final Set<String> SUPPORTED_METHODS = Set.of(GET_METHOD, "POST", "PUT", "PATCH", "DELETE");
+
+    /**
+     * {@code INHERITED_HEADERS} the headers of the batch request inherited by the sub-requests when not specified
+     */
+    private static final List<String> INHERITED_HEADERS = List.of("Accept-Language", "User-Agent");
+
+    /**
+     * {@code dispatcherServlet} the provider of the servlet which dispatches the sub-requests to the handlers
+     */
+    private final ObjectProvider<DispatcherServlet> dispatcherServlet;
+
+    /**
+     * {@code beanFactory} the factory of the beans used to resolve the servlet filters of the application
+     */
+    private final ListableBeanFactory beanFactory;
+
+    /**
+     * {@code filters} the servlet filters of the application applied to the sub-requests, resolved at the first batch
+     */
+    private volatile List<BatchFilter> filters;
+
+    /**
+     * {@code executor} the bounded executor where the independent sub-requests are executed in parallel
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructor to init the controller
+     *
+     * @param dispatcherServlet The provider of the servlet which dispatches the sub-requests to the handlers
+     * @param beanFactory The factory of the beans used to resolve the servlet filters of the application
+     */
+    @Autowired
+    public EquinoxBatchController(ObjectProvider<DispatcherServlet> dispatcherServlet,
+                                  ListableBeanFactory beanFactory) {
+        super();
+        this.dispatcherServlet = dispatcherServlet;
+        this.beanFactory = beanFactory;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadsCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_SUB_REQUESTS), runnable -> {
+                    Thread thread = new Thread(runnable, "equinox-batch-" + threadsCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Method used to stop the executor of the sub-requests when the controller is destroyed
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Method used to execute a batch of sub-requests
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param payload Payload of the request
+     *                 <pre>
+     *                      {@code
+     *                              {
+     *                                  "requests" : [
+     *                                      {
+     *                                          "method" : "the method of the sub-request" -> [String],
+     *                                          "endpoint" : "the endpoint of the sub-request, relative to the base endpoint" -> [String],
+     *                                          "headers" : "the headers of the sub-request, optional" -> [JSONObject],
+     *                                          "query" : "the query parameters of the sub-request, optional" -> [JSONObject],
+     *                                          "payload" : "the payload of the sub-request, optional" -> [JSONObject]
+     *                                      }
+     *                                  ]
+     *                              }
+     *                      }
+     *                 </pre>
+     * @param request The batch request
+     * @param response The response of the batch request
+     * @return the result of the request as {@link String}, its data are the responses of the sub-requests, each one
+     * with the {@code status_code} and the {@code payload} of the response
+     */
+    @PostMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + BATCH_ENDPOINT,
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/batch", method = POST)
+    public String execBatch(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @RequestBody Map<String, Object> payload,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        DispatcherServlet servlet = dispatcherServlet.getIfAvailable();
+        if (servlet == null || request.getAttribute(BATCH_ATTRIBUTE) != null)
+            return wrongProcedureResponse();
+        loadJsonHelper(payload);
+        JSONArray jRequests = getJsonHelper().getJSONArray(REQUESTS_KEY, new JSONArray());
+        if (jRequests.isEmpty() || jRequests.length() > MAX_BATCH_REQUESTS)
+            return wrongProcedureResponse();
+        List<SubRequest> subRequests = new ArrayList<>();
+        for (int j = 0; j < jRequests.length(); j++) {
+            SubRequest subRequest = parseSubRequest(jRequests.optJSONObject(j), request);
+            if (subRequest == null)
+                return wrongProcedureResponse();
+            subRequests.add(subRequest);
+        }
+        JSONArray responses = new JSONArray();
+        int index = 0;
+        while (index < subRequests.size()) {
+            int groupEnd = index + 1;
+            if (subRequests.get(index).method().equals(GET_METHOD)) {
+                while (groupEnd < subRequests.size() && subRequests.get(groupEnd).method().equals(GET_METHOD))
+                    groupEnd++;
+            }
+            List<Future<JSONObject>> parallelResponses = new ArrayList<>();
+            for (int j = index; j < groupEnd - 1; j++) {
+                SubRequest subRequest = subRequests.get(j);
+                parallelResponses.add(executor.submit(() -> dispatch(servlet, subRequest, request, response)));
+            }
+            JSONObject lastResponse;
+            try {
+                lastResponse = dispatch(servlet, subRequests.get(groupEnd - 1), request, response);
+            } catch (Exception e) {
+                lastResponse = failedSubRequestResponse();
+            }
+            for (Future<JSONObject> parallelResponse : parallelResponses)
+                responses.put(awaitResponse(parallelResponse));
+            responses.put(lastResponse);
+            index = groupEnd;
+        }
+        return successResponse(responses);
+    }
+
+    /**
+     * Method used to parse a sub-request of the batch
+     *
+     * @param jSubRequest The sub-request to parse
+     * @param request The batch request
+     * @return the sub-request as {@link SubRequest}, {@code null} if it is not valid
+     */
+    private SubRequest parseSubRequest(JSONObject jSubRequest, HttpServletRequest request) {
+        if (jSubRequest == null)
+            return null;
+        String method = jSubRequest.optString(METHOD_KEY, "").toUpperCase(Locale.ROOT);
+        String endpoint = jSubRequest.optString(ENDPOINT_KEY, "");
+        if (!SUPPORTED_METHODS.contains(method) || endpoint.isBlank())
+            return null;
+        String queryString = null;
+        int queryIndex = endpoint.indexOf('?');
+        if (queryIndex != -1) {
+            queryString = endpoint.substring(queryIndex + 1);
+            endpoint = endpoint.substring(0, queryIndex);
+        }
+        String servletPath = endpoint.startsWith("/") ? endpoint : BASE_EQUINOX_ENDPOINT + endpoint;
+        if (!servletPath.startsWith(BASE_EQUINOX_ENDPOINT) || servletPath.contains("/./")
+                || servletPath.contains("/../") || servletPath.endsWith("/.") || servletPath.endsWith("/.."))
+            return null;
+        JSONObject jQuery = jSubRequest.optJSONObject(QUERY_KEY);
+        if (jQuery != null && !jQuery.isEmpty()) {
+            StringJoiner query = new StringJoiner("&");
+            if (queryString != null && !queryString.isEmpty())
+                query.add(queryString);
+            for (String name : jQuery.keySet()) {
+                Object value = jQuery.get(name);
+                if (value instanceof JSONArray values) {
+                    StringJoiner joinedValues = new StringJoiner(",");
+                    for (Object item : values)
+                        joinedValues.add(String.valueOf(item));
+                    value = joinedValues;
+                }
+                query.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+            }
+            queryString = query.toString();
+        }
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String header : INHERITED_HEADERS) {
+            List<String> values = Collections.list(request.getHeaders(header));
+            if (!values.isEmpty())
+                headers.put(header, values);
+        }
+        JSONObject jHeaders = jSubRequest.optJSONObject(HEADERS_KEY);
+        if (jHeaders != null)
+            for (String header : jHeaders.keySet())
+                headers.put(header, List.of(String.valueOf(jHeaders.get(header))));
+        // the sub-requests are always authenticated as the batch, the token cannot be replaced by the client
+        headers.put(TOKEN_KEY, Collections.list(request.getHeaders(TOKEN_KEY)));
+        // the responses of the sub-requests are embedded in the response of the batch as JSON payloads
+        headers.put("Accept", List.of("application/json"));
+        Object body = jSubRequest.opt(PAYLOAD_KEY);
+        if (body != null && !(body instanceof JSONObject) && !(body instanceof JSONArray))
+            return null;
+        return new SubRequest(method, servletPath, queryString, headers, body != null ? body.toString() : null);
+    }
+
+    /**
+     * Method used to dispatch a sub-request to the handlers of the controllers through the servlet filters of the
+     * application
+     *
+     * @param servlet The servlet which dispatches the sub-request
+     * @param subRequest The sub-request to dispatch
+     * @param request The batch request
+     * @param response The response of the batch request
+     * @return the response of the sub-request as {@link JSONObject}
+     *
+     * @throws ServletException when the sub-request cannot be handled
+     * @throws IOException when the sub-request cannot be read or its response cannot be written
+     */
+    private JSONObject dispatch(DispatcherServlet servlet, SubRequest subRequest, HttpServletRequest request,
+                                HttpServletResponse response) throws ServletException, IOException {
+        BatchServletRequest batchRequest = new BatchServletRequest(request, subRequest.method(),
+                subRequest.servletPath(), subRequest.queryString(), subRequest.headers(), subRequest.body());
+        BatchServletResponse batchResponse = new BatchServletResponse(response);
+        List<Filter> subRequestFilters = new ArrayList<>();
+        for (BatchFilter filter : getFilters(servlet))
+            if (filter.matches(subRequest.servletPath()))
+                subRequestFilters.add(filter.filter());
+        new BatchFilterChain(subRequestFilters, servlet).doFilter(batchRequest, batchResponse);
+        return new JSONObject()
+                .put(STATUS_CODE_KEY, batchResponse.getStatus())
+                .put(PAYLOAD_KEY, parseContent(batchResponse.getContent()));
+    }
+
+    /**
+     * Method used to get the servlet filters of the application, resolving them at the first usage
+     *
+     * @param servlet The servlet which dispatches the sub-requests
+     * @return the servlet filters as {@link List} of {@link BatchFilter}
+     */
+    private List<BatchFilter> getFilters(DispatcherServlet servlet) {
+        List<BatchFilter> resolvedFilters = filters;
+        if (resolvedFilters == null) {
+            resolvedFilters = BatchFilterChain.resolveFilters(beanFactory, servlet.getServletName());
+            filters = resolvedFilters;
+        }
+        return resolvedFilters;
+    }
+
+    /**
+     * Method used to wait the response of a sub-request executed in parallel
+     *
+     * @param parallelResponse The pending response of the sub-request
+     * @return the response of the sub-request as {@link JSONObject}
+     */
+    private JSONObject awaitResponse(Future<JSONObject> parallelResponse) {
+        try {
+            return parallelResponse.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedSubRequestResponse();
+        } catch (ExecutionException e) {
+            return failedSubRequestResponse();
+        }
+    }
+
+    /**
+     * Method used to parse the body of the response of a sub-request
+     *
+     * @param content The body of the response
+     * @return the body as {@link JSONObject} or {@link JSONArray} when it is a {@code JSON} content, as {@link String}
+     * otherwise
+     */
+    private Object parseContent(String content) {
+        String trimmedContent = content.strip();
+        try {
+            if (trimmedContent.startsWith("{"))
+                return new JSONObject(trimmedContent);
+            if (trimmedContent.startsWith("["))
+                return new JSONArray(trimmedContent);
+        } catch (JSONException ignored) {
+            // the content is returned as plain text
+        }
+        return content;
+    }
+
+    /**
+     * Method used to assemble the response of a sub-request which failed to be dispatched
+     *
+     * @return the response of the sub-request as {@link JSONObject}
+     */
+    private JSONObject failedSubRequestResponse() {
+        return new JSONObject()
+                .put(STATUS_CODE_KEY, SC_INTERNAL_SERVER_ERROR)
+                .put(PAYLOAD_KEY, new JSONObject(wrongProcedureResponse()));
+    }
+
+    /**
+     * The {@code SubRequest} record contains the details of a sub-request of a batch
+     *
+     * @param method The method of the sub-request
+     * @param servletPath The path of the sub-request within the application
+     * @param queryString The query string of the sub-request, {@code null} if not specified
+     * @param headers The headers of the sub-request
+     * @param body The body of the sub-request, {@code null} if not specified
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private record SubRequest(String method, String servletPath, String queryString, Map<String, List<String>> headers,
+                              String body) {
+    }
+
+}
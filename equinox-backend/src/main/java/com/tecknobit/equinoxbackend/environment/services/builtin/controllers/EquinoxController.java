@@ -1,15 +1,18 @@
 package com.tecknobit.equinoxbackend.environment.services.builtin.controllers;
 
+import com.tecknobit.equinoxbackend.environment.services.users.cache.AuthenticatedUsersCache;
+import com.tecknobit.equinoxbackend.environment.services.users.cache.AuthenticatedUsersCache.AuthenticatedUser;
 import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
 import com.tecknobit.equinoxbackend.environment.services.users.repository.EquinoxUsersRepository;
 import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersService;
+import com.tecknobit.equinoxcore.annotations.Returner;
 import com.tecknobit.equinoxcore.annotations.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Optional;
-
 import static com.tecknobit.equinoxcore.helpers.InputsValidator.DEFAULT_LANGUAGE;
 import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.BASE_EQUINOX_ENDPOINT;
 
@@ -39,13 +42,17 @@ abstract public class EquinoxController<T extends EquinoxUser, R extends Equinox
     protected R usersRepository;
 
     /**
-     * {@code me} user representing the user who made a request on the server
+     * {@code authenticatedUsersCache} the cache of the users recently authenticated, used to authorize the requests
+     * without querying the database
      */
-    protected T me;
+    @Autowired(required = false)
+    protected AuthenticatedUsersCache authenticatedUsersCache;
 
     /**
      * Method used to check whether the user who made a request is an authorized user <br>
-     * If the user is authorized the {@link #me} instance is loaded
+     * If the user is authorized it is bound to the context of the current request and is returned by {@link #getMe()}.
+     * When the user is cached by the {@link #authenticatedUsersCache} the check is performed without querying the
+     * database
      *
      * @param id The identifier of the user
      * @param token The token of the user
@@ -53,15 +60,70 @@ abstract public class EquinoxController<T extends EquinoxUser, R extends Equinox
      */
     @Validator
     protected boolean isMe(String id, String token) {
-        Optional<T> query = usersRepository.findById(id);
-        me = query.orElse(null);
-        boolean isMe = me != null && me.getToken().equals(token);
-        if (!isMe) {
-            me = null;
-            setSessionLocale(DEFAULT_LANGUAGE);
-        } else
-            setSessionLocale(me.getLanguage());
+        EquinoxRequestContext requestContext = getRequestContext();
+        AuthenticatedUser cachedUser = authenticatedUsersCache != null ? authenticatedUsersCache.get(id) : null;
+        T me = null;
+        String language;
+        boolean isMe;
+        if (cachedUser != null) {
+            isMe = cachedUser.token().equals(token);
+            language = cachedUser.language();
+        } else {
+            long stamp = authenticatedUsersCache != null ? authenticatedUsersCache.getStamp() : 0;
+            me = usersRepository.findById(id).orElse(null);
+            if (me != null && authenticatedUsersCache != null)
+                authenticatedUsersCache.put(id, me.getToken(), me.getLanguage(), stamp);
+            isMe = me != null && me.getToken().equals(token);
+            language = me != null ? me.getLanguage() : null;
+        }
+        requestContext.setMe(isMe ? me : null);
+        requestContext.setMeId(isMe ? id : null);
+        setSessionLocale(isMe ? language : DEFAULT_LANGUAGE);
         return isMe;
     }
 
+    /**
+     * Method used to get the user who made the current request, previously authorized with the
+     * {@link #isMe(String, String)} method. When the user has been authorized by the {@link #authenticatedUsersCache}
+     * it is loaded from the database at the first invocation
+     *
+     * @return the user who made the current request as {@link T}, {@code null} if not authorized
+     *
+     * @throws UserNotAuthorizedException when the user authorized by the {@link #authenticatedUsersCache} does not
+     * exist anymore, e.g. deleted on another node, the request is answered as not authorized
+     *
+     * @since 1.2.0
+     */
+    @Returner
+    @SuppressWarnings("unchecked")
+    protected T getMe() {
+        EquinoxRequestContext requestContext = getRequestContext();
+        EquinoxUser me = requestContext.getMe();
+        if (me == null && requestContext.getMeId() != null) {
+            me = usersRepository.findById(requestContext.getMeId()).orElse(null);
+            if (me == null) {
+                requestContext.setMeId(null);
+                throw new UserNotAuthorizedException();
+            }
+            requestContext.setMe(me);
+        }
+        return (T) me;
+    }
+
+    /**
+     * Method used to answer as not authorized the requests whose user has not been found by the {@link #getMe()}
+     * method
+     *
+     * @param exception The exception thrown by the {@link #getMe()} method
+     *
+     * @return the result of the request as {@link String}
+     *
+     * @since 1.2.0
+     */
+    @ResponseBody
+    @ExceptionHandler(UserNotAuthorizedException.class)
+    protected String userNotAuthorizedResponse(UserNotAuthorizedException exception) {
+        return notAuthorizedOrWrongDetailsResponse();
+    }
+
 }
@@ -2,14 +2,21 @@ package com.tecknobit.equinoxbackend.environment.services.builtin.controllers;
 
 import com.tecknobit.apimanager.apis.ServerProtector;
 import com.tecknobit.apimanager.formatters.JsonHelper;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHasher;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
+import com.tecknobit.equinoxbackend.apis.ratelimit.RateLimiter;
 import com.tecknobit.equinoxbackend.apis.resources.ResourcesProvider;
 import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.environment.EquinoxEnvironment;
 import com.tecknobit.equinoxcore.annotations.Assembler;
 import com.tecknobit.equinoxcore.annotations.Returner;
 import com.tecknobit.equinoxcore.annotations.Structure;
+import com.tecknobit.equinoxcore.annotations.Validator;
 import com.tecknobit.equinoxcore.annotations.Wrapper;
 import com.tecknobit.equinoxcore.network.ResponseStatus;
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jdk.jfr.Experimental;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -17,13 +24,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
-import static com.tecknobit.equinoxbackend.apis.resources.ResourcesManager.RESOURCES_KEY;
 import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_DATA_KEY;
 import static com.tecknobit.equinoxcore.network.Requester.RESPONSE_STATUS_KEY;
 import static com.tecknobit.equinoxcore.network.ResponseStatus.FAILED;
@@ -87,6 +97,36 @@ abstract public class EquinoxControllerCore {
      */
     public static final String WRONG_LANGUAGE_MESSAGE = "wrong_language";
 
+    /**
+     * {@code TOO_MANY_REQUESTS_MESSAGE} error message used when the requests of a client exceeded a rate limit
+     */
+    public static final String TOO_MANY_REQUESTS_MESSAGE = "too_many_requests";
+
+    /**
+     * {@code ETAG_HEADER} the header where the tag of the conditional responses is sent
+     */
+    private static final String ETAG_HEADER = "ETag";
+
+    /**
+     * {@code IF_NONE_MATCH_HEADER} the header where the clients send the tags of the cached responses
+     */
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    /**
+     * {@code CACHE_CONTROL_HEADER} the header used to require the revalidation of the conditional responses
+     */
+    private static final String CACHE_CONTROL_HEADER = "Cache-Control";
+
+    /**
+     * {@code RETRY_AFTER_HEADER} the header where the seconds to wait before retrying a rate limited request are sent
+     */
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /**
+     * {@code SC_TOO_MANY_REQUESTS} the status code of the rate limited requests
+     */
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
     /**
      * {@code protector} the instance to launch the server protector to manage the server accesses
      *
@@ -114,17 +154,17 @@ abstract public class EquinoxControllerCore {
      */
     protected final EquinoxBackendConfiguration configuration;
 
-    /**
-     * {@code jsonHelper} helper to work with JSON values
-     */
-    protected JsonHelper jsonHelper = new JsonHelper("{}");
-
     /**
      * {@code messageSource} the message source used to manage the resources messages bundle
      */
     @Autowired(required = false)
     protected MessageSource messageSource;
 
+    /**
+     * {@code responsesCache} the cache of the payloads of the responses with the internationalized messages
+     */
+    private final LocalizedResponsesCache responsesCache;
+
     /**
      * Constructor to instantiate the {@link EquinoxController}
      *
@@ -132,43 +172,68 @@ abstract public class EquinoxControllerCore {
      */
     public EquinoxControllerCore() {
         configuration = EquinoxBackendConfiguration.getInstance();
+        responsesCache = new LocalizedResponsesCache(this::plainResponse);
     }
 
     /**
-     * Method used to load the {@link #jsonHelper}
+     * Method used to get the context of the current request
+     *
+     * @return the context of the current request as {@link EquinoxRequestContext}
+     * @since 1.2.0
+     */
+    @Returner
+    protected EquinoxRequestContext getRequestContext() {
+        return EquinoxRequestContext.current();
+    }
+
+    /**
+     * Method used to get the helper to work with the JSON payload of the current request, previously loaded with one
+     * of the {@code loadJsonHelper} methods
+     *
+     * @return the helper of the current request as {@link JsonHelper}
+     * @since 1.2.0
+     */
+    @Wrapper
+    @Returner
+    protected JsonHelper getJsonHelper() {
+        return getRequestContext().getJsonHelper();
+    }
+
+    /**
+     * Method used to load the {@link #getJsonHelper()} of the current request
      *
      * @param payload The payload received with the request
      */
     protected void loadJsonHelper(JSONObject payload) {
-        jsonHelper.setJSONObjectSource(payload);
+        getJsonHelper().setJSONObjectSource(payload);
     }
 
     /**
-     * Method used to load the {@link #jsonHelper}
+     * Method used to load the {@link #getJsonHelper()} of the current request
      *
      * @param payload The payload received with the request
      */
     protected void loadJsonHelper(JSONArray payload) {
-        jsonHelper.setJSONArraySource(payload);
+        getJsonHelper().setJSONArraySource(payload);
     }
 
     /**
-     * Method used to load the {@link #jsonHelper}
+     * Method used to load the {@link #getJsonHelper()} of the current request
      *
      * @param payload The payload received with the request
      * @param <V>     generic type for the values in the payload
      */
     protected <V> void loadJsonHelper(Map<String, V> payload) {
-        jsonHelper.setJSONObjectSource(new JSONObject(payload));
+        getJsonHelper().setJSONObjectSource(new JSONObject(payload));
     }
 
     /**
-     * Method used to load the {@link #jsonHelper}
+     * Method used to load the {@link #getJsonHelper()} of the current request
      *
      * @param payload The payload received with the request
      */
     protected void loadJsonHelper(String payload) {
-        jsonHelper.setJSONObjectSource(payload);
+        getJsonHelper().setJSONObjectSource(payload);
     }
 
     /**
@@ -188,6 +253,59 @@ abstract public class EquinoxControllerCore {
      */
     protected void setSessionLocale(Locale locale) {
         LocaleContextHolder.setLocale(locale);
+        getRequestContext().setLocale(locale);
+    }
+
+    /**
+     * Method used to check whether a request of a client is admitted by a rate limit of the {@link RateLimiter}. When
+     * the request is not admitted the response is marked with the {@code 429 Too Many Requests} status and the
+     * {@code Retry-After} header, then the request must be answered with the {@link #tooManyRequestsResponse()}
+     *
+     * @param limit The name of the limit to apply
+     * @param client The identifier of the client, e.g. its address, its token or the identifier of the user
+     * @return whether the request is admitted as {@code boolean}
+     * @since 1.2.0
+     */
+    @Validator
+    protected boolean isAdmitted(String limit, String client) {
+        long wait = RateLimiter.getInstance().tryAcquire(limit, client);
+        if (wait == 0)
+            return true;
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes
+                && requestAttributes.getResponse() != null) {
+            HttpServletResponse response = requestAttributes.getResponse();
+            response.setStatus(SC_TOO_MANY_REQUESTS);
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait)
+                    + 1)));
+        }
+        return false;
+    }
+
+    /**
+     * Method used to get the address of the client which sent the current request, read from the
+     * {@code client_header} of the rate limits configuration when set, that is the header where a trusted proxy places
+     * the address of the client, otherwise from the connection
+     *
+     * @return the address of the client as {@link String}, {@code null} if there is no current request
+     * @apiNote when the header holds a list of addresses, as the {@code X-Forwarded-For} one, the last address is used,
+     * that is the one appended by the nearest proxy, because the previous ones are sent by the client
+     * @since 1.2.0
+     */
+    @Returner
+    protected String getClientAddress() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes))
+            return null;
+        HttpServletRequest request = requestAttributes.getRequest();
+        String clientHeader = EquinoxBackendConfiguration.getInstance().getRateLimitsConfig().getClientHeader();
+        if (clientHeader != null) {
+            String addresses = request.getHeader(clientHeader);
+            if (addresses != null) {
+                String address = addresses.substring(addresses.lastIndexOf(',') + 1).trim();
+                if (!address.isEmpty())
+                    return address;
+            }
+        }
+        return request.getRemoteAddr();
     }
 
     /**
@@ -222,7 +340,7 @@ abstract public class EquinoxControllerCore {
     @Wrapper
     @Assembler
     protected String successResponse(String message, Object... args) {
-        return plainResponse(SUCCESSFUL, getInternationalizedMessage(message, args));
+        return localizedResponse(SUCCESSFUL, message, args);
     }
 
     /**
@@ -253,6 +371,20 @@ abstract public class EquinoxControllerCore {
                 .put(RESPONSE_DATA_KEY, message).toString();
     }
 
+    /**
+     * Method used to get the payload for a successful response
+     *
+     * @param values The values to send as response
+     * @return the payload for a successful response as {@link String}
+     * @since 1.2.0
+     */
+    @Assembler
+    protected String successResponse(JSONArray values) {
+        return new JSONObject()
+                .put(RESPONSE_STATUS_KEY, SUCCESSFUL)
+                .put(RESPONSE_DATA_KEY, values).toString();
+    }
+
     /**
      * Wrapper method used to assemble a {@link #failedResponse(String)} with the {@link #NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE}
      * message
@@ -266,6 +398,41 @@ abstract public class EquinoxControllerCore {
         return failedResponse(NOT_AUTHORIZED_OR_WRONG_DETAILS_MESSAGE);
     }
 
+    /**
+     * Wrapper method used to assemble a {@link #failedResponse(String)} with the {@link #TOO_MANY_REQUESTS_MESSAGE}
+     * message
+     *
+     * @return the payload for a failed response as {@link String}
+     * @since 1.2.0
+     */
+    @Wrapper
+    @Assembler
+    protected String tooManyRequestsResponse() {
+        return failedResponse(TOO_MANY_REQUESTS_MESSAGE);
+    }
+
+    /**
+     * Wrapper method used to assemble a {@link #tooManyRequestsResponse()} for a request rejected because the pool of
+     * the {@link PasswordHasher} is saturated. The response is marked with the {@code 503 Service Unavailable} status
+     * and the {@code Retry-After} header
+     *
+     * @param exception The exception thrown by the {@link PasswordHasher}
+     * @return the payload for a failed response as {@link String}
+     * @since 1.2.0
+     */
+    @Wrapper
+    @Assembler
+    protected String passwordHashingRejectedResponse(PasswordHashingRejectedException exception) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes
+                && requestAttributes.getResponse() != null) {
+            HttpServletResponse response = requestAttributes.getResponse();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(Math.max(1,
+                    TimeUnit.MILLISECONDS.toSeconds(exception.getRetryAfter()) + 1)));
+        }
+        return tooManyRequestsResponse();
+    }
+
     /**
      * Wrapper method used to assemble a {@link #failedResponse(String)} with the {@link #WRONG_PROCEDURE_MESSAGE} message
      *
@@ -300,7 +467,22 @@ abstract public class EquinoxControllerCore {
     @Wrapper
     @Assembler
     protected String failedResponse(String errorKey, @Nullable Object[] args) {
-        return plainResponse(FAILED, getInternationalizedMessage(errorKey, args));
+        return localizedResponse(FAILED, errorKey, args);
+    }
+
+    /**
+     * Method used to get the payload for a response with an internationalized message, the payloads of the messages
+     * without arguments are rendered once for each locale and then reused
+     *
+     * @param status     The response code value
+     * @param messageKey The key of the internationalized message
+     * @param args       The arguments used to format the message
+     * @return the payload for a response as {@link String}
+     * @since 1.2.0
+     */
+    private String localizedResponse(ResponseStatus status, String messageKey, @Nullable Object[] args) {
+        return responsesCache.getResponse(status, messageKey, args, getRequestContext().getLocale(),
+                () -> getInternationalizedMessage(messageKey, args));
     }
 
     /**
@@ -316,6 +498,84 @@ abstract public class EquinoxControllerCore {
                 .put(RESPONSE_DATA_KEY, message).toString();
     }
 
+    /**
+     * Method used to answer a conditional {@code GET} request, tagging the response with a weak {@code ETag} derived
+     * from its payload. When the client sent the same tag with the {@code If-None-Match} header the request is
+     * answered with {@code 304 Not Modified} without the payload
+     *
+     * @param response The payload of the response
+     * @return the payload of the response as {@link String}, {@code null} when the client has the current payload
+     * @since 1.2.0
+     */
+    @Wrapper
+    protected String conditionalResponse(String response) {
+        return conditionalResponse(response, () -> response);
+    }
+
+    /**
+     * Method used to answer a conditional {@code GET} request, tagging the response with a weak {@code ETag} derived
+     * from the version of the data, e.g. a row version or an update timestamp, so the payload is assembled only when
+     * the client has not the current version. When the client sent the same tag with the {@code If-None-Match} header
+     * the request is answered with {@code 304 Not Modified} without the payload
+     *
+     * @param version The version of the data of the response
+     * @param response The supplier of the payload, invoked only when the client has not the current version
+     * @return the payload of the response as {@link String}, {@code null} when the client has the current version
+     * @since 1.2.0
+     */
+    protected String conditionalResponse(Object version, Supplier<String> response) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttributes)
+                || requestAttributes.getResponse() == null)
+            return response.get();
+        HttpServletRequest request = requestAttributes.getRequest();
+        HttpServletResponse httpResponse = requestAttributes.getResponse();
+        String eTag = "W/\"" + hashVersion(String.valueOf(version)) + "\"";
+        httpResponse.setHeader(ETAG_HEADER, eTag);
+        httpResponse.setHeader(CACHE_CONTROL_HEADER, "private, no-cache");
+        String ifNoneMatch = request.getHeader(IF_NONE_MATCH_HEADER);
+        boolean safeMethod = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (safeMethod && ifNoneMatch != null && matchesETag(ifNoneMatch, eTag)) {
+            httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return null;
+        }
+        return response.get();
+    }
+
+    /**
+     * Method used to hash the version of the data of a response
+     *
+     * @param version The version to hash
+     * @return the hexadecimal hash of the version as {@link String}
+     */
+    private String hashVersion(String version) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(version.hashCode());
+        }
+    }
+
+    /**
+     * Method used to check whether a list of {@code ETag} matches the current one, the tags are weakly compared as
+     * required by the {@code If-None-Match} header
+     *
+     * @param eTags The list of the {@code ETag} sent by the client
+     * @param eTag The current {@code ETag} of the response
+     * @return whether the list contains the current {@code ETag} as {@code boolean}
+     */
+    private boolean matchesETag(String eTags, String eTag) {
+        String opaqueTag = eTag.substring(2);
+        for (String candidate : eTags.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/"))
+                candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(opaqueTag))
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Method used to get the international message
      *
@@ -337,7 +597,7 @@ abstract public class EquinoxControllerCore {
      */
     @Returner
     protected String getInternationalizedMessage(String messageKey, @Nullable Object[] args) {
-        return messageSource.getMessage(messageKey, args, LocaleContextHolder.getLocale());
+        return messageSource.getMessage(messageKey, args, getRequestContext().getLocale());
     }
 
     /**
@@ -419,23 +679,9 @@ abstract public class EquinoxControllerCore {
      */
     public static void initEquinoxEnvironment(Class<?> context, Object[] saveMessageExtra, String[] args) {
         try {
-            EquinoxBackendConfiguration backendConfiguration = EquinoxBackendConfiguration.getInstance();
-            EquinoxBackendConfiguration.ResourcesConfig resourcesConfig = backendConfiguration.getResourcesConfig();
-            if (resourcesConfig.createResourcesFolder()) {
-                resourcesProvider = new ResourcesProvider(RESOURCES_KEY, resourcesConfig.getSubdirectories());
-                resourcesProvider.createContainerDirectory();
-                resourcesProvider.createSubDirectories();
-            }
-            if (backendConfiguration.serverProtectorEnabled()) {
-                if (serverProtector != null)
-                    throw new IllegalAccessException("The protector has been already instantiated");
-                EquinoxBackendConfiguration.ServerProtectorConfig serverProtectorConfig = backendConfiguration.getServerProtectorConfig();
-                serverProtector = new ServerProtector(
-                        serverProtectorConfig.getStoragePath(),
-                        serverProtectorConfig.getSaveMessage(saveMessageExtra)
-                );
-                serverProtector.launch(args);
-            }
+            EquinoxEnvironment.init(saveMessageExtra, args);
+            resourcesProvider = EquinoxEnvironment.getResourcesProvider();
+            serverProtector = EquinoxEnvironment.getServerProtector();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
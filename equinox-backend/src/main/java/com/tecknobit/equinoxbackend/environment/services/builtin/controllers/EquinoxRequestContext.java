@@ -0,0 +1,199 @@
+package com.tecknobit.equinoxbackend.environment.services.builtin.controllers;
+
+import com.tecknobit.apimanager.formatters.JsonHelper;
+import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * The {@code EquinoxRequestContext} class contains the state of a single request handled by the controllers: the
+ * parsed payload, the authenticated user and the locale of the request. The context is bound to the current request as
+ * one of its attributes, so it is created once for each request and is never shared between concurrent requests,
+ * allowing the singleton controllers to handle the requests in parallel, also on virtual threads, without locks. When
+ * there is no current request, e.g. when a controller is invoked directly by a scheduled task, the context must be
+ * opened with the {@link #open()} method, which binds it to the current thread until the returned {@link Scope} is
+ * closed, so the state of a task never leaks to the next task executed by the same thread
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxControllerCore
+ * @see EquinoxController
+ *
+ * @since 1.2.0
+ */
+public final class EquinoxRequestContext {
+
+    /**
+     * {@code CONTEXT_ATTRIBUTE} the request attribute where the context is bound
+     */
+    private static final String CONTEXT_ATTRIBUTE = EquinoxRequestContext.class.getName();
+
+    /**
+     * {@code THREAD_CONTEXT} the context opened with the {@link #open()} method, used when there is no current request
+     */
+    private static final ThreadLocal<EquinoxRequestContext> THREAD_CONTEXT = new ThreadLocal<>();
+
+    /**
+     * {@code jsonHelper} helper to work with the JSON payload of the request
+     */
+    private final JsonHelper jsonHelper;
+
+    /**
+     * {@code me} the user authenticated by the request, {@code null} if not authenticated
+     */
+    private EquinoxUser me;
+
+    /**
+     * {@code meId} the identifier of the user authenticated by the request, {@code null} if not authenticated
+     */
+    private String meId;
+
+    /**
+     * {@code locale} the locale of the request, {@code null} to use the current one of the session
+     */
+    private Locale locale;
+
+    /**
+     * Constructor to init the context
+     */
+    private EquinoxRequestContext() {
+        jsonHelper = new JsonHelper("{}");
+    }
+
+    /**
+     * Method used to get the context of the current request, creating it when the request has no context yet
+     *
+     * @return the context of the current request as {@link EquinoxRequestContext}
+     *
+     * @throws IllegalStateException when there is no current request and no context has been opened with the
+     * {@link #open()} method
+     */
+    public static EquinoxRequestContext current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            EquinoxRequestContext context = THREAD_CONTEXT.get();
+            if (context == null) {
+                throw new IllegalStateException("No request bound to the current thread, open a context with " +
+                        "EquinoxRequestContext.open() to invoke the controllers outside a request");
+            }
+            return context;
+        }
+        EquinoxRequestContext context = (EquinoxRequestContext) requestAttributes.getAttribute(CONTEXT_ATTRIBUTE,
+                SCOPE_REQUEST);
+        if (context == null) {
+            context = new EquinoxRequestContext();
+            requestAttributes.setAttribute(CONTEXT_ATTRIBUTE, context, SCOPE_REQUEST);
+        }
+        return context;
+    }
+
+    /**
+     * Method used to open a new context bound to the current thread, used to invoke the controllers outside a request.
+     * The context must be closed, e.g. with a {@code try-with-resources} statement, to unbind it from the thread
+     *
+     * @return the scope of the context opened as {@link Scope}
+     *
+     * @throws IllegalStateException when a context is already opened on the current thread
+     */
+    public static Scope open() {
+        if (THREAD_CONTEXT.get() != null)
+            throw new IllegalStateException("A context is already opened on the current thread");
+        THREAD_CONTEXT.set(new EquinoxRequestContext());
+        return new Scope();
+    }
+
+    /**
+     * Method used to get the {@link #jsonHelper} instance
+     *
+     * @return the {@link #jsonHelper} instance as {@link JsonHelper}
+     */
+    public JsonHelper getJsonHelper() {
+        return jsonHelper;
+    }
+
+    /**
+     * Method used to get the {@link #me} instance
+     *
+     * @return the {@link #me} instance as {@link EquinoxUser}
+     */
+    public EquinoxUser getMe() {
+        return me;
+    }
+
+    /**
+     * Method used to set the {@link #me} instance
+     *
+     * @param me The user authenticated by the request, {@code null} if not authenticated
+     */
+    public void setMe(EquinoxUser me) {
+        this.me = me;
+    }
+
+    /**
+     * Method used to get the {@link #meId} instance
+     *
+     * @return the {@link #meId} instance as {@link String}
+     */
+    public String getMeId() {
+        return meId;
+    }
+
+    /**
+     * Method used to set the {@link #meId} instance
+     *
+     * @param meId The identifier of the user authenticated by the request, {@code null} if not authenticated
+     */
+    public void setMeId(String meId) {
+        this.meId = meId;
+    }
+
+    /**
+     * Method used to get the {@link #locale} instance
+     *
+     * @return the {@link #locale} instance as {@link Locale}, the current one of the session if not set
+     */
+    public Locale getLocale() {
+        return locale != null ? locale : LocaleContextHolder.getLocale();
+    }
+
+    /**
+     * Method used to set the {@link #locale} instance
+     *
+     * @param locale The locale of the request
+     */
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * The {@code Scope} class is the scope of a context opened with the {@link #open()} method, closing it the context
+     * is unbound from the thread
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public static final class Scope implements AutoCloseable {
+
+        /**
+         * Constructor to init the scope
+         */
+        private Scope() {
+        }
+
+        /**
+         * Method used to unbind the context from the current thread
+         */
+        @Override
+        public void close() {
+            THREAD_CONTEXT.remove();
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.tecknobit.equinoxbackend.environment.services.builtin.controllers;
+
+import com.tecknobit.equinoxcore.network.ResponseStatus;
+import org.json.JSONObject;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * The {@code LocalizedResponsesCache} class keeps the payloads of the responses built by the {@link EquinoxControllerCore}
+ * with the internationalized messages. The payloads of the messages without arguments are constant for each locale, so
+ * they are rendered once and then reused, while the payloads of the messages with arguments are assembled from a
+ * template compiled once for each status, so only the message is formatted and escaped on each request. The number of
+ * the cached payloads is bounded, so the locales requested by the clients cannot grow the cache indefinitely
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxControllerCore
+ *
+ * @since 1.2.0
+ */
+final class LocalizedResponsesCache {
+
+    /**
+     * {@code MAX_CACHED_RESPONSES} the max number of payloads kept in the cache, the exceeding ones are rendered on
+     * each request
+     */
+    private static final int MAX_CACHED_RESPONSES = 4096;
+
+    /**
+     * {@code MESSAGE_PLACEHOLDER} the placeholder message used to compile the templates of the payloads
+     */
+    private static final String MESSAGE_PLACEHOLDER = "\u0000message\u0000";
+
+    /**
+     * {@code NO_TEMPLATE} the template used when the payload cannot be split around its message
+     */
+    private static final String[] NO_TEMPLATE = new String[0];
+
+    /**
+     * {@code renderer} the function which renders the payload of a response from its status and its message
+     */
+    private final BiFunction<ResponseStatus, String, String> renderer;
+
+    /**
+     * {@code responses} the rendered payloads of the messages without arguments
+     */
+    private final Map<ResponseKey, String> responses;
+
+    /**
+     * {@code templates} the compiled templates of the payloads for each status
+     */
+    private final Map<ResponseStatus, String[]> templates;
+
+    /**
+     * Constructor to init the cache
+     *
+     * @param renderer The function which renders the payload of a response from its status and its message
+     */
+    LocalizedResponsesCache(BiFunction<ResponseStatus, String, String> renderer) {
+        this.renderer = renderer;
+        responses = new ConcurrentHashMap<>();
+        templates = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method used to get the payload of a response
+     *
+     * @param status The status of the response
+     * @param messageKey The key of the internationalized message
+     * @param args The arguments used to format the message
+     * @param locale The locale of the message
+     * @param message The supplier of the internationalized message, invoked only when the payload is not cached
+     *
+     * @return the payload of the response as {@link String}
+     */
+    String getResponse(ResponseStatus status, String messageKey, Object[] args, Locale locale,
+                       Supplier<String> message) {
+        if (!hasArguments(args)) {
+            ResponseKey responseKey = new ResponseKey(status, messageKey, args == null ? -1 : args.length, locale);
+            String response = responses.get(responseKey);
+            if (response == null) {
+                response = renderer.apply(status, message.get());
+                if (responses.size() < MAX_CACHED_RESPONSES)
+                    responses.putIfAbsent(responseKey, response);
+            }
+            return response;
+        }
+        String[] template = templates.computeIfAbsent(status, this::compileTemplate);
+        if (template == NO_TEMPLATE)
+            return renderer.apply(status, message.get());
+        return template[0] + JSONObject.quote(message.get()) + template[1];
+    }
+
+    /**
+     * Method used to check whether the message has arguments to format
+     *
+     * @param args The arguments used to format the message
+     *
+     * @return whether the message has arguments to format as {@code boolean}
+     */
+    private boolean hasArguments(Object[] args) {
+        if (args == null)
+            return false;
+        for (Object arg : args)
+            if (arg != null)
+                return true;
+        return false;
+    }
+
+    /**
+     * Method used to compile the template of the payloads of a status, splitting the rendered payload around its
+     * message
+     *
+     * @param status The status of the responses
+     *
+     * @return the text before and after the message as {@link String} array, {@link #NO_TEMPLATE} if the payload cannot
+     * be split
+     */
+    private String[] compileTemplate(ResponseStatus status) {
+        String rendered = renderer.apply(status, MESSAGE_PLACEHOLDER);
+        String quotedPlaceholder = JSONObject.quote(MESSAGE_PLACEHOLDER);
+        int placeholderIndex = rendered.indexOf(quotedPlaceholder);
+        if (placeholderIndex == -1 || rendered.indexOf(quotedPlaceholder, placeholderIndex + 1) != -1)
+            return NO_TEMPLATE;
+        return new String[]{rendered.substring(0, placeholderIndex),
+                rendered.substring(placeholderIndex + quotedPlaceholder.length())};
+    }
+
+    /**
+     * The {@code ResponseKey} record identifies a cached payload
+     *
+     * @param status The status of the response
+     * @param messageKey The key of the internationalized message
+     * @param argsLength The number of the arguments, all {@code null}, of the message, {@code -1} if not specified
+     * @param locale The locale of the message
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private record ResponseKey(ResponseStatus status, String messageKey, int argsLength, Locale locale) {
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.tecknobit.equinoxbackend.environment.services.builtin.controllers;
+
+/**
+ * The {@code UserNotAuthorizedException} is thrown when the user of a request authorized by the cache of the
+ * authenticated users does not exist anymore, so the request is answered as not authorized
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxController#getMe()
+ *
+ * @since 1.2.0
+ */
+public class UserNotAuthorizedException extends RuntimeException {
+
+    /**
+     * Constructor to init the exception
+     */
+    public UserNotAuthorizedException() {
+        super("The user authorized does not exist anymore");
+    }
+
+}
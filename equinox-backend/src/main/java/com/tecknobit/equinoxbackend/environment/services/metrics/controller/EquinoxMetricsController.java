@@ -0,0 +1,166 @@
+package com.tecknobit.equinoxbackend.environment.services.metrics.controller;
+
+import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxbackend.apis.events.metrics.EquinoxEventsMetrics;
+import com.tecknobit.equinoxbackend.apis.metrics.EndpointsMetrics;
+import com.tecknobit.equinoxbackend.apis.resources.OrphanedResourcesCollector;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesCache;
+import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxControllerCore;
+import com.tecknobit.equinoxcore.annotations.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.GET;
+import static com.tecknobit.apimanager.apis.ServerProtector.SERVER_SECRET_KEY;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.BASE_EQUINOX_ENDPOINT;
+
+/**
+ * The {@code EquinoxMetricsController} exposes the snapshots of the metrics collected by the backend as lightweight
+ * {@code JSON} endpoints. When the server protector is enabled the server secret is required to read the metrics
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see EquinoxControllerCore
+ *
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping(BASE_EQUINOX_ENDPOINT + EquinoxMetricsController.METRICS_KEY)
+public class EquinoxMetricsController extends EquinoxControllerCore {
+
+    /**
+     * {@code METRICS_KEY} the key of the metrics endpoints
+     */
+    public static final String METRICS_KEY = "metrics";
+
+    /**
+     * {@code EVENTS_METRICS_ENDPOINT} the endpoint to get the metrics of the events pipeline
+     */
+    public static final String EVENTS_METRICS_ENDPOINT = "/events";
+
+    /**
+     * {@code ENDPOINTS_METRICS_ENDPOINT} the endpoint to get the metrics of the endpoints
+     */
+    public static final String ENDPOINTS_METRICS_ENDPOINT = "/endpoints";
+
+    /**
+     * {@code RESOURCES_CACHE_METRICS_ENDPOINT} the endpoint to get the metrics of the cache of the resources
+     */
+    public static final String RESOURCES_CACHE_METRICS_ENDPOINT = "/resources/cache";
+
+    /**
+     * {@code ORPHANED_RESOURCES_METRICS_ENDPOINT} the endpoint to get the reports of the collector of the orphaned
+     * resources
+     */
+    public static final String ORPHANED_RESOURCES_METRICS_ENDPOINT = "/resources/orphans";
+
+    /**
+     * {@code eventsMetrics} the metrics of the events pipeline
+     */
+    @Autowired(required = false)
+    protected EquinoxEventsMetrics eventsMetrics;
+
+    /**
+     * {@code endpointsMetrics} the metrics of the endpoints
+     */
+    @Autowired(required = false)
+    protected EndpointsMetrics endpointsMetrics;
+
+    /**
+     * {@code resourcesCache} the cache of the resources
+     */
+    @Autowired(required = false)
+    protected ResourcesCache resourcesCache;
+
+    /**
+     * {@code orphansCollector} the collector of the orphaned resources
+     */
+    @Autowired(required = false)
+    protected OrphanedResourcesCollector orphansCollector;
+
+    /**
+     * Method used to get the metrics of the events pipeline
+     *
+     * @param serverSecret The secret of the server, required when the server protector is enabled
+     *
+     * @return the result of the request as {@link String}
+     */
+    @GetMapping(path = EVENTS_METRICS_ENDPOINT)
+    @RequestPath(path = "/api/v1/metrics/events", method = GET)
+    public String getEventsMetrics(
+            @RequestHeader(name = SERVER_SECRET_KEY, required = false) String serverSecret
+    ) {
+        if (!isAuthorized(serverSecret) || eventsMetrics == null)
+            return notAuthorizedOrWrongDetailsResponse();
+        return successResponse(eventsMetrics.toJson());
+    }
+
+    /**
+     * Method used to get the metrics of the endpoints, that are the latency, the requests in flight and the outcomes of
+     * the requests of each endpoint
+     *
+     * @param serverSecret The secret of the server, required when the server protector is enabled
+     *
+     * @return the result of the request as {@link String}
+     */
+    @GetMapping(path = ENDPOINTS_METRICS_ENDPOINT)
+    @RequestPath(path = "/api/v1/metrics/endpoints", method = GET)
+    public String getEndpointsMetrics(
+            @RequestHeader(name = SERVER_SECRET_KEY, required = false) String serverSecret
+    ) {
+        if (!isAuthorized(serverSecret) || endpointsMetrics == null)
+            return notAuthorizedOrWrongDetailsResponse();
+        return successResponse(endpointsMetrics.toJson());
+    }
+
+    /**
+     * Method used to get the metrics of the cache of the resources
+     *
+     * @param serverSecret The secret of the server, required when the server protector is enabled
+     *
+     * @return the result of the request as {@link String}
+     */
+    @GetMapping(path = RESOURCES_CACHE_METRICS_ENDPOINT)
+    @RequestPath(path = "/api/v1/metrics/resources/cache", method = GET)
+    public String getResourcesCacheMetrics(
+            @RequestHeader(name = SERVER_SECRET_KEY, required = false) String serverSecret
+    ) {
+        if (!isAuthorized(serverSecret) || resourcesCache == null)
+            return notAuthorizedOrWrongDetailsResponse();
+        return successResponse(resourcesCache.toJson());
+    }
+
+    /**
+     * Method used to get the reports of the collector of the orphaned resources, that are the files and the bytes
+     * reclaimed
+     *
+     * @param serverSecret The secret of the server, required when the server protector is enabled
+     *
+     * @return the result of the request as {@link String}
+     */
+    @GetMapping(path = ORPHANED_RESOURCES_METRICS_ENDPOINT)
+    @RequestPath(path = "/api/v1/metrics/resources/orphans", method = GET)
+    public String getOrphanedResourcesMetrics(
+            @RequestHeader(name = SERVER_SECRET_KEY, required = false) String serverSecret
+    ) {
+        if (!isAuthorized(serverSecret) || orphansCollector == null)
+            return notAuthorizedOrWrongDetailsResponse();
+        return successResponse(orphansCollector.toJson());
+    }
+
+    /**
+     * Method used to check whether the request is authorized to read the metrics
+     *
+     * @param serverSecret The secret of the server sent with the request
+     *
+     * @return whether the request is authorized as {@code boolean}
+     */
+    @Validator
+    protected boolean isAuthorized(String serverSecret) {
+        return !configuration.serverProtectorEnabled() || serverProtector.serverSecretMatches(serverSecret);
+    }
+
+}
@@ -0,0 +1,316 @@
+package com.tecknobit.equinoxbackend.environment.services.uploads.controller;
+
+import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxbackend.apis.resources.ResourceSizeExceededException;
+import com.tecknobit.equinoxbackend.apis.resources.ResourcesLayout;
+import com.tecknobit.equinoxbackend.apis.resources.ResumableUploads;
+import com.tecknobit.equinoxbackend.apis.resources.ResumableUploads.UploadSession;
+import com.tecknobit.equinoxbackend.apis.resources.SavedResource;
+import com.tecknobit.equinoxbackend.apis.resources.UploadsQuotaExceededException;
+import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxController;
+import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
+import com.tecknobit.equinoxbackend.environment.services.users.repository.EquinoxUsersRepository;
+import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersService;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.*;
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.*;
+
+/**
+ * The {@code EquinoxUploadsController} exposes the resumable uploads of the large resources: an upload is initialized
+ * declaring the size of the resource, its content is sent in chunks with the offset where each one must be written and
+ * then it is finalized with the checksum of the whole content. When the connection drops the client requests the
+ * status of the upload and resumes it from the offset received by the server
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @param <T> The type of the {@link EquinoxUser} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <R> The type of the {@link EquinoxUsersRepository} used in the system, is generic to avoid manual casts if it has been customized
+ * @param <H> The type of the {@link EquinoxUsersService} used in the system, is generic to avoid manual casts if it has been customized
+ *
+ * @see EquinoxController
+ * @see ResumableUploads
+ *
+ * @since 1.2.0
+ */
+@RestController
+public class EquinoxUploadsController<T extends EquinoxUser, R extends EquinoxUsersRepository<T>,
+        H extends EquinoxUsersService<T, R>> extends EquinoxController<T, R, H> {
+
+    /**
+     * {@code UPLOADED_RESOURCES_DIRECTORY} the default resources directory where the uploaded resources are saved
+     */
+    public static final String UPLOADED_RESOURCES_DIRECTORY = "uploads";
+
+    /**
+     * {@code UPLOAD_TOO_LARGE_MESSAGE} error message used when the size of an upload exceeds the max size allowed
+     */
+    public static final String UPLOAD_TOO_LARGE_MESSAGE = "upload_too_large";
+
+    /**
+     * {@code UPLOADS_QUOTA_EXCEEDED_MESSAGE} error message used when a user already reached the max number of the
+     * upload sessions or the max size reserved by them
+     */
+    public static final String UPLOADS_QUOTA_EXCEEDED_MESSAGE = "uploads_quota_exceeded";
+
+    /**
+     * {@code usersService} helper to manage the users database operations and their resources
+     */
+    protected final H usersService;
+
+    /**
+     * Constructor to init the controller
+     *
+     * @param usersService The helper to manage the users database operations and their resources
+     */
+    @Autowired
+    public EquinoxUploadsController(H usersService) {
+        super();
+        this.usersService = usersService;
+    }
+
+    /**
+     * Method used to initialize a resumable upload
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param payload Payload of the request
+     *                 <pre>
+     *                      {@code
+     *                              {
+     *                                  "file_name" : "the name of the file to upload" -> [String],
+     *                                  "size" : "the size in bytes of the file to upload" -> [long]
+     *                              }
+     *                      }
+     *                 </pre>
+     * @return the result of the request as {@link String}
+     */
+    @PostMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + UPLOADS_ENDPOINT,
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads", method = POST)
+    public String initUpload(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @RequestBody Map<String, Object> payload
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        loadJsonHelper(payload);
+        String fileName = getJsonHelper().getString(FILE_NAME_KEY);
+        long size = getJsonHelper().getLong(SIZE_KEY, 0);
+        if (fileName == null || fileName.isBlank() || size <= 0)
+            return wrongProcedureResponse();
+        try {
+            ResumableUploads uploads = ResumableUploads.getInstance();
+            UploadSession session = uploads.init(userId, fileName, size);
+            return successResponse(new JSONObject()
+                    .put(UPLOAD_IDENTIFIER_KEY, session.getSessionId())
+                    .put(OFFSET_KEY, session.getReceived())
+                    .put(CHUNK_SIZE_KEY, uploads.getChunkSize())
+            );
+        } catch (ResourceSizeExceededException e) {
+            return failedResponse(UPLOAD_TOO_LARGE_MESSAGE);
+        } catch (UploadsQuotaExceededException e) {
+            return failedResponse(UPLOADS_QUOTA_EXCEEDED_MESSAGE);
+        } catch (IOException e) {
+            return wrongProcedureResponse();
+        }
+    }
+
+    /**
+     * Method used to get the status of a resumable upload, that is the offset from where the upload must be resumed
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param uploadId The identifier of the upload
+     * @return the result of the request as {@link String}
+     */
+    @GetMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + UPLOADS_ENDPOINT + "/{" + UPLOAD_IDENTIFIER_KEY + "}",
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}", method = GET)
+    public String getUploadStatus(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @PathVariable(UPLOAD_IDENTIFIER_KEY) String uploadId
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        UploadSession session = ResumableUploads.getInstance().getSession(uploadId, userId);
+        if (session == null)
+            return wrongProcedureResponse();
+        return successResponse(new JSONObject()
+                .put(UPLOAD_IDENTIFIER_KEY, session.getSessionId())
+                .put(OFFSET_KEY, session.getReceived())
+                .put(SIZE_KEY, session.getSize())
+        );
+    }
+
+    /**
+     * Method used to append a chunk to a resumable upload
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param uploadId The identifier of the upload
+     * @param offset The offset where the chunk must be written
+     * @param chunk The content of the chunk
+     * @return the result of the request as {@link String}
+     */
+    @PostMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + UPLOADS_ENDPOINT + "/{" + UPLOAD_IDENTIFIER_KEY + "}"
+                    + UPLOAD_CHUNKS_ENDPOINT,
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}/chunks", method = POST)
+    public String appendChunk(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @PathVariable(UPLOAD_IDENTIFIER_KEY) String uploadId,
+            @RequestParam(OFFSET_KEY) long offset,
+            @RequestParam(CHUNK_KEY) MultipartFile chunk
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        ResumableUploads uploads = ResumableUploads.getInstance();
+        UploadSession session = uploads.getSession(uploadId, userId);
+        if (session == null)
+            return wrongProcedureResponse();
+        try (InputStream content = chunk.getInputStream()) {
+            long received = uploads.appendChunk(session, offset, content);
+            return successResponse(new JSONObject()
+                    .put(OFFSET_KEY, received)
+            );
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            return wrongProcedureResponse();
+        }
+    }
+
+    /**
+     * Method used to finalize a resumable upload verifying its checksum and saving the uploaded resource
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param uploadId The identifier of the upload
+     * @param payload Payload of the request
+     *                 <pre>
+     *                      {@code
+     *                              {
+     *                                  "checksum" : "the hexadecimal SHA-256 checksum of the whole file" -> [String]
+     *                              }
+     *                      }
+     *                 </pre>
+     * @return the result of the request as {@link String}
+     */
+    @PostMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + UPLOADS_ENDPOINT + "/{" + UPLOAD_IDENTIFIER_KEY + "}"
+                    + FINALIZE_UPLOAD_ENDPOINT,
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}/finalize", method = POST)
+    public String finalizeUpload(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @PathVariable(UPLOAD_IDENTIFIER_KEY) String uploadId,
+            @RequestBody Map<String, Object> payload
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        loadJsonHelper(payload);
+        String checksum = getJsonHelper().getString(CHECKSUM_KEY);
+        ResumableUploads uploads = ResumableUploads.getInstance();
+        UploadSession session = uploads.getSession(uploadId, userId);
+        if (session == null || checksum == null)
+            return wrongProcedureResponse();
+        try {
+            Path uploadedFile = uploads.complete(session, checksum);
+            String resourcePath = ResourcesLayout.getInstance().createResourcePath(getUploadedResourcesDirectory(),
+                    session.getSessionId(), getSuffix(session.getFileName()));
+            SavedResource resource = usersService.saveUploadedResource(uploadedFile, resourcePath);
+            return successResponse(new JSONObject()
+                    .put(RESOURCE_PATH_KEY, resource.path())
+                    .put(SIZE_KEY, resource.size())
+            );
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            return wrongProcedureResponse();
+        }
+    }
+
+    /**
+     * Method used to abort a resumable upload discarding the content received
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param uploadId The identifier of the upload
+     * @return the result of the request as {@link String}
+     */
+    @DeleteMapping(
+            path = USERS_KEY + "/{" + USER_IDENTIFIER_KEY + "}" + UPLOADS_ENDPOINT + "/{" + UPLOAD_IDENTIFIER_KEY + "}",
+            headers = {
+                    TOKEN_KEY
+            }
+    )
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}", method = DELETE)
+    public String abortUpload(
+            @PathVariable(USER_IDENTIFIER_KEY) String userId,
+            @RequestHeader(TOKEN_KEY) String token,
+            @PathVariable(UPLOAD_IDENTIFIER_KEY) String uploadId
+    ) {
+        if (!isMe(userId, token))
+            return notAuthorizedOrWrongDetailsResponse();
+        ResumableUploads uploads = ResumableUploads.getInstance();
+        UploadSession session = uploads.getSession(uploadId, userId);
+        if (session == null)
+            return wrongProcedureResponse();
+        try {
+            uploads.discard(session);
+            return successResponse();
+        } catch (IOException e) {
+            return wrongProcedureResponse();
+        }
+    }
+
+    /**
+     * Method used to get the resources directory where the uploaded resources are saved
+     *
+     * @return the resources directory as {@link String}
+     * @implNote as default the {@link #UPLOADED_RESOURCES_DIRECTORY} is used, add it to the {@code subdirectories} of
+     * the {@code equinox.config} file to serve the uploaded resources
+     */
+    protected String getUploadedResourcesDirectory() {
+        return UPLOADED_RESOURCES_DIRECTORY;
+    }
+
+    /**
+     * Method used to get the suffix of the name of an uploaded file
+     *
+     * @param fileName The name of the uploaded file
+     * @return the suffix of the file, e.g. {@code .zip}, as {@link String}
+     */
+    private String getSuffix(String fileName) {
+        int suffixIndex = fileName.lastIndexOf('.');
+        if (suffixIndex <= 0 || fileName.indexOf('/', suffixIndex) != -1 || fileName.indexOf('\\', suffixIndex) != -1)
+            return "";
+        return fileName.substring(suffixIndex);
+    }
+
+}
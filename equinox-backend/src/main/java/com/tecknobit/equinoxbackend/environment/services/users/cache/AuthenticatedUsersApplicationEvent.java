@@ -0,0 +1,28 @@
+package com.tecknobit.equinoxbackend.environment.services.users.cache;
+
+import com.tecknobit.equinoxbackend.apis.events.EquinoxApplicationEvent;
+
+/**
+ * The {@code AuthenticatedUsersApplicationEvent} is the event emitted by the {@link AuthenticatedUsersCache} when the
+ * cached details of a user are invalidated
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see AuthenticatedUsersEvent
+ *
+ * @since 1.2.0
+ */
+public class AuthenticatedUsersApplicationEvent extends EquinoxApplicationEvent<AuthenticatedUsersEvent> {
+
+    /**
+     * Constructor used to create the event to emit
+     *
+     * @param source The source object where the event has been emitted
+     * @param eventType The type of the event emitted
+     * @param extra Arguments shared with the event
+     */
+    public AuthenticatedUsersApplicationEvent(Object source, AuthenticatedUsersEvent eventType, Object... extra) {
+        super(source, eventType, extra);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.tecknobit.equinoxbackend.environment.services.users.cache;
+
+import com.tecknobit.equinoxbackend.apis.events.EquinoxEventsCollector;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.AuthCacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.tecknobit.equinoxbackend.environment.services.users.cache.AuthenticatedUsersEvent.USER_INVALIDATED;
+
+/**
+ * The {@code AuthenticatedUsersCache} class keeps the minimal details of the users recently authenticated, that is their
+ * token and their language, so the {@link com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxController#isMe(String, String)}
+ * check is performed without querying the database. The cache is bounded by a max number of users, evicting the least
+ * recently used ones, and each user expires after a time to live. The users are invalidated by the
+ * {@link com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersService} when their credentials or
+ * their language change or when they are deleted; each invalidation emits an {@link AuthenticatedUsersApplicationEvent},
+ * which can be forwarded to the other nodes of the backend with an
+ * {@link com.tecknobit.equinoxbackend.apis.events.bridge.EquinoxEventsBridge} to invalidate their caches as well
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see AuthenticatedUsersEvent
+ *
+ * @since 1.2.0
+ */
+@Component
+public class AuthenticatedUsersCache implements EquinoxEventsCollector<AuthenticatedUsersEvent,
+        AuthenticatedUsersApplicationEvent> {
+
+    /**
+     * {@code publisher} the publisher used to emit the invalidation events, {@code null} to not emit them
+     */
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * {@code enabled} whether the authenticated users are cached
+     */
+    private final boolean enabled;
+
+    /**
+     * {@code ttl} the time in nanoseconds an authenticated user is kept in the cache
+     */
+    private final long ttl;
+
+    /**
+     * {@code maxUsers} the max number of authenticated users kept in the cache
+     */
+    private final int maxUsers;
+
+    /**
+     * {@code users} the cached users ordered from the least to the most recently used
+     */
+    private final LinkedHashMap<String, AuthenticatedUser> users;
+
+    /**
+     * {@code lock} the lock which guards the {@link #users}
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * {@code invalidations} the number of invalidations performed, used to discard the users loaded before a
+     * concurrent invalidation
+     */
+    private final AtomicLong invalidations;
+
+    /**
+     * Constructor to init the cache
+     *
+     * @param publisher The publisher used to emit the invalidation events
+     */
+    @Autowired
+    public AuthenticatedUsersCache(ApplicationEventPublisher publisher) {
+        this(publisher, EquinoxBackendConfiguration.getInstance().getAuthCacheConfig());
+    }
+
+    /**
+     * Constructor to init the cache
+     *
+     * @param publisher The publisher used to emit the invalidation events, {@code null} to not emit them
+     * @param authCacheConfig The configuration of the cache
+     */
+    public AuthenticatedUsersCache(ApplicationEventPublisher publisher, AuthCacheConfig authCacheConfig) {
+        this.publisher = publisher;
+        maxUsers = Math.max(0, authCacheConfig.getMaxUsers());
+        enabled = authCacheConfig.isEnabled() && maxUsers > 0 && authCacheConfig.getTtl() > 0;
+        ttl = TimeUnit.SECONDS.toNanos(authCacheConfig.getTtl());
+        users = new LinkedHashMap<>(16, 0.75f, true);
+        lock = new ReentrantLock();
+        invalidations = new AtomicLong();
+    }
+
+    /**
+     * Method used to get a cached user
+     *
+     * @param userId The identifier of the user
+     *
+     * @return the cached user as {@link AuthenticatedUser}, {@code null} if not cached or expired
+     */
+    public AuthenticatedUser get(String userId) {
+        if (!enabled)
+            return null;
+        lock.lock();
+        try {
+            AuthenticatedUser user = users.get(userId);
+            if (user != null && System.nanoTime() - user.expiration() >= 0) {
+                users.remove(userId);
+                return null;
+            }
+            return user;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to get the stamp to take before loading a user from the database, then required by the
+     * {@link #put(String, String, String, long)} method
+     *
+     * @return the stamp as {@code long}
+     */
+    public long getStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Method used to cache a user loaded from the database, the user is not cached when an invalidation has been
+     * performed after the stamp was taken, because the loaded details could be already stale
+     *
+     * @param userId The identifier of the user
+     * @param token The token of the user
+     * @param language The language of the user
+     * @param stamp The stamp taken with the {@link #getStamp()} method before loading the user
+     */
+    public void put(String userId, String token, String language, long stamp) {
+        if (!enabled)
+            return;
+        AuthenticatedUser user = new AuthenticatedUser(token, language, System.nanoTime() + ttl);
+        lock.lock();
+        try {
+            if (invalidations.get() != stamp)
+                return;
+            users.put(userId, user);
+            Iterator<AuthenticatedUser> iterator = users.values().iterator();
+            while (users.size() > maxUsers && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to invalidate a cached user, emitting the {@link AuthenticatedUsersEvent#USER_INVALIDATED} event
+     *
+     * @param userId The identifier of the user to invalidate
+     */
+    public void invalidate(String userId) {
+        evict(userId);
+        if (publisher != null)
+            publisher.publishEvent(new AuthenticatedUsersApplicationEvent(this, USER_INVALIDATED, userId));
+    }
+
+    /**
+     * Method used to remove a user from the cache of the current node
+     *
+     * @param userId The identifier of the user to remove
+     */
+    private void evict(String userId) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            users.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method used to invalidate the users invalidated by the other nodes of the backend
+     *
+     * @param event The emitted event to handle
+     */
+    @Override
+    public void onEventCollected(AuthenticatedUsersApplicationEvent event) {
+        if (event.getSource() == this || event.getEventType() != USER_INVALIDATED)
+            return;
+        Object[] extra = event.getExtra();
+        if (extra != null && extra.length > 0 && extra[0] instanceof String userId)
+            evict(userId);
+    }
+
+    /**
+     * The {@code AuthenticatedUser} record contains the minimal details of a cached user
+     *
+     * @param token The token of the user
+     * @param language The language of the user
+     * @param expiration The instant, in nanoseconds, when the user expires
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    public record AuthenticatedUser(String token, String language, long expiration) {
+    }
+
+}
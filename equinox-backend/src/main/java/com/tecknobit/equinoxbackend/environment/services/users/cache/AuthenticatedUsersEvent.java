@@ -0,0 +1,22 @@
+package com.tecknobit.equinoxbackend.environment.services.users.cache;
+
+/**
+ * The {@code AuthenticatedUsersEvent} enum contains the events emitted by the {@link AuthenticatedUsersCache}, they can
+ * be forwarded to the other nodes of the backend with an {@link com.tecknobit.equinoxbackend.apis.events.bridge.EquinoxEventsBridge}
+ * to keep their caches consistent
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see AuthenticatedUsersApplicationEvent
+ *
+ * @since 1.2.0
+ */
+public enum AuthenticatedUsersEvent {
+
+    /**
+     * {@code USER_INVALIDATED} emitted when the cached details of a user are no longer valid, e.g. because the user
+     * changed the password or has been deleted. The identifier of the user is shared as extra argument
+     */
+    USER_INVALIDATED
+
+}
@@ -1,11 +1,13 @@
 package com.tecknobit.equinoxbackend.environment.services.users.controller;
 
 import com.tecknobit.apimanager.annotations.RequestPath;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
 import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxController;
 import com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxControllerCore;
 import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
 import com.tecknobit.equinoxbackend.environment.services.users.repository.EquinoxUsersRepository;
 import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersService;
+import com.tecknobit.equinoxbackend.environment.services.users.service.EquinoxUsersValidator;
 import com.tecknobit.equinoxcore.helpers.InputsValidator;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +18,9 @@ import java.util.Map;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.*;
 import static com.tecknobit.apimanager.apis.ServerProtector.SERVER_SECRET_KEY;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.CHANGE_ACCOUNT_LIMIT;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.SIGN_IN_LIMIT;
+import static com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.RateLimitsConfig.SIGN_UP_LIMIT;
 import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
 import static com.tecknobit.equinoxcore.helpers.InputsValidator.DEFAULT_LANGUAGE;
 import static com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.*;
@@ -80,14 +85,16 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
             @RequestBody Map<String, Object> payload
     ) {
         loadJsonHelper(payload);
-        setSessionLocale(jsonHelper.getString(LANGUAGE_KEY, DEFAULT_LANGUAGE));
-        if (configuration.serverProtectorEnabled() && !serverProtector.serverSecretMatches(jsonHelper.getString(SERVER_SECRET_KEY)))
+        setSessionLocale(getJsonHelper().getString(LANGUAGE_KEY, DEFAULT_LANGUAGE));
+        if (!isAdmitted(SIGN_UP_LIMIT, getClientAddress()))
+            return tooManyRequestsResponse();
+        if (configuration.serverProtectorEnabled() && !serverProtector.serverSecretMatches(getJsonHelper().getString(SERVER_SECRET_KEY)))
             return notAuthorizedOrWrongDetailsResponse();
-        String name = jsonHelper.getString(NAME_KEY);
-        String surname = jsonHelper.getString(SURNAME_KEY);
-        String email = jsonHelper.getString(EMAIL_KEY);
-        String password = jsonHelper.getString(PASSWORD_KEY);
-        String language = jsonHelper.getString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
+        String name = getJsonHelper().getString(NAME_KEY);
+        String surname = getJsonHelper().getString(SURNAME_KEY);
+        String email = getJsonHelper().getString(EMAIL_KEY);
+        String password = getJsonHelper().getString(PASSWORD_KEY);
+        String language = getJsonHelper().getString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
         setSessionLocale(language);
         Object[] custom = getSignUpCustomParams();
         String signUpValidation = validateSignUp(name, surname, email, password, language, custom);
@@ -102,7 +109,7 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
                     token,
                     name,
                     surname,
-                    email.toLowerCase(),
+                    email,
                     password,
                     language,
                     custom
@@ -113,6 +120,8 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
                     .put(TOKEN_KEY, token)
                     .put(PROFILE_PIC_KEY, DEFAULT_PROFILE_PIC)
             );
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingRejectedResponse(e);
         } catch (Exception e) {
             return wrongProcedureResponse();
         }
@@ -123,12 +132,12 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
      * method
      *
      * @return the custom parameters as array of {@link Object}
-     * @apiNote to get the parameters from the payload you have to use the {@link #jsonHelper} instance previously loaded
+     * @apiNote to get the parameters from the payload you have to use the {@link #getJsonHelper()} instance previously loaded
      * by the {@link #signUp(Map)} method:
      * <pre>
      *     {@code
      *          protected Object[] getSignUpCustomParams() {
-     *              return new Object[]{jsonHelper.getString("anything")};
+     *              return new Object[]{getJsonHelper().getString("anything")};
      *          }
      *     }
      * </pre>
@@ -151,6 +160,11 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
      *
      * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
      *
+     * @implNote as default the inputs are validated by the {@link EquinoxUsersService#validateSignUp} method, which
+     * also validates the users imported in bulk, so the custom parameters should be validated overriding the
+     * {@code validateSignUpCustomParams} method of the service, the validations added here apply to the
+     * {@link #signUp(Map)} method only
+     *
      * @apiNote workflow example:
      * <pre>
      *     {@code
@@ -168,17 +182,7 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
      */
     protected String validateSignUp(String name, String surname, String email, String password, String language,
                                     Object... custom) {
-        if (!InputsValidator.isNameValid(name))
-            return WRONG_NAME_MESSAGE;
-        if (!InputsValidator.isSurnameValid(surname))
-            return WRONG_SURNAME_MESSAGE;
-        if (!InputsValidator.isEmailValid(email))
-            return WRONG_EMAIL_MESSAGE;
-        if (!InputsValidator.isPasswordValid(password))
-            return WRONG_PASSWORD_MESSAGE;
-        if (!InputsValidator.isLanguageValid(language))
-            return WRONG_LANGUAGE_MESSAGE;
-        return null;
+        return usersService.validateSignUp(name, surname, email, password, language, custom);
     }
 
     /**
@@ -202,20 +206,24 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
             @RequestBody Map<String, Object> payload
     ) {
         loadJsonHelper(payload);
-        String email = jsonHelper.getString(EMAIL_KEY);
-        String password = jsonHelper.getString(PASSWORD_KEY);
-        String language = jsonHelper.getString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
+        String email = getJsonHelper().getString(EMAIL_KEY);
+        String password = getJsonHelper().getString(PASSWORD_KEY);
+        String language = getJsonHelper().getString(LANGUAGE_KEY, DEFAULT_LANGUAGE);
         setSessionLocale(language);
+        if (!isAdmitted(SIGN_IN_LIMIT, getClientAddress()))
+            return tooManyRequestsResponse();
         Object[] custom = getSignInCustomParams();
         String signInValidation = validateSignIn(email, password, language, custom);
         if (signInValidation != null)
             return failedResponse(signInValidation);
         try {
-            T user = usersService.signInUser(email.toLowerCase(), password, custom);
+            T user = usersService.signInUser(email, password, custom);
             if (user == null)
                 return notAuthorizedOrWrongDetailsResponse();
             setSessionLocale(DEFAULT_LANGUAGE);
             return successResponse(assembleSignInSuccessResponse(user));
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingRejectedResponse(e);
         } catch (Exception e) {
             return wrongProcedureResponse();
         }
@@ -227,12 +235,12 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
      *
      * @return the custom parameters as array of {@link Object}
      *
-     * @apiNote to get the parameters from the payload you have to use the {@link #jsonHelper} instance previously loaded
+     * @apiNote to get the parameters from the payload you have to use the {@link #getJsonHelper()} instance previously loaded
      * by the {@link #signIn(Map)} method:
      * <pre>
      *     {@code
      *          protected Object[] getSignInCustomParams() {
-     *              return new Object[]{jsonHelper.getString("anything")};
+     *              return new Object[]{getJsonHelper().getString("anything")};
      *          }
      *     }
      * </pre>
@@ -270,13 +278,7 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
      * </pre>
      */
     protected String validateSignIn(String email, String password, String language, Object... custom) {
-        if (!InputsValidator.isEmailValid(email))
-            return WRONG_EMAIL_MESSAGE;
-        if (!InputsValidator.isPasswordValid(password))
-            return WRONG_PASSWORD_MESSAGE;
-        if (!InputsValidator.isLanguageValid(language))
-            return WRONG_LANGUAGE_MESSAGE;
-        return null;
+        return EquinoxUsersValidator.validateSignIn(email, password, language);
     }
 
     /**
@@ -310,7 +312,9 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     }
 
     /**
-     * Method used to get the dynamic data of the user to correctly update in all the devices where the user is connected
+     * Method used to get the dynamic data of the user to correctly update in all the devices where the user is connected.
+     * The response is conditional, so when the data are not changed the request is answered with
+     * {@code 304 Not Modified}
      *
      * @param userId    The identifier of the user
      * @param token The token of the user
@@ -329,7 +333,7 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     ) {
         if (!isMe(userId, token))
             return notAuthorizedOrWrongDetailsResponse();
-        return successResponse(usersService.getDynamicAccountData(userId));
+        return conditionalResponse(successResponse(usersService.getDynamicAccountData(userId)));
     }
 
     /**
@@ -354,6 +358,8 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     ) {
         if (!isMe(userId, token))
             return notAuthorizedOrWrongDetailsResponse();
+        if (!isAdmitted(CHANGE_ACCOUNT_LIMIT, userId))
+            return tooManyRequestsResponse();
         if (profilePic.isEmpty())
             return wrongProcedureResponse();
         JSONObject response = new JSONObject();
@@ -395,8 +401,10 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     ) {
         if (!isMe(userId, token))
             return notAuthorizedOrWrongDetailsResponse();
+        if (!isAdmitted(CHANGE_ACCOUNT_LIMIT, userId))
+            return tooManyRequestsResponse();
         loadJsonHelper(payload);
-        String email = jsonHelper.getString(EMAIL_KEY);
+        String email = getJsonHelper().getString(EMAIL_KEY);
         if (!InputsValidator.isEmailValid(email))
             return failedResponse(WRONG_EMAIL_MESSAGE);
         try {
@@ -436,13 +444,17 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     ) {
         if (!isMe(userId, token))
             return notAuthorizedOrWrongDetailsResponse();
+        if (!isAdmitted(CHANGE_ACCOUNT_LIMIT, userId))
+            return tooManyRequestsResponse();
         loadJsonHelper(payload);
-        String password = jsonHelper.getString(PASSWORD_KEY);
+        String password = getJsonHelper().getString(PASSWORD_KEY);
         if (!InputsValidator.isPasswordValid(password))
             return failedResponse(WRONG_PASSWORD_MESSAGE);
         try {
             usersService.changePassword(password, userId);
             return successResponse();
+        } catch (PasswordHashingRejectedException e) {
+            return passwordHashingRejectedResponse(e);
         } catch (Exception e) {
             return wrongProcedureResponse();
         }
@@ -477,8 +489,10 @@ public class EquinoxUsersController<T extends EquinoxUser, R extends EquinoxUser
     ) {
         if (!isMe(userId, token))
             return notAuthorizedOrWrongDetailsResponse();
+        if (!isAdmitted(CHANGE_ACCOUNT_LIMIT, userId))
+            return tooManyRequestsResponse();
         loadJsonHelper(payload);
-        String language = jsonHelper.getString(LANGUAGE_KEY);
+        String language = getJsonHelper().getString(LANGUAGE_KEY);
         if (!InputsValidator.isLanguageValid(language))
             return failedResponse(WRONG_LANGUAGE_MESSAGE);
         try {
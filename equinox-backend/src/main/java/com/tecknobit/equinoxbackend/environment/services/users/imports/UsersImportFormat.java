@@ -0,0 +1,25 @@
+package com.tecknobit.equinoxbackend.environment.services.users.imports;
+
+/**
+ * The {@code UsersImportFormat} enum lists the formats of the records accepted by the bulk imports of the users
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see UsersRecordsReader
+ *
+ * @since 1.2.0
+ */
+public enum UsersImportFormat {
+
+    /**
+     * {@code JSON_LINES} each line is a {@code JSON} object with the values of a user
+     */
+    JSON_LINES,
+
+    /**
+     * {@code CSV} the first record is the header with the keys of the values, each following record has the values of
+     * a user, the values can be quoted as specified by the {@code RFC 4180}
+     */
+    CSV
+
+}
@@ -0,0 +1,310 @@
+package com.tecknobit.equinoxbackend.environment.services.users.imports;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.EMAIL_KEY;
+
+/**
+ * The {@code UsersImportReport} class is the report of a bulk import of the users, it counts the rows read, imported
+ * and failed, details the errors of the failed rows and measures the time spent to hash the passwords and to write the
+ * rows, so the throughput of the import can be monitored
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public class UsersImportReport {
+
+    /**
+     * {@code ROWS_READ_KEY} the key of the number of the rows read
+     */
+    public static final String ROWS_READ_KEY = "rows_read";
+
+    /**
+     * {@code IMPORTED_USERS_KEY} the key of the number of the users imported
+     */
+    public static final String IMPORTED_USERS_KEY = "imported_users";
+
+    /**
+     * {@code FAILED_ROWS_KEY} the key of the number of the rows failed
+     */
+    public static final String FAILED_ROWS_KEY = "failed_rows";
+
+    /**
+     * {@code ELAPSED_TIME_KEY} the key of the time in milliseconds taken by the import
+     */
+    public static final String ELAPSED_TIME_KEY = "elapsed_time";
+
+    /**
+     * {@code HASHING_TIME_KEY} the key of the time in milliseconds spent waiting for the hashes of the passwords
+     */
+    public static final String HASHING_TIME_KEY = "hashing_time";
+
+    /**
+     * {@code WRITING_TIME_KEY} the key of the time in milliseconds spent writing the rows
+     */
+    public static final String WRITING_TIME_KEY = "writing_time";
+
+    /**
+     * {@code THROUGHPUT_KEY} the key of the number of the users imported per second
+     */
+    public static final String THROUGHPUT_KEY = "throughput";
+
+    /**
+     * {@code ERRORS_KEY} the key of the errors of the failed rows
+     */
+    public static final String ERRORS_KEY = "errors";
+
+    /**
+     * {@code ERRORS_TRUNCATED_KEY} the key of whether some failed rows are not detailed in the {@link #ERRORS_KEY}
+     */
+    public static final String ERRORS_TRUNCATED_KEY = "errors_truncated";
+
+    /**
+     * {@code ROW_KEY} the key of the row of an error
+     */
+    public static final String ROW_KEY = "row";
+
+    /**
+     * {@code ERROR_KEY} the key of the error of a row
+     */
+    public static final String ERROR_KEY = "error";
+
+    /**
+     * {@code maxReportedErrors} the max number of failed rows detailed, the failed rows beyond it are only counted
+     */
+    private final int maxReportedErrors;
+
+    /**
+     * {@code errors} the errors of the failed rows
+     */
+    private final List<RowError> errors;
+
+    /**
+     * {@code startTime} the time in nanoseconds when the import started
+     */
+    private final long startTime;
+
+    /**
+     * {@code rowsRead} the number of the rows read
+     */
+    private long rowsRead;
+
+    /**
+     * {@code importedUsers} the number of the users imported
+     */
+    private long importedUsers;
+
+    /**
+     * {@code failedRows} the number of the rows failed
+     */
+    private long failedRows;
+
+    /**
+     * {@code hashingTime} the time in nanoseconds spent waiting for the hashes of the passwords
+     */
+    private long hashingTime;
+
+    /**
+     * {@code writingTime} the time in nanoseconds spent writing the rows
+     */
+    private long writingTime;
+
+    /**
+     * {@code elapsedTime} the time in nanoseconds taken by the import, set when the import is completed
+     */
+    private long elapsedTime;
+
+    /**
+     * Constructor to init the report when the import starts
+     *
+     * @param maxReportedErrors The max number of failed rows detailed, the failed rows beyond it are only counted
+     */
+    public UsersImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+        errors = new ArrayList<>();
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Method used to count a row read
+     */
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    /**
+     * Method used to count the users imported
+     *
+     * @param users The number of the users imported
+     */
+    public void usersImported(int users) {
+        importedUsers += users;
+    }
+
+    /**
+     * Method used to count a failed row and to detail its error, until the max number of errors reported is reached
+     *
+     * @param row The number of the line where the row starts
+     * @param email The email of the user of the row, {@code null} when not available
+     * @param error The error occurred
+     */
+    public void rowFailed(long row, String email, String error) {
+        failedRows++;
+        if (errors.size() < maxReportedErrors)
+            errors.add(new RowError(row, email, error));
+    }
+
+    /**
+     * Method used to add the time spent waiting for the hashes of the passwords
+     *
+     * @param time The time in nanoseconds
+     */
+    public void addHashingTime(long time) {
+        hashingTime += time;
+    }
+
+    /**
+     * Method used to add the time spent writing the rows
+     *
+     * @param time The time in nanoseconds
+     */
+    public void addWritingTime(long time) {
+        writingTime += time;
+    }
+
+    /**
+     * Method used to complete the report when the import ends
+     *
+     * @return the report completed as {@link UsersImportReport}
+     */
+    public UsersImportReport complete() {
+        elapsedTime = System.nanoTime() - startTime;
+        return this;
+    }
+
+    /**
+     * Method used to get the {@link #rowsRead} instance
+     *
+     * @return the {@link #rowsRead} instance as {@code long}
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Method used to get the {@link #importedUsers} instance
+     *
+     * @return the {@link #importedUsers} instance as {@code long}
+     */
+    public long getImportedUsers() {
+        return importedUsers;
+    }
+
+    /**
+     * Method used to get the {@link #failedRows} instance
+     *
+     * @return the {@link #failedRows} instance as {@code long}
+     */
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    /**
+     * Method used to get the {@link #errors} instance
+     *
+     * @return the {@link #errors} instance as {@link List} of {@link RowError}
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Method used to get whether some failed rows are not detailed in the {@link #errors}
+     *
+     * @return whether some failed rows are not detailed as {@code boolean}
+     */
+    public boolean areErrorsTruncated() {
+        return failedRows > errors.size();
+    }
+
+    /**
+     * Method used to get the {@link #hashingTime} instance
+     *
+     * @return the {@link #hashingTime} instance in milliseconds as {@code long}
+     */
+    public long getHashingTime() {
+        return TimeUnit.NANOSECONDS.toMillis(hashingTime);
+    }
+
+    /**
+     * Method used to get the {@link #writingTime} instance
+     *
+     * @return the {@link #writingTime} instance in milliseconds as {@code long}
+     */
+    public long getWritingTime() {
+        return TimeUnit.NANOSECONDS.toMillis(writingTime);
+    }
+
+    /**
+     * Method used to get the {@link #elapsedTime} instance
+     *
+     * @return the {@link #elapsedTime} instance in milliseconds as {@code long}
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedTime);
+    }
+
+    /**
+     * Method used to get the number of the users imported per second
+     *
+     * @return the throughput of the import as {@code double}
+     */
+    public double getThroughput() {
+        if (elapsedTime == 0)
+            return 0;
+        return importedUsers / (elapsedTime / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Method used to format the report
+     *
+     * @return the report formatted as {@link JSONObject}
+     */
+    public JSONObject toJson() {
+        JSONArray jErrors = new JSONArray();
+        for (RowError error : errors) {
+            jErrors.put(new JSONObject()
+                    .put(ROW_KEY, error.row())
+                    .put(EMAIL_KEY, error.email() != null ? error.email() : JSONObject.NULL)
+                    .put(ERROR_KEY, error.error()));
+        }
+        return new JSONObject()
+                .put(ROWS_READ_KEY, rowsRead)
+                .put(IMPORTED_USERS_KEY, importedUsers)
+                .put(FAILED_ROWS_KEY, failedRows)
+                .put(ELAPSED_TIME_KEY, getElapsedTime())
+                .put(HASHING_TIME_KEY, getHashingTime())
+                .put(WRITING_TIME_KEY, getWritingTime())
+                .put(THROUGHPUT_KEY, getThroughput())
+                .put(ERRORS_KEY, jErrors)
+                .put(ERRORS_TRUNCATED_KEY, areErrorsTruncated());
+    }
+
+    /**
+     * The {@code RowError} record is the error of a failed row
+     *
+     * @param row The number of the line where the row starts
+     * @param email The email of the user of the row, {@code null} when not available
+     * @param error The error occurred
+     */
+    public record RowError(long row, String email, String error) {
+    }
+
+}
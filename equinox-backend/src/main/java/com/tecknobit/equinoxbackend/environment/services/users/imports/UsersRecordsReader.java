@@ -0,0 +1,281 @@
+package com.tecknobit.equinoxbackend.environment.services.users.imports;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code UsersRecordsReader} class reads the records of a bulk import of the users one at a time from a stream, so
+ * the records are never loaded all in memory. The records which cannot be parsed are returned with the error occurred,
+ * so they can be reported without stopping the import
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see UsersImportFormat
+ *
+ * @since 1.2.0
+ */
+public abstract class UsersRecordsReader implements Closeable {
+
+    /**
+     * {@code MALFORMED_RECORD_ERROR} the error of the records which cannot be parsed
+     */
+    public static final String MALFORMED_RECORD_ERROR = "malformed_record";
+
+    /**
+     * {@code WRONG_COLUMNS_COUNT_ERROR} the error of the {@code CSV} records whose values do not match the header
+     */
+    public static final String WRONG_COLUMNS_COUNT_ERROR = "wrong_columns_count";
+
+    /**
+     * {@code reader} the reader of the stream of the records
+     */
+    protected final BufferedReader reader;
+
+    /**
+     * {@code line} the number of the last line read
+     */
+    protected long line;
+
+    /**
+     * Constructor to init the reader
+     *
+     * @param reader The reader of the stream of the records
+     */
+    protected UsersRecordsReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Method used to create the reader of the records of a stream
+     *
+     * @param records The stream of the records, encoded in {@code UTF-8}
+     * @param format The format of the records
+     *
+     * @return the reader as {@link UsersRecordsReader}
+     */
+    public static UsersRecordsReader of(InputStream records, UsersImportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(records, StandardCharsets.UTF_8));
+        return switch (format) {
+            case JSON_LINES -> new JsonLinesRecordsReader(reader);
+            case CSV -> new CsvRecordsReader(reader);
+        };
+    }
+
+    /**
+     * Method used to read the next record, the blank records are skipped
+     *
+     * @return the record as {@link ImportedRecord}, {@code null} when the stream is ended
+     *
+     * @throws IOException when the stream cannot be read
+     */
+    public abstract ImportedRecord next() throws IOException;
+
+    /**
+     * Method used to close the stream of the records
+     *
+     * @throws IOException when the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * The {@code ImportedRecord} record is a record read from the stream
+     *
+     * @param row The number of the line where the record starts
+     * @param values The values of the user, {@code null} when the record cannot be parsed
+     * @param error The error occurred parsing the record, {@code null} when the record has been parsed
+     */
+    public record ImportedRecord(long row, JSONObject values, String error) {
+    }
+
+    /**
+     * The {@code JsonLinesRecordsReader} class reads the records in the {@link UsersImportFormat#JSON_LINES} format
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private static final class JsonLinesRecordsReader extends UsersRecordsReader {
+
+        /**
+         * Constructor to init the reader
+         *
+         * @param reader The reader of the stream of the records
+         */
+        private JsonLinesRecordsReader(BufferedReader reader) {
+            super(reader);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ImportedRecord next() throws IOException {
+            String record;
+            while ((record = reader.readLine()) != null) {
+                line++;
+                if (record.isBlank())
+                    continue;
+                try {
+                    return new ImportedRecord(line, new JSONObject(record), null);
+                } catch (JSONException e) {
+                    return new ImportedRecord(line, null, MALFORMED_RECORD_ERROR);
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * The {@code CsvRecordsReader} class reads the records in the {@link UsersImportFormat#CSV} format, the values
+     * can be quoted to contain commas, line breaks and quotes escaped by doubling them
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private static final class CsvRecordsReader extends UsersRecordsReader {
+
+        /**
+         * {@code QUOTE} the character which quotes the values
+         */
+        private static final char QUOTE = '"';
+
+        /**
+         * {@code DELIMITER} the character which separates the values
+         */
+        private static final char DELIMITER = ',';
+
+        /**
+         * {@code BYTE_ORDER_MARK} the byte order mark which can precede the header
+         */
+        private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+        /**
+         * {@code header} the keys of the values, read from the first record
+         */
+        private List<String> header;
+
+        /**
+         * {@code ended} whether the stream is ended
+         */
+        private boolean ended;
+
+        /**
+         * {@code unterminatedQuote} whether the last record read has a quoted value not closed before the end of the
+         * stream
+         */
+        private boolean unterminatedQuote;
+
+        /**
+         * Constructor to init the reader
+         *
+         * @param reader The reader of the stream of the records
+         */
+        private CsvRecordsReader(BufferedReader reader) {
+            super(reader);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ImportedRecord next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null)
+                    return null;
+                header.replaceAll(String::trim);
+                if (!header.isEmpty() && header.get(0).startsWith(BYTE_ORDER_MARK))
+                    header.set(0, header.get(0).substring(1));
+            }
+            List<String> record;
+            long row;
+            do {
+                row = line + 1;
+                record = readRecord();
+                if (record == null)
+                    return null;
+            } while (record.size() == 1 && record.get(0).isEmpty() && !unterminatedQuote);
+            if (unterminatedQuote)
+                return new ImportedRecord(row, null, MALFORMED_RECORD_ERROR);
+            if (record.size() != header.size())
+                return new ImportedRecord(row, null, WRONG_COLUMNS_COUNT_ERROR);
+            JSONObject values = new JSONObject();
+            for (int j = 0; j < header.size(); j++) {
+                String value = record.get(j);
+                if (!value.isEmpty())
+                    values.put(header.get(j), value);
+            }
+            return new ImportedRecord(row, values, null);
+        }
+
+        /**
+         * Method used to read the values of the next record
+         *
+         * @return the values of the record as {@link List} of {@link String}, {@code null} when the stream is ended
+         *
+         * @throws IOException when the stream cannot be read
+         */
+        private List<String> readRecord() throws IOException {
+            if (ended)
+                return null;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int character;
+            while ((character = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (character == QUOTE) {
+                        reader.mark(1);
+                        if (reader.read() == QUOTE) {
+                            value.append(QUOTE);
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (character == '\n')
+                            line++;
+                        value.append((char) character);
+                    }
+                } else if (character == QUOTE && value.isEmpty()) {
+                    quoted = true;
+                } else if (character == DELIMITER) {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (character == '\r' || character == '\n') {
+                    if (character == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n')
+                            reader.reset();
+                    }
+                    line++;
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) character);
+                }
+            }
+            ended = true;
+            if (!read)
+                return null;
+            line++;
+            unterminatedQuote = quoted;
+            values.add(value.toString());
+            return values;
+        }
+
+    }
+
+}
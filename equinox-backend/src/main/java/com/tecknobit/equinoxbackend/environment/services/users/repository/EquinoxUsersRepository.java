@@ -8,6 +8,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import static com.tecknobit.equinoxbackend.apis.database.SQLConstants._IN_CLAUSE_;
 import static com.tecknobit.equinoxbackend.apis.database.SQLConstants._WHERE_;
 import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
 
@@ -111,4 +115,21 @@ public interface EquinoxUsersRepository<T extends EquinoxUser> extends JpaReposi
             @Param(IDENTIFIER_KEY) String id
     );
 
+    /**
+     * Method used to execute the query to find which profile pics of a batch are still used by a {@link EquinoxUser}
+     *
+     * @param profilePics: the pathnames of the profile pics to check
+     * @return the pathnames of the profile pics still used as {@link List} of {@link String}
+     *
+     * @since 1.2.0
+     */
+    @Query(
+            value = "SELECT DISTINCT " + PROFILE_PIC_KEY + " FROM " + USERS_KEY + _WHERE_ + PROFILE_PIC_KEY +
+                    _IN_CLAUSE_ + "(:" + PROFILE_PIC_KEY + ")",
+            nativeQuery = true
+    )
+    List<String> findUsedProfilePics(
+            @Param(PROFILE_PIC_KEY) Collection<String> profilePics
+    );
+
 }
\ No newline at end of file
@@ -1,29 +1,51 @@
 package com.tecknobit.equinoxbackend.environment.services.users.service;
 
-import com.tecknobit.apimanager.apis.APIRequest;
 import com.tecknobit.equinoxbackend.apis.batch.EquinoxItemsHelper;
+import com.tecknobit.equinoxbackend.apis.database.NativeStatement;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHasher;
+import com.tecknobit.equinoxbackend.apis.hashing.PasswordHashingRejectedException;
+import com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore;
+import com.tecknobit.equinoxbackend.apis.resources.ImageVariants;
+import com.tecknobit.equinoxbackend.apis.resources.ResourceReferencesProvider;
 import com.tecknobit.equinoxbackend.apis.resources.ResourcesManager;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration;
+import com.tecknobit.equinoxbackend.configuration.EquinoxBackendConfiguration.UsersImportConfig;
+import com.tecknobit.equinoxbackend.environment.services.users.cache.AuthenticatedUsersCache;
 import com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser;
+import com.tecknobit.equinoxbackend.environment.services.users.imports.UsersImportFormat;
+import com.tecknobit.equinoxbackend.environment.services.users.imports.UsersImportReport;
+import com.tecknobit.equinoxbackend.environment.services.users.imports.UsersRecordsReader;
+import com.tecknobit.equinoxbackend.environment.services.users.imports.UsersRecordsReader.ImportedRecord;
 import com.tecknobit.equinoxbackend.environment.services.users.repository.EquinoxUsersRepository;
-import com.tecknobit.equinoxcore.annotations.Assembler;
-import jakarta.persistence.Query;
+import com.tecknobit.equinoxcore.annotations.Wrapper;
+import com.tecknobit.equinoxcore.helpers.InputsValidator;
+import jakarta.transaction.Transactional;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.sql.DataSource;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.ParameterizedType;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
-import static com.tecknobit.apimanager.apis.APIRequest.SHA256_ALGORITHM;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tecknobit.equinoxbackend.apis.resources.ContentAddressedStore.BLOBS_DIRECTORY;
 import static com.tecknobit.equinoxbackend.apis.database.SQLConstants.*;
+import static com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxControllerCore.*;
 import static com.tecknobit.equinoxbackend.environment.services.users.entity.EquinoxUser.DISCRIMINATOR_VALUE_KEY;
 import static com.tecknobit.equinoxcore.helpers.CommonKeysKt.*;
+import static com.tecknobit.equinoxcore.helpers.InputsValidator.DEFAULT_LANGUAGE;
 import static java.lang.System.currentTimeMillis;
 
 /**
@@ -39,7 +61,7 @@ import static java.lang.System.currentTimeMillis;
  */
 @Service
 public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRepository<T>> extends EquinoxItemsHelper
-        implements ResourcesManager {
+        implements ResourcesManager, ResourceReferencesProvider {
 
     /**
      * {@code SELECT_} query command
@@ -83,11 +105,30 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      */
     protected static final List<String> DEFAULT_DYNAMIC_ACCOUNT_DATA_KEYS = List.of(EMAIL_KEY, PROFILE_PIC_KEY, LANGUAGE_KEY);
 
+    /**
+     * {@code PASSWORD_HASH_KEY} the key of the password already hashed of an imported user, used in place of the
+     * {@code password} to migrate the users of another system
+     */
+    public static final String PASSWORD_HASH_KEY = "password_hash";
+
     /**
      * {@code usersRepository} instance for the users repository
      */
     protected final R usersRepository;
 
+    /**
+     * {@code authenticatedUsersCache} the cache of the users recently authenticated, invalidated when the details of a
+     * user change
+     */
+    @Autowired(required = false)
+    protected AuthenticatedUsersCache authenticatedUsersCache;
+
+    /**
+     * {@code dataSource} the source of the connections used to write the rows of the bulk imports in batches
+     */
+    @Autowired
+    protected DataSource dataSource;
+
     /**
      * {@code discriminatorValue} value of the discriminator to use to save the users in the related table
      */
@@ -121,72 +162,404 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      * @param language The language of the user
      * @param custom The custom parameters to add in the default query
      *
-     * @apiNote the order of the custom parameters must be the same of that specified in the {@link #getSignUpKeys()}
+     * @apiNote the order of the custom parameters must be the same of that specified in the {@link #getSignUpKeys()},
+     * the values are bound as parameters of the statement compiled once for the keys by the {@link NativeStatement},
+     * the email is stored as normalized by the {@link #normalizeEmail(String)} method
      */
     public void signUpUser(String id, String token, String name, String surname, String email, String password,
                            String language, Object... custom) throws NoSuchAlgorithmException {
-        StringBuilder queryBuilder = new StringBuilder(BASE_SIGN_UP_QUERY);
-        arrangeQuery(queryBuilder, getSignUpKeys(), false);
-        List<Object> values = new ArrayList<>(List.of(discriminatorValue, id, token, name, surname, email, hash(password),
-                language));
-        values.addAll(Arrays.stream(custom).toList());
-        queryBuilder.append(VALUES_QUERY_PART);
-        arrangeQuery(queryBuilder, values, true);
-        entityManager.createNativeQuery(queryBuilder.toString()).executeUpdate();
+        List<Object> values = new ArrayList<>(List.of(discriminatorValue, id, token, name, surname,
+                normalizeEmail(email), hash(password), language));
+        values.addAll(Arrays.asList(custom));
+        NativeStatement.insertInto(USERS_KEY, getSignUpKeys())
+                .createQuery(entityManager, values)
+                .executeUpdate();
     }
 
     /**
-     * Method used to get the list of keys to use in the {@link #BASE_SIGN_UP_QUERY}
+     * Method used to normalize an email before storing it or searching a user by it, so the same email written with a
+     * different case always refers to the same user
      *
-     * @return a list of keys as {@link List} of {@link String}
-     * @apiNote This method allows a customizable sign-up with custom parameters added in a customization of the {@link EquinoxUser}
+     * @param email The email to normalize
+     *
+     * @return the normalized email as {@link String}
+     *
+     * @since 1.2.0
      */
-    protected List<String> getSignUpKeys() {
-        return DEFAULT_USER_SIGN_UP_KEYS;
+    @Wrapper
+    public static String normalizeEmail(String email) {
+        return EquinoxUsersValidator.normalizeEmail(email);
+    }
+
+    /**
+     * Method used to validate the inputs of a sign-up, both of the sign-ups requested by the clients and of the users
+     * imported in bulk
+     *
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     * @param custom The custom parameters added in a customization of the {@link EquinoxUser}, in the same order of
+     *               that specified in the {@link #getSignUpKeys()}
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     *
+     * @see #validateSignUpCustomParams(Object...)
+     *
+     * @since 1.2.0
+     */
+    public String validateSignUp(String name, String surname, String email, String password, String language,
+                                 Object... custom) {
+        return validateSignUp(name, surname, email, InputsValidator.isPasswordValid(password), language, custom);
+    }
+
+    /**
+     * Method used to validate the inputs of a sign-up whose password has been already checked, e.g. the users
+     * imported with a {@link #PASSWORD_HASH_KEY}
+     *
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param validPassword Whether the password of the user is valid
+     * @param language The language of the user
+     * @param custom The custom parameters added in a customization of the {@link EquinoxUser}, in the same order of
+     *               that specified in the {@link #getSignUpKeys()}
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     */
+    private String validateSignUp(String name, String surname, String email, boolean validPassword, String language,
+                                  Object... custom) {
+        String validation = EquinoxUsersValidator.validateSignUp(name, surname, email, validPassword, language);
+        if (validation != null)
+            return validation;
+        return validateSignUpCustomParams(custom);
+    }
+
+    /**
+     * Method used to validate the custom parameters of a sign-up, both of the sign-ups requested by the clients and of
+     * the users imported in bulk
+     *
+     * @param custom The custom parameters added in a customization of the {@link EquinoxUser}, in the same order of
+     *               that specified in the {@link #getSignUpKeys()}
+     *
+     * @return the key of the error if any custom parameters is wrong, null otherwise as {@link String}
+     *
+     * @apiNote workflow example:
+     * <pre>
+     *     {@code
+     *          @Override
+     *          protected String validateSignUpCustomParams(Object... custom) {
+     *              if(custom[0] == null)
+     *                  return "error_key";
+     *              return null;
+     *          }
+     *     }
+     * </pre>
+     *
+     * @since 1.2.0
+     */
+    protected String validateSignUpCustomParams(Object... custom) {
+        return null;
+    }
+
+    /**
+     * Method used to import in bulk the users read from a stream, as specified by the {@link UsersImportConfig}
+     *
+     * @param records The stream of the records of the users, encoded in {@code UTF-8}
+     * @param format The format of the records
+     *
+     * @return the report of the import as {@link UsersImportReport}
+     *
+     * @throws IOException when the stream cannot be read
+     * @throws SQLException when the connection to the database cannot be obtained
+     *
+     * @see #importUsers(InputStream, UsersImportFormat, int)
+     *
+     * @since 1.2.0
+     */
+    @Wrapper
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public UsersImportReport importUsers(InputStream records, UsersImportFormat format) throws IOException,
+            SQLException {
+        return importUsers(records, format, EquinoxBackendConfiguration.getInstance().getUsersImportConfig()
+                .getChunkSize());
+    }
+
+    /**
+     * Method used to import in bulk the users read from a stream. The records are read one at a time and validated,
+     * the passwords of each chunk of records are hashed in parallel by a pool dedicated to the import, so the imports
+     * do not saturate the pool which hashes the passwords of the sign-ups and of the sign-ins, then the rows of the
+     * chunk are written by a single {@code JDBC} batch and committed. When the batch fails the rows of the chunk are
+     * written one at a time, so only the wrong rows, e.g. those with an email already used, are reported as failed.
+     * <p>
+     * The records have the same values of the sign-up, that is {@code name}, {@code surname}, {@code email},
+     * {@code password}, {@code language} and the custom values of the {@link #getSignUpKeys()}, validated by the
+     * {@link #validateSignUp(String, String, String, String, String, Object...)} method, the {@code password}
+     * can be replaced by a {@link #PASSWORD_HASH_KEY} already derived by a registered algorithm or by the legacy
+     * {@code SHA-256} digest, which is rehashed when the user signs in. The {@code id} of the users is kept when
+     * provided by the records, e.g. to migrate the users of another system, otherwise it is generated
+     *
+     * @param records The stream of the records of the users, encoded in {@code UTF-8}
+     * @param format The format of the records
+     * @param chunkSize The number of rows written and committed together
+     *
+     * @return the report of the import as {@link UsersImportReport}
+     *
+     * @throws IOException when the stream cannot be read
+     * @throws SQLException when the connection to the database cannot be obtained
+     *
+     * @since 1.2.0
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public UsersImportReport importUsers(InputStream records, UsersImportFormat format, int chunkSize)
+            throws IOException, SQLException {
+        UsersImportConfig usersImportConfig = EquinoxBackendConfiguration.getInstance().getUsersImportConfig();
+        chunkSize = Math.max(1, chunkSize);
+        UsersImportReport report = new UsersImportReport(usersImportConfig.getMaxReportedErrors());
+        NativeStatement statement = NativeStatement.insertInto(USERS_KEY, getSignUpKeys());
+        ThreadPoolExecutor hashingPool = createImportHashingPool(usersImportConfig.getThreads(), chunkSize);
+        try (UsersRecordsReader reader = UsersRecordsReader.of(records, format);
+             Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<ImportedRecord> chunk = new ArrayList<>(chunkSize);
+                ImportedRecord record;
+                while ((record = reader.next()) != null) {
+                    report.rowRead();
+                    if (record.error() != null) {
+                        report.rowFailed(record.row(), null, record.error());
+                        continue;
+                    }
+                    String validation = validateImportedUser(record.values());
+                    if (validation != null) {
+                        report.rowFailed(record.row(), record.values().optString(EMAIL_KEY, null), validation);
+                        continue;
+                    }
+                    chunk.add(record);
+                    if (chunk.size() == chunkSize) {
+                        importChunk(connection, statement, chunk, hashingPool, report);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty())
+                    importChunk(connection, statement, chunk, hashingPool, report);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            hashingPool.shutdownNow();
+        }
+        return report.complete();
+    }
+
+    /**
+     * Method used to create the pool which hashes the passwords of an import, its queue can hold a whole chunk and
+     * when full the hashes are derived by the importing thread
+     *
+     * @param threads The number of threads of the pool
+     * @param chunkSize The number of rows of each chunk
+     *
+     * @return the pool as {@link ThreadPoolExecutor}
+     */
+    private ThreadPoolExecutor createImportHashingPool(int threads, int chunkSize) {
+        AtomicInteger threadsCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(chunkSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "equinox-users-import-" + threadsCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     /**
-     * Method used to arrange the {@link #BASE_SIGN_UP_QUERY} with dynamic list of values to use in that query
+     * Method used to import a chunk of records validated, hashing their passwords in parallel and writing their rows
+     * by a single batch
      *
-     * @param queryBuilder The builder of the query to execute
-     * @param list The list to arrange
-     * @param escape: whether the values of the list must be escaped with the {@link com.tecknobit.equinoxbackend.apis.database.SQLConstants#SINGLE_QUOTE} character
+     * @param connection The connection where write the rows
+     * @param statement The statement which inserts the rows
+     * @param chunk The records of the chunk
+     * @param hashingPool The pool which hashes the passwords
+     * @param report The report of the import
      *
-     * @param <E> Type of the element in the list
+     * @throws IOException when the import has been interrupted
+     * @throws SQLException when the rows cannot be written and the transactions cannot be rolled back
      */
-    @Assembler
-    private <E> void arrangeQuery(StringBuilder queryBuilder, List<E> list, boolean escape) {
-        int listSize = list.size();
-        int lastIndex = listSize - 1;
-        for (int j = 0; j < listSize; j++) {
-            if (escape)
-                queryBuilder.append(SINGLE_QUOTE);
-            queryBuilder.append(list.get(j));
-            if (escape)
-                queryBuilder.append(SINGLE_QUOTE);
-            if (j < lastIndex)
-                queryBuilder.append(COMMA);
-            else
-                queryBuilder.append(CLOSED_ROUND_BRACKET);
+    private void importChunk(Connection connection, NativeStatement statement, List<ImportedRecord> chunk,
+                             ThreadPoolExecutor hashingPool, UsersImportReport report) throws IOException,
+            SQLException {
+        long hashingStart = System.nanoTime();
+        List<Future<String>> hashes = new ArrayList<>(chunk.size());
+        for (ImportedRecord record : chunk)
+            hashes.add(hashingPool.submit(() -> hashImportedPassword(record.values())));
+        List<ImportedRecord> hashedRecords = new ArrayList<>(chunk.size());
+        List<List<Object>> rows = new ArrayList<>(chunk.size());
+        for (int j = 0; j < chunk.size(); j++) {
+            ImportedRecord record = chunk.get(j);
+            try {
+                rows.add(getImportedSignUpValues(record.values(), hashes.get(j).get()));
+                hashedRecords.add(record);
+            } catch (ExecutionException e) {
+                report.rowFailed(record.row(), record.values().optString(EMAIL_KEY, null),
+                        e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("The import of the users has been interrupted");
+            }
+        }
+        report.addHashingTime(System.nanoTime() - hashingStart);
+        long writingStart = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(statement.getSql())) {
+            try {
+                for (List<Object> row : rows) {
+                    statement.bind(insert, row);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                report.usersImported(rows.size());
+            } catch (SQLException e) {
+                connection.rollback();
+                insert.clearBatch();
+                for (int j = 0; j < rows.size(); j++) {
+                    try {
+                        statement.bind(insert, rows.get(j));
+                        insert.executeUpdate();
+                        connection.commit();
+                        report.usersImported(1);
+                    } catch (SQLException rowException) {
+                        connection.rollback();
+                        ImportedRecord record = hashedRecords.get(j);
+                        report.rowFailed(record.row(), record.values().optString(EMAIL_KEY, null),
+                                rowException.getMessage());
+                    }
+                }
+            }
         }
+        report.addWritingTime(System.nanoTime() - writingStart);
     }
 
     /**
-     * Method used to sign in an existing user
+     * Method used to validate the values of an imported user with the same validation of the sign-up
+     *
+     * @param values The values of the user
+     *
+     * @return the error of the values as {@link String}, {@code null} when the values are valid
+     */
+    private String validateImportedUser(JSONObject values) {
+        String passwordHash = values.optString(PASSWORD_HASH_KEY, null);
+        boolean validPassword = passwordHash != null ? PasswordHasher.getInstance().isSupportedHash(passwordHash)
+                : InputsValidator.isPasswordValid(values.optString(PASSWORD_KEY, null));
+        return validateSignUp(values.optString(NAME_KEY, null), values.optString(SURNAME_KEY, null),
+                values.optString(EMAIL_KEY, null), validPassword, values.optString(LANGUAGE_KEY, DEFAULT_LANGUAGE),
+                getImportedCustomParams(values));
+    }
+
+    /**
+     * Method used to get the custom parameters of an imported user, in the same order of the {@link #getSignUpKeys()}
+     *
+     * @param values The values of the user
+     *
+     * @return the custom parameters as array of {@link Object}
+     */
+    private Object[] getImportedCustomParams(JSONObject values) {
+        List<String> signUpKeys = getSignUpKeys();
+        Object[] custom = new Object[signUpKeys.size() - DEFAULT_USER_SIGN_UP_KEYS.size()];
+        for (int j = 0; j < custom.length; j++) {
+            Object value = values.opt(signUpKeys.get(DEFAULT_USER_SIGN_UP_KEYS.size() + j));
+            custom[j] = JSONObject.NULL.equals(value) ? null : value;
+        }
+        return custom;
+    }
+
+    /**
+     * Method used to hash the password of an imported user on the current thread, the passwords already hashed are
+     * returned as they are
+     *
+     * @param values The values of the user
+     *
+     * @return the hash of the password as {@link String}
+     */
+    private String hashImportedPassword(JSONObject values) {
+        String passwordHash = values.optString(PASSWORD_HASH_KEY, null);
+        if (passwordHash != null)
+            return passwordHash;
+        return PasswordHasher.getInstance().hashDirectly(values.getString(PASSWORD_KEY));
+    }
+
+    /**
+     * Method used to get the values of the sign-up of an imported user, in the same order of the
+     * {@link #getSignUpKeys()}, the identifier provided by the record is kept, otherwise a new one is generated
+     *
+     * @param values The values of the user
+     * @param passwordHash The hash of the password of the user
+     *
+     * @return the values of the sign-up as {@link List} of {@link Object}
+     */
+    private List<Object> getImportedSignUpValues(JSONObject values, String passwordHash) {
+        String id = values.optString(IDENTIFIER_KEY, "").trim();
+        if (id.isEmpty())
+            id = generateIdentifier();
+        List<Object> signUpValues = new ArrayList<>(List.of(discriminatorValue, id, generateIdentifier(),
+                values.getString(NAME_KEY), values.getString(SURNAME_KEY), normalizeEmail(values.getString(EMAIL_KEY)),
+                passwordHash, values.optString(LANGUAGE_KEY, DEFAULT_LANGUAGE)));
+        signUpValues.addAll(Arrays.asList(getImportedCustomParams(values)));
+        return signUpValues;
+    }
+
+    /**
+     * Method used to get the list of keys to use in the {@link #BASE_SIGN_UP_QUERY}
+     *
+     * @return a list of keys as {@link List} of {@link String}
+     * @apiNote This method allows a customizable sign-up with custom parameters added in a customization of the {@link EquinoxUser}
+     */
+    protected List<String> getSignUpKeys() {
+        return DEFAULT_USER_SIGN_UP_KEYS;
+    }
+
+    /**
+     * Method used to sign in an existing user, when the password of the user has been hashed with outdated parameters
+     * it is transparently rehashed with the current ones
      *
      * @param email:    the email of the user
      * @param password The password of the user
      * @param custom The custom parameters added in a customization of the {@link EquinoxUser}
      *
      * @return the authenticated user as {@link EquinoxUser} if the credentials inserted were correct
+     *
+     * @apiNote the user is searched by the email normalized by the {@link #normalizeEmail(String)} method
      */
     public T signInUser(String email, String password, Object... custom) throws NoSuchAlgorithmException {
-        T user = usersRepository.findUserByEmail(email);
-        if (validateSignIn(user, password, custom))
+        T user = usersRepository.findUserByEmail(normalizeEmail(email));
+        if (validateSignIn(user, password, custom)) {
+            rehashPasswordIfNeeded(user, password);
             return user;
+        }
         return null;
     }
 
+    /**
+     * Method used to rehash the password of a user when its hash has been derived with an algorithm or parameters
+     * different from the configured ones. When the hashing pool is saturated the rehash is skipped, it will be
+     * executed at the next sign in
+     *
+     * @param user The user authenticated
+     * @param password The password of the user
+     *
+     * @since 1.2.0
+     */
+    protected void rehashPasswordIfNeeded(T user, String password) {
+        PasswordHasher passwordHasher = PasswordHasher.getInstance();
+        if (!passwordHasher.needsRehash(user.getPassword()))
+            return;
+        try {
+            usersRepository.changePassword(passwordHasher.hash(password), user.getId());
+        } catch (PasswordHashingRejectedException ignored) {
+            // the password will be rehashed at the next sign in
+        }
+    }
+
     /**
      * Method used to validate the sign in request
      *
@@ -198,7 +571,7 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      * @return the authenticated user as {@link EquinoxUser} if the credentials inserted were correct null otherwise
      */
     protected boolean validateSignIn(T user, String password, Object... custom) throws NoSuchAlgorithmException {
-        return user != null && user.getPassword().equals(hash(password));
+        return user != null && PasswordHasher.getInstance().verify(password, user.getPassword());
     }
 
     /**
@@ -218,16 +591,12 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      * @return the dynamic data as {@link JSONObject}
      */
     public JSONObject getDynamicAccountData(String userId) {
-        StringBuilder queryBuilder = new StringBuilder(SELECT_);
         List<String> dynamicAccountDataKeys = getDynamicAccountDataKeys();
-
-        arrangeDynamicDataQuery(queryBuilder, dynamicAccountDataKeys);
-        queryBuilder.append(_FROM_ + USERS_KEY);
-        queryBuilder.append(_WHERE_);
-        queryBuilder.append(IDENTIFIER_KEY + "=").append(SINGLE_QUOTE).append(userId).append(SINGLE_QUOTE);
-
-        Query query = entityManager.createNativeQuery(queryBuilder.toString());
-        JSONArray result = new JSONArray(query.getResultList().get(0));
+        List<?> rows = NativeStatement.selectFrom(USERS_KEY, dynamicAccountDataKeys, IDENTIFIER_KEY)
+                .createQuery(entityManager, userId)
+                .getResultList();
+        Object row = rows.get(0);
+        JSONArray result = row instanceof Object[] ? new JSONArray(row) : new JSONArray().put(row);
         JSONObject dynamicData = new JSONObject();
 
         for (int j = 0; j < result.length(); j++)
@@ -247,37 +616,39 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
     }
 
     /**
-     * Method used to arrange the dynamic data query to execute by the {@link #getDynamicAccountData(String)} method
-     *
-     * @param queryBuilder The builder of the query to execute
-     * @param list         The list to arrange
-     * @param <E>          Type of the element in the list
-     */
-    @Assembler
-    private <E> void arrangeDynamicDataQuery(StringBuilder queryBuilder, List<E> list) {
-        int ListSize = list.size();
-        int lastIndex = ListSize - 1;
-
-        for (int j = 0; j < ListSize; j++) {
-            queryBuilder.append(list.get(j));
-            if (j < lastIndex)
-                queryBuilder.append(COMMA);
-        }
-    }
-
-    /**
-     * Method used to change the profile pic of the {@link EquinoxUser}
+     * Method used to change the profile pic of the {@link EquinoxUser}, when the resources are content addressed the
+     * profile pic is stored by the {@link ContentAddressedStore}. The new profile pic is saved, checking its size,
+     * before updating the user, and the current one is deleted only after, so a rejected upload leaves the user unchanged
      *
      * @param profilePic The profile pic resource
      * @param userId:     the identifier of the user
      */
     public String changeProfilePic(MultipartFile profilePic, String userId) throws IOException {
-        String profilePicPath = createProfileResource(profilePic, userId + currentTimeMillis());
-
-        usersRepository.changeProfilePic(profilePicPath, userId);
-
-        deleteProfileResource(userId);
-        saveResource(profilePic, profilePicPath);
+        String currentProfilePic = getCurrentProfilePic(userId);
+        String profilePicPath;
+        if (EquinoxBackendConfiguration.getInstance().getResourcesConfig().isContentAddressed()) {
+            ContentAddressedStore contentAddressedStore = ContentAddressedStore.getInstance();
+            String previousBlob = contentAddressedStore.getBlob(userId);
+            profilePicPath = contentAddressedStore.store(profilePic, userId).path();
+            try {
+                usersRepository.changeProfilePic(profilePicPath, userId);
+            } catch (RuntimeException e) {
+                contentAddressedStore.restore(userId, previousBlob);
+                throw e;
+            }
+            deleteCurrentProfilePic(currentProfilePic);
+        } else {
+            profilePicPath = createProfileResource(profilePic, userId + currentTimeMillis());
+            saveResource(profilePic, profilePicPath);
+            try {
+                usersRepository.changeProfilePic(profilePicPath, userId);
+            } catch (RuntimeException e) {
+                deleteResourceByPath(profilePicPath);
+                throw e;
+            }
+            deleteCurrentProfilePic(currentProfilePic);
+        }
+        ImageVariants.getInstance().generateVariantsAsync(profilePicPath);
 
         return profilePicPath;
     }
@@ -287,9 +658,12 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      *
      * @param newEmail The new email of the user
      * @param userId:   the identifier of the user
+     *
+     * @apiNote the email is stored as normalized by the {@link #normalizeEmail(String)} method
      */
     public void changeEmail(String newEmail, String userId) {
-        usersRepository.changeEmail(newEmail, userId);
+        usersRepository.changeEmail(normalizeEmail(newEmail), userId);
+        invalidateAuthenticatedUser(userId);
     }
 
     /**
@@ -300,6 +674,7 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      */
     public void changePassword(String newPassword, String userId) throws NoSuchAlgorithmException {
         usersRepository.changePassword(hash(newPassword), userId);
+        invalidateAuthenticatedUser(userId);
     }
 
     /**
@@ -310,6 +685,7 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      */
     public void changeLanguage(String newLanguage, String userId) {
         usersRepository.changeLanguage(newLanguage, userId);
+        invalidateAuthenticatedUser(userId);
     }
 
     /**
@@ -318,18 +694,88 @@ public class EquinoxUsersService<T extends EquinoxUser, R extends EquinoxUsersRe
      * @param id The identifier of the user to delete
      */
     public void deleteUser(String id) {
+        String currentProfilePic = getCurrentProfilePic(id);
         usersRepository.deleteById(id);
-        deleteProfileResource(id);
+        invalidateAuthenticatedUser(id);
+        deleteCurrentProfilePic(currentProfilePic);
+        if (EquinoxBackendConfiguration.getInstance().getResourcesConfig().isContentAddressed()) {
+            try {
+                ContentAddressedStore.getInstance().release(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Method used to invalidate the cached details of a user, must be invoked when the token of the user is rotated or
+     * any detail used to authorize the requests changes
+     *
+     * @param userId The identifier of the user to invalidate
+     * @since 1.2.0
+     */
+    protected void invalidateAuthenticatedUser(String userId) {
+        if (authenticatedUsersCache != null)
+            authenticatedUsersCache.invalidate(userId);
+    }
+
+    /**
+     * Method used to get the current profile pic of a user
+     *
+     * @param userId The identifier of the user
+     * @return the pathname of the current profile pic as {@link String}, {@code null} if the user does not exist
+     */
+    protected String getCurrentProfilePic(String userId) {
+        return usersRepository.findById(userId)
+                .map(EquinoxUser::getProfilePic)
+                .orElse(null);
+    }
+
+    /**
+     * Method used to delete the current profile pic of a user, the {@link #DEFAULT_PROFILE_PIC} and the blobs of the
+     * {@link ContentAddressedStore}, which are released by the store itself, are never deleted
+     *
+     * @param currentProfilePic The pathname of the current profile pic
+     */
+    protected void deleteCurrentProfilePic(String currentProfilePic) {
+        if (currentProfilePic == null || currentProfilePic.equals(DEFAULT_PROFILE_PIC))
+            return;
+        if (!currentProfilePic.startsWith(BLOBS_DIRECTORY + "/"))
+            deleteResourceByPath(currentProfilePic);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> getReferencedDirectories() {
+        return Set.of(PROFILES_DIRECTORY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@link #DEFAULT_PROFILE_PIC} is always reported as referenced
+     */
+    @Override
+    public Set<String> getReferencedResources(Collection<String> resourcePaths) {
+        Set<String> referencedResources = new HashSet<>(usersRepository.findUsedProfilePics(resourcePaths));
+        if (resourcePaths.contains(DEFAULT_PROFILE_PIC))
+            referencedResources.add(DEFAULT_PROFILE_PIC);
+        return referencedResources;
     }
 
     /**
-     * Method used to hash a sensitive user data
+     * Method used to hash a sensitive user data, the hash is derived on the dedicated pool of the
+     * {@link PasswordHasher} with a random salt, so it must be verified with the {@link PasswordHasher#verify} method
+     * instead of being compared with another hash
      *
      * @param secret The user value to hash
      * @throws NoSuchAlgorithmException when the hash of the user value fails
+     * @throws PasswordHashingRejectedException when the hashing pool is saturated
      */
     protected String hash(String secret) throws NoSuchAlgorithmException {
-        return APIRequest.base64Digest(secret, SHA256_ALGORITHM);
+        return PasswordHasher.getInstance().hash(secret);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.tecknobit.equinoxbackend.environment.services.users.service;
+
+import com.tecknobit.equinoxcore.helpers.InputsValidator;
+
+import java.util.Locale;
+
+import static com.tecknobit.equinoxbackend.environment.services.builtin.controllers.EquinoxControllerCore.*;
+
+/**
+ * The {@code EquinoxUsersValidator} class validates and normalizes the inputs of the users, it is shared by the
+ * {@link EquinoxUsersService} and by the reactive users stack, which cannot depend on the JPA stack of the service, so
+ * both the stacks accept and store the same inputs
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+public final class EquinoxUsersValidator {
+
+    /**
+     * Constructor to avoid the instantiation of the class
+     */
+    private EquinoxUsersValidator() {
+    }
+
+    /**
+     * Method used to normalize an email before storing it or searching a user by it, so the same email written with a
+     * different case always refers to the same user
+     *
+     * @param email The email to normalize
+     *
+     * @return the normalized email as {@link String}
+     */
+    public static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Method used to validate the default inputs of a sign-up, the custom parameters of a customized user are
+     * validated by the services
+     *
+     * @param name The name of the user
+     * @param surname The surname of the user
+     * @param email The email of the user
+     * @param validPassword Whether the password of the user is valid
+     * @param language The language of the user
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     */
+    public static String validateSignUp(String name, String surname, String email, boolean validPassword,
+                                        String language) {
+        if (!InputsValidator.isNameValid(name))
+            return WRONG_NAME_MESSAGE;
+        if (!InputsValidator.isSurnameValid(surname))
+            return WRONG_SURNAME_MESSAGE;
+        if (!InputsValidator.isEmailValid(email))
+            return WRONG_EMAIL_MESSAGE;
+        if (!validPassword)
+            return WRONG_PASSWORD_MESSAGE;
+        if (!InputsValidator.isLanguageValid(language))
+            return WRONG_LANGUAGE_MESSAGE;
+        return null;
+    }
+
+    /**
+     * Method used to validate the default inputs of a sign-in
+     *
+     * @param email The email of the user
+     * @param password The password of the user
+     * @param language The language of the user
+     *
+     * @return the key of the error if any inputs is wrong, null otherwise as {@link String}
+     */
+    public static String validateSignIn(String email, String password, String language) {
+        if (!InputsValidator.isEmailValid(email))
+            return WRONG_EMAIL_MESSAGE;
+        if (!InputsValidator.isPasswordValid(password))
+            return WRONG_PASSWORD_MESSAGE;
+        if (!InputsValidator.isLanguageValid(language))
+            return WRONG_LANGUAGE_MESSAGE;
+        return null;
+    }
+
+}
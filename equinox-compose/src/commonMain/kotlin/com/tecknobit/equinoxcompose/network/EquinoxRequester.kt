@@ -11,8 +11,11 @@ import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.CHANG
 import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.CHANGE_PASSWORD_ENDPOINT
 import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.CHANGE_PROFILE_PIC_ENDPOINT
 import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.DYNAMIC_ACCOUNT_DATA_ENDPOINT
+import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.FINALIZE_UPLOAD_ENDPOINT
 import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.SIGN_IN_ENDPOINT
 import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.SIGN_UP_ENDPOINT
+import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.UPLOADS_ENDPOINT
+import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.UPLOAD_CHUNKS_ENDPOINT
 import com.tecknobit.equinoxcore.network.RequestMethod.*
 import com.tecknobit.equinoxcore.network.Requester
 import io.ktor.client.request.forms.*
@@ -36,6 +39,8 @@ import kotlinx.serialization.json.put
  * @param connectionErrorMessage The error to send when a connection error occurred
  * @param byPassSSLValidation Whether bypass the **SSL** certificates validation, this for example
  * when is a self-signed the certificate USE WITH CAUTION
+ * @param binaryResponses Whether request the responses in the compact binary `CBOR` format, disabled by default, the
+ * backends which do not support it reply with the `JSON` format, so the responses are decoded transparently in both cases
  *
  * @author N7ghtm4r3 - Tecknobit
  *
@@ -51,6 +56,7 @@ abstract class EquinoxRequester(
     socketTimeout: Long = DEFAULT_REQUEST_TIMEOUT,
     connectionErrorMessage: String,
     byPassSSLValidation: Boolean = false,
+    binaryResponses: Boolean = false,
 ) : Requester(
     host = host,
     userId = userId,
@@ -60,7 +66,8 @@ abstract class EquinoxRequester(
     connectionTimeout = connectionTimeout,
     socketTimeout = socketTimeout,
     connectionErrorMessage = connectionErrorMessage,
-    byPassSSLValidation = byPassSSLValidation
+    byPassSSLValidation = byPassSSLValidation,
+    binaryResponses = binaryResponses
 ) {
 
     /**
@@ -357,6 +364,124 @@ abstract class EquinoxRequester(
         )
     }
 
+    /**
+     * Method used to request to initialize a resumable upload
+     *
+     * @param fileName The name of the file to upload
+     * @param size The size in bytes of the file to upload
+     *
+     * @return the result of the request as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads", method = POST)
+    open suspend fun initUpload(
+        fileName: String,
+        size: Long,
+    ): JsonObject {
+        val payload = buildJsonObject {
+            put(FILE_NAME_KEY, fileName)
+            put(SIZE_KEY, size)
+        }
+        return execPost(
+            endpoint = assembleUsersEndpointPath(UPLOADS_ENDPOINT),
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to request the status of a resumable upload, that is the offset from where the upload must be resumed
+     *
+     * @param uploadId The identifier of the upload
+     *
+     * @return the result of the request as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}", method = GET)
+    open suspend fun getUploadStatus(
+        uploadId: String,
+    ): JsonObject {
+        return execGet(
+            endpoint = assembleUploadEndpointPath(uploadId)
+        )
+    }
+
+    /**
+     * Method used to request to append a chunk to a resumable upload
+     *
+     * @param uploadId The identifier of the upload
+     * @param offset The offset where the chunk must be written, it must not exceed the offset received by the server
+     * @param chunkBytes The content of the chunk, it should not exceed the chunk size returned by [initUpload]
+     *
+     * @return the result of the request as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}/chunks", method = POST)
+    open suspend fun appendUploadChunk(
+        uploadId: String,
+        offset: Long,
+        chunkBytes: ByteArray,
+    ): JsonObject {
+        val payload = formData {
+            append(CHUNK_KEY, chunkBytes, Headers.build {
+                append(HttpHeaders.ContentType, ContentType.Application.OctetStream.toString())
+                append(HttpHeaders.ContentDisposition, "filename=\"$uploadId\"")
+            })
+        }
+        val query = buildJsonObject {
+            put(OFFSET_KEY, offset)
+        }
+        return execMultipartRequest(
+            endpoint = assembleUploadEndpointPath(uploadId, UPLOAD_CHUNKS_ENDPOINT),
+            query = query,
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to request to finalize a resumable upload
+     *
+     * @param uploadId The identifier of the upload
+     * @param checksum The hexadecimal `SHA-256` checksum of the whole uploaded file
+     *
+     * @return the result of the request as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}/finalize", method = POST)
+    open suspend fun finalizeUpload(
+        uploadId: String,
+        checksum: String,
+    ): JsonObject {
+        val payload = buildJsonObject {
+            put(CHECKSUM_KEY, checksum)
+        }
+        return execPost(
+            endpoint = assembleUploadEndpointPath(uploadId, FINALIZE_UPLOAD_ENDPOINT),
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to request to abort a resumable upload
+     *
+     * @param uploadId The identifier of the upload
+     *
+     * @return the result of the request as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    @RequestPath(path = "/api/v1/users/{user_id}/uploads/{upload_id}", method = DELETE)
+    open suspend fun abortUpload(
+        uploadId: String,
+    ): JsonObject {
+        return execDelete(
+            endpoint = assembleUploadEndpointPath(uploadId)
+        )
+    }
+
     /**
      * Method used to assemble the endpoint to make the request to the custom controllers
      *
@@ -397,4 +522,22 @@ abstract class EquinoxRequester(
         return "$USERS_KEY/$userId$endpoint"
     }
 
+    /**
+     * Method used to assemble the endpoint to make the request to the uploads controller
+     *
+     * @param uploadId The identifier of the upload
+     * @param endpoint The endpoint path of the url
+     *
+     * @return an endpoint to make the request as [String]
+     *
+     * @since 1.2.0
+     */
+    @Assembler
+    private fun assembleUploadEndpointPath(
+        uploadId: String,
+        endpoint: String = "",
+    ): String {
+        return assembleUsersEndpointPath("$UPLOADS_ENDPOINT/$uploadId$endpoint")
+    }
+
 }
\ No newline at end of file
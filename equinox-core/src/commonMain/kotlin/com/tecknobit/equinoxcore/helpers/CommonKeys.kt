@@ -119,4 +119,109 @@ const val MEMBER_KEY = "member"
  *
  * @since 1.2.0
  */
-const val MEMBER_IDENTIFIER_KEY = "member_id"
\ No newline at end of file
+const val MEMBER_IDENTIFIER_KEY = "member_id"
+
+/**
+ * `UPLOAD_IDENTIFIER_KEY` the key for the `upload_id` field
+ *
+ * @since 1.2.0
+ */
+const val UPLOAD_IDENTIFIER_KEY = "upload_id"
+
+/**
+ * `FILE_NAME_KEY` the key for the `file_name` field
+ *
+ * @since 1.2.0
+ */
+const val FILE_NAME_KEY = "file_name"
+
+/**
+ * `SIZE_KEY` the key for the `size` field
+ *
+ * @since 1.2.0
+ */
+const val SIZE_KEY = "size"
+
+/**
+ * `OFFSET_KEY` the key for the `offset` field
+ *
+ * @since 1.2.0
+ */
+const val OFFSET_KEY = "offset"
+
+/**
+ * `CHUNK_KEY` the key for the `chunk` field
+ *
+ * @since 1.2.0
+ */
+const val CHUNK_KEY = "chunk"
+
+/**
+ * `CHUNK_SIZE_KEY` the key for the `chunk_size` field
+ *
+ * @since 1.2.0
+ */
+const val CHUNK_SIZE_KEY = "chunk_size"
+
+/**
+ * `CHECKSUM_KEY` the key for the `checksum` field
+ *
+ * @since 1.2.0
+ */
+const val CHECKSUM_KEY = "checksum"
+
+/**
+ * `RESOURCE_PATH_KEY` the key for the `resource_path` field
+ *
+ * @since 1.2.0
+ */
+const val RESOURCE_PATH_KEY = "resource_path"
+
+/**
+ * `REQUESTS_KEY` the key for the `requests` field
+ *
+ * @since 1.2.0
+ */
+const val REQUESTS_KEY = "requests"
+
+/**
+ * `METHOD_KEY` the key for the `method` field
+ *
+ * @since 1.2.0
+ */
+const val METHOD_KEY = "method"
+
+/**
+ * `ENDPOINT_KEY` the key for the `endpoint` field
+ *
+ * @since 1.2.0
+ */
+const val ENDPOINT_KEY = "endpoint"
+
+/**
+ * `HEADERS_KEY` the key for the `headers` field
+ *
+ * @since 1.2.0
+ */
+const val HEADERS_KEY = "headers"
+
+/**
+ * `QUERY_KEY` the key for the `query` field
+ *
+ * @since 1.2.0
+ */
+const val QUERY_KEY = "query"
+
+/**
+ * `PAYLOAD_KEY` the key for the `payload` field
+ *
+ * @since 1.2.0
+ */
+const val PAYLOAD_KEY = "payload"
+
+/**
+ * `STATUS_CODE_KEY` the key for the `status_code` field
+ *
+ * @since 1.2.0
+ */
+const val STATUS_CODE_KEY = "status_code"
@@ -0,0 +1,328 @@
+package com.tecknobit.equinoxcore.json
+
+import kotlinx.serialization.json.*
+import kotlin.math.pow
+
+/**
+ * `UNSIGNED_INTEGER` the major type of the unsigned integers
+ */
+private const val UNSIGNED_INTEGER = 0
+
+/**
+ * `NEGATIVE_INTEGER` the major type of the negative integers
+ */
+private const val NEGATIVE_INTEGER = 1
+
+/**
+ * `TEXT_STRING` the major type of the text strings
+ */
+private const val TEXT_STRING = 3
+
+/**
+ * `ARRAY` the major type of the arrays
+ */
+private const val ARRAY = 4
+
+/**
+ * `MAP` the major type of the maps
+ */
+private const val MAP = 5
+
+/**
+ * `TAG` the major type of the tagged items
+ */
+private const val TAG = 6
+
+/**
+ * `SIMPLE_VALUE` the major type of the simple values and of the floats
+ */
+private const val SIMPLE_VALUE = 7
+
+/**
+ * `INDEFINITE_LENGTH` the additional information of the items with indefinite length
+ */
+private const val INDEFINITE_LENGTH = 31
+
+/**
+ * `BREAK` the byte which closes the items with indefinite length
+ */
+private const val BREAK = 0xFF
+
+/**
+ * Method used to decode a payload encoded in the `CBOR` format (RFC 8949) as [JsonElement], so the payload can be
+ * handled as the `JSON` ones. The byte strings are not supported, being not representable as `JSON` values
+ *
+ * @return the payload as [JsonElement]
+ *
+ * @since 1.2.0
+ */
+internal fun ByteArray.decodeCborAsJson(): JsonElement {
+    val decoder = CborJsonDecoder(
+        content = this
+    )
+    val element = decoder.decodeElement()
+    require(decoder.isConsumed()) { "Unexpected content after the CBOR payload" }
+    return element
+}
+
+/**
+ * The `CborJsonDecoder` class decodes the items of a `CBOR` payload as [JsonElement]
+ *
+ * @param content The payload to decode
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @since 1.2.0
+ */
+private class CborJsonDecoder(
+    private val content: ByteArray,
+) {
+
+    /**
+     * `position` the position of the next byte to read
+     */
+    private var position = 0
+
+    /**
+     * Method used to check whether the whole payload has been decoded
+     *
+     * @return whether the whole payload has been decoded as [Boolean]
+     */
+    fun isConsumed(): Boolean {
+        return position == content.size
+    }
+
+    /**
+     * Method used to decode the next item of the payload
+     *
+     * @return the item as [JsonElement]
+     */
+    fun decodeElement(): JsonElement {
+        val initialByte = readByte()
+        val additionalInfo = initialByte and 0x1F
+        return when (initialByte ushr 5) {
+            UNSIGNED_INTEGER -> JsonPrimitive(readInteger(additionalInfo))
+            NEGATIVE_INTEGER -> JsonPrimitive(-1 - readInteger(additionalInfo))
+            TEXT_STRING -> JsonPrimitive(readText(additionalInfo))
+            ARRAY -> decodeArray(additionalInfo)
+            MAP -> decodeMap(additionalInfo)
+            TAG -> {
+                readArgument(additionalInfo)
+                decodeElement()
+            }
+
+            SIMPLE_VALUE -> decodeSimpleValue(additionalInfo)
+            else -> throw IllegalArgumentException("Unsupported CBOR item at $position")
+        }
+    }
+
+    /**
+     * Method used to decode an array
+     *
+     * @param additionalInfo The additional information of the array
+     *
+     * @return the array as [JsonArray]
+     */
+    private fun decodeArray(
+        additionalInfo: Int,
+    ): JsonArray {
+        val items = mutableListOf<JsonElement>()
+        if (additionalInfo == INDEFINITE_LENGTH) {
+            while (!readBreak())
+                items.add(decodeElement())
+        } else {
+            repeat(readLength(additionalInfo)) {
+                items.add(decodeElement())
+            }
+        }
+        return JsonArray(items)
+    }
+
+    /**
+     * Method used to decode a map
+     *
+     * @param additionalInfo The additional information of the map
+     *
+     * @return the map as [JsonObject]
+     */
+    private fun decodeMap(
+        additionalInfo: Int,
+    ): JsonObject {
+        val entries = LinkedHashMap<String, JsonElement>()
+        if (additionalInfo == INDEFINITE_LENGTH) {
+            while (!readBreak())
+                entries[decodeKey()] = decodeElement()
+        } else {
+            repeat(readLength(additionalInfo)) {
+                entries[decodeKey()] = decodeElement()
+            }
+        }
+        return JsonObject(entries)
+    }
+
+    /**
+     * Method used to decode the key of an entry of a map
+     *
+     * @return the key as [String]
+     */
+    private fun decodeKey(): String {
+        val key = decodeElement()
+        require(key is JsonPrimitive && key !is JsonNull) { "Unsupported CBOR map key at $position" }
+        return key.content
+    }
+
+    /**
+     * Method used to decode a simple value or a float
+     *
+     * @param additionalInfo The additional information of the value
+     *
+     * @return the value as [JsonPrimitive]
+     */
+    private fun decodeSimpleValue(
+        additionalInfo: Int,
+    ): JsonPrimitive {
+        return when (additionalInfo) {
+            20 -> JsonPrimitive(false)
+            21 -> JsonPrimitive(true)
+            22, 23 -> JsonNull
+            25 -> JsonPrimitive(readHalfPrecisionFloat())
+            26 -> JsonPrimitive(Float.fromBits(readUnsigned(4).toInt()).toDouble())
+            27 -> JsonPrimitive(Double.fromBits(readUnsigned(8)))
+            else -> throw IllegalArgumentException("Unsupported CBOR simple value at $position")
+        }
+    }
+
+    /**
+     * Method used to read a half precision float
+     *
+     * @return the float as [Double]
+     */
+    private fun readHalfPrecisionFloat(): Double {
+        val half = readUnsigned(2).toInt()
+        val exponent = (half shr 10) and 0x1F
+        val mantissa = half and 0x3FF
+        val value = when (exponent) {
+            0 -> mantissa * 2.0.pow(-24)
+            0x1F -> if (mantissa == 0) Double.POSITIVE_INFINITY else Double.NaN
+            else -> (mantissa + 0x400) * 2.0.pow(exponent - 25)
+        }
+        return if (half and 0x8000 != 0) -value else value
+    }
+
+    /**
+     * Method used to read a text string
+     *
+     * @param additionalInfo The additional information of the text string
+     *
+     * @return the text as [String]
+     */
+    private fun readText(
+        additionalInfo: Int,
+    ): String {
+        if (additionalInfo != INDEFINITE_LENGTH) {
+            val length = readLength(additionalInfo)
+            require(length <= content.size - position) { "Truncated CBOR text at $position" }
+            val text = content.decodeToString(position, position + length)
+            position += length
+            return text
+        }
+        val text = StringBuilder()
+        while (!readBreak()) {
+            val chunkByte = readByte()
+            require(chunkByte ushr 5 == TEXT_STRING) { "Unexpected CBOR text chunk at $position" }
+            text.append(readText(chunkByte and 0x1F))
+        }
+        return text.toString()
+    }
+
+    /**
+     * Method used to read an integer
+     *
+     * @param additionalInfo The additional information of the integer
+     *
+     * @return the integer as [Long]
+     */
+    private fun readInteger(
+        additionalInfo: Int,
+    ): Long {
+        val value = readArgument(additionalInfo)
+        require(value >= 0) { "Unsupported CBOR integer at $position" }
+        return value
+    }
+
+    /**
+     * Method used to read the length of an item
+     *
+     * @param additionalInfo The additional information of the item
+     *
+     * @return the length as [Int]
+     */
+    private fun readLength(
+        additionalInfo: Int,
+    ): Int {
+        val length = readArgument(additionalInfo)
+        require(length in 0..Int.MAX_VALUE) { "Unsupported CBOR length at $position" }
+        return length.toInt()
+    }
+
+    /**
+     * Method used to read the argument of an item
+     *
+     * @param additionalInfo The additional information of the item
+     *
+     * @return the argument as [Long]
+     */
+    private fun readArgument(
+        additionalInfo: Int,
+    ): Long {
+        return when (additionalInfo) {
+            in 0..23 -> additionalInfo.toLong()
+            24 -> readUnsigned(1)
+            25 -> readUnsigned(2)
+            26 -> readUnsigned(4)
+            27 -> readUnsigned(8)
+            else -> throw IllegalArgumentException("Unsupported CBOR argument at $position")
+        }
+    }
+
+    /**
+     * Method used to read whether the next byte closes an item with indefinite length
+     *
+     * @return whether the item has been closed as [Boolean]
+     */
+    private fun readBreak(): Boolean {
+        require(position < content.size) { "Truncated CBOR payload" }
+        if (content[position].toInt() and 0xFF != BREAK)
+            return false
+        position++
+        return true
+    }
+
+    /**
+     * Method used to read a big-endian unsigned value
+     *
+     * @param length The number of bytes of the value
+     *
+     * @return the value as [Long]
+     */
+    private fun readUnsigned(
+        length: Int,
+    ): Long {
+        var value = 0L
+        repeat(length) {
+            value = (value shl 8) or readByte().toLong()
+        }
+        return value
+    }
+
+    /**
+     * Method used to read the next byte
+     *
+     * @return the byte as unsigned [Int]
+     */
+    private fun readByte(): Int {
+        require(position < content.size) { "Truncated CBOR payload" }
+        return content[position++].toInt() and 0xFF
+    }
+
+}
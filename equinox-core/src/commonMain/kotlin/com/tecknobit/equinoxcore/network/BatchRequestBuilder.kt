@@ -0,0 +1,175 @@
+package com.tecknobit.equinoxcore.network
+
+import com.tecknobit.equinoxcore.helpers.*
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+
+/**
+ * The `BatchRequestBuilder` class is used to assemble the requests executed in a single round trip by the
+ * [Requester.execBatch] method. The requests are executed by the backend in the same order they are added, the
+ * consecutive [RequestMethod.GET] requests are executed in parallel
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ *
+ * @see Requester
+ *
+ * @since 1.2.0
+ */
+class BatchRequestBuilder {
+
+    /**
+     * `requests` the requests of the batch
+     */
+    private val requests = mutableListOf<JsonObject>()
+
+    /**
+     * Method used to add a [RequestMethod.GET] request to the batch
+     *
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     */
+    fun get(
+        endpoint: String,
+        headers: Map<String, Any> = emptyMap(),
+        query: JsonObject? = null,
+    ) {
+        addRequest(
+            method = RequestMethod.GET,
+            endpoint = endpoint,
+            headers = headers,
+            query = query
+        )
+    }
+
+    /**
+     * Method used to add a [RequestMethod.POST] request to the batch
+     *
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     * @param payload The payload of the request
+     */
+    fun post(
+        endpoint: String,
+        headers: Map<String, Any> = emptyMap(),
+        query: JsonObject? = null,
+        payload: JsonObject = JsonObject(emptyMap()),
+    ) {
+        addRequest(
+            method = RequestMethod.POST,
+            endpoint = endpoint,
+            headers = headers,
+            query = query,
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to add a [RequestMethod.PUT] request to the batch
+     *
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     * @param payload The payload of the request
+     */
+    fun put(
+        endpoint: String,
+        headers: Map<String, Any> = emptyMap(),
+        query: JsonObject? = null,
+        payload: JsonObject = JsonObject(emptyMap()),
+    ) {
+        addRequest(
+            method = RequestMethod.PUT,
+            endpoint = endpoint,
+            headers = headers,
+            query = query,
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to add a [RequestMethod.PATCH] request to the batch
+     *
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     * @param payload The payload of the request
+     */
+    fun patch(
+        endpoint: String,
+        headers: Map<String, Any> = emptyMap(),
+        query: JsonObject? = null,
+        payload: JsonObject = JsonObject(emptyMap()),
+    ) {
+        addRequest(
+            method = RequestMethod.PATCH,
+            endpoint = endpoint,
+            headers = headers,
+            query = query,
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to add a [RequestMethod.DELETE] request to the batch
+     *
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     * @param payload The payload of the request
+     */
+    fun delete(
+        endpoint: String,
+        headers: Map<String, Any> = emptyMap(),
+        query: JsonObject? = null,
+        payload: JsonObject? = null,
+    ) {
+        addRequest(
+            method = RequestMethod.DELETE,
+            endpoint = endpoint,
+            headers = headers,
+            query = query,
+            payload = payload
+        )
+    }
+
+    /**
+     * Method used to add a request to the batch
+     *
+     * @param method The method of the request
+     * @param endpoint The endpoint path of the request url
+     * @param headers Custom headers of the request
+     * @param query The query parameters of the request
+     * @param payload The payload of the request
+     */
+    private fun addRequest(
+        method: RequestMethod,
+        endpoint: String,
+        headers: Map<String, Any>,
+        query: JsonObject? = null,
+        payload: JsonObject? = null,
+    ) {
+        val request = mutableMapOf<String, JsonElement>(
+            METHOD_KEY to JsonPrimitive(method.name),
+            ENDPOINT_KEY to JsonPrimitive(endpoint)
+        )
+        if (headers.isNotEmpty())
+            request[HEADERS_KEY] = JsonObject(headers.mapValues { header -> JsonPrimitive(header.value.toString()) })
+        query?.let { request[QUERY_KEY] = query }
+        payload?.let { request[PAYLOAD_KEY] = payload }
+        requests.add(JsonObject(request))
+    }
+
+    /**
+     * Method used to build the requests of the batch
+     *
+     * @return the requests of the batch as [JsonArray]
+     */
+    fun build(): JsonArray {
+        return JsonArray(requests.toList())
+    }
+
+}
@@ -52,6 +52,34 @@ open class EquinoxBaseEndpointsSet {
          */
         const val CHANGE_LANGUAGE_ENDPOINT: String = "/changeLanguage"
 
+        /**
+         * `UPLOADS_ENDPOINT` the endpoint to manage the resumable uploads of the user
+         *
+         * @since 1.2.0
+         */
+        const val UPLOADS_ENDPOINT: String = "/uploads"
+
+        /**
+         * `UPLOAD_CHUNKS_ENDPOINT` the endpoint to append a chunk to a resumable upload
+         *
+         * @since 1.2.0
+         */
+        const val UPLOAD_CHUNKS_ENDPOINT: String = "/chunks"
+
+        /**
+         * `FINALIZE_UPLOAD_ENDPOINT` the endpoint to finalize a resumable upload verifying its checksum
+         *
+         * @since 1.2.0
+         */
+        const val FINALIZE_UPLOAD_ENDPOINT: String = "/finalize"
+
+        /**
+         * `BATCH_ENDPOINT` the endpoint to execute multiple requests in a single round trip
+         *
+         * @since 1.2.0
+         */
+        const val BATCH_ENDPOINT: String = "/batch"
+
     }
 
 }
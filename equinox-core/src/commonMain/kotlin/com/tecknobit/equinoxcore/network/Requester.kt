@@ -3,8 +3,10 @@ package com.tecknobit.equinoxcore.network
 import com.tecknobit.equinoxcore.annotations.Assembler
 import com.tecknobit.equinoxcore.annotations.RequiresSuperCall
 import com.tecknobit.equinoxcore.annotations.Wrapper
-import com.tecknobit.equinoxcore.helpers.TOKEN_KEY
+import com.tecknobit.equinoxcore.helpers.*
+import com.tecknobit.equinoxcore.json.decodeCborAsJson
 import com.tecknobit.equinoxcore.json.treatsAsString
+import com.tecknobit.equinoxcore.network.EquinoxBaseEndpointsSet.Companion.BATCH_ENDPOINT
 import com.tecknobit.equinoxcore.network.Requester.Companion.RESPONSE_DATA_KEY
 import com.tecknobit.equinoxcore.network.Requester.Companion.RESPONSE_STATUS_KEY
 import com.tecknobit.equinoxcore.network.Requester.Companion.toNullableResponseData
@@ -40,6 +42,8 @@ import kotlin.js.JsName
  * @param connectionErrorMessage The error to send when a connection error occurred
  * @param byPassSSLValidation Whether bypass the **SSL** certificates validation, this for example
  * when is a self-signed the certificate USE WITH CAUTION
+ * @param binaryResponses Whether request the responses in the compact binary `CBOR` format, disabled by default, the
+ * backends which do not support it reply with the `JSON` format, so the responses are decoded transparently in both cases
  *
  * @author N7ghtm4r3 - Tecknobit
  */
@@ -54,6 +58,7 @@ abstract class Requester(
     @JsName("connection_error_message")
     protected val connectionErrorMessage: String,
     protected val byPassSSLValidation: Boolean = false,
+    protected val binaryResponses: Boolean = false,
 ) {
 
     companion object {
@@ -79,6 +84,27 @@ abstract class Requester(
          */
         const val DEFAULT_CONNECTION_ERROR_MESSAGE = "connection_error_message"
 
+        /**
+         * `MAX_CONDITIONAL_RESPONSES` The max number of responses tagged with an `ETag` kept by the requester, the
+         * oldest ones are discarded
+         */
+        private const val MAX_CONDITIONAL_RESPONSES = 100
+
+        /**
+         * `CBOR_CONTENT_TYPE` The content type of the responses in the `CBOR` format
+         *
+         * @since 1.2.0
+         */
+        private val CBOR_CONTENT_TYPE = ContentType.parse("application/cbor")
+
+        /**
+         * `BINARY_RESPONSES_ACCEPT` The value of the `Accept` header sent when the [binaryResponses] are requested, the
+         * `JSON` format is still accepted as fallback
+         *
+         * @since 1.2.0
+         */
+        private const val BINARY_RESPONSES_ACCEPT = "application/cbor, application/json;q=0.9"
+
         /**
          * Method used to get directly the response data from the request response
          *
@@ -263,6 +289,20 @@ abstract class Requester(
         locked = false
     )
 
+    /**
+     * `conditionalResponses` the responses of the [RequestMethod.GET] requests tagged by the backend with an `ETag`,
+     * the tag is sent with the next request to the same endpoint and, when the data are not changed, the stored response
+     * is reused without receiving it again
+     */
+    private var conditionalResponses = LinkedHashMap<String, ConditionalResponse>()
+
+    /**
+     * `conditionalResponsesMutex` the mutex used to access atomically the [conditionalResponses]
+     */
+    private val conditionalResponsesMutex = Mutex(
+        locked = false
+    )
+
     /**
      * `initHost** Method used to init correctly the [host] value
      */
@@ -399,6 +439,32 @@ abstract class Requester(
         )
     }
 
+    /**
+     * Method used to execute multiple requests to the backend in a single round trip, the requests are authenticated
+     * once and are executed in the same order they are added to the batch
+     *
+     * @param endpoint The endpoint path of the batch request url
+     * @param requests The builder of the requests of the batch
+     *
+     * @return the result of the request as [JsonObject], its data are the responses of the requests in the same order,
+     * each one with the [STATUS_CODE_KEY] and the [PAYLOAD_KEY] of the response
+     *
+     * @since 1.2.0
+     */
+    @Wrapper
+    protected suspend fun execBatch(
+        endpoint: String = "$USERS_KEY/$userId$BATCH_ENDPOINT",
+        requests: BatchRequestBuilder.() -> Unit,
+    ): JsonObject {
+        val batch = BatchRequestBuilder().apply(requests)
+        return execPost(
+            endpoint = endpoint,
+            payload = buildJsonObject {
+                put(REQUESTS_KEY, batch.build())
+            }
+        )
+    }
+
     /**
      * Method used to create the query with the pagination parameters
      *
@@ -437,13 +503,24 @@ abstract class Requester(
         payload: JsonObject? = null,
     ): JsonObject {
         val requestUrl = host + endpoint
+        val conditionalKey = if (method == RequestMethod.GET)
+            "$requestUrl?$query"
+        else
+            null
+        val conditionalResponse = conditionalKey?.let {
+            conditionalResponsesMutex.withLock { conditionalResponses[conditionalKey] }
+        }
+        val requestHeaders = if (conditionalResponse != null)
+            headers + (HttpHeaders.IfNoneMatch to conditionalResponse.eTag)
+        else
+            headers
         val jResponse: JsonObject = try {
             val response = ktorClient.request(
                 urlString = host + endpoint
             ) {
                 this.method = HttpMethod(method.name)
                 prepareRequest(
-                    headers = headers,
+                    headers = requestHeaders,
                     contentType = ContentType.parse("application/json"),
                     query = query,
                     payload = if (payload != null) {
@@ -455,7 +532,19 @@ abstract class Requester(
                 )
             }
             interceptRequest()
-            Json.decodeFromString<JsonObject>(response.bodyAsText())
+            if (conditionalResponse != null && response.status == HttpStatusCode.NotModified)
+                conditionalResponse.response
+            else {
+                val jResponse = response.decodeResponse()
+                conditionalKey?.let {
+                    storeConditionalResponse(
+                        conditionalKey = conditionalKey,
+                        eTag = response.headers[HttpHeaders.ETag],
+                        response = jResponse
+                    )
+                }
+                jResponse
+            }
         } catch (exception: Exception) {
             if (debugMode) {
                 logError(
@@ -467,7 +556,7 @@ abstract class Requester(
         if (debugMode) {
             logRequestInfo(
                 requestUrl = requestUrl,
-                headers = headers,
+                headers = requestHeaders,
                 query = query,
                 requestPayloadInfo = {
                     payload?.let {
@@ -481,6 +570,34 @@ abstract class Requester(
         return jResponse
     }
 
+    /**
+     * Method used to store the response of a [RequestMethod.GET] request, the response is stored only when tagged by
+     * the backend with an `ETag`
+     *
+     * @param conditionalKey The key of the request
+     * @param eTag The `ETag` of the response, `null` if not tagged
+     * @param response The response to store
+     *
+     * @since 1.2.0
+     */
+    private suspend fun storeConditionalResponse(
+        conditionalKey: String,
+        eTag: String?,
+        response: JsonObject,
+    ) {
+        conditionalResponsesMutex.withLock {
+            conditionalResponses.remove(conditionalKey)
+            if (eTag == null)
+                return@withLock
+            conditionalResponses[conditionalKey] = ConditionalResponse(
+                eTag = eTag,
+                response = response
+            )
+            if (conditionalResponses.size > MAX_CONDITIONAL_RESPONSES)
+                conditionalResponses.remove(conditionalResponses.keys.first())
+        }
+    }
+
     /**
      * Method used to execute a multipart request to the backend
      *
@@ -533,7 +650,7 @@ abstract class Requester(
                 )
             }
             interceptRequest()
-            Json.decodeFromString<JsonObject>(response.bodyAsText())
+            response.decodeResponse()
         } catch (e: Exception) {
             if (debugMode) {
                 logError(
@@ -564,6 +681,24 @@ abstract class Requester(
         return jResponse
     }
 
+    /**
+     * Method used to decode the response of a request, as `CBOR` payload when the backend replied with the
+     * `application/cbor` content type, as `JSON` payload otherwise
+     *
+     * @return the response as [JsonObject]
+     *
+     * @since 1.2.0
+     */
+    private suspend fun HttpResponse.decodeResponse(): JsonObject {
+        if (contentType()?.match(CBOR_CONTENT_TYPE) != true)
+            return Json.decodeFromString<JsonObject>(bodyAsText())
+        val content = bodyAsBytes()
+        // a JSON payload mislabeled by a proxy or by an outdated backend is still accepted
+        if (content.firstOrNull() == '{'.code.toByte())
+            return Json.decodeFromString<JsonObject>(content.decodeToString())
+        return content.decodeCborAsJson().jsonObject
+    }
+
     /**
      * Method used to prepare the details of the request to execute
      *
@@ -587,6 +722,8 @@ abstract class Requester(
                 headers.forEach { header ->
                     append(header.key, header.value.toString())
                 }
+                if (binaryResponses && headers.keys.none { key -> key.equals(HttpHeaders.Accept, ignoreCase = true) })
+                    append(HttpHeaders.Accept, BINARY_RESPONSES_ACCEPT)
                 contentType?.let {
                     contentType(contentType)
                 }
@@ -736,6 +873,7 @@ abstract class Requester(
             userId = null,
             userToken = null
         )
+        conditionalResponses = LinkedHashMap()
     }
 
     /**
@@ -790,4 +928,19 @@ abstract class Requester(
         return result.body()
     }
 
+    /**
+     * The `ConditionalResponse` class contains a response tagged by the backend with an `ETag`
+     *
+     * @param eTag The `ETag` of the response
+     * @param response The stored response
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     *
+     * @since 1.2.0
+     */
+    private data class ConditionalResponse(
+        val eTag: String,
+        val response: JsonObject,
+    )
+
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ rootProject.name = "Equinox"
 include("equinox-core")
 include("equinox-compose")
 include("equinox-backend")
+include("equinox-backend-reactive")
 include("equinox-navigation")
 include("equinox-miscellaneous:lazy-pagination-compose-ops")
 include("equinox-miscellaneous:navigation-compose-util")